@@ -0,0 +1,120 @@
+package com.example.student_portal.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.student_portal.dto.MatchingPreview;
+import com.example.student_portal.entity.Match;
+import com.example.student_portal.model.MatchingEngine;
+import com.example.student_portal.util.CompactBipartiteGraph;
+import com.example.student_portal.util.CompactMatching;
+import com.example.student_portal.util.HopcroftKarp;
+import com.example.student_portal.util.MaxFlowMatching;
+import com.example.student_portal.util.MinCostFlowMatching;
+
+/**
+ * JMH benchmarks of the matching engines on synthetic school weeks.
+ *
+ * buildGraph times streaming a week's rows into MatchingService's graph
+ * builder, solve times the configured engine on the whole built graph on one
+ * thread, and preview times the full preview path (build, parallel
+ * component solve and pair selection). Build the benchmarks with the
+ * benchmark profile and run them with GC profiling and JSON results in
+ * target/jmh-result.json:
+ *
+ *   mvn -Pbenchmark test-compile exec:exec
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="solve -p engine=MAX_FLOW,HOPCROFT_KARP -p students=20000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g", "-Dlogback.configurationFile=jmh-logback.xml" })
+public class MatchingEngineBenchmark {
+
+    private static final LocalDate WEEK = LocalDate.of(2026, 10, 19);
+
+    @Param({ "1000", "5000", "20000" })
+    public int students;
+
+    @Param({ "12" })
+    public int subjects;
+
+    @Param({ "0.25" })
+    public double slotDensity;
+
+    @Param({ "UNIFORM" })
+    public SchoolWorkload.CapacityDistribution capacity;
+
+    @Param({ "0.25" })
+    public double tutorShare;
+
+    @Param({ "MAX_FLOW", "MIN_COST_FLOW", "HOPCROFT_KARP" })
+    public MatchingEngine engine;
+
+    private ForkJoinPool matchingPool;
+    private MatchingService matchingService;
+    private CompactBipartiteGraph graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SchoolWorkload workload = new SchoolWorkload(students, subjects, slotDensity, capacity, tutorShare, 42L);
+        // No previous week to warm-start from and nothing is persisted
+        MatchService matchService = new MatchService(null, null, null) {
+            @Override
+            public List<Match> findActiveMatchesForWeek(LocalDate targetWeek) {
+                return List.of();
+            }
+        };
+        matchingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        matchingService = new MatchingService(workload.asRepository(), matchService, null, null, engine, true, matchingPool,
+            new MatchingMetrics(new SimpleMeterRegistry()), null, null);
+        graph = matchingService.buildGraph(WEEK);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        matchingPool.shutdown();
+    }
+
+    @Benchmark
+    public CompactBipartiteGraph buildGraph() {
+        return matchingService.buildGraph(WEEK);
+    }
+
+    @Benchmark
+    public CompactMatching solve() {
+        switch (engine) {
+            case HOPCROFT_KARP:
+                return HopcroftKarp.findMaximumMatching(graph, null, true);
+            case MIN_COST_FLOW:
+                return MinCostFlowMatching.findMinimumCostMatching(graph);
+            case MAX_FLOW:
+            default:
+                return MaxFlowMatching.findMaximumMatching(graph);
+        }
+    }
+
+    @Benchmark
+    public MatchingPreview preview() {
+        return matchingService.previewMatchingForWeek(WEEK);
+    }
+}
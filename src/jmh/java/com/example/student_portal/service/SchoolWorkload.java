@@ -0,0 +1,158 @@
+package com.example.student_portal.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.example.student_portal.model.Period;
+import com.example.student_portal.model.YearGroup;
+import com.example.student_portal.repository.MatchingInputJdbcRepository;
+import com.example.student_portal.repository.MatchingInputJdbcRepository.TuteeRequestRow;
+import com.example.student_portal.repository.MatchingInputJdbcRepository.TutorRequestRow;
+import com.example.student_portal.util.SlotOrdinals;
+
+/**
+ * Synthetic school week for the matching benchmarks, generated as the rows
+ * {@link MatchingInputJdbcRepository} streams out of the database so that
+ * MatchingService builds its graph exactly as it does in production.
+ *
+ * Every student may ask for tutoring; older students are more likely to
+ * tutor as well. Tutors offer one or two subjects, are available in a share
+ * of the 35 weekday slots and have a weekly cap drawn from a
+ * {@link CapacityDistribution}. Tutee requests lean towards the first
+ * subjects, so a few subjects are oversubscribed the way maths and sciences
+ * are.
+ */
+public final class SchoolWorkload {
+
+    /**
+     * How tutors' weekly caps are spread.
+     */
+    public enum CapacityDistribution {
+        /** Every tutor takes two sessions. */
+        FIXED,
+        /** Caps drawn uniformly from 1..5. */
+        UNIFORM,
+        /** Mostly one session, a few tutors taking up to ten. */
+        HEAVY_TAIL,
+        /** No cap set, so MatchingService's default applies. */
+        UNSET
+    }
+
+    private static final String[] DAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+
+    private final List<long[]> availability = new ArrayList<>(); // { tutorId, slot }
+    private final List<long[]> preferredPeriods = new ArrayList<>(); // { tutorId, period ordinal }
+    private final List<TutorRequestRow> tutorRequests = new ArrayList<>();
+    private final List<TuteeRequestRow> tuteeRequests = new ArrayList<>();
+
+    /**
+     * @param students     number of students
+     * @param subjects     number of subjects
+     * @param slotDensity  share of the 35 slots a tutor is available in; tutee
+     *                     requests list about half as many
+     * @param capacity     distribution of tutors' weekly caps
+     * @param tutorShare   average share of students who also tutor; skews
+     *                     supply against demand
+     * @param seed         random seed
+     */
+    SchoolWorkload(int students, int subjects, double slotDensity, CapacityDistribution capacity,
+                   double tutorShare, long seed) {
+        Random random = new Random(seed);
+        int tutorSlots = Math.max(1, (int) Math.round(slotDensity * SlotOrdinals.COUNT));
+        int tuteeSlots = Math.max(1, tutorSlots / 2);
+        long nextRequestId = 1;
+
+        for (long studentId = 1; studentId <= students; studentId++) {
+            int year = random.nextInt(YearGroup.values().length);
+            String name = "Student " + studentId;
+
+            // Share scaled by (year + 1) / 3, which averages 1 over the five years
+            if (random.nextDouble() < tutorShare * (year + 1) / 3) {
+                for (int slot : randomSlots(random, tutorSlots)) {
+                    availability.add(new long[] { studentId, slot });
+                }
+                if (random.nextBoolean()) {
+                    for (int period : randomDistinct(random, 2 + random.nextInt(2), SlotOrdinals.PERIODS)) {
+                        preferredPeriods.add(new long[] { studentId, period });
+                    }
+                }
+                Integer maxSessions = maxSessions(random, capacity);
+                for (int subject : randomDistinct(random, 1 + random.nextInt(2), subjects)) {
+                    tutorRequests.add(new TutorRequestRow(nextRequestId++, studentId, subject + 1,
+                        YearGroup.values()[year], name, maxSessions));
+                }
+            }
+        }
+
+        for (long studentId = 1; studentId <= students; studentId++) {
+            int year = random.nextInt(YearGroup.values().length);
+            for (int r = random.nextInt(3); r > 0; r--) {
+                int subject = Math.min(random.nextInt(subjects), random.nextInt(subjects));
+                int count = Math.max(1, tuteeSlots - 1 + random.nextInt(3));
+                int[] slots = randomSlots(random, count);
+                long[] timeslotIds = new long[slots.length];
+                int[] ranks = new int[slots.length];
+                for (int i = 0; i < slots.length; i++) {
+                    timeslotIds[i] = slots[i] + 1;
+                    ranks[i] = i;
+                }
+                tuteeRequests.add(new TuteeRequestRow(nextRequestId++, students + studentId, subject + 1,
+                    YearGroup.values()[year], "Tutee " + studentId, "Subject " + (subject + 1),
+                    slots, timeslotIds, ranks));
+            }
+        }
+    }
+
+    /**
+     * Feed the rows to a handler in the order the SQL loader does.
+     */
+    void replay(MatchingInputJdbcRepository.Handler handler) {
+        for (int slot = 0; slot < SlotOrdinals.COUNT; slot++) {
+            handler.timeslot(slot + 1, slot, DAYS[slot / SlotOrdinals.PERIODS] + " Period " + (slot % SlotOrdinals.PERIODS + 1));
+        }
+        for (long[] row : availability) {
+            handler.tutorAvailability(row[0], (int) row[1], SlotOrdinals.periodOf((int) row[1]));
+        }
+        for (long[] row : preferredPeriods) {
+            handler.tutorPreferredPeriod(row[0], Period.values()[(int) row[1]]);
+        }
+        tutorRequests.forEach(handler::tutorRequest);
+        tuteeRequests.forEach(handler::tuteeRequest);
+    }
+
+    /**
+     * A loader that replays this workload for whatever week is asked for.
+     */
+    MatchingInputJdbcRepository asRepository() {
+        return new MatchingInputJdbcRepository(null) {
+            @Override
+            public void loadWeek(LocalDate targetWeek, Handler handler) {
+                replay(handler);
+            }
+        };
+    }
+
+    private static Integer maxSessions(Random random, CapacityDistribution capacity) {
+        switch (capacity) {
+            case FIXED:
+                return 2;
+            case UNIFORM:
+                return 1 + random.nextInt(5);
+            case HEAVY_TAIL:
+                return Math.min(10, 1 + (int) (-Math.log(1 - random.nextDouble()) * 1.5));
+            case UNSET:
+            default:
+                return null;
+        }
+    }
+
+    private static int[] randomSlots(Random random, int count) {
+        return randomDistinct(random, Math.min(count, SlotOrdinals.COUNT), SlotOrdinals.COUNT);
+    }
+
+    private static int[] randomDistinct(Random random, int count, int bound) {
+        return random.ints(0, bound).distinct().limit(Math.min(count, bound)).toArray();
+    }
+}
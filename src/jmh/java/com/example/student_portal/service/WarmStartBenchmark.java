@@ -0,0 +1,108 @@
+package com.example.student_portal.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.student_portal.entity.Match;
+import com.example.student_portal.model.MatchingEngine;
+import com.example.student_portal.util.CompactBipartiteGraph;
+import com.example.student_portal.util.CompactMatching;
+import com.example.student_portal.util.HopcroftKarp;
+import com.example.student_portal.util.MaxFlowMatching;
+import com.example.student_portal.util.ParallelComponentMatching;
+
+/**
+ * JMH benchmarks of how the augmenting engines are started, on the graphs
+ * MatchingService builds for a {@link SchoolWorkload} week.
+ *
+ * cold solves from an empty matching without the Karp-Sipser pass,
+ * warmStart from last week's matching (stood in for by this week's with
+ * every tenth pair gone) and components splits the graph into connected
+ * components solved in parallel. HOPCROFT_KARP with the Karp-Sipser pass is
+ * MatchingEngineBenchmark.solve. Run with:
+ *
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="WarmStartBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g", "-Dlogback.configurationFile=jmh-logback.xml" })
+public class WarmStartBenchmark {
+
+    private static final LocalDate WEEK = LocalDate.of(2026, 10, 19);
+
+    @Param({ "1000", "5000", "20000" })
+    public int students;
+
+    @Param({ "MAX_FLOW", "HOPCROFT_KARP" })
+    public MatchingEngine engine;
+
+    private ForkJoinPool matchingPool;
+    private CompactBipartiteGraph graph;
+    private int[] seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SchoolWorkload workload = new SchoolWorkload(students, 12, 0.25, SchoolWorkload.CapacityDistribution.UNIFORM,
+            0.25, 42L);
+        MatchService matchService = new MatchService(null, null, null) {
+            @Override
+            public List<Match> findActiveMatchesForWeek(LocalDate targetWeek) {
+                return List.of();
+            }
+        };
+        matchingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        graph = new MatchingService(workload.asRepository(), matchService, null, null, engine, false, matchingPool,
+            new MatchingMetrics(new SimpleMeterRegistry()), null, null).buildGraph(WEEK);
+
+        seed = solve(graph, null).getLeftToRight().clone();
+        for (int left = 0; left < seed.length; left += 10) {
+            seed[left] = CompactMatching.UNMATCHED;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        matchingPool.shutdown();
+    }
+
+    @Benchmark
+    public CompactMatching cold() {
+        return solve(graph, null);
+    }
+
+    @Benchmark
+    public CompactMatching warmStart() {
+        return solve(graph, seed);
+    }
+
+    @Benchmark
+    public CompactMatching components() {
+        return ParallelComponentMatching.solve(graph, this::solve, null, matchingPool).getMatching();
+    }
+
+    private CompactMatching solve(CompactBipartiteGraph graph, int[] seed) {
+        return engine == MatchingEngine.HOPCROFT_KARP
+            ? HopcroftKarp.findMaximumMatching(graph, seed, false)
+            : MaxFlowMatching.findMaximumMatching(graph, seed);
+    }
+}
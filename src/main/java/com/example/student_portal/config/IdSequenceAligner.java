@@ -0,0 +1,40 @@
+package com.example.student_portal.config;
+
+import com.example.student_portal.repository.IdSequenceJdbcRepository;
+import com.example.student_portal.repository.IdSequenceJdbcRepository.IdSequence;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migrates databases created while Request, Match, ChatMessage and
+ * AvailabilitySlot still had identity ids onto their pooled sequences.
+ *
+ * Runs once all singletons exist, so after Hibernate has updated the schema
+ * and created the sequences, and before the scheduler or any command line
+ * runner writes rows. On a database that is already migrated it only
+ * reads, and issues no DDL.
+ */
+@Component
+public class IdSequenceAligner implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    private final IdSequenceJdbcRepository idSequenceRepository;
+
+    // Only injected so the schema update has run before this bean is used
+    public IdSequenceAligner(IdSequenceJdbcRepository idSequenceRepository, EntityManagerFactory entityManagerFactory) {
+        this.idSequenceRepository = idSequenceRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (IdSequence sequence : IdSequence.values()) {
+            if (idSequenceRepository.alignWithTable(sequence)) {
+                logger.info("Advanced {} past the existing ids in {}", sequence.getSequenceName(), sequence.getTableName());
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.student_portal.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Infrastructure for the matching algorithm.
+ */
+@Configuration
+public class MatchingConfig {
+
+    // Dedicated pool for solving graph components in parallel, so matching
+    // runs never compete with other users of the common pool.
+    // matching.parallelism <= 0 means one worker per available core.
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool matchingPool(@Value("${matching.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    // Bounded pool for loading and solving several weeks at once in a batch.
+    // Each worker holds a database connection while it loads a week, so keep
+    // matching.batch.threads well below the connection pool size. The queue
+    // is bounded too; a batch that does not fit is rejected rather than queued.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService matchingBatchExecutor(@Value("${matching.batch.threads:2}") int threads) {
+        int size = Math.max(1, threads);
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(64), runnable -> {
+            Thread thread = new Thread(runnable, "matching-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Runs admin-submitted matching jobs off the request thread. Like the
+    // batch pool, each worker holds a database connection while it runs;
+    // jobs beyond the queue are rejected rather than piling up.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService matchingJobExecutor(@Value("${matching.jobs.threads:1}") int threads) {
+        int size = Math.max(1, threads);
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "matching-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
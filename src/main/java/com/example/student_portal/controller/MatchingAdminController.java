@@ -1,11 +1,18 @@
 package com.example.student_portal.controller;
 
-import com.example.student_portal.service.MatchingService;
+import com.example.student_portal.dto.MatchingJobStatus;
+import com.example.student_portal.dto.MatchingPreview;
+import com.example.student_portal.service.MatchingBatchService;
+import com.example.student_portal.service.MatchingJobService;
+import com.example.student_portal.entity.MatchingRun;
+import com.example.student_portal.service.MatchingRunService;
+import com.example.student_portal.service.MatchingPreviewService;
 import com.example.student_portal.service.RecurrenceService;
 import com.example.student_portal.service.RequestService;
 import com.example.student_portal.service.MatchService;
-import com.example.student_portal.util.MatchingAlgorithm;
 import com.example.student_portal.model.RequestStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -19,8 +26,11 @@ import java.time.format.DateTimeFormatter;
  * 
  * Restricted to ADMIN role only.
  * Provides:
- * - Manual trigger of matching algorithm
- * - View last run summary and statistics
+ * - Manual trigger of matching algorithm, run as a background job with polled progress
+ * - Dry-run preview of a week's matching, committed on confirmation
+ * - History of past matching runs
+ * - Batch matching of several upcoming weeks
+ * - View last run summary and statistics, with the tutor shortages it found
  * - Management of recurrence settings
  */
 @Controller
@@ -28,22 +38,30 @@ import java.time.format.DateTimeFormatter;
 @PreAuthorize("hasRole('ADMIN')")
 public class MatchingAdminController {
     
-    private final MatchingAlgorithm matchingAlgorithm;
-    private final MatchingService matchingService;
     private final RecurrenceService recurrenceService;
     private final RequestService requestService;
     private final MatchService matchService;
+    private final MatchingPreviewService matchingPreviewService;
+    private final MatchingRunService matchingRunService;
+    private final MatchingBatchService matchingBatchService;
+    private final MatchingJobService matchingJobService;
     
-    public MatchingAdminController(MatchingAlgorithm matchingAlgorithm,
-                                 MatchingService matchingService,
-                                 RecurrenceService recurrenceService,
+    private static final int RUNS_PAGE_SIZE = 20;
+    
+    public MatchingAdminController(RecurrenceService recurrenceService,
                                  RequestService requestService,
-                                 MatchService matchService) {
-        this.matchingAlgorithm = matchingAlgorithm;
-        this.matchingService = matchingService;
+                                 MatchService matchService,
+                                 MatchingPreviewService matchingPreviewService,
+                                 MatchingRunService matchingRunService,
+                                 MatchingBatchService matchingBatchService,
+                                 MatchingJobService matchingJobService) {
         this.recurrenceService = recurrenceService;
         this.requestService = requestService;
         this.matchService = matchService;
+        this.matchingPreviewService = matchingPreviewService;
+        this.matchingRunService = matchingRunService;
+        this.matchingBatchService = matchingBatchService;
+        this.matchingJobService = matchingJobService;
     }
     
     /**
@@ -62,50 +80,138 @@ public class MatchingAdminController {
         model.addAttribute("totalMatches", totalMatches);
         model.addAttribute("totalRequests", totalRequests);
         
-        // Calculate matching potential and efficiency
-        long matchingPotential = Math.min(outstandingTutors, outstandingTutees);
+        // Calculate efficiency; the last run's shortages are read from its record, not re-solved
         double efficiency = totalRequests > 0 ? (double) totalMatches / totalRequests * 100 : 0;
         
-        model.addAttribute("matchingPotential", matchingPotential);
+        model.addAttribute("lastRun", matchingRunService.findLatestSucceededRun());
         model.addAttribute("efficiency", String.format("%.1f", efficiency));
+        model.addAttribute("previews", matchingPreviewService.getPreviews());
+        model.addAttribute("matchingJobs", matchingJobService.getRecentJobs());
+        model.addAttribute("batchReport", matchingBatchService.getLastReport());
         
         return "admin/matching/dashboard";
     }
     
     /**
-     * Manually trigger the matching algorithm.
+     * Manually trigger the matching algorithm. Runs as a background job whose
+     * progress the dashboard polls.
      */
     @PostMapping("/run")
     public String runMatching(Model model) {
         try {
-            matchingAlgorithm.runMatching();
-            model.addAttribute("successMessage", "Matching algorithm completed successfully!");
+            MatchingJobStatus job = matchingJobService.submitWeeklyRun();
+            model.addAttribute("successMessage", 
+                String.format("Matching job #%d submitted; progress is shown below.", job.getId()));
         } catch (Exception e) {
-            model.addAttribute("errorMessage", "Matching algorithm failed: " + e.getMessage());
+            model.addAttribute("errorMessage", "Could not start matching: " + e.getMessage());
         }
         
         return matchingDashboard(model);
     }
     
     /**
-     * Run matching for a specific target week.
+     * Current progress of a matching job, for polling from the dashboard.
+     */
+    @GetMapping("/jobs/{id}")
+    @ResponseBody
+    public ResponseEntity<MatchingJobStatus> matchingJob(@PathVariable("id") long id) {
+        MatchingJobStatus job = matchingJobService.getJob(id);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+    
+    /**
+     * Run matching for a specific target week as a background job.
      */
     @PostMapping("/run-for-week")
     public String runMatchingForWeek(@RequestParam("targetWeek") String targetWeekStr, Model model) {
         try {
-            LocalDate targetWeek = LocalDate.parse(targetWeekStr);
-            int matchesCreated = matchingService.performMatchingForWeek(targetWeek);
+            MatchingJobStatus job = matchingJobService.submitWeekRun(LocalDate.parse(targetWeekStr));
             model.addAttribute("successMessage", 
-                String.format("Matching completed for week %s: %d matches created!", 
-                             targetWeekStr, matchesCreated));
+                String.format("Matching job #%d submitted for week %s; progress is shown below.", 
+                             job.getId(), targetWeekStr));
         } catch (Exception e) {
             model.addAttribute("errorMessage", 
-                "Matching failed for specified week: " + e.getMessage());
+                "Could not start matching for specified week: " + e.getMessage());
+        }
+        
+        return matchingDashboard(model);
+    }
+    
+    /**
+     * Run matching for several consecutive weeks as a background job; weeks
+     * are solved concurrently.
+     */
+    @PostMapping("/run-batch")
+    public String runMatchingBatch(@RequestParam("firstWeek") String firstWeekStr,
+                                   @RequestParam("weeks") int weeks,
+                                   Model model) {
+        try {
+            MatchingJobStatus job = matchingJobService.submitBatch(LocalDate.parse(firstWeekStr), weeks);
+            model.addAttribute("successMessage", 
+                String.format("Batch matching job #%d submitted for %d weeks; progress is shown below.", 
+                             job.getId(), weeks));
+        } catch (Exception e) {
+            model.addAttribute("errorMessage", "Could not start batch matching: " + e.getMessage());
         }
         
         return matchingDashboard(model);
     }
     
+    /**
+     * Solve a week without persisting and show the proposed matches.
+     */
+    @PostMapping("/preview")
+    public String previewMatchingForWeek(@RequestParam("targetWeek") String targetWeekStr, Model model) {
+        try {
+            MatchingPreview preview = matchingPreviewService.preview(LocalDate.parse(targetWeekStr));
+            model.addAttribute("preview", preview);
+            return "admin/matching/preview";
+        } catch (Exception e) {
+            model.addAttribute("errorMessage", "Preview failed for specified week: " + e.getMessage());
+            return matchingDashboard(model);
+        }
+    }
+    
+    /**
+     * Show the cached preview of a week again.
+     */
+    @GetMapping("/preview")
+    public String showPreview(@RequestParam("targetWeek") String targetWeekStr, Model model) {
+        MatchingPreview preview = matchingPreviewService.getPreview(LocalDate.parse(targetWeekStr));
+        if (preview == null) {
+            model.addAttribute("errorMessage", "No preview cached for week " + targetWeekStr);
+            return matchingDashboard(model);
+        }
+        model.addAttribute("preview", preview);
+        return "admin/matching/preview";
+    }
+    
+    /**
+     * Persist exactly the cached preview of a week.
+     */
+    @PostMapping("/preview/commit")
+    public String commitPreview(@RequestParam("targetWeek") String targetWeekStr, Model model) {
+        try {
+            int matchesCreated = matchingPreviewService.commit(LocalDate.parse(targetWeekStr));
+            model.addAttribute("successMessage", 
+                String.format("Preview committed for week %s: %d matches created!", targetWeekStr, matchesCreated));
+        } catch (Exception e) {
+            model.addAttribute("errorMessage", "Committing preview failed: " + e.getMessage());
+        }
+        
+        return matchingDashboard(model);
+    }
+    
+    /**
+     * Drop the cached preview of a week.
+     */
+    @PostMapping("/preview/discard")
+    public String discardPreview(@RequestParam("targetWeek") String targetWeekStr, Model model) {
+        matchingPreviewService.discard(LocalDate.parse(targetWeekStr));
+        model.addAttribute("successMessage", "Preview for week " + targetWeekStr + " discarded.");
+        return matchingDashboard(model);
+    }
+    
     /**
      * Generate recurring requests manually.
      */
@@ -167,6 +273,16 @@ public class MatchingAdminController {
         return "admin/matching/stats";
     }
     
+    /**
+     * Page through past matching runs, most recent first.
+     */
+    @GetMapping("/runs")
+    public String matchingRuns(@RequestParam(value = "page", defaultValue = "0") int page, Model model) {
+        Page<MatchingRun> runs = matchingRunService.findRuns(page, RUNS_PAGE_SIZE);
+        model.addAttribute("runs", runs);
+        return "admin/matching/runs";
+    }
+    
     /**
      * View and manage recurrence settings.
      */
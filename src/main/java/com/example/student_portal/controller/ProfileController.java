@@ -48,14 +48,7 @@ public class ProfileController {
     public String showProfile(@AuthenticationPrincipal UserDetails principal, Model model) {
         User user = userService.findByEmail(principal.getUsername());
 
-        model.addAttribute("user", user);
-        model.addAttribute("yearGroups", YearGroup.values());
-        model.addAttribute("examBoards", ExamBoard.values());
-        model.addAttribute("teachingModes", TeachingMode.values());
-        model.addAttribute("subjects", subjectService.findAll());
-        model.addAttribute("timeslots", timeslotService.findAll());
-        model.addAttribute("availabilitySlots", availabilityService.getAvailabilitySlots(user));
-
+        prepareModelForProfileView(user, model);
         return "profile";
     }
 
@@ -115,10 +108,12 @@ public class ProfileController {
 
     /**
      * Handle availability updates from consolidated profile page.
+     * Preferred periods are saved alongside as a soft matching preference.
      */
     @PostMapping("/profile/availability")
     public String updateAvailability(@AuthenticationPrincipal UserDetails principal,
                                    @RequestParam(required = false) List<String> slots,
+                                   @RequestParam(required = false) List<String> preferredPeriods,
                                    Model model) {
         User user = userService.findByEmail(principal.getUsername());
         
@@ -138,6 +133,14 @@ public class ProfileController {
                 }
             }
             
+            user.getPreferredPeriods().clear();
+            if (preferredPeriods != null) {
+                for (String period : preferredPeriods) {
+                    user.getPreferredPeriods().add(Period.valueOf(period.toUpperCase()));
+                }
+            }
+            userService.save(user);
+            
             model.addAttribute("successMessage", "Availability updated successfully!");
             
         } catch (Exception e) {
@@ -60,13 +60,10 @@ public class RequestController {
     public String addRequest(@AuthenticationPrincipal UserDetails principal, @ModelAttribute("requestForm") @Valid RequestForm form, Model model) {
         User user = userService.findByEmail(principal.getUsername());
         try {
-            Request request = requestService.createRequest(user, form.getSubjectId(), form.getTimeslotIds(), form.getType());
-
-            if (form.getTargetWeek() != null && !form.getTargetWeek().isBlank()) {
-                LocalDate targetWeek = LocalDate.parse(form.getTargetWeek());
-                request.setTargetWeek(targetWeek);
-                requestService.updateRequest(request);
-            }
+            LocalDate targetWeek = form.getTargetWeek() != null && !form.getTargetWeek().isBlank()
+                ? LocalDate.parse(form.getTargetWeek()) : null;
+            requestService.createRequest(user, form.getSubjectId(), form.getTimeslotIds(), form.getType(),
+                form.getPreferredTimeslotId(), targetWeek);
         } catch (IllegalArgumentException | IllegalStateException ex) {
             return "redirect:/dashboard#requests?error=create";
         }
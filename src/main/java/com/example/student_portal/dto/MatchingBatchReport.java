@@ -0,0 +1,80 @@
+package com.example.student_portal.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Aggregated result of matching a range of weeks in one batch.
+ */
+public class MatchingBatchReport {
+
+    private final LocalDate firstWeek;
+    private final long wallMillis;
+    private final List<WeekResult> weeks;
+
+    public MatchingBatchReport(LocalDate firstWeek, long wallMillis, List<WeekResult> weeks) {
+        this.firstWeek = firstWeek;
+        this.wallMillis = wallMillis;
+        this.weeks = List.copyOf(weeks);
+    }
+
+    public LocalDate getFirstWeek() { return firstWeek; }
+    public long getWallMillis() { return wallMillis; }
+    public List<WeekResult> getWeeks() { return weeks; }
+
+    public int getTotalMatches() {
+        return weeks.stream().mapToInt(WeekResult::getMatchCount).sum();
+    }
+
+    public long getFailedWeekCount() {
+        return weeks.stream().filter(week -> !week.isSucceeded()).count();
+    }
+
+    /**
+     * Load, build and solve time summed over all weeks; compare with the
+     * wall time to see how much the weeks overlapped.
+     */
+    public long getSummedSolveMillis() {
+        return weeks.stream().mapToLong(week -> week.getLoadMillis() + week.getBuildMillis() + week.getSolveMillis()).sum();
+    }
+
+    /**
+     * Outcome of one week in the batch.
+     */
+    public static class WeekResult {
+        private final LocalDate targetWeek;
+        private final int tuteeRequestCount;
+        private final int matchCount;
+        private final long loadMillis;
+        private final long buildMillis;
+        private final long solveMillis;
+        private final long persistMillis;
+        private final String failureMessage;
+
+        public WeekResult(LocalDate targetWeek, int tuteeRequestCount, int matchCount,
+                          long loadMillis, long buildMillis, long solveMillis, long persistMillis,
+                          String failureMessage) {
+            this.targetWeek = targetWeek;
+            this.tuteeRequestCount = tuteeRequestCount;
+            this.matchCount = matchCount;
+            this.loadMillis = loadMillis;
+            this.buildMillis = buildMillis;
+            this.solveMillis = solveMillis;
+            this.persistMillis = persistMillis;
+            this.failureMessage = failureMessage;
+        }
+
+        public LocalDate getTargetWeek() { return targetWeek; }
+        public int getTuteeRequestCount() { return tuteeRequestCount; }
+        public int getMatchCount() { return matchCount; }
+        public long getLoadMillis() { return loadMillis; }
+        public long getBuildMillis() { return buildMillis; }
+        public long getSolveMillis() { return solveMillis; }
+        public long getPersistMillis() { return persistMillis; }
+        public String getFailureMessage() { return failureMessage; }
+
+        public boolean isSucceeded() {
+            return failureMessage == null;
+        }
+    }
+}
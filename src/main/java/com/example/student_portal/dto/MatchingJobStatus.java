@@ -0,0 +1,57 @@
+package com.example.student_portal.dto;
+
+import com.example.student_portal.model.MatchingStage;
+
+/**
+ * Snapshot of an admin-submitted matching job, as shown on the dashboard
+ * and returned by the job polling endpoint.
+ */
+public class MatchingJobStatus {
+
+    private final long id;
+    private final String description;
+    private final MatchingStage stage;
+    private final int tuteeNodeCount;
+    private final int tutorNodeCount;
+    private final int edgeCount;
+    private final int componentsSolved;
+    private final int phasesCompleted;
+    private final int matchesPersisted;
+    private final long elapsedMillis;
+    private final String failureMessage;
+
+    public MatchingJobStatus(long id, String description, MatchingStage stage,
+                             int tuteeNodeCount, int tutorNodeCount, int edgeCount,
+                             int componentsSolved, int phasesCompleted, int matchesPersisted,
+                             long elapsedMillis, String failureMessage) {
+        this.id = id;
+        this.description = description;
+        this.stage = stage;
+        this.tuteeNodeCount = tuteeNodeCount;
+        this.tutorNodeCount = tutorNodeCount;
+        this.edgeCount = edgeCount;
+        this.componentsSolved = componentsSolved;
+        this.phasesCompleted = phasesCompleted;
+        this.matchesPersisted = matchesPersisted;
+        this.elapsedMillis = elapsedMillis;
+        this.failureMessage = failureMessage;
+    }
+
+    public long getId() { return id; }
+    public String getDescription() { return description; }
+    public MatchingStage getStage() { return stage; }
+    public int getTuteeNodeCount() { return tuteeNodeCount; }
+    public int getTutorNodeCount() { return tutorNodeCount; }
+    public int getEdgeCount() { return edgeCount; }
+    public int getComponentsSolved() { return componentsSolved; }
+    /** Phases summed over the solved components. */
+    public int getPhasesCompleted() { return phasesCompleted; }
+    public int getMatchesPersisted() { return matchesPersisted; }
+    /** Time since the job started running, or its run time once finished; 0 while queued. */
+    public long getElapsedMillis() { return elapsedMillis; }
+    public String getFailureMessage() { return failureMessage; }
+
+    public boolean isFinished() {
+        return stage.isFinished();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.student_portal.dto;
+
+import com.example.student_portal.model.MatchingEngine;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Result of a dry-run matching for one target week: the pairs a run would
+ * create plus graph size and timings. Pairs reference requests and the
+ * timeslot by id so the preview can be committed later in a new transaction.
+ */
+public class MatchingPreview {
+
+    private final LocalDate targetWeek;
+    private final MatchingEngine engine;
+    private final Instant createdAt;
+    private final int tuteeRequestCount;
+    private final int tutorRequestCount;
+    private final int tuteeNodeCount;
+    private final int tutorNodeCount;
+    private final int edgeCount;
+    private final int phaseCount;
+    private final long peakGraphBytes;
+    private final long loadMillis;
+    private final long buildMillis;
+    private final long solveMillis;
+    private final List<ProposedMatch> matches;
+
+    public MatchingPreview(LocalDate targetWeek, MatchingEngine engine, int tuteeRequestCount, int tutorRequestCount,
+                           int tuteeNodeCount, int tutorNodeCount, int edgeCount, int phaseCount, long peakGraphBytes,
+                           long loadMillis, long buildMillis, long solveMillis, List<ProposedMatch> matches) {
+        this.targetWeek = targetWeek;
+        this.engine = engine;
+        this.createdAt = Instant.now();
+        this.tuteeRequestCount = tuteeRequestCount;
+        this.tutorRequestCount = tutorRequestCount;
+        this.tuteeNodeCount = tuteeNodeCount;
+        this.tutorNodeCount = tutorNodeCount;
+        this.edgeCount = edgeCount;
+        this.phaseCount = phaseCount;
+        this.peakGraphBytes = peakGraphBytes;
+        this.loadMillis = loadMillis;
+        this.buildMillis = buildMillis;
+        this.solveMillis = solveMillis;
+        this.matches = List.copyOf(matches);
+    }
+
+    /**
+     * Preview for a week with nothing to match.
+     */
+    public static MatchingPreview empty(LocalDate targetWeek, MatchingEngine engine,
+                                       int tuteeRequestCount, int tutorRequestCount, long loadMillis) {
+        return new MatchingPreview(targetWeek, engine, tuteeRequestCount, tutorRequestCount,
+            0, 0, 0, 0, 0, loadMillis, 0, 0, List.of());
+    }
+
+    public LocalDate getTargetWeek() { return targetWeek; }
+    public MatchingEngine getEngine() { return engine; }
+    public Instant getCreatedAt() { return createdAt; }
+    public int getTuteeRequestCount() { return tuteeRequestCount; }
+    public int getTutorRequestCount() { return tutorRequestCount; }
+    public int getTuteeNodeCount() { return tuteeNodeCount; }
+    public int getTutorNodeCount() { return tutorNodeCount; }
+    public int getEdgeCount() { return edgeCount; }
+    public int getPhaseCount() { return phaseCount; }
+    public long getPeakGraphBytes() { return peakGraphBytes; }
+    public long getLoadMillis() { return loadMillis; }
+    public long getBuildMillis() { return buildMillis; }
+    public long getSolveMillis() { return solveMillis; }
+    public List<ProposedMatch> getMatches() { return matches; }
+
+    public int getMatchCount() {
+        return matches.size();
+    }
+
+    /**
+     * Share of this week's tutee requests the preview would match, in percent.
+     */
+    public double getTuteeCoverage() {
+        return tuteeRequestCount == 0 ? 0 : 100.0 * matches.size() / tuteeRequestCount;
+    }
+
+    /**
+     * One tutor-tutee pair a run would create.
+     */
+    public static class ProposedMatch {
+        private final Long tutorRequestId;
+        private final Long tuteeRequestId;
+        private final Long timeslotId;
+        private final String tutorName;
+        private final String tuteeName;
+        private final String subjectName;
+        private final String timeslotLabel;
+
+        public ProposedMatch(Long tutorRequestId, Long tuteeRequestId, Long timeslotId,
+                             String tutorName, String tuteeName, String subjectName, String timeslotLabel) {
+            this.tutorRequestId = tutorRequestId;
+            this.tuteeRequestId = tuteeRequestId;
+            this.timeslotId = timeslotId;
+            this.tutorName = tutorName;
+            this.tuteeName = tuteeName;
+            this.subjectName = subjectName;
+            this.timeslotLabel = timeslotLabel;
+        }
+
+        public Long getTutorRequestId() { return tutorRequestId; }
+        public Long getTuteeRequestId() { return tuteeRequestId; }
+        public Long getTimeslotId() { return timeslotId; }
+        public String getTutorName() { return tutorName; }
+        public String getTuteeName() { return tuteeName; }
+        public String getSubjectName() { return subjectName; }
+        public String getTimeslotLabel() { return timeslotLabel; }
+    }
+}
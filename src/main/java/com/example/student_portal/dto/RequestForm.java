@@ -26,6 +26,9 @@ public class RequestForm {
     @NotNull
     private List<Long> timeslotIds;
 
+    // Optional first-choice timeslot (one of timeslotIds); the others rank after it.
+    private Long preferredTimeslotId;
+
     // ISO date string (YYYY-MM-DD) representing the Monday of the target week.
     private String targetWeek;
 
@@ -42,6 +45,10 @@ public class RequestForm {
 
     public void setTimeslotIds(List<Long> timeslotIds) { this.timeslotIds = timeslotIds; }
 
+    public Long getPreferredTimeslotId() { return preferredTimeslotId; }
+
+    public void setPreferredTimeslotId(Long preferredTimeslotId) { this.preferredTimeslotId = preferredTimeslotId; }
+
     public String getTargetWeek() { return targetWeek; }
 
     public void setTargetWeek(String targetWeek) { this.targetWeek = targetWeek; }
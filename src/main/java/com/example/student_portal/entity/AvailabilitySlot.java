@@ -21,7 +21,8 @@ import java.time.DayOfWeek;
 public class AvailabilitySlot {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "availability_slots_seq")
+    @SequenceGenerator(name = "availability_slots_seq", sequenceName = "availability_slots_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -0,0 +1,71 @@
+package com.example.student_portal.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Database lease that lets exactly one application node run a scheduled job.
+ *
+ * The owner extends expiresAt with a heartbeat while the job runs. Once the
+ * lease has expired (the owner finished, released it or died) another node
+ * may take it. completedKey holds the last run key (e.g. the target week)
+ * that succeeded, so the same run is not executed twice; a failed run is
+ * released without it and retried no earlier than retryAt, until
+ * failedAttempts reaches the retry limit. Rows are written with
+ * JobLeaseJdbcRepository; the entity only defines the table.
+ */
+@Entity
+@Table(name = "job_leases")
+public class JobLease {
+
+    // One row per job, e.g. "weekly-matching"
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    // Node holding (or last holding) the lease
+    @Column(nullable = false, length = 200)
+    private String owner;
+
+    // Run the lease was taken for
+    @Column(name = "run_key", nullable = false, length = 100)
+    private String runKey;
+
+    @Column(name = "completed_key", length = 100)
+    private String completedKey;
+
+    @Column(name = "acquired_at", nullable = false)
+    private Instant acquiredAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private Instant heartbeatAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    // Failures of the current run key; reset when it completes or a new run starts
+    @Column(name = "failed_attempts", nullable = false, columnDefinition = "integer default 0")
+    private int failedAttempts;
+
+    @Column(name = "retry_at")
+    private Instant retryAt;
+
+    public JobLease() { }
+
+    // Getters
+
+    public String getJobName() { return jobName; }
+    public String getOwner() { return owner; }
+    public String getRunKey() { return runKey; }
+    public String getCompletedKey() { return completedKey; }
+    public Instant getAcquiredAt() { return acquiredAt; }
+    public Instant getHeartbeatAt() { return heartbeatAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public Instant getCompletedAt() { return completedAt; }
+    public int getFailedAttempts() { return failedAttempts; }
+    public Instant getRetryAt() { return retryAt; }
+}
@@ -0,0 +1,161 @@
+package com.example.student_portal.entity;
+
+import com.example.student_portal.model.MatchingEngine;
+import com.example.student_portal.model.MatchingTrigger;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One execution of the weekly matching for a target week.
+ *
+ * Records the graph size, solver phases, the time spent in each stage
+ * (load requests, build graph, solve, persist matches) and the result, so
+ * runs can be compared week on week as the school grows. A successful run
+ * also keeps its supply bottleneck report: the tutee requests no maximum
+ * matching could serve and the clusters they fall into, so the admin
+ * dashboard shows where tutors are short without solving again.
+ */
+@Entity
+@Table(name = "matching_runs", indexes = @Index(name = "idx_matching_runs_started_at", columnList = "startedAt"))
+public class MatchingRun {
+
+    // Primary key
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate targetWeek;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "run_trigger", nullable = false)
+    private MatchingTrigger trigger;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MatchingEngine engine;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    private int tuteeNodeCount;
+    private int tutorNodeCount;
+    private long edgeCount;
+
+    // Hopcroft-Karp / Dinic phases (maximum over the graph's components)
+    private int phaseCount;
+
+    // Stage timings in milliseconds
+    private long loadMillis;
+    private long buildMillis;
+    private long solveMillis;
+    private long persistMillis;
+
+    // Estimated peak heap held by the graph while it is built, in bytes
+    private long peakGraphBytes;
+
+    private int matchCount;
+
+    // Tutee requests left unmatched by the maximum matching (Hall deficiency)
+    private int unmatchedTuteeCount;
+
+    // Size of the minimum vertex cover, i.e. the maximum matching before the weekly-cap check
+    private int vertexCoverSize;
+
+    @ElementCollection
+    @CollectionTable(name = "matching_run_shortages", joinColumns = @JoinColumn(name = "matching_run_id"))
+    @OrderColumn(name = "position")
+    private List<SupplyShortage> shortages = new ArrayList<>();
+
+    private boolean succeeded;
+
+    // Error message of a failed run
+    @Column(length = 1000)
+    private String failureMessage;
+
+    public MatchingRun() { }
+
+    public MatchingRun(LocalDate targetWeek, MatchingTrigger trigger, MatchingEngine engine) {
+        this.targetWeek = targetWeek;
+        this.trigger = trigger;
+        this.engine = engine;
+        this.startedAt = Instant.now();
+    }
+
+    /**
+     * Mark the run as failed, keeping whatever stages completed before.
+     */
+    public void fail(String message) {
+        this.succeeded = false;
+        this.failureMessage = message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    public long getTotalMillis() {
+        return loadMillis + buildMillis + solveMillis + persistMillis;
+    }
+
+    // Getters and setters
+
+    public Long getId() { return id; }
+
+    public LocalDate getTargetWeek() { return targetWeek; }
+    public void setTargetWeek(LocalDate targetWeek) { this.targetWeek = targetWeek; }
+
+    public MatchingTrigger getTrigger() { return trigger; }
+    public void setTrigger(MatchingTrigger trigger) { this.trigger = trigger; }
+
+    public MatchingEngine getEngine() { return engine; }
+    public void setEngine(MatchingEngine engine) { this.engine = engine; }
+
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+
+    public int getTuteeNodeCount() { return tuteeNodeCount; }
+    public void setTuteeNodeCount(int tuteeNodeCount) { this.tuteeNodeCount = tuteeNodeCount; }
+
+    public int getTutorNodeCount() { return tutorNodeCount; }
+    public void setTutorNodeCount(int tutorNodeCount) { this.tutorNodeCount = tutorNodeCount; }
+
+    public long getEdgeCount() { return edgeCount; }
+    public void setEdgeCount(long edgeCount) { this.edgeCount = edgeCount; }
+
+    public int getPhaseCount() { return phaseCount; }
+    public void setPhaseCount(int phaseCount) { this.phaseCount = phaseCount; }
+
+    public long getLoadMillis() { return loadMillis; }
+    public void setLoadMillis(long loadMillis) { this.loadMillis = loadMillis; }
+
+    public long getBuildMillis() { return buildMillis; }
+    public void setBuildMillis(long buildMillis) { this.buildMillis = buildMillis; }
+
+    public long getSolveMillis() { return solveMillis; }
+    public void setSolveMillis(long solveMillis) { this.solveMillis = solveMillis; }
+
+    public long getPersistMillis() { return persistMillis; }
+    public void setPersistMillis(long persistMillis) { this.persistMillis = persistMillis; }
+
+    public long getPeakGraphBytes() { return peakGraphBytes; }
+    public void setPeakGraphBytes(long peakGraphBytes) { this.peakGraphBytes = peakGraphBytes; }
+
+    public int getMatchCount() { return matchCount; }
+    public void setMatchCount(int matchCount) { this.matchCount = matchCount; }
+
+    public int getUnmatchedTuteeCount() { return unmatchedTuteeCount; }
+    public void setUnmatchedTuteeCount(int unmatchedTuteeCount) { this.unmatchedTuteeCount = unmatchedTuteeCount; }
+
+    public int getVertexCoverSize() { return vertexCoverSize; }
+    public void setVertexCoverSize(int vertexCoverSize) { this.vertexCoverSize = vertexCoverSize; }
+
+    public List<SupplyShortage> getShortages() { return shortages; }
+    public void setShortages(List<SupplyShortage> shortages) { this.shortages = shortages; }
+
+    public boolean isSucceeded() { return succeeded; }
+    public void setSucceeded(boolean succeeded) { this.succeeded = succeeded; }
+
+    public String getFailureMessage() { return failureMessage; }
+    public void setFailureMessage(String failureMessage) { this.failureMessage = failureMessage; }
+}
@@ -7,7 +7,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -25,7 +27,8 @@ public class Request {
 
     // Primary key
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -55,6 +58,17 @@ public class Request {
     )
     private Set<Timeslot> possibleTimeslots = new HashSet<>();
 
+    /**
+     * Preference rank per possible timeslot id (0 = first choice).
+     * Timeslots without an entry count as rank 0, so requests created
+     * without preferences treat all their timeslots equally.
+     */
+    @ElementCollection
+    @CollectionTable(name = "request_timeslot_ranks", joinColumns = @JoinColumn(name = "request_id"))
+    @MapKeyColumn(name = "timeslot_id")
+    @Column(name = "preference_rank")
+    private Map<Long, Integer> timeslotRanks = new HashMap<>();
+
     /**
      * Type of request: TUTOR or TUTEE.
      */
@@ -118,6 +132,17 @@ public class Request {
     public Set<Timeslot> getPossibleTimeslots() { return possibleTimeslots; }
     public void setPossibleTimeslots(Set<Timeslot> possibleTimeslots) { this.possibleTimeslots = possibleTimeslots; }
 
+    public Map<Long, Integer> getTimeslotRanks() { return timeslotRanks; }
+    public void setTimeslotRanks(Map<Long, Integer> timeslotRanks) { this.timeslotRanks = timeslotRanks; }
+
+    /**
+     * Preference rank of one of this request's timeslots (0 = most preferred).
+     */
+    public int getTimeslotRank(Timeslot timeslot) {
+        Integer rank = timeslotRanks.get(timeslot.getId());
+        return rank != null ? rank : 0;
+    }
+
     public RequestType getType() { return type; }
     public void setType(RequestType type) { this.type = type; }
 
@@ -0,0 +1,57 @@
+package com.example.student_portal.entity;
+
+import com.example.student_portal.model.Period;
+import com.example.student_portal.model.YearGroup;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+/**
+ * Tutor shortage of one (subject, tutee year group, period) cluster found
+ * by a matching run.
+ *
+ * requestCount tutee requests of the cluster are in the run's Hall-violating
+ * set: every tutor slot they could use was taken by one of them, so
+ * unmatchedCount of them went unmatched however the matching was chosen.
+ * A request listing slots in several periods counts towards one of them
+ * only, so the unmatched counts of a run add up to its unmatched tutees.
+ */
+@Embeddable
+public class SupplyShortage {
+
+    @Column(nullable = false)
+    private String subjectName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private YearGroup yearGroup;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Period period;
+
+    private int requestCount;
+
+    private int unmatchedCount;
+
+    public SupplyShortage() { }
+
+    public SupplyShortage(String subjectName, YearGroup yearGroup, Period period, int requestCount, int unmatchedCount) {
+        this.subjectName = subjectName;
+        this.yearGroup = yearGroup;
+        this.period = period;
+        this.requestCount = requestCount;
+        this.unmatchedCount = unmatchedCount;
+    }
+
+    public String getSubjectName() { return subjectName; }
+
+    public YearGroup getYearGroup() { return yearGroup; }
+
+    public Period getPeriod() { return period; }
+
+    public int getRequestCount() { return requestCount; }
+
+    public int getUnmatchedCount() { return unmatchedCount; }
+}
@@ -4,12 +4,15 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.example.student_portal.model.ExamBoard;
+import com.example.student_portal.model.Period;
 import com.example.student_portal.model.Role;
 import com.example.student_portal.model.YearGroup;
 import com.example.student_portal.model.TeachingMode;
 import com.example.student_portal.validation.ValidExamBoardForYearGroup;
 
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -122,6 +125,17 @@ public class User {
     @Column(name = "teaching_mode")
     private TeachingMode teachingMode = TeachingMode.IN_PERSON;
 
+    /**
+     * Periods this user prefers to tutor in.
+     * Used as a soft preference by the MIN_COST_FLOW matching engine;
+     * an empty set means no preference.
+     */
+    @ElementCollection
+    @Enumerated(EnumType.STRING)
+    @CollectionTable(name = "user_preferred_periods", joinColumns = @JoinColumn(name = "user_id"))
+    @Column(name = "period")
+    private Set<Period> preferredPeriods = new HashSet<>();
+
     /**
      * Availability slots for this user (new approach using day/period structure).
      */
@@ -173,6 +187,10 @@ public class User {
 
     public void setTeachingMode(TeachingMode teachingMode) { this.teachingMode = teachingMode; }
 
+    public Set<Period> getPreferredPeriods() { return preferredPeriods; }
+
+    public void setPreferredPeriods(Set<Period> preferredPeriods) { this.preferredPeriods = preferredPeriods; }
+
     public Set<AvailabilitySlot> getAvailabilitySlots() { return availabilitySlots; }
 
     public void setAvailabilitySlots(Set<AvailabilitySlot> availabilitySlots) { this.availabilitySlots = availabilitySlots; }
@@ -0,0 +1,19 @@
+package com.example.student_portal.model;
+
+/**
+ * Solver used by the weekly matching run.
+ *
+ * HOPCROFT_KARP - Maximum bipartite matching; tutor capacity is modelled by
+ * cloning each availability node maxSessionsPerWeek times and over-booked
+ * matches are discarded when persisting.
+ * MAX_FLOW - Dinic max-flow with each tutor's weekly cap as one shared
+ * capacity and each tutor slot used at most once (exact, no post-filtering).
+ * MIN_COST_FLOW - Same network and cardinality as MAX_FLOW, but among all
+ * maximum matchings picks one of minimum preference cost (tutee timeslot
+ * rank plus a penalty for periods the tutor does not prefer).
+ */
+public enum MatchingEngine {
+    HOPCROFT_KARP,
+    MAX_FLOW,
+    MIN_COST_FLOW
+}
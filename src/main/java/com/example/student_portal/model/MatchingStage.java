@@ -0,0 +1,28 @@
+package com.example.student_portal.model;
+
+/**
+ * Stage of an admin-submitted matching job, in the order a job passes them.
+ *
+ * QUEUED - Submitted, waiting for a free job thread.
+ * GENERATING_REQUESTS - Creating this week's recurring requests.
+ * LOADING - Loading the week's outstanding requests.
+ * BUILDING - Building the bipartite graph.
+ * SOLVING - Solving the graph components.
+ * PERSISTING - Writing matches and request statuses.
+ * COMPLETED - Finished successfully.
+ * FAILED - Stopped with an error.
+ */
+public enum MatchingStage {
+    QUEUED,
+    GENERATING_REQUESTS,
+    LOADING,
+    BUILDING,
+    SOLVING,
+    PERSISTING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.student_portal.model;
+
+/**
+ * What started a matching run.
+ *
+ * CRON - The weekly scheduled job.
+ * ADMIN - An admin from the matching dashboard.
+ * RECOVERY - A node taking over a weekly run whose owner died.
+ */
+public enum MatchingTrigger {
+    CRON,
+    ADMIN,
+    RECOVERY
+}
@@ -0,0 +1,150 @@
+package com.example.student_portal.repository;
+
+import com.example.student_portal.repository.IdSequenceJdbcRepository.IdSequence;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk inserts for loading generated data sets (see SyntheticDataGenerator).
+ *
+ * Ids are reserved from each table's identity or pooled id sequence in one
+ * round trip, so child rows can reference their parents without reading
+ * generated keys back. Tables whose rows are never referenced by later rows
+ * get their ids from the sequence on insert. Rows are written in JDBC batches that the PostgreSQL driver
+ * rewrites into multi-row INSERTs (reWriteBatchedInserts on the datasource
+ * URL).
+ */
+@Repository
+public class BulkLoadJdbcRepository {
+
+    /** Rows per JDBC batch. */
+    public static final int CHUNK_SIZE = 5_000;
+
+    /**
+     * Tables that can be bulk loaded, with the columns each row supplies in
+     * order and, for sequence-backed entities, their id sequence.
+     */
+    public enum Table {
+        USERS("users", "id, full_name, email, password_hash, role, year_group, exam_board, "
+            + "max_sessions_per_week, teaching_mode", null, false),
+        USER_SUBJECTS("user_subjects", "user_id, subject_id", null, false),
+        AVAILABILITY_SLOTS("availability_slots", "user_id, day_of_week, period", IdSequence.AVAILABILITY_SLOTS, true),
+        USER_PREFERRED_PERIODS("user_preferred_periods", "user_id, period", null, false),
+        REQUESTS("requests", "id, user_id, subject_id, type, status, year_group, target_week, is_recurring",
+            IdSequence.REQUESTS, false),
+        REQUEST_TIMESLOTS("request_timeslots", "request_id, timeslot_id", null, false),
+        REQUEST_TIMESLOT_RANKS("request_timeslot_ranks", "request_id, timeslot_id, preference_rank", null, false),
+        MATCHES("matches", "tutor_request_id, tutee_request_id, timeslot_id, status", IdSequence.MATCHES, true),
+        CHAT_MESSAGES("chat_messages", "request_id, sender_id, content, created_at", IdSequence.CHAT_MESSAGES, true);
+
+        private final String tableName;
+        private final IdSequence idSequence;
+        private final boolean idOnInsert;
+        private final String insert;
+
+        Table(String tableName, String columns, IdSequence idSequence, boolean idOnInsert) {
+            this.tableName = tableName;
+            this.idSequence = idSequence;
+            this.idOnInsert = idOnInsert;
+            String inserted = idOnInsert ? "id, " + columns : columns;
+            int count = inserted.split(",").length;
+            this.insert = "INSERT INTO " + tableName + " (" + inserted + ") VALUES (?" + ", ?".repeat(count - 1) + ")";
+        }
+    }
+
+    private static final String RESERVE_IDS =
+        "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+
+    // Point both requests of every match at each other, where not linked yet
+    private static final String LINK_TUTEE_PARTNERS =
+        "UPDATE requests r SET matched_partner_id = m.tutor_request_id FROM matches m "
+        + "WHERE m.tutee_request_id = r.id AND r.matched_partner_id IS NULL";
+
+    private static final String LINK_TUTOR_PARTNERS =
+        "UPDATE requests r SET matched_partner_id = m.tutee_request_id FROM matches m "
+        + "WHERE m.tutor_request_id = r.id AND r.matched_partner_id IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdSequenceJdbcRepository idSequenceRepository;
+
+    public BulkLoadJdbcRepository(JdbcTemplate jdbcTemplate, IdSequenceJdbcRepository idSequenceRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idSequenceRepository = idSequenceRepository;
+    }
+
+    /**
+     * Take count ids from the id sequence of a table, or from the identity
+     * sequence of its id column.
+     */
+    public long[] reserveIds(Table table, int count) {
+        if (table.idSequence != null) {
+            return idSequenceRepository.reserveIds(table.idSequence, count);
+        }
+        return jdbcTemplate.queryForList(RESERVE_IDS, Long.class, table.tableName, count)
+            .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Insert rows into a table as a single JDBC batch, prefixing ids from
+     * the table's sequence where rows do not carry their own. Values must
+     * not be null: the driver would be asked for each parameter's type.
+     */
+    public void insert(Table table, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (table.idOnInsert) {
+            long[] ids = reserveIds(table, rows.size());
+            List<Object[]> withIds = new ArrayList<>(rows.size());
+            for (int i = 0; i < ids.length; i++) {
+                Object[] row = rows.get(i);
+                Object[] withId = new Object[row.length + 1];
+                withId[0] = ids[i];
+                System.arraycopy(row, 0, withId, 1, row.length);
+                withIds.add(withId);
+            }
+            rows = withIds;
+        }
+        jdbcTemplate.batchUpdate(table.insert, rows);
+    }
+
+    /**
+     * Set matched_partner_id on both requests of every match that lacks it.
+     *
+     * @return the number of request rows updated
+     */
+    public int linkMatchedPartners() {
+        return jdbcTemplate.update(LINK_TUTEE_PARTNERS) + jdbcTemplate.update(LINK_TUTOR_PARTNERS);
+    }
+
+    public boolean existsUserWithEmailLike(String pattern) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM users WHERE email LIKE ?)", Boolean.class, pattern));
+    }
+
+    /**
+     * Subject id by name, in id order.
+     */
+    public Map<String, Long> findSubjectIds() {
+        return findIds("SELECT id, name FROM subjects ORDER BY id");
+    }
+
+    /**
+     * Timeslot id by label, in id order.
+     */
+    public Map<String, Long> findTimeslotIds() {
+        return findIds("SELECT id, label FROM timeslots ORDER BY id");
+    }
+
+    private Map<String, Long> findIds(String sql) {
+        Map<String, Long> ids = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, (ResultSet rs) -> ids.put(rs.getString(2), rs.getLong(1)));
+        return ids;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.student_portal.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Id reservation and migration for the pooled sequences behind the
+ * write-heavy entities (Request, Match, ChatMessage, AvailabilitySlot).
+ *
+ * Hibernate's pooled-lo optimizer treats each sequence value v as the block
+ * v .. v + ALLOCATION_SIZE - 1, so JDBC writers reserve ids the same way
+ * and never collide with ids Hibernate hands out.
+ */
+@Repository
+public class IdSequenceJdbcRepository {
+
+    /** Ids per sequence value; must match allocationSize on the entities. */
+    public static final int ALLOCATION_SIZE = 50;
+
+    /**
+     * Sequence and table of every sequence-backed entity.
+     */
+    public enum IdSequence {
+        REQUESTS("requests_seq", "requests"),
+        MATCHES("matches_seq", "matches"),
+        CHAT_MESSAGES("chat_messages_seq", "chat_messages"),
+        AVAILABILITY_SLOTS("availability_slots_seq", "availability_slots");
+
+        private final String sequenceName;
+        private final String tableName;
+
+        IdSequence(String sequenceName, String tableName) {
+            this.sequenceName = sequenceName;
+            this.tableName = tableName;
+        }
+
+        public String getSequenceName() {
+            return sequenceName;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+    }
+
+    private static final String NEXT_BLOCKS = "SELECT nextval(?::regclass) FROM generate_series(1, ?)";
+
+    private static final String HAS_IDENTITY =
+        "SELECT EXISTS (SELECT 1 FROM information_schema.columns WHERE table_schema = current_schema() "
+        + "AND table_name = ? AND column_name = 'id' AND is_identity = 'YES')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Take count ids from a sequence, one round trip for all the blocks needed.
+     */
+    public long[] reserveIds(IdSequence sequence, int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        int blocks = (count + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+        List<Long> blockStarts = jdbcTemplate.queryForList(NEXT_BLOCKS, Long.class, sequence.sequenceName, blocks);
+        int next = 0;
+        for (long start : blockStarts) {
+            for (int i = 0; i < ALLOCATION_SIZE && next < count; i++) {
+                ids[next++] = start + i;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Move a table off its old identity column onto its sequence: drop the
+     * identity (so no writer can take ids outside the sequence) and, if the
+     * table already holds ids the sequence would hand out again, advance the
+     * sequence past them. Safe to run on every start: the DDL, which takes
+     * an ACCESS EXCLUSIVE lock on the table, is only issued while the column
+     * is still an identity, so a migrated database only sees two reads.
+     *
+     * @return true if the sequence was advanced
+     */
+    public boolean alignWithTable(IdSequence sequence) {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_IDENTITY, Boolean.class, sequence.tableName))) {
+            jdbcTemplate.execute("ALTER TABLE " + sequence.tableName + " ALTER COLUMN id DROP IDENTITY");
+        }
+        Long nextId = jdbcTemplate.queryForObject("SELECT CASE WHEN is_called THEN last_value + " + ALLOCATION_SIZE
+            + " ELSE last_value END FROM " + sequence.sequenceName, Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + sequence.tableName, Long.class);
+        if (maxId == null || nextId == null || maxId < nextId) {
+            return false;
+        }
+        jdbcTemplate.queryForObject("SELECT setval(?::regclass, ?, false)", Long.class, sequence.sequenceName, maxId + 1);
+        return true;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.student_portal.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Atomic lease operations on the job_leases table (see JobLease).
+ *
+ * Every check-and-set is a single statement and all times come from the
+ * database clock, so nodes with skewed clocks still agree on who holds a
+ * lease. The statements use PostgreSQL's INSERT ... ON CONFLICT.
+ */
+@Repository
+public class JobLeaseJdbcRepository {
+
+    // Take the lease if there is none, or if it has expired and (unless
+    // rerunning) the run has not completed yet; a new run key starts with no failures
+    private static final String START =
+        "INSERT INTO job_leases (job_name, owner, run_key, acquired_at, heartbeat_at, expires_at, failed_attempts) "
+        + "VALUES (?, ?, ?, now(), now(), now() + ? * interval '1 millisecond', 0) "
+        + "ON CONFLICT (job_name) DO UPDATE SET owner = EXCLUDED.owner, run_key = EXCLUDED.run_key, "
+        + "acquired_at = now(), heartbeat_at = now(), expires_at = EXCLUDED.expires_at, "
+        + "failed_attempts = CASE WHEN job_leases.run_key = EXCLUDED.run_key THEN job_leases.failed_attempts ELSE 0 END "
+        + "WHERE job_leases.expires_at < now() AND (? OR job_leases.completed_key IS DISTINCT FROM EXCLUDED.run_key)";
+
+    // Take over a run that was released after failing, or whose owner
+    // stopped heartbeating, before completing it; a failed run only once its
+    // backoff has passed and while it has retries left
+    private static final String TAKE_OVER =
+        "UPDATE job_leases SET owner = ?, acquired_at = now(), heartbeat_at = now(), "
+        + "expires_at = now() + ? * interval '1 millisecond' "
+        + "WHERE job_name = ? AND run_key = ? AND expires_at < now() AND completed_key IS DISTINCT FROM run_key "
+        + "AND failed_attempts < ? AND (retry_at IS NULL OR retry_at <= now())";
+
+    private static final String HEARTBEAT =
+        "UPDATE job_leases SET heartbeat_at = now(), expires_at = now() + ? * interval '1 millisecond' "
+        + "WHERE job_name = ? AND owner = ? AND expires_at >= now()";
+
+    private static final String COMPLETE =
+        "UPDATE job_leases SET completed_key = run_key, completed_at = now(), expires_at = now(), "
+        + "failed_attempts = 0, retry_at = NULL "
+        + "WHERE job_name = ? AND owner = ?";
+
+    // Count the failure and hold retries off for backoff * 2^(earlier failures), doubling at most 10 times
+    private static final String RELEASE =
+        "UPDATE job_leases SET expires_at = now(), failed_attempts = failed_attempts + 1, "
+        + "retry_at = now() + ? * power(2, LEAST(failed_attempts, 10)) * interval '1 millisecond' "
+        + "WHERE job_name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobLeaseJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param rerun also start a run that already completed
+     * @return whether the lease was acquired
+     */
+    public boolean start(String jobName, String owner, String runKey, long ttlMillis, boolean rerun) {
+        return jdbcTemplate.update(START, jobName, owner, runKey, ttlMillis, rerun) == 1;
+    }
+
+    /**
+     * @param maxFailedAttempts leave a run alone once it has failed this often
+     * @return whether an abandoned run was taken over
+     */
+    public boolean takeOver(String jobName, String owner, String runKey, long ttlMillis, int maxFailedAttempts) {
+        return jdbcTemplate.update(TAKE_OVER, owner, ttlMillis, jobName, runKey, maxFailedAttempts) == 1;
+    }
+
+    /**
+     * @return false if the lease expired or another node owns it now
+     */
+    public boolean heartbeat(String jobName, String owner, long ttlMillis) {
+        return jdbcTemplate.update(HEARTBEAT, ttlMillis, jobName, owner) == 1;
+    }
+
+    /**
+     * Mark the leased run as completed and release the lease.
+     */
+    public boolean complete(String jobName, String owner) {
+        return jdbcTemplate.update(COMPLETE, jobName, owner) == 1;
+    }
+
+    /**
+     * Release the lease of a failed run without marking it completed, so it
+     * can be taken over again once the backoff has passed.
+     *
+     * @param backoffMillis delay before the first retry; doubles with every further failure
+     */
+    public boolean release(String jobName, String owner, long backoffMillis) {
+        return jdbcTemplate.update(RELEASE, backoffMillis, jobName, owner) == 1;
+    }
+}
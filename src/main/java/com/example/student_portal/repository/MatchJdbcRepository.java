@@ -0,0 +1,120 @@
+package com.example.student_portal.repository;
+
+import com.example.student_portal.dto.MatchingPreview;
+import com.example.student_portal.model.RequestStatus;
+import com.example.student_portal.repository.IdSequenceJdbcRepository.IdSequence;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk writes for the weekly matching run, bypassing the persistence context.
+ *
+ * Matches are inserted with JDBC batching and request rows are updated with
+ * one set-based statement per chunk, so persisting a week costs a handful of
+ * round trips instead of several per pair. Match ids are reserved from the
+ * matches sequence up front. Only ids are written; managed Match and Request
+ * instances are not refreshed.
+ */
+@Repository
+public class MatchJdbcRepository {
+
+    /** Rows per JDBC batch and ids per UPDATE statement. */
+    static final int CHUNK_SIZE = 500;
+
+    private static final String ACTIVE = "ACTIVE";
+
+    private static final String INSERT_MATCH =
+        "INSERT INTO matches (id, tutor_request_id, tutee_request_id, timeslot_id, status) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdSequenceJdbcRepository idSequenceRepository;
+
+    public MatchJdbcRepository(JdbcTemplate jdbcTemplate, IdSequenceJdbcRepository idSequenceRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idSequenceRepository = idSequenceRepository;
+    }
+
+    /**
+     * Insert the given matches as ACTIVE in JDBC batches.
+     */
+    public void insertAll(List<MatchingPreview.ProposedMatch> matches) {
+        long[] ids = idSequenceRepository.reserveIds(IdSequence.MATCHES, matches.size());
+        for (int from = 0; from < matches.size(); from += CHUNK_SIZE) {
+            int offset = from;
+            List<MatchingPreview.ProposedMatch> chunk = matches.subList(from, Math.min(from + CHUNK_SIZE, matches.size()));
+            jdbcTemplate.batchUpdate(INSERT_MATCH, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    MatchingPreview.ProposedMatch match = chunk.get(i);
+                    statement.setLong(1, ids[offset + i]);
+                    statement.setLong(2, match.getTutorRequestId());
+                    statement.setLong(3, match.getTuteeRequestId());
+                    statement.setLong(4, match.getTimeslotId());
+                    statement.setString(5, ACTIVE);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+        }
+    }
+
+    /**
+     * Set the status and matched partner of many requests, one UPDATE per chunk.
+     * Only rows still in expectedStatus are touched, so a request another
+     * writer moved on since it was loaded keeps its status and partner; the
+     * caller compares the returned count with the number of ids.
+     *
+     * @param partnerByRequestId matched partner request id per request id
+     * @return the number of request rows updated
+     */
+    public int updateStatusAndPartner(Map<Long, Long> partnerByRequestId, RequestStatus expectedStatus,
+                                      RequestStatus status) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(partnerByRequestId.entrySet());
+        int updated = 0;
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            List<Map.Entry<Long, Long>> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+            updated += jdbcTemplate.update(updateStatement(chunk.size()), updateArguments(chunk, expectedStatus, status));
+        }
+        return updated;
+    }
+
+    // UPDATE requests SET status = ?, matched_partner_id = CASE id WHEN ? THEN ? ... END
+    //     WHERE id IN (?, ...) AND status = ?
+    private static String updateStatement(int size) {
+        StringBuilder sql = new StringBuilder("UPDATE requests SET status = ?, matched_partner_id = CASE id");
+        for (int i = 0; i < size; i++) {
+            sql.append(" WHEN ? THEN ?");
+        }
+        sql.append(" END WHERE id IN (");
+        for (int i = 0; i < size; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(") AND status = ?").toString();
+    }
+
+    private static Object[] updateArguments(List<Map.Entry<Long, Long>> chunk, RequestStatus expectedStatus,
+                                            RequestStatus status) {
+        Object[] arguments = new Object[2 + 3 * chunk.size()];
+        arguments[0] = status.name();
+        int next = 1;
+        for (Map.Entry<Long, Long> entry : chunk) {
+            arguments[next++] = entry.getKey();
+            arguments[next++] = entry.getValue();
+        }
+        for (Map.Entry<Long, Long> entry : chunk) {
+            arguments[next++] = entry.getKey();
+        }
+        arguments[next] = expectedStatus.name();
+        return arguments;
+    }
+}
@@ -5,6 +5,7 @@ import com.example.student_portal.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -34,4 +35,9 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
      * Used for chat access control validation.
      */
     List<Match> findByTutorRequestIdOrTuteeRequestId(Long tutorRequestId, Long tuteeRequestId);
-}
\ No newline at end of file
+
+    /**
+     * Find matches with the given status whose tutee request targets the given week.
+     */
+    List<Match> findByTuteeRequest_TargetWeekAndStatus(LocalDate targetWeek, String status);
+}
@@ -0,0 +1,276 @@
+package com.example.student_portal.repository;
+
+import com.example.student_portal.model.Period;
+import com.example.student_portal.model.RequestStatus;
+import com.example.student_portal.model.RequestType;
+import com.example.student_portal.model.YearGroup;
+import com.example.student_portal.util.SlotOrdinals;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads the input of a weekly matching run as flat rows instead of entities.
+ *
+ * A week costs five queries whatever its size: timeslots, availability and
+ * preferred periods of the week's tutors, tutor requests, and tutee requests
+ * joined with their timeslots. Week, type and status are filtered in SQL and
+ * timeslot labels are turned into {@link SlotOrdinals} here. Rows go to a
+ * {@link Handler} while the result sets are read, always tutors before
+ * tutees, so the caller can build its graph as they stream in.
+ */
+@Repository
+public class MatchingInputJdbcRepository {
+
+    private static final String TIMESLOTS = "SELECT id, label FROM timeslots";
+
+    private static final String WEEK_TUTOR_IDS =
+        "SELECT user_id FROM requests WHERE type = ? AND status = ? AND target_week = ?";
+
+    private static final String TUTOR_AVAILABILITY =
+        "SELECT user_id, day_of_week, period FROM availability_slots WHERE user_id IN (" + WEEK_TUTOR_IDS + ")";
+
+    private static final String TUTOR_PREFERRED_PERIODS =
+        "SELECT user_id, period FROM user_preferred_periods WHERE user_id IN (" + WEEK_TUTOR_IDS + ")";
+
+    private static final String TUTOR_REQUESTS =
+        "SELECT r.id, r.user_id, r.subject_id, r.year_group, u.full_name, u.max_sessions_per_week"
+        + " FROM requests r JOIN users u ON u.id = r.user_id"
+        + " WHERE r.type = ? AND r.status = ? AND r.target_week = ? ORDER BY r.id";
+
+    // One row per (request, timeslot); requests without timeslots still get one row
+    private static final String TUTEE_REQUESTS =
+        "SELECT r.id, r.user_id, r.subject_id, r.year_group, u.full_name, s.name, rt.timeslot_id, rk.preference_rank"
+        + " FROM requests r JOIN users u ON u.id = r.user_id JOIN subjects s ON s.id = r.subject_id"
+        + " LEFT JOIN request_timeslots rt ON rt.request_id = r.id"
+        + " LEFT JOIN request_timeslot_ranks rk ON rk.request_id = r.id AND rk.timeslot_id = rt.timeslot_id"
+        + " WHERE r.type = ? AND r.status = ? AND r.target_week = ? ORDER BY r.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchingInputJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Receives the rows of one week, in the order the methods are declared.
+     */
+    public interface Handler {
+
+        /** A timeslot whose label maps onto a slot ordinal. */
+        void timeslot(long timeslotId, int slot, String label);
+
+        /** A weekday slot a tutor with a request this week is available in. */
+        void tutorAvailability(long tutorId, int slot, Period period);
+
+        void tutorPreferredPeriod(long tutorId, Period period);
+
+        /** An outstanding tutor request, in request id order. */
+        void tutorRequest(TutorRequestRow row);
+
+        /** An outstanding tutee request with its timeslots, in request id order. */
+        void tuteeRequest(TuteeRequestRow row);
+    }
+
+    /**
+     * Stream the outstanding tutor and tutee requests of a week, and what
+     * the graph needs about their users, into the handler.
+     */
+    public void loadWeek(LocalDate targetWeek, Handler handler) {
+        Map<Long, Integer> slotByTimeslot = new HashMap<>();
+        jdbcTemplate.query(TIMESLOTS, (ResultSet rs) -> {
+            int slot = SlotOrdinals.parse(rs.getString(2));
+            if (slot != SlotOrdinals.NONE) {
+                slotByTimeslot.put(rs.getLong(1), slot);
+                handler.timeslot(rs.getLong(1), slot, rs.getString(2));
+            }
+        });
+
+        Object[] tutors = weekArguments(RequestType.TUTOR, targetWeek);
+        jdbcTemplate.query(TUTOR_AVAILABILITY, (ResultSet rs) -> {
+            Period period = Period.valueOf(rs.getString(3));
+            int slot = SlotOrdinals.of(DayOfWeek.valueOf(rs.getString(2)), period);
+            if (slot != SlotOrdinals.NONE) {
+                handler.tutorAvailability(rs.getLong(1), slot, period);
+            }
+        }, tutors);
+        jdbcTemplate.query(TUTOR_PREFERRED_PERIODS,
+            (ResultSet rs) -> handler.tutorPreferredPeriod(rs.getLong(1), Period.valueOf(rs.getString(2))), tutors);
+        jdbcTemplate.query(TUTOR_REQUESTS, (ResultSet rs) -> {
+            int maxSessions = rs.getInt(6);
+            Integer capacity = rs.wasNull() ? null : maxSessions;
+            handler.tutorRequest(new TutorRequestRow(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                YearGroup.valueOf(rs.getString(4)), rs.getString(5), capacity));
+        }, tutors);
+
+        TuteeRowCollector tutees = new TuteeRowCollector(slotByTimeslot, handler);
+        jdbcTemplate.query(TUTEE_REQUESTS, tutees::add, weekArguments(RequestType.TUTEE, targetWeek));
+        tutees.flush();
+    }
+
+    private static Object[] weekArguments(RequestType type, LocalDate targetWeek) {
+        return new Object[] { type.name(), RequestStatus.OUTSTANDING.name(), targetWeek };
+    }
+
+    /**
+     * Folds the consecutive (request, timeslot) rows of each tutee request
+     * into one {@link TuteeRequestRow}.
+     */
+    private static final class TuteeRowCollector {
+        private final Map<Long, Integer> slotByTimeslot;
+        private final Handler handler;
+        private TuteeRequestRow.Builder current;
+
+        TuteeRowCollector(Map<Long, Integer> slotByTimeslot, Handler handler) {
+            this.slotByTimeslot = slotByTimeslot;
+            this.handler = handler;
+        }
+
+        void add(ResultSet rs) throws SQLException {
+            long requestId = rs.getLong(1);
+            if (current == null || current.requestId != requestId) {
+                flush();
+                current = new TuteeRequestRow.Builder(requestId, rs.getLong(2), rs.getLong(3),
+                    YearGroup.valueOf(rs.getString(4)), rs.getString(5), rs.getString(6));
+            }
+            long timeslotId = rs.getLong(7);
+            if (rs.wasNull()) {
+                return;
+            }
+            int rank = rs.getInt(8);
+            Integer slot = slotByTimeslot.get(timeslotId);
+            if (slot != null) {
+                current.addTimeslot(timeslotId, slot, rank);
+            }
+        }
+
+        void flush() {
+            if (current != null) {
+                handler.tuteeRequest(current.build());
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * An outstanding tutor request and its tutor's weekly capacity.
+     */
+    public static final class TutorRequestRow {
+        public final long requestId;
+        public final long tutorId;
+        public final long subjectId;
+        public final YearGroup yearGroup;
+        public final String tutorName;
+        /** Null when the tutor has not set a limit. */
+        public final Integer maxSessionsPerWeek;
+
+        public TutorRequestRow(long requestId, long tutorId, long subjectId, YearGroup yearGroup,
+                               String tutorName, Integer maxSessionsPerWeek) {
+            this.requestId = requestId;
+            this.tutorId = tutorId;
+            this.subjectId = subjectId;
+            this.yearGroup = yearGroup;
+            this.tutorName = tutorName;
+            this.maxSessionsPerWeek = maxSessionsPerWeek;
+        }
+    }
+
+    /**
+     * An outstanding tutee request with the slots of its timeslots. Timeslots
+     * that are not a weekday period are left out; slots, timeslotIds and
+     * ranks are parallel arrays, rank 0 being the first choice.
+     */
+    public static final class TuteeRequestRow {
+        public final long requestId;
+        public final long tuteeId;
+        public final long subjectId;
+        public final YearGroup yearGroup;
+        public final String tuteeName;
+        public final String subjectName;
+        public final long slotMask;
+        private final int[] slots;
+        private final long[] timeslotIds;
+        private final int[] ranks;
+
+        public TuteeRequestRow(long requestId, long tuteeId, long subjectId, YearGroup yearGroup,
+                               String tuteeName, String subjectName, int[] slots, long[] timeslotIds, int[] ranks) {
+            this.requestId = requestId;
+            this.tuteeId = tuteeId;
+            this.subjectId = subjectId;
+            this.yearGroup = yearGroup;
+            this.tuteeName = tuteeName;
+            this.subjectName = subjectName;
+            this.slots = slots;
+            this.timeslotIds = timeslotIds;
+            this.ranks = ranks;
+            long mask = 0;
+            for (int slot : slots) {
+                mask |= SlotOrdinals.bit(slot);
+            }
+            this.slotMask = mask;
+        }
+
+        public int getTimeslotCount() { return slots.length; }
+        public int getSlot(int i) { return slots[i]; }
+        public long getTimeslotId(int i) { return timeslotIds[i]; }
+        public int getRank(int i) { return ranks[i]; }
+
+        /**
+         * Preference rank of the first of this request's timeslots in a slot, or 0.
+         */
+        public int rankOf(int slot) {
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] == slot) {
+                    return ranks[i];
+                }
+            }
+            return 0;
+        }
+
+        static final class Builder {
+            final long requestId;
+            private final long tuteeId;
+            private final long subjectId;
+            private final YearGroup yearGroup;
+            private final String tuteeName;
+            private final String subjectName;
+            private int[] slots = new int[4];
+            private long[] timeslotIds = new long[4];
+            private int[] ranks = new int[4];
+            private int size;
+
+            Builder(long requestId, long tuteeId, long subjectId, YearGroup yearGroup, String tuteeName, String subjectName) {
+                this.requestId = requestId;
+                this.tuteeId = tuteeId;
+                this.subjectId = subjectId;
+                this.yearGroup = yearGroup;
+                this.tuteeName = tuteeName;
+                this.subjectName = subjectName;
+            }
+
+            void addTimeslot(long timeslotId, int slot, int rank) {
+                if (size == slots.length) {
+                    slots = Arrays.copyOf(slots, size * 2);
+                    timeslotIds = Arrays.copyOf(timeslotIds, size * 2);
+                    ranks = Arrays.copyOf(ranks, size * 2);
+                }
+                slots[size] = slot;
+                timeslotIds[size] = timeslotId;
+                ranks[size] = rank;
+                size++;
+            }
+
+            TuteeRequestRow build() {
+                return new TuteeRequestRow(requestId, tuteeId, subjectId, yearGroup, tuteeName, subjectName,
+                    Arrays.copyOf(slots, size), Arrays.copyOf(timeslotIds, size), Arrays.copyOf(ranks, size));
+            }
+        }
+    }
+}
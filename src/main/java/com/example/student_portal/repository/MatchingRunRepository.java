@@ -0,0 +1,29 @@
+package com.example.student_portal.repository;
+
+import com.example.student_portal.entity.MatchingRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for MatchingRun entity.
+ * Used to record matching runs and page through their history.
+ */
+@Repository
+public interface MatchingRunRepository extends JpaRepository<MatchingRun, Long> {
+
+    /**
+     * Page through runs, most recent first.
+     */
+    Page<MatchingRun> findAllByOrderByStartedAtDesc(Pageable pageable);
+
+    /**
+     * Most recent successful run, with its supply shortages.
+     */
+    @EntityGraph(attributePaths = "shortages")
+    Optional<MatchingRun> findFirstBySucceededTrueOrderByStartedAtDesc();
+}
@@ -25,6 +25,8 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
 
     boolean existsByUserAndSubjectAndTypeAndStatus(User user, Subject subject, RequestType type, RequestStatus status);
 
+    boolean existsByUserAndSubjectAndTypeAndTargetWeek(User user, Subject subject, RequestType type, LocalDate targetWeek);
+
     /**
      * Find requests by subject ID.
      */
@@ -40,4 +42,10 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
      * Find requests by type, status, and target week.
      */
     List<Request> findByTypeAndStatusAndTargetWeek(RequestType type, RequestStatus status, LocalDate targetWeek);
+
+    /**
+     * Find recurring requests by type, status, and target week.
+     */
+    List<Request> findByTypeAndStatusAndTargetWeekAndIsRecurringTrue(RequestType type, RequestStatus status,
+                                                                      LocalDate targetWeek);
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package com.example.student_portal.service;
+
+import com.example.student_portal.repository.JobLeaseJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs a job on at most one application node at a time, using a lease row
+ * in the database instead of an external coordinator.
+ *
+ * The node that takes the lease renews it with a heartbeat every third of
+ * matching.lease.ttl while the job runs. A run that succeeds is marked
+ * completed; a run that fails only releases the lease, so it is retried,
+ * after matching.lease.retry-backoff (doubling with every failure) and at
+ * most matching.lease.max-retries times. If the owner dies, its lease
+ * expires and another node can take the unfinished run over. Lease statements run in their own short transactions so they
+ * are visible to other nodes at once.
+ *
+ * A lease that a heartbeat finds expired or taken over is marked lost. The
+ * job cannot be stopped from outside, so it calls {@link #checkHeld()} right
+ * before persisting, which fails once a lease was lost and otherwise renews
+ * it; two nodes never write for the same lease.
+ */
+@Service
+public class JobLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLeaseService.class);
+
+    private final JobLeaseJdbcRepository jobLeaseRepository;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate leaseTransaction;
+    private final Duration ttl;
+    private final Duration retryBackoff;
+    private final int maxRetries;
+    private final String owner;
+
+    // Leases held by the job running on the current thread, innermost first
+    private final ThreadLocal<Deque<HeldLease>> heldLeases = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public JobLeaseService(JobLeaseJdbcRepository jobLeaseRepository,
+                           TaskScheduler taskScheduler,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${matching.lease.ttl:PT5M}") Duration ttl,
+                           @Value("${matching.lease.retry-backoff:PT5M}") Duration retryBackoff,
+                           @Value("${matching.lease.max-retries:4}") int maxRetries) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.taskScheduler = taskScheduler;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = ttl;
+        this.retryBackoff = retryBackoff;
+        this.maxRetries = maxRetries;
+        // pid@host plus a random suffix, so two instances on one host differ
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Run a job unless another node holds its lease or (when rerun is false)
+     * the run already completed.
+     *
+     * @return whether this node ran the job
+     */
+    public boolean runExclusively(String jobName, String runKey, boolean rerun, Runnable job) {
+        return run(jobName, runKey, job,
+            () -> jobLeaseRepository.start(jobName, owner, runKey, ttl.toMillis(), rerun));
+    }
+
+    /**
+     * Run a job only if a previous owner started this run and stopped
+     * heartbeating, or failed and released it, before completing it. A
+     * failed run waits out its backoff and is given up after
+     * matching.lease.max-retries failures.
+     *
+     * @return whether this node took the run over and ran it
+     */
+    public boolean recoverAbandoned(String jobName, String runKey, Runnable job) {
+        return run(jobName, runKey, job,
+            () -> jobLeaseRepository.takeOver(jobName, owner, runKey, ttl.toMillis(), maxRetries));
+    }
+
+    /**
+     * Confirm that the job on the current thread still holds every lease it
+     * runs under, renewing them. Call right before persisting.
+     *
+     * @throws IllegalStateException if a lease was lost
+     */
+    public void checkHeld() {
+        Deque<HeldLease> held = heldLeases.get();
+        try {
+            for (HeldLease lease : held) {
+                if (lease.lost || !Boolean.TRUE.equals(leaseTransaction.execute(
+                        status -> jobLeaseRepository.heartbeat(lease.jobName, owner, ttl.toMillis())))) {
+                    lease.lost = true;
+                    throw new IllegalStateException("Lease for " + lease.jobName + " (" + lease.runKey
+                        + ") was lost; another node may be running it");
+                }
+            }
+        } finally {
+            if (held.isEmpty()) {
+                heldLeases.remove();
+            }
+        }
+    }
+
+    private boolean run(String jobName, String runKey, Runnable job, BooleanSupplier acquire) {
+        if (!Boolean.TRUE.equals(leaseTransaction.execute(status -> acquire.getAsBoolean()))) {
+            logger.debug("Lease for {} ({}) not acquired by {}", jobName, runKey, owner);
+            return false;
+        }
+        logger.info("Lease for {} ({}) acquired by {}", jobName, runKey, owner);
+
+        HeldLease lease = new HeldLease(jobName, runKey);
+        Deque<HeldLease> held = heldLeases.get();
+        held.push(lease);
+        ScheduledFuture<?> heartbeat = taskScheduler.scheduleAtFixedRate(() -> heartbeat(lease), ttl.dividedBy(3));
+        boolean succeeded = false;
+        try {
+            job.run();
+            succeeded = true;
+        } finally {
+            heartbeat.cancel(false);
+            held.remove(lease);
+            if (held.isEmpty()) {
+                heldLeases.remove();
+            }
+            // Only a successful run is completed; a failed one is left for a retry
+            boolean released = succeeded
+                ? Boolean.TRUE.equals(leaseTransaction.execute(status -> jobLeaseRepository.complete(jobName, owner)))
+                : Boolean.TRUE.equals(leaseTransaction.execute(status -> jobLeaseRepository.release(jobName, owner,
+                    retryBackoff.toMillis())));
+            if (!released) {
+                logger.warn("Lease for {} ({}) was lost before {} released it", jobName, runKey, owner);
+            }
+        }
+        return true;
+    }
+
+    private void heartbeat(HeldLease lease) {
+        try {
+            if (!Boolean.TRUE.equals(leaseTransaction.execute(
+                    status -> jobLeaseRepository.heartbeat(lease.jobName, owner, ttl.toMillis())))) {
+                lease.lost = true;
+                logger.error("Lease for {} expired while {} was still running it; the job will not persist",
+                            lease.jobName, owner);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Heartbeat for {} failed: {}", lease.jobName, e.getMessage());
+        }
+    }
+
+    /**
+     * A lease taken by this node; lost is set from the heartbeat thread.
+     */
+    private static final class HeldLease {
+        final String jobName;
+        final String runKey;
+        volatile boolean lost;
+
+        HeldLease(String jobName, String runKey) {
+            this.jobName = jobName;
+            this.runKey = runKey;
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.example.student_portal.service;
 
+import com.example.student_portal.dto.MatchingPreview;
 import com.example.student_portal.entity.Match;
 import com.example.student_portal.entity.Request;
 import com.example.student_portal.entity.Timeslot;
 import com.example.student_portal.entity.User;
 import com.example.student_portal.model.RequestStatus;
+import com.example.student_portal.repository.MatchJdbcRepository;
 import com.example.student_portal.repository.MatchRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for storing and retrieving tutor–tutee matches.
@@ -22,28 +27,73 @@ import java.util.List;
 public class MatchService {
 
     private final MatchRepository matchRepository;
+    private final MatchJdbcRepository matchJdbcRepository;
     private final RequestService requestService;
 
     public MatchService(MatchRepository matchRepository,
+                        MatchJdbcRepository matchJdbcRepository,
                         RequestService requestService) {
         this.matchRepository = matchRepository;
+        this.matchJdbcRepository = matchJdbcRepository;
         this.requestService = requestService;
     }
 
     /**
      * Saves a new tutor–tutee match and updates the involved requests' status to MATCHED.
+     *
+     * @throws IllegalStateException if the tutee request is no longer
+     *         OUTSTANDING (matched elsewhere since it was loaded); nothing is saved
      */
     public Match saveMatch(Request tutorRequest, Request tuteeRequest, Timeslot timeslot) {
+        // Claim the tutee first, only if it is still outstanding
+        if (matchJdbcRepository.updateStatusAndPartner(Map.of(tuteeRequest.getId(), tutorRequest.getId()),
+                RequestStatus.OUTSTANDING, RequestStatus.MATCHED) != 1) {
+            throw new IllegalStateException("Request " + tuteeRequest.getId() + " is no longer outstanding");
+        }
         Match match = new Match(tutorRequest, tuteeRequest, timeslot);
         Match saved = matchRepository.save(match);
 
-        // Update requests to MATCHED
+        // A tutor request can hold several sessions, so it is not guarded
         requestService.updateStatus(tutorRequest.getId(), RequestStatus.MATCHED);
-        requestService.updateStatus(tuteeRequest.getId(), RequestStatus.MATCHED);
+        requestService.publishStatusChanged(tuteeRequest.getId(), tuteeRequest.getTargetWeek(), RequestStatus.MATCHED);
 
         return saved;
     }
 
+    /**
+     * Saves many new matches of one week at once, as the weekly matching run
+     * does: every involved request is set from OUTSTANDING to MATCHED with
+     * its matched partner in chunked set-based updates, and the matches are
+     * inserted in JDBC batches. A tutor request with several sessions gets
+     * its first tutee as partner. Only ids are used, so no Request entity has
+     * to be loaded.
+     *
+     * @return the number of matches saved
+     * @throws IllegalStateException if any involved request is no longer
+     *         OUTSTANDING (matched elsewhere since it was loaded); nothing of
+     *         the week is saved
+     */
+    public int saveMatches(LocalDate targetWeek, List<MatchingPreview.ProposedMatch> matches) {
+        if (matches.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Long> partnerByRequestId = new LinkedHashMap<>();
+        for (MatchingPreview.ProposedMatch match : matches) {
+            partnerByRequestId.putIfAbsent(match.getTutorRequestId(), match.getTuteeRequestId());
+            partnerByRequestId.put(match.getTuteeRequestId(), match.getTutorRequestId());
+        }
+        int updated = matchJdbcRepository.updateStatusAndPartner(partnerByRequestId, RequestStatus.OUTSTANDING,
+            RequestStatus.MATCHED);
+        if (updated != partnerByRequestId.size()) {
+            throw new IllegalStateException((partnerByRequestId.size() - updated) + " of " + partnerByRequestId.size()
+                + " requests for the week of " + targetWeek + " are no longer outstanding");
+        }
+        matchJdbcRepository.insertAll(matches);
+        partnerByRequestId.keySet().forEach(
+            requestId -> requestService.publishStatusChanged(requestId, targetWeek, RequestStatus.MATCHED));
+        return matches.size();
+    }
+
     /**
      * Returns all matches where the user is involved (either as tutor or tutee).
      */
@@ -59,6 +109,13 @@ public class MatchService {
         matchRepository.deleteAll();
     }
 
+    /**
+     * Returns the ACTIVE matches whose tutee request targets the given week.
+     */
+    public List<Match> findActiveMatchesForWeek(LocalDate targetWeek) {
+        return matchRepository.findByTuteeRequest_TargetWeekAndStatus(targetWeek, "ACTIVE");
+    }
+
     /**
      * Returns all matches in the system (for admin dashboard).
      */
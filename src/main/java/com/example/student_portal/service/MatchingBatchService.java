@@ -0,0 +1,145 @@
+package com.example.student_portal.service;
+
+import com.example.student_portal.dto.MatchingBatchReport;
+import com.example.student_portal.entity.MatchingRun;
+import com.example.student_portal.model.MatchingTrigger;
+import com.example.student_portal.service.MatchingService.PreparedWeek;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Matches a range of weeks in one go, for example at the start of term.
+ *
+ * Weeks do not share capacity (every request targets one week), so each
+ * week's load, build and solve runs concurrently on the bounded
+ * matchingBatchExecutor, in its own read-only transaction. The results are
+ * then written one week at a time, in week order, through
+ * {@link MatchingService#commitPreparedWeek}: under the week's write guard,
+ * recorded as a {@link MatchingRun} with its shortages and published to the
+ * metrics like any other run. A week is written as soon as it is solved
+ * while later weeks are still solving, and a failed week does not roll back
+ * the others. Batches are started as background jobs through
+ * {@link MatchingJobService}.
+ */
+@Service
+public class MatchingBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchingBatchService.class);
+
+    /** Upper bound on weeks per batch (roughly one school term). */
+    public static final int MAX_WEEKS = 16;
+
+    private final MatchingService matchingService;
+    private final ExecutorService matchingBatchExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile MatchingBatchReport lastReport;
+
+    public MatchingBatchService(MatchingService matchingService,
+                                ExecutorService matchingBatchExecutor,
+                                PlatformTransactionManager transactionManager) {
+        this.matchingService = matchingService;
+        this.matchingBatchExecutor = matchingBatchExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Match weekCount consecutive weeks starting with the week of firstWeek.
+     *
+     * @param firstWeek any day of the first week; runs start on its Monday
+     * @param weekCount number of weeks, 1 to {@link #MAX_WEEKS}
+     * @param trigger   whether the scheduler or an admin started the batch
+     * @param progress  receives the persisting stage and persisted matches of each week
+     * @return per-week results in week order
+     */
+    public MatchingBatchReport runBatch(LocalDate firstWeek, int weekCount, MatchingTrigger trigger,
+                                        MatchingProgress progress) {
+        checkWeekCount(weekCount);
+        LocalDate monday = firstWeek.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        logger.info("Starting matching batch for {} weeks from {}", weekCount, monday);
+        long start = System.nanoTime();
+
+        // Load, build and solve every week concurrently
+        List<LocalDate> weeks = new ArrayList<>(weekCount);
+        List<Future<PreparedWeek>> solutions = new ArrayList<>(weekCount);
+        for (int i = 0; i < weekCount; i++) {
+            LocalDate week = monday.plusWeeks(i);
+            weeks.add(week);
+            solutions.add(matchingBatchExecutor.submit(
+                () -> readOnlyTransaction.execute(status -> matchingService.prepareWeek(week))));
+        }
+
+        // Write one week at a time, in order, as the solutions come in
+        List<MatchingBatchReport.WeekResult> results = new ArrayList<>(weekCount);
+        for (int i = 0; i < weekCount; i++) {
+            results.add(writeWeek(weeks.get(i), solutions.get(i), trigger, progress));
+        }
+
+        MatchingBatchReport report = new MatchingBatchReport(monday, (System.nanoTime() - start) / 1_000_000, results);
+        lastReport = report;
+        logger.info("Matching batch from {} complete: {} matches over {} weeks ({} failed) in {} ms wall, {} ms summed solve time",
+                   monday, report.getTotalMatches(), weekCount, report.getFailedWeekCount(),
+                   report.getWallMillis(), report.getSummedSolveMillis());
+        return report;
+    }
+
+    /**
+     * Report of the most recent batch on this node, or null if none has run.
+     */
+    public MatchingBatchReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * @throws IllegalArgumentException if weekCount is outside 1 to {@link #MAX_WEEKS}
+     */
+    static void checkWeekCount(int weekCount) {
+        if (weekCount < 1 || weekCount > MAX_WEEKS) {
+            throw new IllegalArgumentException("A batch covers 1 to " + MAX_WEEKS + " weeks");
+        }
+    }
+
+    private MatchingBatchReport.WeekResult writeWeek(LocalDate week, Future<PreparedWeek> solution,
+                                                     MatchingTrigger trigger, MatchingProgress progress) {
+        PreparedWeek prepared = null;
+        long persistMillis = 0;
+        try {
+            prepared = solution.get();
+            long persistStart = System.nanoTime();
+            int matchesCreated = matchingService.commitPreparedWeek(prepared, trigger, progress);
+            persistMillis = (System.nanoTime() - persistStart) / 1_000_000;
+            logger.info("Batch week {}: {} matches created", week, matchesCreated);
+            return weekResult(week, prepared, matchesCreated, persistMillis, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return weekResult(week, prepared, 0, persistMillis, "Interrupted");
+        } catch (ExecutionException | RuntimeException e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            logger.error("Batch week {} failed: {}", week, cause.getMessage(), cause);
+            return weekResult(week, prepared, 0, persistMillis, String.valueOf(cause.getMessage()));
+        }
+    }
+
+    private static MatchingBatchReport.WeekResult weekResult(LocalDate week, PreparedWeek prepared, int matchCount,
+                                                             long persistMillis, String failureMessage) {
+        if (prepared == null) {
+            return new MatchingBatchReport.WeekResult(week, 0, 0, 0, 0, 0, 0, failureMessage);
+        }
+        return new MatchingBatchReport.WeekResult(week, prepared.getTuteeRequestCount(), matchCount,
+            prepared.getLoadMillis(), prepared.getBuildMillis(), prepared.getSolveMillis(), persistMillis,
+            failureMessage);
+    }
+}
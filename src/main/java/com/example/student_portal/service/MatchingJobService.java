@@ -0,0 +1,231 @@
+package com.example.student_portal.service;
+
+import com.example.student_portal.dto.MatchingBatchReport;
+import com.example.student_portal.dto.MatchingJobStatus;
+import com.example.student_portal.model.MatchingStage;
+import com.example.student_portal.model.MatchingTrigger;
+import com.example.student_portal.util.MatchingAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs admin-triggered matching in the background and tracks its progress.
+ *
+ * Submitting returns at once with a job id; the job runs on
+ * matchingJobExecutor and reports its stage, graph size, solved components
+ * and persisted matches as it goes, so the dashboard can poll it instead of
+ * holding the request thread (and its connection) for the whole run. Jobs
+ * live in memory on the node that accepted them; the most recent
+ * RETAINED_JOBS finished jobs are kept.
+ */
+@Service
+public class MatchingJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchingJobService.class);
+
+    static final int RETAINED_JOBS = 20;
+
+    private final MatchingAlgorithm matchingAlgorithm;
+    private final MatchingService matchingService;
+    private final MatchingPreviewService matchingPreviewService;
+    private final MatchingBatchService matchingBatchService;
+    private final ExecutorService matchingJobExecutor;
+
+    private final AtomicLong nextId = new AtomicLong();
+    private final NavigableMap<Long, Job> jobs = new ConcurrentSkipListMap<>();
+
+    public MatchingJobService(MatchingAlgorithm matchingAlgorithm,
+                              MatchingService matchingService,
+                              MatchingPreviewService matchingPreviewService,
+                              MatchingBatchService matchingBatchService,
+                              ExecutorService matchingJobExecutor) {
+        this.matchingAlgorithm = matchingAlgorithm;
+        this.matchingService = matchingService;
+        this.matchingPreviewService = matchingPreviewService;
+        this.matchingBatchService = matchingBatchService;
+        this.matchingJobExecutor = matchingJobExecutor;
+    }
+
+    /**
+     * Submit the full weekly lifecycle (recurring requests, then matching)
+     * for the upcoming week.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if too many jobs are queued
+     */
+    public MatchingJobStatus submitWeeklyRun() {
+        return submit("Recurring requests and matching for the upcoming week",
+            job -> matchingAlgorithm.runMatching(MatchingTrigger.ADMIN, job));
+    }
+
+    /**
+     * Submit matching for one target week.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if too many jobs are queued
+     */
+    public MatchingJobStatus submitWeekRun(LocalDate targetWeek) {
+        return submit("Matching for week " + targetWeek, job -> {
+            matchingService.performMatchingForWeek(targetWeek, MatchingTrigger.ADMIN, job);
+            matchingPreviewService.discard(targetWeek);
+        });
+    }
+
+    /**
+     * Submit matching for weekCount consecutive weeks starting with the week
+     * of firstWeek. The job fails if any week failed; the per-week results
+     * are kept in {@link MatchingBatchService#getLastReport()}.
+     *
+     * @throws IllegalArgumentException if weekCount is outside 1 to {@link MatchingBatchService#MAX_WEEKS}
+     * @throws java.util.concurrent.RejectedExecutionException if too many jobs are queued
+     */
+    public MatchingJobStatus submitBatch(LocalDate firstWeek, int weekCount) {
+        MatchingBatchService.checkWeekCount(weekCount);
+        return submit("Batch matching for " + weekCount + " weeks from " + firstWeek, job -> {
+            MatchingBatchReport report = matchingBatchService.runBatch(firstWeek, weekCount, MatchingTrigger.ADMIN, job);
+            for (MatchingBatchReport.WeekResult week : report.getWeeks()) {
+                matchingPreviewService.discard(week.getTargetWeek());
+            }
+            if (report.getFailedWeekCount() > 0) {
+                throw new IllegalStateException(report.getFailedWeekCount() + " of " + weekCount + " weeks failed");
+            }
+        });
+    }
+
+    /**
+     * Current state of a job, or null if it is unknown or no longer retained.
+     */
+    public MatchingJobStatus getJob(long id) {
+        Job job = jobs.get(id);
+        return job == null ? null : job.snapshot();
+    }
+
+    /**
+     * Retained jobs, most recent first.
+     */
+    public List<MatchingJobStatus> getRecentJobs() {
+        List<MatchingJobStatus> recent = new ArrayList<>();
+        for (Job job : jobs.descendingMap().values()) {
+            recent.add(job.snapshot());
+        }
+        return recent;
+    }
+
+    private interface JobBody {
+        void run(Job job);
+    }
+
+    private MatchingJobStatus submit(String description, JobBody body) {
+        Job job = new Job(nextId.incrementAndGet(), description);
+        jobs.put(job.id, job);
+        try {
+            matchingJobExecutor.execute(() -> run(job, body));
+        } catch (RuntimeException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        evictFinishedJobs();
+        logger.info("Submitted matching job {}: {}", job.id, description);
+        return job.snapshot();
+    }
+
+    private void run(Job job, JobBody body) {
+        job.start();
+        try {
+            body.run(job);
+            job.finish(null);
+            logger.info("Matching job {} completed: {} matches persisted", job.id, job.matchesPersisted.get());
+        } catch (RuntimeException e) {
+            job.finish(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            logger.error("Matching job {} failed: {}", job.id, e.getMessage(), e);
+        }
+    }
+
+    private void evictFinishedJobs() {
+        int excess = jobs.size() - RETAINED_JOBS;
+        for (Map.Entry<Long, Job> entry : jobs.entrySet()) {
+            if (excess <= 0) {
+                break;
+            }
+            if (entry.getValue().stage.isFinished()) {
+                jobs.remove(entry.getKey());
+                excess--;
+            }
+        }
+    }
+
+    /**
+     * Live progress of one job. Written by the job thread and the matching
+     * pool, read by polling requests.
+     */
+    private static final class Job implements MatchingProgress {
+        final long id;
+        final String description;
+        volatile MatchingStage stage = MatchingStage.QUEUED;
+        volatile int tuteeNodeCount;
+        volatile int tutorNodeCount;
+        volatile int edgeCount;
+        final AtomicInteger componentsSolved = new AtomicInteger();
+        final AtomicInteger phasesCompleted = new AtomicInteger();
+        final AtomicInteger matchesPersisted = new AtomicInteger();
+        volatile long startNanos;
+        volatile long runNanos = -1;
+        volatile String failureMessage;
+
+        Job(long id, String description) {
+            this.id = id;
+            this.description = description;
+        }
+
+        void start() {
+            startNanos = System.nanoTime();
+        }
+
+        void finish(String failureMessage) {
+            runNanos = System.nanoTime() - startNanos;
+            this.failureMessage = failureMessage;
+            stage = failureMessage == null ? MatchingStage.COMPLETED : MatchingStage.FAILED;
+        }
+
+        @Override
+        public void stageStarted(MatchingStage stage) {
+            this.stage = stage;
+        }
+
+        @Override
+        public void graphBuilt(int tuteeNodes, int tutorNodes, int edges) {
+            tuteeNodeCount = tuteeNodes;
+            tutorNodeCount = tutorNodes;
+            edgeCount = edges;
+        }
+
+        @Override
+        public void componentSolved(int phases) {
+            componentsSolved.incrementAndGet();
+            phasesCompleted.addAndGet(phases);
+        }
+
+        @Override
+        public void matchesPersisted(int matches) {
+            matchesPersisted.addAndGet(matches);
+        }
+
+        MatchingJobStatus snapshot() {
+            MatchingStage current = stage;
+            long elapsedNanos = current == MatchingStage.QUEUED ? 0
+                : current.isFinished() ? runNanos : System.nanoTime() - startNanos;
+            return new MatchingJobStatus(id, description, current, tuteeNodeCount, tutorNodeCount, edgeCount,
+                componentsSolved.get(), phasesCompleted.get(), matchesPersisted.get(),
+                elapsedNanos / 1_000_000, failureMessage);
+        }
+    }
+}
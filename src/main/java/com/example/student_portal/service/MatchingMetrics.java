@@ -0,0 +1,149 @@
+package com.example.student_portal.service;
+
+import com.example.student_portal.entity.MatchingRun;
+import com.example.student_portal.model.MatchingTrigger;
+import com.example.student_portal.util.CompactMatching;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micrometer meters of the weekly matching pipeline, scraped through the
+ * actuator's /actuator/prometheus endpoint.
+ *
+ * Timers cover the whole lifecycle, recurring request generation and each
+ * stage of a matching run (load, build, solve, persist); counters the runs,
+ * matches created and matches dropped by the weekly-cap check. Gauges hold
+ * the graph size, phases, longest augmenting path and match rate of the last
+ * successful run, plus when it finished, so alerts can fire when the weekly
+ * run slows down, stops running or matches a smaller share of tutees.
+ * Previews are not counted.
+ */
+@Service
+public class MatchingMetrics {
+
+    static final String LIFECYCLE = "matching.lifecycle.duration";
+    static final String RECURRING = "matching.recurring.duration";
+    static final String RECURRING_PAIRS = "matching.recurring.pairs.created";
+    static final String STAGE = "matching.stage.duration";
+    static final String RUNS = "matching.runs";
+    static final String MATCHES_CREATED = "matching.matches.created";
+    static final String MATCHES_DROPPED = "matching.matches.dropped";
+
+    private static final String[] STAGES = { "load", "build", "solve", "persist" };
+
+    private final MeterRegistry registry;
+    private final Counter recurringPairs;
+    private final Counter matchesCreated;
+    private final Counter matchesDropped;
+
+    private final AtomicLong lastTuteeNodes = new AtomicLong();
+    private final AtomicLong lastTutorNodes = new AtomicLong();
+    private final AtomicLong lastEdges = new AtomicLong();
+    private final AtomicLong lastPhases = new AtomicLong();
+    private final AtomicLong lastLongestAugmentingPath = new AtomicLong();
+    private final AtomicLong lastMatches = new AtomicLong();
+    private final AtomicLong lastSuccessEpochSeconds = new AtomicLong();
+    private volatile double lastMatchRate;
+
+    public MatchingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.recurringPairs = Counter.builder(RECURRING_PAIRS)
+            .description("Recurring tutor/tutee request pairs generated for upcoming weeks")
+            .register(registry);
+        this.matchesCreated = Counter.builder(MATCHES_CREATED)
+            .description("Matches persisted by matching runs")
+            .register(registry);
+        this.matchesDropped = Counter.builder(MATCHES_DROPPED)
+            .description("Matched pairs dropped because the tutor's weekly cap was already reached")
+            .register(registry);
+
+        gauge("matching.last.tutee.nodes", lastTuteeNodes, "Tutee nodes in the graph of the last run");
+        gauge("matching.last.tutor.nodes", lastTutorNodes, "Tutor nodes in the graph of the last run");
+        gauge("matching.last.edges", lastEdges, "Edges in the graph of the last run");
+        gauge("matching.last.phases", lastPhases, "Solver phases of the last run (largest component)");
+        gauge("matching.last.augmenting.path.longest", lastLongestAugmentingPath,
+            "Longest augmenting path of the last run, in arcs");
+        gauge("matching.last.matches", lastMatches, "Matches persisted by the last run");
+        gauge("matching.last.success", lastSuccessEpochSeconds, "When the last run succeeded, in epoch seconds");
+        Gauge.builder("matching.last.match.rate", this, metrics -> metrics.lastMatchRate)
+            .description("Share of tutee requests matched by the last run")
+            .register(registry);
+    }
+
+    private void gauge(String name, AtomicLong value, String description) {
+        Gauge.builder(name, value, AtomicLong::doubleValue).description(description).register(registry);
+    }
+
+    /**
+     * Time one full lifecycle (recurring requests, then matching).
+     */
+    public void lifecycleFinished(MatchingTrigger trigger, long nanos, boolean succeeded) {
+        Timer.builder(LIFECYCLE)
+            .description("Weekly matching lifecycle: recurring requests and matching")
+            .tag("trigger", trigger.name())
+            .tag("outcome", outcome(succeeded))
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recurringRequestsGenerated(long nanos, int pairs) {
+        Timer.builder(RECURRING)
+            .description("Generating recurring requests for a week")
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+        recurringPairs.increment(pairs);
+    }
+
+    /**
+     * Record a finished matching run: stage timers, run outcome and, for a
+     * run that succeeded, the last-run gauges. Stages a failed run did not
+     * reach are left out.
+     *
+     * @param matching      the solver result, or null if the run built no graph
+     * @param dropped       matched pairs left out by the weekly-cap check
+     * @param tuteeRequests outstanding tutee requests the run loaded
+     */
+    public void runFinished(MatchingRun run, CompactMatching matching, int dropped, int tuteeRequests) {
+        long[] stageMillis = { run.getLoadMillis(), run.getBuildMillis(), run.getSolveMillis(), run.getPersistMillis() };
+        for (int i = 0; i < STAGES.length; i++) {
+            if (run.isSucceeded() || stageMillis[i] > 0) {
+                Timer.builder(STAGE)
+                    .description("Duration of one stage of a matching run")
+                    .tag("stage", STAGES[i])
+                    .tag("engine", run.getEngine().name())
+                    .register(registry)
+                    .record(stageMillis[i], TimeUnit.MILLISECONDS);
+            }
+        }
+        Counter.builder(RUNS)
+            .description("Matching runs by trigger and outcome")
+            .tag("trigger", run.getTrigger().name())
+            .tag("outcome", outcome(run.isSucceeded()))
+            .register(registry)
+            .increment();
+        if (!run.isSucceeded()) {
+            return;
+        }
+
+        matchesCreated.increment(run.getMatchCount());
+        matchesDropped.increment(dropped);
+        lastTuteeNodes.set(run.getTuteeNodeCount());
+        lastTutorNodes.set(run.getTutorNodeCount());
+        lastEdges.set(run.getEdgeCount());
+        lastPhases.set(run.getPhaseCount());
+        lastLongestAugmentingPath.set(matching == null ? 0 : matching.getLongestAugmentingPath());
+        lastMatches.set(run.getMatchCount());
+        lastMatchRate = tuteeRequests == 0 ? 1.0 : (double) run.getMatchCount() / tuteeRequests;
+        lastSuccessEpochSeconds.set(System.currentTimeMillis() / 1000);
+    }
+
+    private static String outcome(boolean succeeded) {
+        return succeeded ? "success" : "failure";
+    }
+}
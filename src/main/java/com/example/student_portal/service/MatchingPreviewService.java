@@ -0,0 +1,116 @@
+package com.example.student_portal.service;
+
+import com.example.student_portal.dto.MatchingPreview;
+import com.example.student_portal.entity.MatchingRun;
+import com.example.student_portal.model.MatchingTrigger;
+import com.example.student_portal.service.MatchingService.PreparedWeek;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dry-run matching for admins.
+ *
+ * A preview builds and solves the week's graph in a read-only transaction,
+ * so it issues no writes and takes no row locks, and keeps the solved week
+ * per target week. Committing writes exactly the cached pairs without
+ * solving again, through the same recorded path as a batch week
+ * ({@link MatchingService#commitPreparedWeek}): under the week's write
+ * guard, as a {@link MatchingRun} with its shortages and metrics. It fails
+ * if any of the pairs' requests changed status since.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MatchingPreviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchingPreviewService.class);
+
+    private final MatchingService matchingService;
+
+    private final Map<LocalDate, CachedPreview> previews = new ConcurrentHashMap<>();
+
+    public MatchingPreviewService(MatchingService matchingService) {
+        this.matchingService = matchingService;
+    }
+
+    /**
+     * Solve the target week without persisting and cache the result, replacing
+     * any earlier preview of that week.
+     */
+    public MatchingPreview preview(LocalDate targetWeek) {
+        PreparedWeek prepared = matchingService.prepareWeek(targetWeek);
+        MatchingPreview preview = matchingService.previewOf(prepared);
+        previews.put(targetWeek, new CachedPreview(preview, prepared));
+        return preview;
+    }
+
+    /**
+     * The cached preview for a week, or null.
+     */
+    public MatchingPreview getPreview(LocalDate targetWeek) {
+        CachedPreview cached = previews.get(targetWeek);
+        return cached == null ? null : cached.preview;
+    }
+
+    /**
+     * All cached previews, earliest week first.
+     */
+    public List<MatchingPreview> getPreviews() {
+        return previews.values().stream()
+            .map(cached -> cached.preview)
+            .sorted(Comparator.comparing(MatchingPreview::getTargetWeek))
+            .toList();
+    }
+
+    public void discard(LocalDate targetWeek) {
+        previews.remove(targetWeek);
+    }
+
+    /**
+     * Persist the cached preview of a week. A second commit of the same
+     * preview is rejected by the week's write guard while the first one
+     * writes, and by the write's own staleness check after it. The preview
+     * is evicted only once it was written, and only if it was not replaced
+     * by a newer preview meanwhile; a failed commit leaves it cached.
+     *
+     * Not transactional itself: the write opens its own transaction inside
+     * the week's guard.
+     *
+     * @return the number of matches created
+     * @throws IllegalStateException if there is no preview, the week is being written or one of its requests is no longer outstanding
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int commit(LocalDate targetWeek) {
+        CachedPreview cached = previews.get(targetWeek);
+        if (cached == null) {
+            throw new IllegalStateException("No preview to commit for week " + targetWeek);
+        }
+        int matchesCreated = matchingService.commitPreparedWeek(cached.prepared, MatchingTrigger.ADMIN,
+            MatchingProgress.NONE);
+        previews.remove(targetWeek, cached);
+        logger.info("Committed preview for week {} from {}: {} matches created",
+                   targetWeek, cached.preview.getCreatedAt(), matchesCreated);
+        return matchesCreated;
+    }
+
+    /**
+     * A preview with the solved week it was made from.
+     */
+    private static final class CachedPreview {
+        final MatchingPreview preview;
+        final PreparedWeek prepared;
+
+        CachedPreview(MatchingPreview preview, PreparedWeek prepared) {
+            this.preview = preview;
+            this.prepared = prepared;
+        }
+    }
+}
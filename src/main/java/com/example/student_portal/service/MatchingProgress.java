@@ -0,0 +1,26 @@
+package com.example.student_portal.service;
+
+import com.example.student_portal.model.MatchingStage;
+
+/**
+ * Receives progress from a matching run as it happens.
+ *
+ * componentSolved is called from the matching pool, possibly from several
+ * workers at once, so implementations must be thread-safe.
+ */
+public interface MatchingProgress {
+
+    /** Ignores all progress. */
+    MatchingProgress NONE = new MatchingProgress() { };
+
+    default void stageStarted(MatchingStage stage) { }
+
+    default void graphBuilt(int tuteeNodes, int tutorNodes, int edges) { }
+
+    /**
+     * One connected component of the graph was solved in the given number of phases.
+     */
+    default void componentSolved(int phases) { }
+
+    default void matchesPersisted(int matches) { }
+}
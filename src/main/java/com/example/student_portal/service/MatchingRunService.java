@@ -0,0 +1,46 @@
+package com.example.student_portal.service;
+
+import com.example.student_portal.entity.MatchingRun;
+import com.example.student_portal.repository.MatchingRunRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for recording matching runs and reading their history.
+ */
+@Service
+@Transactional
+public class MatchingRunService {
+
+    private final MatchingRunRepository matchingRunRepository;
+
+    public MatchingRunService(MatchingRunRepository matchingRunRepository) {
+        this.matchingRunRepository = matchingRunRepository;
+    }
+
+    /**
+     * Saves a run in its own transaction, so failed runs are kept even
+     * though the matching transaction itself rolls back.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public MatchingRun record(MatchingRun run) {
+        return matchingRunRepository.save(run);
+    }
+
+    /**
+     * Returns the most recent successful run with its supply bottleneck
+     * report, or null if no run has succeeded yet.
+     */
+    public MatchingRun findLatestSucceededRun() {
+        return matchingRunRepository.findFirstBySucceededTrueOrderByStartedAtDesc().orElse(null);
+    }
+
+    /**
+     * Returns one page of runs, most recent first.
+     */
+    public Page<MatchingRun> findRuns(int page, int size) {
+        return matchingRunRepository.findAllByOrderByStartedAtDesc(PageRequest.of(Math.max(page, 0), size));
+    }
+}
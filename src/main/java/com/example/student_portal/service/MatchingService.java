@@ -1,32 +1,59 @@
 package com.example.student_portal.service;
 
+import com.example.student_portal.dto.MatchingPreview;
+import com.example.student_portal.entity.Match;
+import com.example.student_portal.entity.MatchingRun;
 import com.example.student_portal.entity.Request;
-import com.example.student_portal.entity.Timeslot;
+import com.example.student_portal.entity.SupplyShortage;
 import com.example.student_portal.entity.User;
-import com.example.student_portal.entity.AvailabilitySlot;
-import com.example.student_portal.model.RequestType;
-import com.example.student_portal.model.RequestStatus;
-import com.example.student_portal.model.YearGroup;
+import com.example.student_portal.model.MatchingEngine;
+import com.example.student_portal.model.MatchingStage;
+import com.example.student_portal.model.MatchingTrigger;
 import com.example.student_portal.model.Period;
+import com.example.student_portal.repository.MatchingInputJdbcRepository;
+import com.example.student_portal.repository.MatchingInputJdbcRepository.TuteeRequestRow;
+import com.example.student_portal.repository.MatchingInputJdbcRepository.TutorRequestRow;
+import com.example.student_portal.util.CompactBipartiteGraph;
+import com.example.student_portal.util.CompactMatching;
 import com.example.student_portal.util.HopcroftKarp;
-import com.example.student_portal.util.HopcroftKarp.BipartiteGraph;
-import com.example.student_portal.util.HopcroftKarp.MatchingResult;
-import jakarta.transaction.Transactional;
+import com.example.student_portal.util.KonigCover;
+import com.example.student_portal.util.MatchingSnapshot;
+import com.example.student_portal.util.MaxFlowMatching;
+import com.example.student_portal.util.MinCostFlowMatching;
+import com.example.student_portal.util.ParallelComponentMatching;
+import com.example.student_portal.util.SlotOrdinals;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.DayOfWeek;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.temporal.WeekFields;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Advanced matching service using Hopcroft-Karp algorithm for maximum bipartite matching.
  *
  * This service builds a bipartite graph between tutee requests and tutor availability nodes,
  * respecting tutor capacity limits and preventing double-allocation of timeslots.
+ * Each tutee request is a single left node whose edges carry its possible
+ * timeslots, so a request is matched at most once per week.
+ * Timeslots and availability are mapped once per run onto the 35 slots of
+ * {@link SlotOrdinals} and held as long bitmasks, so slot compatibility is an
+ * AND rather than a label comparison.
+ * The week's input is read by {@link MatchingInputJdbcRepository} as flat
+ * rows, filtered by week in SQL, in a fixed number of queries and without
+ * loading entities; the graph is built while the rows stream in.
  * 
  * The matching algorithm considers:
  * - Subject compatibility
@@ -34,278 +61,774 @@ import java.util.stream.Collectors;
  * - Timeslot availability
  * - Tutor maxSessionsPerWeek capacity
  * - Unique timeslot allocation per tutor
+ * 
+ * The solver is chosen with the matching.engine property (see {@link MatchingEngine}).
+ * The graph is split into connected components which are solved in parallel
+ * on the matching ForkJoinPool (see matching.parallelism).
+ *
+ * The Hopcroft-Karp engine is warm-started from the previous week's matches
+ * that are still compatible, so augmentation only has to fix what changed
+ * since then. MAX_FLOW already converges in one phase from empty and
+ * MIN_COST_FLOW needs a cost-optimal start, so both start empty.
+ * Hopcroft-Karp can also complete the seed with a Karp-Sipser greedy pass
+ * before its first phase (matching.karp-sipser, off by default: on dense
+ * cloned graphs the linear pass costs more than the few phases it saves).
+ *
+ * The service is a stateless singleton: everything a run builds lives in an
+ * immutable {@link MatchingContext} passed down the call chain, so runs and
+ * previews for different weeks proceed in parallel. Every write of a week's
+ * matches, from any path, goes through {@link #runExclusively}, which rejects
+ * a second writer for the same week on this node or any other.
+ *
+ * Not class-level transactional: the week guard has to be taken before the
+ * write's transaction begins and released only after it commits, so
+ * {@link #runExclusively} opens that transaction itself. The read-only
+ * methods run in their caller's transaction.
+ *
+ * Each recorded run also carries a supply bottleneck report, derived from
+ * the maximum matching by König's theorem (see {@link KonigCover}) in one
+ * linear pass: the tutee requests that no matching could serve, grouped by
+ * subject, year group and period.
+ *
+ * With matching.snapshot.dir set, every persisting run also writes its exact
+ * solver input and result there as a {@link MatchingSnapshot}, which
+ * MatchingSnapshotReplay can solve again offline.
  */
 @Service
-@Transactional
 public class MatchingService {
     
     private static final Logger logger = LoggerFactory.getLogger(MatchingService.class);
     
-    private final RequestService requestService;
-    private final AvailabilityService availabilityService;
-    private final MatchService matchService;
+    /** Lease name prefix of the per-week write guard; one lease row per target week. */
+    static final String WEEK_LEASE_PREFIX = "matching-week-";
     
-    // Node ID generators for bipartite graph
-    private int nextTuteeNodeId = 1;
-    private int nextTutorNodeId = 1000000; // Start tutor nodes at high numbers to avoid conflicts
+    private final MatchingInputJdbcRepository matchingInputRepository;
+    private final MatchService matchService;
+    private final MatchingRunService matchingRunService;
+    private final JobLeaseService jobLeaseService;
+    private final MatchingEngine engine;
+    private final boolean greedyInitialisation;
+    private final ForkJoinPool matchingPool;
+    private final MatchingMetrics matchingMetrics;
+    private final Path snapshotDirectory;
+    private final TransactionTemplate writeTransaction;
     
-    // Mapping between node IDs and actual entities
-    private Map<Integer, TuteeRequestTimeslot> tuteeNodes;
-    private Map<Integer, TutorAvailabilityNode> tutorNodes;
+    // Weeks being written on this node
+    private final Set<LocalDate> weeksInProgress = ConcurrentHashMap.newKeySet();
     
-    public MatchingService(RequestService requestService, 
-                          AvailabilityService availabilityService,
-                          MatchService matchService) {
-        this.requestService = requestService;
-        this.availabilityService = availabilityService;
+    public MatchingService(MatchingInputJdbcRepository matchingInputRepository,
+                          MatchService matchService,
+                          MatchingRunService matchingRunService,
+                          JobLeaseService jobLeaseService,
+                          @Value("${matching.engine:MAX_FLOW}") MatchingEngine engine,
+                          @Value("${matching.karp-sipser:false}") boolean greedyInitialisation,
+                          ForkJoinPool matchingPool,
+                          MatchingMetrics matchingMetrics,
+                          @Value("${matching.snapshot.dir:}") String snapshotDirectory,
+                          PlatformTransactionManager transactionManager) {
+        this.matchingInputRepository = matchingInputRepository;
         this.matchService = matchService;
+        this.matchingRunService = matchingRunService;
+        this.jobLeaseService = jobLeaseService;
+        this.engine = engine;
+        this.greedyInitialisation = greedyInitialisation;
+        this.matchingPool = matchingPool;
+        this.matchingMetrics = matchingMetrics;
+        this.snapshotDirectory = snapshotDirectory == null || snapshotDirectory.isBlank() ? null : Path.of(snapshotDirectory);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    public MatchingEngine getEngine() {
+        return engine;
     }
     
     /**
-     * Represents a tutee request for a specific timeslot (left side of bipartite graph).
+     * Represents a tutee request (left side of bipartite graph). The request's
+     * possible timeslots are a {@link SlotOrdinals} mask; the slot of the tutor
+     * node it is matched to picks the timeslot.
      */
-    public static class TuteeRequestTimeslot {
-        public final Request request;
-        public final Timeslot timeslot;
+    public static class TuteeRequestNode {
+        public final TuteeRequestRow request;
+        public final long slotMask;
         
-        public TuteeRequestTimeslot(Request request, Timeslot timeslot) {
+        public TuteeRequestNode(TuteeRequestRow request) {
             this.request = request;
-            this.timeslot = timeslot;
+            this.slotMask = request.slotMask;
         }
     }
     
     /**
      * Represents a tutor's availability for a specific timeslot and subject (right side of bipartite graph).
-     * Each tutor can have multiple nodes to represent capacity constraints.
+     * With the HOPCROFT_KARP engine each tutor slot is cloned once per session to represent capacity;
+     * with MAX_FLOW there is a single node per slot (sessionNumber 1) and the tutor's capacity is a group.
      */
     public static class TutorAvailabilityNode {
-        public final User tutor;
-        public final DayOfWeek dayOfWeek;
-        public final Period period;
+        public final long tutorId;
+        public final int slot; // SlotOrdinals ordinal
         public final int sessionNumber; // For capacity management (1, 2, 3, ... up to maxSessionsPerWeek)
+        public final int maxSessions;
         
-        public TutorAvailabilityNode(User tutor, DayOfWeek dayOfWeek, Period period, int sessionNumber) {
-            this.tutor = tutor;
-            this.dayOfWeek = dayOfWeek;
-            this.period = period;
+        public TutorAvailabilityNode(long tutorId, int slot, int sessionNumber, int maxSessions) {
+            this.tutorId = tutorId;
+            this.slot = slot;
             this.sessionNumber = sessionNumber;
-        }
-        
-        public boolean matchesTimeslot(Timeslot timeslot) {
-            // Simple string matching for now - in real implementation, convert Timeslot to day/period
-            String expectedLabel = dayOfWeek.toString().substring(0, 1).toUpperCase() + 
-                                 dayOfWeek.toString().substring(1).toLowerCase() + " Period " + 
-                                 period.name().substring(1);
-            return timeslot.getLabel().equals(expectedLabel);
+            this.maxSessions = maxSessions;
         }
     }
     
     /**
-     * Run the matching algorithm atomically.
+     * Run the matching algorithm atomically for the upcoming week.
      * Returns the number of matches created.
      */
-    public int performMatching() {
-        return performMatchingForWeek(getUpcomingMondayDate());
+    public int performMatching(MatchingTrigger trigger) {
+        return performMatchingForWeek(getUpcomingMondayDate(), trigger);
     }
     
     /**
-     * Run matching for a specific target week.
+     * Run matching for a specific target week on an admin's request.
      */
     public int performMatchingForWeek(LocalDate targetWeek) {
+        return performMatchingForWeek(targetWeek, MatchingTrigger.ADMIN);
+    }
+    
+    /**
+     * Run matching for a specific target week and record the run, with its
+     * graph size and stage timings, as a {@link MatchingRun}, and publish it
+     * to {@link MatchingMetrics}. Failed runs are recorded too, with the
+     * stages they completed.
+     *
+     * @throws IllegalStateException if the week is already being written, on this node or another
+     */
+    public int performMatchingForWeek(LocalDate targetWeek, MatchingTrigger trigger) {
+        return performMatchingForWeek(targetWeek, trigger, MatchingProgress.NONE);
+    }
+    
+    /**
+     * As {@link #performMatchingForWeek(LocalDate, MatchingTrigger)}, reporting
+     * stages, graph size, solved components and persisted matches to progress.
+     */
+    public int performMatchingForWeek(LocalDate targetWeek, MatchingTrigger trigger, MatchingProgress progress) {
+        return runExclusively(targetWeek,
+            () -> matchWeek(targetWeek, trigger, progress, () -> solveWeek(targetWeek, progress)));
+    }
+    
+    /**
+     * Load, build and solve a week now and write it later with
+     * {@link #commitPreparedWeek}, so a batch can solve several weeks
+     * concurrently and then write them one at a time. Only reads; a failure
+     * is kept in the result and reported when it is committed.
+     */
+    public PreparedWeek prepareWeek(LocalDate targetWeek) {
+        try {
+            return new PreparedWeek(targetWeek, solveWeek(targetWeek, MatchingProgress.NONE), null);
+        } catch (RuntimeException e) {
+            return new PreparedWeek(targetWeek, null, e);
+        }
+    }
+    
+    /**
+     * Write a prepared week exactly as {@link #performMatchingForWeek} writes
+     * a week it solved itself: under the week's write guard, recorded as a
+     * {@link MatchingRun} with its shortages, and published to
+     * {@link MatchingMetrics}. If a request was matched elsewhere since the
+     * week was prepared, the week fails and nothing of it is written.
+     *
+     * @return the number of matches created
+     * @throws RuntimeException the failure of preparing or writing the week
+     */
+    public int commitPreparedWeek(PreparedWeek prepared, MatchingTrigger trigger, MatchingProgress progress) {
+        return runExclusively(prepared.targetWeek,
+            () -> matchWeek(prepared.targetWeek, trigger, progress, prepared::solution));
+    }
+    
+    /**
+     * Run a write of a target week's matches while no other write of that
+     * week runs, on this node or any other. A second writer on this node is
+     * rejected without a database round trip; writers on other nodes are
+     * kept out by a lease per week (see {@link JobLeaseService}), so the
+     * weekly and admin runs, preview commits, batches and online matching
+     * never persist the same week at once.
+     *
+     * The write runs in a new transaction that commits before the guard and
+     * the lease are released, so the next writer of the week already sees
+     * its matches. Callers must not wrap this in a transaction of their own
+     * expecting the write to join it.
+     *
+     * @return what the write returned
+     * @throws IllegalStateException if the week is already being written
+     */
+    public <T> T runExclusively(LocalDate targetWeek, Supplier<T> write) {
+        if (!weeksInProgress.add(targetWeek)) {
+            throw new IllegalStateException("Matching for week " + targetWeek + " is already running");
+        }
+        try {
+            AtomicReference<T> result = new AtomicReference<>();
+            if (!jobLeaseService.runExclusively(WEEK_LEASE_PREFIX + targetWeek, targetWeek.toString(), true,
+                    () -> result.set(writeTransaction.execute(status -> write.get())))) {
+                throw new IllegalStateException("Matching for week " + targetWeek + " is already running on another node");
+            }
+            return result.get();
+        } finally {
+            weeksInProgress.remove(targetWeek);
+        }
+    }
+    
+    private int matchWeek(LocalDate targetWeek, MatchingTrigger trigger, MatchingProgress progress,
+                          Supplier<WeekSolution> solver) {
+        MatchingRun run = new MatchingRun(targetWeek, trigger, engine);
+        WeekSolution solution = null;
+        try {
+            solution = solver.get();
+            solution.describe(run);
+            if (snapshotDirectory != null && solution.graph != null) {
+                writeSnapshot(run, solution);
+            }
+            
+            // Persist matches to database
+            progress.stageStarted(MatchingStage.PERSISTING);
+            long persistStart = System.nanoTime();
+            int matchesCreated = persistMatches(targetWeek, solution.pairs);
+            progress.matchesPersisted(matchesCreated);
+            run.setPersistMillis((System.nanoTime() - persistStart) / 1_000_000);
+            run.setMatchCount(matchesCreated);
+            run.setSucceeded(true);
+            
+            logger.info("Matching complete for week {}: {} matches created", targetWeek, matchesCreated);
+            return matchesCreated;
+        } catch (RuntimeException e) {
+            run.fail(e.getMessage());
+            throw e;
+        } finally {
+            recordRun(run);
+            if (solution != null) {
+                matchingMetrics.runFinished(run, solution.matching, solution.droppedCount(), solution.tuteeRequestCount);
+            } else {
+                matchingMetrics.runFinished(run, null, 0, 0);
+            }
+        }
+    }
+    
+    /**
+     * Dump the run's graph, node id maps and matching for offline replay.
+     * Best effort, like the run history.
+     */
+    private void writeSnapshot(MatchingRun run, WeekSolution solution) {
+        MatchingContext context = solution.context;
+        long[] tuteeRequestIds = new long[context.tuteeNodes.size()];
+        for (int left = 0; left < tuteeRequestIds.length; left++) {
+            tuteeRequestIds[left] = context.tuteeNodes.get(left).request.requestId;
+        }
+        long[] tutorIds = new long[context.tutorNodes.size()];
+        int[] slots = new int[tutorIds.length];
+        for (int right = 0; right < tutorIds.length; right++) {
+            tutorIds[right] = context.tutorNodes.get(right).tutorId;
+            slots[right] = context.tutorNodes.get(right).slot;
+        }
+        Path file = snapshotDirectory.resolve(String.format("matching-%s-%s-%d.snap",
+            run.getTargetWeek(), engine, run.getStartedAt().toEpochMilli()));
+        try {
+            Files.createDirectories(snapshotDirectory);
+            boolean karpSipser = engine == MatchingEngine.HOPCROFT_KARP && greedyInitialisation;
+            new MatchingSnapshot(engine, run.getTargetWeek(), solution.graph, tuteeRequestIds, tutorIds, slots,
+                solution.matching, solution.seed, karpSipser).write(file);
+            logger.info("Wrote matching snapshot {}", file);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not write matching snapshot {}: {}", file, e.getMessage());
+        }
+    }
+    
+    private void recordRun(MatchingRun run) {
+        try {
+            matchingRunService.record(run);
+        } catch (RuntimeException e) {
+            // History is best effort; never turn a good run into a failed one
+            logger.warn("Could not record matching run for week {}: {}", run.getTargetWeek(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Build and solve the graph for a target week without persisting anything.
+     * Only reads and keeps no state between calls, so callers should run it
+     * in a read-only transaction (see {@link MatchingPreviewService}) and may
+     * run it for several weeks concurrently (see {@link MatchingBatchService}).
+     */
+    public MatchingPreview previewMatchingForWeek(LocalDate targetWeek) {
+        return previewOf(new PreparedWeek(targetWeek, solveWeek(targetWeek, MatchingProgress.NONE), null));
+    }
+    
+    /**
+     * The pairs, graph size and timings of a prepared week, for an admin to
+     * review before it is written with {@link #commitPreparedWeek} (see
+     * {@link MatchingPreviewService}).
+     *
+     * @throws RuntimeException the failure of preparing the week
+     */
+    public MatchingPreview previewOf(PreparedWeek prepared) {
+        LocalDate targetWeek = prepared.targetWeek;
+        WeekSolution solution = prepared.solution();
+        if (solution.graph == null) {
+            return MatchingPreview.empty(targetWeek, engine, solution.tuteeRequestCount, solution.tutorRequestCount,
+                solution.loadNanos / 1_000_000);
+        }
+        
+        List<MatchingPreview.ProposedMatch> proposed = solution.pairs;
+        logger.info("Preview for week {}: {} matches proposed", targetWeek, proposed.size());
+        return new MatchingPreview(targetWeek, engine, solution.tuteeRequestCount, solution.tutorRequestCount,
+            solution.graph.getLeftCount(), solution.graph.getRightCount(), solution.graph.getEdgeCount(),
+            solution.matching.getPhaseCount(), solution.graph.estimatePeakBuildBytes(),
+            solution.loadNanos / 1_000_000, solution.buildNanos / 1_000_000, solution.solveNanos / 1_000_000, proposed);
+    }
+
+    /**
+     * Load a week and build its graph for the configured engine, without
+     * solving it. Used by the benchmarks under src/jmh to time graph building
+     * on its own.
+     */
+    CompactBipartiteGraph buildGraph(LocalDate targetWeek) {
+        GraphBuilder builder = new GraphBuilder();
+        matchingInputRepository.loadWeek(targetWeek, builder);
+        return builder.build().graph;
+    }
+
+    /**
+     * Load the week's outstanding requests, build the graph and solve it.
+     * 
+     * @return the pairs to create; without a graph if one side has no requests
+     */
+    private WeekSolution solveWeek(LocalDate targetWeek, MatchingProgress progress) {
         logger.info("Starting matching algorithm for week {}", targetWeek);
         
-        // Reset node ID counters and mappings
-        nextTuteeNodeId = 1;
-        nextTutorNodeId = 1000000;
-        tuteeNodes = new HashMap<>();
-        tutorNodes = new HashMap<>();
-        
-        // Get outstanding requests for the target week
-        List<Request> tuteeRequests = requestService.getOutstandingTuteeRequests()
-            .stream()
-            .filter(r -> targetWeek.equals(r.getTargetWeek()))
-            .collect(Collectors.toList());
-            
-        List<Request> tutorRequests = requestService.getOutstandingTutorRequests()
-            .stream()
-            .filter(r -> targetWeek.equals(r.getTargetWeek()))
-            .collect(Collectors.toList());
+        // Stream the week's outstanding requests into the graph builder;
+        // nodes and edges are added while the rows are read
+        progress.stageStarted(MatchingStage.LOADING);
+        long loadStart = System.nanoTime();
+        GraphBuilder builder = new GraphBuilder();
+        matchingInputRepository.loadWeek(targetWeek, builder);
+        long loadNanos = System.nanoTime() - loadStart;
         
-        if (tuteeRequests.isEmpty() || tutorRequests.isEmpty()) {
+        if (builder.tuteeNodes.isEmpty() || builder.tutorRequestCount == 0) {
             logger.info("No matching needed - tutee requests: {}, tutor requests: {}", 
-                       tuteeRequests.size(), tutorRequests.size());
-            return 0;
+                       builder.tuteeNodes.size(), builder.tutorRequestCount);
+            return new WeekSolution(builder.tuteeNodes.size(), builder.tutorRequestCount, null, null, null, null,
+                Collections.emptyList(), loadNanos, 0, 0);
         }
         
-        // Build bipartite graph
-        BipartiteGraph graph = buildBipartiteGraph(tuteeRequests, tutorRequests);
+        // Finish the bipartite graph
+        progress.stageStarted(MatchingStage.BUILDING);
+        long buildStart = System.nanoTime();
+        MatchingContext context = builder.build();
+        CompactBipartiteGraph graph = context.graph;
+        progress.graphBuilt(graph.getLeftCount(), graph.getRightCount(), graph.getEdgeCount());
         
-        // Find maximum matching using Hopcroft-Karp
-        MatchingResult matching = HopcroftKarp.findMaximumMatching(graph);
+        // Seed Hopcroft-Karp with last week's pairs
+        int[] seed = engine == MatchingEngine.HOPCROFT_KARP ? buildSeed(context, targetWeek.minusWeeks(1)) : null;
+        long buildNanos = System.nanoTime() - buildStart;
         
-        // Persist matches to database
-        int matchesCreated = persistMatches(matching);
+        // Find maximum matching with the configured engine
+        progress.stageStarted(MatchingStage.SOLVING);
+        long solveStart = System.nanoTime();
+        CompactMatching matching = solve(graph, seed, progress);
+        long solveNanos = System.nanoTime() - solveStart;
+        logger.info("{} finished in {} phases ({} augmenting paths, phase bound 2*sqrt(V) = {})",
+                   engine, matching.getPhaseCount(), matching.getAugmentationCount(),
+                   (int) Math.ceil(2 * Math.sqrt(graph.getLeftCount() + graph.getRightCount())));
+        if (seed != null) {
+            logSeedSurvival(seed, matching);
+        }
+        if (engine == MatchingEngine.HOPCROFT_KARP && greedyInitialisation) {
+            logger.info("Karp-Sipser greedy pass matched {} of the final {} ({}%)",
+                       matching.getGreedySize(), matching.getMatchingSize(),
+                       matching.getMatchingSize() == 0 ? 100 : 100L * matching.getGreedySize() / matching.getMatchingSize());
+        }
         
-        logger.info("Matching complete for week {}: {} matches created", targetWeek, matchesCreated);
-        return matchesCreated;
+        return new WeekSolution(context.tuteeNodes.size(), builder.tutorRequestCount, context, graph, seed, matching,
+            selectPairs(context, matching), loadNanos, buildNanos, solveNanos);
     }
     
     /**
-     * Build the bipartite graph for matching.
+     * Split the graph into connected components, solve them in parallel with
+     * the configured engine and merge the results. Each solved component is
+     * reported to progress as soon as it finishes.
      */
-    private BipartiteGraph buildBipartiteGraph(List<Request> tuteeRequests, List<Request> tutorRequests) {
-        BipartiteGraph graph = new BipartiteGraph();
-        
-        // Create left nodes (tutee request timeslots)
-        for (Request tuteeRequest : tuteeRequests) {
-            for (Timeslot timeslot : tuteeRequest.getPossibleTimeslots()) {
-                int nodeId = nextTuteeNodeId++;
-                graph.addLeftNode(nodeId);
-                tuteeNodes.put(nodeId, new TuteeRequestTimeslot(tuteeRequest, timeslot));
+    private CompactMatching solve(CompactBipartiteGraph graph, int[] seed, MatchingProgress progress) {
+        long start = System.nanoTime();
+        ParallelComponentMatching.Result result = ParallelComponentMatching.solve(graph, (component, componentSeed) -> {
+            CompactMatching matching = solveComponent(component, componentSeed);
+            progress.componentSolved(matching.getPhaseCount());
+            return matching;
+        }, seed, matchingPool);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        List<ParallelComponentMatching.ComponentStats> components = result.getComponents();
+        long cpuMillis = components.stream().mapToLong(ParallelComponentMatching.ComponentStats::getSolveNanos).sum() / 1_000_000;
+        logger.info("Solved {} components in {} ms wall / {} ms summed solve time on {} workers",
+                   components.size(), elapsedMillis, cpuMillis, matchingPool.getParallelism());
+        for (int i = 0; i < components.size(); i++) {
+            ParallelComponentMatching.ComponentStats component = components.get(i);
+            if (i < 5 || logger.isDebugEnabled()) {
+                logger.info("Component {}: {} tutee nodes, {} tutor nodes, {} edges, {} matched in {} ms",
+                           i, component.getLeftCount(), component.getRightCount(), component.getEdgeCount(),
+                           component.getMatchingSize(), component.getSolveNanos() / 1_000_000.0);
             }
         }
         
-        // Create right nodes (tutor availability nodes with capacity)
-        Set<TutorTimeslotPair> processedTutorTimeslots = new HashSet<>();
+        if (engine == MatchingEngine.MIN_COST_FLOW) {
+            logger.info("Total preference cost of the matching: {}", MinCostFlowMatching.totalCost(graph, result.getMatching()));
+        }
+        return result.getMatching();
+    }
+    
+    /**
+     * Run the configured solver over one component, warm-started from its part of the seed.
+     */
+    private CompactMatching solveComponent(CompactBipartiteGraph component, int[] seed) {
+        switch (engine) {
+            case HOPCROFT_KARP:
+                return HopcroftKarp.findMaximumMatching(component, seed, greedyInitialisation);
+            case MIN_COST_FLOW:
+                return MinCostFlowMatching.findMinimumCostMatching(component);
+            case MAX_FLOW:
+            default:
+                return MaxFlowMatching.findMaximumMatching(component);
+        }
+    }
+    
+    /**
+     * Build a warm-start seed from the previous week's ACTIVE matches: a match
+     * is carried over when this week's graph has a tutee node for the same
+     * user and subject offering the same slot, and a tutor node for the same
+     * tutor and slot.
+     * Whether the edge still exists (year group, subject offered) and the
+     * tutor still has capacity is checked by the solver.
+     * 
+     * @return right node per tutee node, or null if there is nothing to seed
+     */
+    private int[] buildSeed(MatchingContext context, LocalDate previousWeek) {
+        List<Match> previousMatches = matchService.findActiveMatchesForWeek(previousWeek);
+        if (previousMatches.isEmpty()) {
+            return null;
+        }
         
-        for (Request tutorRequest : tutorRequests) {
-            User tutor = tutorRequest.getUser();
-            int maxSessions = tutor.getMaxSessionsPerWeek() != null ? tutor.getMaxSessionsPerWeek() : 3;
-            
-            // Get tutor's availability slots
-            List<AvailabilitySlot> availabilitySlots = availabilityService.getAvailabilitySlots(tutor);
-            
-            for (AvailabilitySlot slot : availabilitySlots) {
-                TutorTimeslotPair pair = new TutorTimeslotPair(tutor.getId(), slot.getDayOfWeek(), slot.getPeriod());
-                
-                if (!processedTutorTimeslots.contains(pair)) {
-                    processedTutorTimeslots.add(pair);
-                    
-                    // Create multiple nodes for this tutor's timeslot (up to maxSessions capacity)
-                    for (int sessionNum = 1; sessionNum <= maxSessions; sessionNum++) {
-                        int nodeId = nextTutorNodeId++;
-                        graph.addRightNode(nodeId);
-                        tutorNodes.put(nodeId, new TutorAvailabilityNode(tutor, slot.getDayOfWeek(), slot.getPeriod(), sessionNum));
-                    }
-                }
+        // Tutee nodes by user, then by subject; tutor nodes by tutor, then by slot
+        Map<Long, Map<Long, Integer>> tuteeNodeIndex = new HashMap<>();
+        for (int left = 0; left < context.tuteeNodes.size(); left++) {
+            TuteeRequestNode node = context.tuteeNodes.get(left);
+            tuteeNodeIndex.computeIfAbsent(node.request.tuteeId, id -> new HashMap<>())
+                .putIfAbsent(node.request.subjectId, left);
+        }
+        Map<Long, Map<Integer, Integer>> tutorNodeIndex = new HashMap<>();
+        for (int right = 0; right < context.tutorNodes.size(); right++) {
+            TutorAvailabilityNode node = context.tutorNodes.get(right);
+            if (node.sessionNumber == 1) {
+                tutorNodeIndex.computeIfAbsent(node.tutorId, id -> new HashMap<>())
+                    .put(node.slot, right);
             }
         }
         
-        // Add edges between compatible tutee requests and tutor availability
-        for (Map.Entry<Integer, TuteeRequestTimeslot> tuteeEntry : tuteeNodes.entrySet()) {
-            int tuteeNodeId = tuteeEntry.getKey();
-            TuteeRequestTimeslot tuteeNode = tuteeEntry.getValue();
-            
-            for (Map.Entry<Integer, TutorAvailabilityNode> tutorEntry : tutorNodes.entrySet()) {
-                int tutorNodeId = tutorEntry.getKey();
-                TutorAvailabilityNode tutorNode = tutorEntry.getValue();
-                
-                if (areCompatible(tuteeNode, tutorNode)) {
-                    graph.addEdge(tuteeNodeId, tutorNodeId);
-                }
+        int[] seed = new int[context.tuteeNodes.size()];
+        Arrays.fill(seed, CompactMatching.UNMATCHED);
+        int seeded = 0;
+        for (Match match : previousMatches) {
+            int slot = SlotOrdinals.parse(match.getMatchedTimeslot().getLabel());
+            Request tuteeRequest = match.getTuteeRequest();
+            Integer left = tuteeNodeIndex.getOrDefault(tuteeRequest.getUser().getId(), Collections.emptyMap())
+                .get(tuteeRequest.getSubject().getId());
+            Integer right = tutorNodeIndex.getOrDefault(match.getTutorRequest().getUser().getId(), Collections.emptyMap())
+                .get(slot);
+            if (slot != SlotOrdinals.NONE && left != null && right != null && seed[left] == CompactMatching.UNMATCHED
+                    && SlotOrdinals.contains(context.tuteeNodes.get(left).slotMask, slot)) {
+                seed[left] = right;
+                seeded++;
             }
         }
-        
-        logger.info("Built bipartite graph: {} tutee nodes, {} tutor nodes", 
-                   tuteeNodes.size(), tutorNodes.size());
-        return graph;
+        logger.info("Warm start: {} of {} matches from week {} map onto this week's graph",
+                   seeded, previousMatches.size(), previousWeek);
+        return seeded > 0 ? seed : null;
+    }
+    
+    /**
+     * Report how much of the seed the solver accepted and how much survived
+     * unchanged into the final matching.
+     */
+    private void logSeedSurvival(int[] seed, CompactMatching matching) {
+        int[] leftToRight = matching.getLeftToRight();
+        int survived = 0;
+        for (int left = 0; left < seed.length; left++) {
+            if (seed[left] != CompactMatching.UNMATCHED && leftToRight[left] == seed[left]) {
+                survived++;
+            }
+        }
+        logger.info("Warm start: {} seeded edges accepted, {} survived into the final matching of {} ({} augmenting paths needed)",
+                   matching.getInitialSize(), survived, matching.getMatchingSize(), matching.getAugmentationCount());
     }
     
     /**
-     * Check if a tutee request and tutor availability are compatible.
+     * Builds the bipartite graph for matching from the rows of
+     * {@link MatchingInputJdbcRepository} as they are read.
+     * 
+     * Tutor rows arrive first. Each tutor's availability nodes are created
+     * with its first request and indexed into one bucket per (subject, slot);
+     * every subject keeps a mask of the slots that have supply. When the first
+     * tutee row arrives the buckets are sorted by tutor year group. A tutee
+     * node ANDs its slot mask with the subject's supply mask, visits only the
+     * buckets left over and takes the suffix of tutors whose year is at least
+     * its own, so build time is proportional to the edges produced.
+     * 
+     * For MAX_FLOW each tutor gets one capacity group holding one node per
+     * availability slot; for HOPCROFT_KARP the slot nodes are cloned per session.
+     * MIN_COST_FLOW uses the grouped shape and gives every edge a preference
+     * cost: the tutee's rank of the timeslot (0 = first choice) plus 1 if the
+     * tutor has preferred periods and this is not one of them.
      */
-    private boolean areCompatible(TuteeRequestTimeslot tuteeNode, TutorAvailabilityNode tutorNode) {
-        Request tuteeRequest = tuteeNode.request;
-        Request tutorRequest = findTutorRequest(tutorNode.tutor);
+    private final class GraphBuilder implements MatchingInputJdbcRepository.Handler {
+        private final CompactBipartiteGraph.Builder graph = CompactBipartiteGraph.builder();
+        private final boolean cloneSessions = engine == MatchingEngine.HOPCROFT_KARP;
+        private final boolean weighted = engine == MatchingEngine.MIN_COST_FLOW;
+        private final List<TuteeRequestNode> tuteeNodes = new ArrayList<>();
+        private final List<TutorAvailabilityNode> tutorNodes = new ArrayList<>();
+        private final Map<Long, Map<Long, TutorRequestRow>> tutorRequestsBySubject = new HashMap<>();
+        private final long[] timeslotIdBySlot = new long[SlotOrdinals.COUNT];
+        private final String[] labelBySlot = new String[SlotOrdinals.COUNT];
+        private final Map<Long, Long> availabilityByTutor = new HashMap<>();
+        private final Map<Long, Integer> preferredPeriodsByTutor = new HashMap<>();
+        private final Map<Long, int[]> firstNodeByTutorSlot = new HashMap<>();
+        private final BitSet unpreferredPeriodNodes = new BitSet();
+        private final Map<Long, SupplyBucket[]> bucketsBySubject = new HashMap<>();
+        private final Map<Long, Long> supplyMaskBySubject = new HashMap<>();
+        private boolean sealed;
+        int tutorRequestCount;
         
-        if (tutorRequest == null) {
-            return false;
+        @Override
+        public void timeslot(long timeslotId, int slot, String label) {
+            if (labelBySlot[slot] == null) {
+                timeslotIdBySlot[slot] = timeslotId;
+                labelBySlot[slot] = label;
+            }
         }
         
-        // Subject must match
-        if (!tuteeRequest.getSubject().getId().equals(tutorRequest.getSubject().getId())) {
-            return false;
+        @Override
+        public void tutorAvailability(long tutorId, int slot, Period period) {
+            availabilityByTutor.merge(tutorId, SlotOrdinals.bit(slot), (a, b) -> a | b);
         }
         
-        // Tutor year group must be >= tutee year group
-        if (!isTutorYearEligible(tutorRequest.getYearGroup(), tuteeRequest.getYearGroup())) {
-            return false;
+        @Override
+        public void tutorPreferredPeriod(long tutorId, Period period) {
+            preferredPeriodsByTutor.merge(tutorId, 1 << period.ordinal(), (a, b) -> a | b);
+        }
+        
+        @Override
+        public void tutorRequest(TutorRequestRow row) {
+            tutorRequestCount++;
+            Map<Long, TutorRequestRow> bySubject = tutorRequestsBySubject.computeIfAbsent(row.tutorId, id -> new HashMap<>());
+            if (bySubject.putIfAbsent(row.subjectId, row) != null) {
+                return; // same tutor and subject: the first request gets the edges
+            }
+            int maxSessions = getMaxSessions(row.maxSessionsPerWeek);
+            int sessionsPerSlot = cloneSessions ? maxSessions : 1;
+            long slotMask = availabilityByTutor.getOrDefault(row.tutorId, 0L);
+            
+            // Create right nodes (tutor availability nodes with capacity), once per tutor
+            int[] firstNodeBySlot = firstNodeByTutorSlot.get(row.tutorId);
+            if (firstNodeBySlot == null) {
+                firstNodeBySlot = new int[SlotOrdinals.COUNT];
+                int tutorGroup = cloneSessions ? CompactBipartiteGraph.NO_GROUP : graph.addRightGroup(maxSessions);
+                int preferred = preferredPeriodsByTutor.getOrDefault(row.tutorId, 0);
+                for (long remaining = slotMask; remaining != 0; remaining &= remaining - 1) {
+                    int slot = Long.numberOfTrailingZeros(remaining);
+                    firstNodeBySlot[slot] = graph.getRightCount();
+                    if (preferred != 0 && (preferred & (1 << SlotOrdinals.periodOf(slot).ordinal())) == 0) {
+                        unpreferredPeriodNodes.set(graph.getRightCount(), graph.getRightCount() + sessionsPerSlot);
+                    }
+                    // Create one node per session this slot can absorb
+                    for (int sessionNum = 1; sessionNum <= sessionsPerSlot; sessionNum++) {
+                        graph.addRightNode(tutorGroup);
+                        tutorNodes.add(new TutorAvailabilityNode(row.tutorId, slot, sessionNum, maxSessions));
+                    }
+                }
+                firstNodeByTutorSlot.put(row.tutorId, firstNodeBySlot);
+            }
+            
+            // Index the request's availability nodes by subject and slot
+            int tutorYear = row.yearGroup.ordinal();
+            SupplyBucket[] buckets = bucketsBySubject.computeIfAbsent(row.subjectId, id -> new SupplyBucket[SlotOrdinals.COUNT]);
+            supplyMaskBySubject.merge(row.subjectId, slotMask, (a, b) -> a | b);
+            for (long remaining = slotMask; remaining != 0; remaining &= remaining - 1) {
+                int slot = Long.numberOfTrailingZeros(remaining);
+                if (buckets[slot] == null) {
+                    buckets[slot] = new SupplyBucket();
+                }
+                for (int session = 0; session < sessionsPerSlot; session++) {
+                    buckets[slot].add(tutorYear, firstNodeBySlot[slot] + session);
+                }
+            }
         }
         
-        // Timeslot must match
-        if (!tutorNode.matchesTimeslot(tuteeNode.timeslot)) {
-            return false;
+        @Override
+        public void tuteeRequest(TuteeRequestRow row) {
+            seal();
+            // Create the left node; the dense node ID is the list index
+            int tuteeNodeId = graph.addLeftNode();
+            tuteeNodes.add(new TuteeRequestNode(row));
+            
+            // Add edges to the eligible suffix of every bucket its slots share with the supply
+            long sharedSlots = row.slotMask & supplyMaskBySubject.getOrDefault(row.subjectId, 0L);
+            if (sharedSlots == 0) {
+                return;
+            }
+            SupplyBucket[] buckets = bucketsBySubject.get(row.subjectId);
+            int tuteeYear = row.yearGroup.ordinal();
+            for (long remaining = sharedSlots; remaining != 0; remaining &= remaining - 1) {
+                int slot = Long.numberOfTrailingZeros(remaining);
+                SupplyBucket bucket = buckets[slot];
+                
+                // Tutor year group must be >= tutee year group
+                long[] entries = bucket.entries;
+                int tuteeRank = weighted ? row.rankOf(slot) : 0;
+                for (int i = bucket.firstEligible(tuteeYear); i < entries.length; i++) {
+                    int tutorNodeId = SupplyBucket.node(entries[i]);
+                    int cost = weighted ? tuteeRank + (unpreferredPeriodNodes.get(tutorNodeId) ? 1 : 0) : 0;
+                    graph.addEdge(tuteeNodeId, tutorNodeId, cost);
+                }
+            }
         }
         
-        return true;
+        private void seal() {
+            if (sealed) {
+                return;
+            }
+            for (SupplyBucket[] buckets : bucketsBySubject.values()) {
+                for (SupplyBucket bucket : buckets) {
+                    if (bucket != null) {
+                        bucket.seal();
+                    }
+                }
+            }
+            sealed = true;
+        }
+        
+        MatchingContext build() {
+            CompactBipartiteGraph compactGraph = graph.build();
+            logger.info("Built bipartite graph: {} tutee nodes, {} tutor nodes, {} edges", 
+                       tuteeNodes.size(), tutorNodes.size(), compactGraph.getEdgeCount());
+            return new MatchingContext(compactGraph, tuteeNodes, tutorNodes, tutorRequestsBySubject,
+                timeslotIdBySlot, labelBySlot);
+        }
     }
     
     /**
-     * Find the tutor request for a given tutor user.
+     * Find the tutor request that offers the given subject.
      */
-    private Request findTutorRequest(User tutor) {
-        return requestService.getRequestsByUser(tutor)
-            .stream()
-            .filter(r -> r.getType() == RequestType.TUTOR && r.getStatus() == RequestStatus.OUTSTANDING)
-            .findFirst()
-            .orElse(null);
+    private TutorRequestRow findTutorRequest(MatchingContext context, long tutorId, long subjectId) {
+        Map<Long, TutorRequestRow> bySubject = context.tutorRequestsBySubject.get(tutorId);
+        return bySubject != null ? bySubject.get(subjectId) : null;
     }
     
-    /**
-     * Check if tutor year group is eligible to tutor the given tutee year group.
-     */
-    private boolean isTutorYearEligible(YearGroup tutorYear, YearGroup tuteeYear) {
-        return tutorYear.ordinal() >= tuteeYear.ordinal();
+    static int getMaxSessions(User tutor) {
+        return getMaxSessions(tutor.getMaxSessionsPerWeek());
+    }
+    
+    static int getMaxSessions(Integer maxSessionsPerWeek) {
+        return maxSessionsPerWeek != null ? maxSessionsPerWeek : 3;
     }
     
     /**
-     * Persist the matches found by the algorithm to the database.
+     * Turn the matching into tutor request / tutee request / timeslot pairs,
+     * dropping pairs beyond a tutor's session limit (only binding for cloned
+     * HOPCROFT_KARP nodes; MAX_FLOW already respects it exactly).
      */
-    private int persistMatches(MatchingResult matching) {
-        int matchesCreated = 0;
+    private List<MatchingPreview.ProposedMatch> selectPairs(MatchingContext context, CompactMatching matching) {
+        List<MatchingPreview.ProposedMatch> pairs = new ArrayList<>();
         Map<Long, Integer> tutorSessionCount = new HashMap<>();
+        int[] leftToRight = matching.getLeftToRight();
         
-        for (Map.Entry<Integer, Integer> match : matching.getLeftToRight().entrySet()) {
-            int tuteeNodeId = match.getKey();
-            int tutorNodeId = match.getValue();
-            
-            TuteeRequestTimeslot tuteeNode = tuteeNodes.get(tuteeNodeId);
-            TutorAvailabilityNode tutorNode = tutorNodes.get(tutorNodeId);
+        for (int tuteeNodeId = 0; tuteeNodeId < leftToRight.length; tuteeNodeId++) {
+            int tutorNodeId = leftToRight[tuteeNodeId];
             
-            if (tuteeNode != null && tutorNode != null) {
+            if (tutorNodeId != CompactMatching.UNMATCHED) {
+                TuteeRequestRow tuteeRequest = context.tuteeNodes.get(tuteeNodeId).request;
+                TutorAvailabilityNode tutorNode = context.tutorNodes.get(tutorNodeId);
+                
                 // Check tutor session limit
-                Long tutorId = tutorNode.tutor.getId();
-                int currentCount = tutorSessionCount.getOrDefault(tutorId, 0);
-                int maxSessions = tutorNode.tutor.getMaxSessionsPerWeek() != null ? 
-                    tutorNode.tutor.getMaxSessionsPerWeek() : 3;
+                int currentCount = tutorSessionCount.getOrDefault(tutorNode.tutorId, 0);
                 
-                if (currentCount < maxSessions) {
-                    try {
-                        // Create the match
-                        Request tutorRequest = findTutorRequest(tutorNode.tutor);
-                        if (tutorRequest != null) {
-                            matchService.saveMatch(tutorRequest, tuteeNode.request, tuteeNode.timeslot);
-                            
-                            // Update session count
-                            tutorSessionCount.put(tutorId, currentCount + 1);
-                            matchesCreated++;
-                            
-                            logger.debug("Created match: {} (tutor) <-> {} (tutee) at {}", 
-                                       tutorRequest.getUser().getFullName(),
-                                       tuteeNode.request.getUser().getFullName(),
-                                       tuteeNode.timeslot.getLabel());
-                        }
-                    } catch (Exception e) {
-                        logger.error("Failed to create match between tutor {} and tutee {}: {}", 
-                                   tutorNode.tutor.getFullName(), 
-                                   tuteeNode.request.getUser().getFullName(),
-                                   e.getMessage());
+                if (currentCount < tutorNode.maxSessions) {
+                    TutorRequestRow tutorRequest = findTutorRequest(context, tutorNode.tutorId, tuteeRequest.subjectId);
+                    if (tutorRequest != null) {
+                        pairs.add(new MatchingPreview.ProposedMatch(tutorRequest.requestId, tuteeRequest.requestId,
+                            context.timeslotId(tutorNode.slot), tutorRequest.tutorName, tuteeRequest.tuteeName,
+                            tuteeRequest.subjectName, context.timeslotLabel(tutorNode.slot)));
+                        tutorSessionCount.put(tutorNode.tutorId, currentCount + 1);
                     }
                 }
             }
         }
         
-        return matchesCreated;
+        return pairs;
+    }
+    
+    /**
+     * Group the tutee requests of the Hall-violating set by subject, year
+     * group and period, keeping the clusters with unmatched requests, worst
+     * first. A request listing slots in several periods is counted once, in
+     * the period it listed most slots in (the earliest on a tie), so the
+     * unmatched counts add up to the run's deficiency. Linear in the number
+     * of tutee nodes.
+     */
+    static List<SupplyShortage> findShortages(List<TuteeRequestNode> tuteeNodes, CompactMatching matching,
+                                              KonigCover cover) {
+        // Request and unmatched counts per cluster, and a request naming it
+        Map<Long, int[]> counts = new HashMap<>();
+        Map<Long, TuteeRequestRow> examples = new HashMap<>();
+        int[] slotsPerPeriod = new int[Period.values().length];
+        for (int left = 0; left < tuteeNodes.size(); left++) {
+            if (!cover.isInHallSet(left)) {
+                continue;
+            }
+            TuteeRequestRow request = tuteeNodes.get(left).request;
+            Arrays.fill(slotsPerPeriod, 0);
+            for (long remaining = request.slotMask; remaining != 0; remaining &= remaining - 1) {
+                slotsPerPeriod[SlotOrdinals.periodOf(Long.numberOfTrailingZeros(remaining)).ordinal()]++;
+            }
+            int period = 0;
+            for (int p = 1; p < slotsPerPeriod.length; p++) {
+                if (slotsPerPeriod[p] > slotsPerPeriod[period]) {
+                    period = p;
+                }
+            }
+            long key = (request.subjectId << 6) | ((long) request.yearGroup.ordinal() << 3) | period;
+            int[] count = counts.computeIfAbsent(key, k -> new int[2]);
+            count[0]++;
+            if (!matching.isLeftNodeMatched(left)) {
+                count[1]++;
+            }
+            examples.putIfAbsent(key, request);
+        }
+        
+        List<SupplyShortage> shortages = new ArrayList<>();
+        counts.forEach((key, count) -> {
+            if (count[1] > 0) {
+                TuteeRequestRow request = examples.get(key);
+                shortages.add(new SupplyShortage(request.subjectName, request.yearGroup,
+                    Period.values()[(int) (key & 7)], count[0], count[1]));
+            }
+        });
+        shortages.sort(Comparator.comparingInt(SupplyShortage::getUnmatchedCount).reversed()
+            .thenComparing(SupplyShortage::getSubjectName)
+            .thenComparing(SupplyShortage::getYearGroup)
+            .thenComparing(SupplyShortage::getPeriod));
+        return shortages;
+    }
+    
+    /**
+     * Persist the matches found by the algorithm to the database in one bulk
+     * write (batched inserts, set-based request updates). A failure rolls back
+     * the whole week rather than skipping single pairs. Nothing is written
+     * if a lease the run holds was lost while it solved.
+     */
+    private int persistMatches(LocalDate targetWeek, List<MatchingPreview.ProposedMatch> pairs) {
+        jobLeaseService.checkHeld();
+        return matchService.saveMatches(targetWeek, pairs);
     }
     
     /**
@@ -318,32 +841,188 @@ public class MatchingService {
     }
     
     /**
-     * Helper class to track processed tutor-timeslot pairs.
+     * The graph of one run plus the mapping between its dense node IDs (list
+     * index) and the entities behind them. Built once, then read-only, so it
+     * can be shared with the component solvers without locking.
      */
-    private static class TutorTimeslotPair {
-        private final Long tutorId;
-        private final DayOfWeek dayOfWeek;
-        private final Period period;
+    private static final class MatchingContext {
+        final CompactBipartiteGraph graph;
+        final List<TuteeRequestNode> tuteeNodes;
+        final List<TutorAvailabilityNode> tutorNodes;
+        final Map<Long, Map<Long, TutorRequestRow>> tutorRequestsBySubject;
+        private final long[] timeslotIdBySlot;
+        private final String[] labelBySlot;
         
-        public TutorTimeslotPair(Long tutorId, DayOfWeek dayOfWeek, Period period) {
-            this.tutorId = tutorId;
-            this.dayOfWeek = dayOfWeek;
-            this.period = period;
+        MatchingContext(CompactBipartiteGraph graph, List<TuteeRequestNode> tuteeNodes,
+                        List<TutorAvailabilityNode> tutorNodes, Map<Long, Map<Long, TutorRequestRow>> tutorRequestsBySubject,
+                        long[] timeslotIdBySlot, String[] labelBySlot) {
+            this.graph = graph;
+            this.tuteeNodes = List.copyOf(tuteeNodes);
+            this.tutorNodes = List.copyOf(tutorNodes);
+            Map<Long, Map<Long, TutorRequestRow>> bySubject = new HashMap<>();
+            tutorRequestsBySubject.forEach((tutorId, requests) -> bySubject.put(tutorId, Map.copyOf(requests)));
+            this.tutorRequestsBySubject = Collections.unmodifiableMap(bySubject);
+            this.timeslotIdBySlot = timeslotIdBySlot.clone();
+            this.labelBySlot = labelBySlot.clone();
         }
         
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) return true;
-            if (obj == null || getClass() != obj.getClass()) return false;
-            TutorTimeslotPair that = (TutorTimeslotPair) obj;
-            return Objects.equals(tutorId, that.tutorId) && 
-                   dayOfWeek == that.dayOfWeek && 
-                   period == that.period;
+        /**
+         * Timeslot id and label for a {@link SlotOrdinals} ordinal listed by one of this run's tutee requests.
+         */
+        long timeslotId(int slot) {
+            return timeslotIdBySlot[slot];
         }
         
-        @Override
-        public int hashCode() {
-            return Objects.hash(tutorId, dayOfWeek, period);
+        String timeslotLabel(int slot) {
+            return labelBySlot[slot];
+        }
+    }
+    
+    /**
+     * A week solved by {@link #prepareWeek}, waiting to be committed as a
+     * batch week or an admin preview.
+     */
+    public static final class PreparedWeek {
+        private final LocalDate targetWeek;
+        private final WeekSolution solution;
+        private final RuntimeException failure;
+        
+        private PreparedWeek(LocalDate targetWeek, WeekSolution solution, RuntimeException failure) {
+            this.targetWeek = targetWeek;
+            this.solution = solution;
+            this.failure = failure;
+        }
+        
+        public LocalDate getTargetWeek() {
+            return targetWeek;
+        }
+        
+        public boolean isFailed() {
+            return failure != null;
+        }
+        
+        public int getTuteeRequestCount() {
+            return solution == null ? 0 : solution.tuteeRequestCount;
+        }
+        
+        public long getLoadMillis() {
+            return solution == null ? 0 : solution.loadNanos / 1_000_000;
+        }
+        
+        public long getBuildMillis() {
+            return solution == null ? 0 : solution.buildNanos / 1_000_000;
+        }
+        
+        public long getSolveMillis() {
+            return solution == null ? 0 : solution.solveNanos / 1_000_000;
+        }
+        
+        private WeekSolution solution() {
+            if (failure != null) {
+                throw failure;
+            }
+            return solution;
+        }
+    }
+    
+    /**
+     * Graph and pairs produced for one target week.
+     */
+    private static class WeekSolution {
+        final int tuteeRequestCount;
+        final int tutorRequestCount;
+        final MatchingContext context;
+        final CompactBipartiteGraph graph;
+        final int[] seed;
+        final CompactMatching matching;
+        final List<MatchingPreview.ProposedMatch> pairs;
+        final long loadNanos;
+        final long buildNanos;
+        final long solveNanos;
+        
+        WeekSolution(int tuteeRequestCount, int tutorRequestCount, MatchingContext context, CompactBipartiteGraph graph,
+                     int[] seed, CompactMatching matching, List<MatchingPreview.ProposedMatch> pairs,
+                     long loadNanos, long buildNanos, long solveNanos) {
+            this.tuteeRequestCount = tuteeRequestCount;
+            this.tutorRequestCount = tutorRequestCount;
+            this.context = context;
+            this.graph = graph;
+            this.seed = seed;
+            this.matching = matching;
+            this.pairs = pairs;
+            this.loadNanos = loadNanos;
+            this.buildNanos = buildNanos;
+            this.solveNanos = solveNanos;
+        }
+        
+        /**
+         * Matched pairs selectPairs left out, because the tutor's weekly cap
+         * was reached (only possible with the cloned HOPCROFT_KARP model).
+         */
+        int droppedCount() {
+            return matching == null ? 0 : matching.getMatchingSize() - pairs.size();
+        }
+        
+        /**
+         * Copy graph size, phases, stage timings and the supply bottleneck
+         * report onto a run record.
+         */
+        void describe(MatchingRun run) {
+            run.setLoadMillis(loadNanos / 1_000_000);
+            run.setBuildMillis(buildNanos / 1_000_000);
+            run.setSolveMillis(solveNanos / 1_000_000);
+            if (graph != null) {
+                run.setTuteeNodeCount(graph.getLeftCount());
+                run.setTutorNodeCount(graph.getRightCount());
+                run.setEdgeCount(graph.getEdgeCount());
+                run.setPeakGraphBytes(graph.estimatePeakBuildBytes());
+                run.setPhaseCount(matching.getPhaseCount());
+                
+                KonigCover cover = KonigCover.of(graph, matching);
+                run.setVertexCoverSize(cover.getCoverSize());
+                run.setUnmatchedTuteeCount(cover.getDeficiency());
+                run.setShortages(findShortages(context.tuteeNodes, matching, cover));
+                if (cover.getDeficiency() > 0) {
+                    logger.info("{} tutee requests unmatched; Hall-violating set of {} requests across {} short clusters",
+                               cover.getDeficiency(), cover.getHallSetSize(), run.getShortages().size());
+                }
+            } else {
+                run.setUnmatchedTuteeCount(tuteeRequestCount);
+            }
+        }
+    }
+    
+    /**
+     * Tutor availability nodes sharing one (subject, slot).
+     * Each entry packs (year group ordinal, right node id) into a long so the
+     * bucket can be sorted by year with a primitive sort.
+     */
+    private static class SupplyBucket {
+        private long[] entries = new long[4];
+        private int size;
+        
+        void add(int yearOrdinal, int rightNode) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = ((long) yearOrdinal << 32) | rightNode;
+        }
+        
+        void seal() {
+            entries = Arrays.copyOf(entries, size);
+            Arrays.sort(entries);
+        }
+        
+        /**
+         * Index of the first entry whose year ordinal is at least the given one.
+         */
+        int firstEligible(int yearOrdinal) {
+            int index = Arrays.binarySearch(entries, (long) yearOrdinal << 32);
+            return index >= 0 ? index : -index - 1;
+        }
+        
+        static int node(long entry) {
+            return (int) entry;
         }
     }
 }
\ No newline at end of file
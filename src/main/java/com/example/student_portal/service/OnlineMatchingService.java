@@ -0,0 +1,392 @@
+package com.example.student_portal.service;
+
+import com.example.student_portal.entity.AvailabilitySlot;
+import com.example.student_portal.entity.Match;
+import com.example.student_portal.entity.Request;
+import com.example.student_portal.entity.Timeslot;
+import com.example.student_portal.entity.User;
+import com.example.student_portal.model.RequestStatus;
+import com.example.student_portal.model.RequestType;
+import com.example.student_portal.repository.MatchRepository;
+import com.example.student_portal.repository.RequestRepository;
+import com.example.student_portal.repository.TimeslotRepository;
+import com.example.student_portal.util.IncrementalMatching;
+import com.example.student_portal.util.SlotOrdinals;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Online matching: matches a request as soon as it is created instead of
+ * waiting for the weekly batch run.
+ *
+ * For every target week that receives a request the service keeps the
+ * week's graph and matching in memory (an {@link IncrementalMatching}, built
+ * from the week's requests and ACTIVE matches on first use). A new tutee
+ * request is added as one left node and takes a free eligible tutor slot if
+ * there is one; a new tutor request adds capacity that waiting tutees take
+ * the same way. Online matching only ever creates new Match rows: a match
+ * that is already committed (and that both students were told about) is
+ * never moved to another tutor or timeslot. Finding the matches that need
+ * existing ones re-routed is left to the weekly run.
+ *
+ * The weekly batch in {@link MatchingService} stays the reconciliation pass.
+ * Writes take the same per-week guard as the batch
+ * ({@link MatchingService#runExclusively}); a request arriving while a run
+ * holds its week is skipped and left to the weekly run. Any status change
+ * the in-memory state did not cause itself (batch run, rejection,
+ * completion, cleared matches) drops that week's state, which is rebuilt
+ * from the database on the next request.
+ *
+ * Off by default; enabled with matching.online.enabled. Not class-level
+ * transactional: the listener runs after the creating transaction committed,
+ * and its write runs in the transaction the week guard opens for it.
+ */
+@Service
+public class OnlineMatchingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OnlineMatchingService.class);
+
+    private static final String ACTIVE = "ACTIVE";
+
+    private final RequestRepository requestRepository;
+    private final MatchRepository matchRepository;
+    private final TimeslotRepository timeslotRepository;
+    private final AvailabilityService availabilityService;
+    private final MatchService matchService;
+    private final MatchingService matchingService;
+    private final boolean enabled;
+
+    private final Map<LocalDate, WeekState> weeks = new ConcurrentHashMap<>();
+
+    public OnlineMatchingService(RequestRepository requestRepository,
+                                 MatchRepository matchRepository,
+                                 TimeslotRepository timeslotRepository,
+                                 AvailabilityService availabilityService,
+                                 MatchService matchService,
+                                 MatchingService matchingService,
+                                 @Value("${matching.online.enabled:false}") boolean enabled) {
+        this.requestRepository = requestRepository;
+        this.matchRepository = matchRepository;
+        this.timeslotRepository = timeslotRepository;
+        this.availabilityService = availabilityService;
+        this.matchService = matchService;
+        this.matchingService = matchingService;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Match a newly created request once its transaction has committed.
+     * Failures, including a run holding the week, are logged and leave the
+     * request to the weekly batch.
+     */
+    @TransactionalEventListener
+    public void onRequestCreated(RequestCreatedEvent event) {
+        if (!enabled || event.getTargetWeek() == null) {
+            return;
+        }
+        try {
+            matchingService.runExclusively(event.getTargetWeek(),
+                () -> matchRequest(event.getRequestId(), event.getTargetWeek()));
+        } catch (RuntimeException e) {
+            weeks.remove(event.getTargetWeek());
+            logger.warn("Online matching failed for request {}, leaving it to the weekly run: {}",
+                       event.getRequestId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Drop a week's in-memory state when a request changes status behind its back.
+     */
+    @EventListener
+    public void onRequestStatusChanged(RequestStatusChangedEvent event) {
+        if (event.getTargetWeek() == null) {
+            return;
+        }
+        WeekState state = weeks.get(event.getTargetWeek());
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            if (!state.expects(event.getRequestId(), event.getStatus())) {
+                weeks.remove(event.getTargetWeek(), state);
+                logger.debug("Dropped online matching state for week {} after request {} became {}",
+                            event.getTargetWeek(), event.getRequestId(), event.getStatus());
+            }
+        }
+    }
+
+    /**
+     * Add a request to its week's matching and commit the new matches it
+     * allows without moving existing ones. Returns the number of new matches
+     * (0 or 1 for a tutee, up to the tutor's spare capacity for a tutor).
+     */
+    int matchRequest(Long requestId, LocalDate targetWeek) {
+        Request request = requestRepository.findById(requestId).orElse(null);
+        if (request == null || request.getStatus() != RequestStatus.OUTSTANDING) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        // Load outside the map so a slow load never blocks other weeks
+        WeekState state = weeks.get(targetWeek);
+        if (state == null) {
+            WeekState loaded = loadWeek(targetWeek);
+            state = weeks.putIfAbsent(targetWeek, loaded);
+            if (state == null) {
+                state = loaded;
+            }
+        }
+        int matchesCreated = 0;
+        synchronized (state) {
+            if (request.getType() == RequestType.TUTEE) {
+                int left = state.addTutee(request);
+                matchesCreated = commitMatch(state, left, state.matching.assignFree(left));
+            } else {
+                int spare = state.addTutor(request, availabilityService.getAvailabilitySlots(request.getUser()));
+                // New capacity can absorb at most `spare` more tutees
+                for (int left = 0; left < state.matching.getLeftCount() && matchesCreated < spare; left++) {
+                    if (state.leftRequestIds.get(left) != null
+                            && state.matching.getMatch(left) == IncrementalMatching.UNMATCHED) {
+                        matchesCreated += commitMatch(state, left, state.matching.assignFree(left));
+                    }
+                }
+            }
+        }
+        logger.info("Online matching for request {} (week {}): {} new matches in {} ms",
+                   requestId, targetWeek, matchesCreated, (System.nanoTime() - start) / 1_000_000.0);
+        return matchesCreated;
+    }
+
+    /**
+     * Persist a new match of a left node to the right node it was just assigned.
+     */
+    private int commitMatch(WeekState state, int left, int right) {
+        if (right == IncrementalMatching.UNMATCHED) {
+            return 0;
+        }
+        Long tuteeRequestId = state.leftRequestIds.get(left);
+        Long tutorRequestId = state.tutorRequestId(state.rightTutorIds.get(right), state.leftSubjectIds.get(left));
+        Timeslot timeslot = timeslotRepository.getReferenceById(state.timeslotIdBySlotKey.get(state.rightSlotKeys.get(right)));
+        // Counted first so the status events of the save are recognised as our own
+        state.addTutorMatch(tutorRequestId, 1);
+        matchService.saveMatch(requestRepository.getReferenceById(tutorRequestId),
+            requestRepository.getReferenceById(tuteeRequestId), timeslot);
+        return 1;
+    }
+
+    /**
+     * Build a week's state from its outstanding and matched requests and ACTIVE matches.
+     */
+    private WeekState loadWeek(LocalDate targetWeek) {
+        WeekState state = new WeekState();
+        for (RequestStatus status : new RequestStatus[] { RequestStatus.OUTSTANDING, RequestStatus.MATCHED }) {
+            for (Request tutorRequest : requestRepository.findByTypeAndStatusAndTargetWeek(RequestType.TUTOR, status, targetWeek)) {
+                state.addTutor(tutorRequest, availabilityService.getAvailabilitySlots(tutorRequest.getUser()));
+            }
+        }
+        for (Match match : matchRepository.findByTuteeRequest_TargetWeekAndStatus(targetWeek, ACTIVE)) {
+            state.restore(match);
+        }
+        for (Request tuteeRequest : requestRepository.findByTypeAndStatusAndTargetWeek(
+                RequestType.TUTEE, RequestStatus.OUTSTANDING, targetWeek)) {
+            state.addTutee(tuteeRequest);
+        }
+        logger.info("Loaded online matching state for week {}: {} tutee nodes, {} tutor slots, {} matched",
+                   targetWeek, state.matching.getLeftCount(), state.matching.getRightCount(),
+                   state.matching.getMatchingSize());
+        return state;
+    }
+
+    /**
+     * Key of one (subject, slot) supply/demand bucket; slot is a {@link SlotOrdinals} ordinal.
+     */
+    private static long bucketKey(long subjectId, int slot) {
+        return (subjectId << 6) | slot;
+    }
+
+    /**
+     * One week's graph, matching and the ids needed to persist changes.
+     * Right nodes are tutor slots grouped per tutor (capacity maxSessionsPerWeek),
+     * left nodes are tutee requests; supply and demand are indexed by
+     * (subject, day, period) so new requests only look at their own buckets.
+     */
+    private static class WeekState {
+        final IncrementalMatching matching = new IncrementalMatching();
+
+        final List<Long> leftRequestIds = new ArrayList<>();
+        final List<Long> leftSubjectIds = new ArrayList<>();
+        final List<Integer> leftYears = new ArrayList<>();
+        final Map<Long, Integer> leftByRequest = new HashMap<>();
+
+        final List<Long> rightTutorIds = new ArrayList<>();
+        final List<Integer> rightSlotKeys = new ArrayList<>();
+        final Map<Long, Integer> groupByTutor = new HashMap<>();
+        final Map<Long, Map<Integer, Integer>> rightByTutorSlot = new HashMap<>();
+
+        final Map<Long, Map<Long, Long>> tutorRequestIdsBySubject = new HashMap<>();
+        final Map<Long, Integer> tutorMatchCounts = new HashMap<>();
+
+        // (subject, slot) -> packed (year ordinal, right node) / left nodes
+        final Map<Long, List<Long>> supply = new HashMap<>();
+        final Map<Long, List<Integer>> demand = new HashMap<>();
+        final Map<Integer, Long> timeslotIdBySlotKey = new HashMap<>();
+
+        /**
+         * Add a tutee request as a left node with edges to every eligible tutor slot.
+         * Returns the existing node if the request is already known.
+         */
+        int addTutee(Request request) {
+            Integer existing = leftByRequest.get(request.getId());
+            if (existing != null) {
+                return existing;
+            }
+            int left = addLeft(request.getId(), request.getSubject().getId(), request.getYearGroup().ordinal());
+            leftByRequest.put(request.getId(), left);
+            for (Timeslot timeslot : request.getPossibleTimeslots()) {
+                int slotKey = SlotOrdinals.parse(timeslot.getLabel());
+                if (slotKey == SlotOrdinals.NONE) {
+                    continue;
+                }
+                timeslotIdBySlotKey.putIfAbsent(slotKey, timeslot.getId());
+                long key = bucketKey(request.getSubject().getId(), slotKey);
+                demand.computeIfAbsent(key, k -> new ArrayList<>()).add(left);
+                for (long entry : supply.getOrDefault(key, Collections.emptyList())) {
+                    if ((int) (entry >>> 32) >= leftYears.get(left)) {
+                        matching.addEdge(left, (int) entry);
+                    }
+                }
+            }
+            return left;
+        }
+
+        /**
+         * Add a tutor request: the tutor's slot nodes (first request only) and
+         * edges from every waiting tutee of the subject. Returns the tutor's
+         * spare capacity, or 0 if the request adds nothing new.
+         */
+        int addTutor(Request request, List<AvailabilitySlot> availability) {
+            User tutor = request.getUser();
+            Long subjectId = request.getSubject().getId();
+            Map<Long, Long> bySubject = tutorRequestIdsBySubject.computeIfAbsent(tutor.getId(), id -> new HashMap<>());
+            Long known = bySubject.putIfAbsent(subjectId, request.getId());
+            if (known != null) {
+                // Already loaded with the week, or a second request for the same subject
+                return known.equals(request.getId()) ? spareCapacity(tutor) : 0;
+            }
+            tutorMatchCounts.putIfAbsent(request.getId(), 0);
+
+            Integer group = groupByTutor.get(tutor.getId());
+            Map<Integer, Integer> slots = rightByTutorSlot.computeIfAbsent(tutor.getId(), id -> new HashMap<>());
+            if (group == null) {
+                group = matching.addGroup(MatchingService.getMaxSessions(tutor));
+                groupByTutor.put(tutor.getId(), group);
+                for (AvailabilitySlot slot : availability) {
+                    int slotKey = SlotOrdinals.of(slot.getDayOfWeek(), slot.getPeriod());
+                    if (slotKey != SlotOrdinals.NONE && !slots.containsKey(slotKey)) {
+                        slots.put(slotKey, matching.addRightNode(group));
+                        rightTutorIds.add(tutor.getId());
+                        rightSlotKeys.add(slotKey);
+                    }
+                }
+            }
+
+            int tutorYear = request.getYearGroup().ordinal();
+            for (Map.Entry<Integer, Integer> slot : slots.entrySet()) {
+                long key = bucketKey(subjectId, slot.getKey());
+                int right = slot.getValue();
+                supply.computeIfAbsent(key, k -> new ArrayList<>()).add(((long) tutorYear << 32) | right);
+                for (int left : demand.getOrDefault(key, Collections.emptyList())) {
+                    if (leftYears.get(left) <= tutorYear) {
+                        matching.addEdge(left, right);
+                    }
+                }
+            }
+            return spareCapacity(tutor);
+        }
+
+        /**
+         * Record an ACTIVE match from the database. The first match of a tutee
+         * request becomes its left node if the tutor slot is one of its
+         * eligible candidates; otherwise, and for any further match of the same
+         * request, the match is pinned to its slot by a left node with that
+         * single edge, so it keeps the slot and capacity it holds.
+         */
+        void restore(Match match) {
+            Request tutee = match.getTuteeRequest();
+            Long tutorId = match.getTutorRequest().getUser().getId();
+            int slotKey = SlotOrdinals.parse(match.getMatchedTimeslot().getLabel());
+            Integer right = rightByTutorSlot.getOrDefault(tutorId, Collections.emptyMap()).get(slotKey);
+            if (right == null || matching.getOccupant(right) != IncrementalMatching.UNMATCHED) {
+                logger.debug("Match {} does not fit the current availability; not tracked online", match.getId());
+                return;
+            }
+
+            int year = tutee.getYearGroup().ordinal();
+            long key = bucketKey(tutee.getSubject().getId(), slotKey);
+            boolean eligible = supply.getOrDefault(key, Collections.emptyList()).stream()
+                .anyMatch(entry -> (int) (long) entry == right && (int) (entry >>> 32) >= year);
+            int left;
+            if (eligible && !leftByRequest.containsKey(tutee.getId())) {
+                left = addTutee(tutee);
+            } else {
+                left = addLeft(null, tutee.getSubject().getId(), year);
+                matching.addEdge(left, right);
+                leftByRequest.putIfAbsent(tutee.getId(), left);
+            }
+            matching.assign(left, right);
+            timeslotIdBySlotKey.putIfAbsent(slotKey, match.getMatchedTimeslot().getId());
+            tutorMatchCounts.merge(match.getTutorRequest().getId(), 1, Integer::sum);
+        }
+
+        /**
+         * Whether a status change is one this state already reflects.
+         */
+        boolean expects(Long requestId, RequestStatus status) {
+            Integer left = leftByRequest.get(requestId);
+            if (left != null) {
+                boolean matched = matching.getMatch(left) != IncrementalMatching.UNMATCHED;
+                return status == (matched ? RequestStatus.MATCHED : RequestStatus.OUTSTANDING);
+            }
+            Integer tutorMatches = tutorMatchCounts.get(requestId);
+            if (tutorMatches != null) {
+                return status == (tutorMatches > 0 ? RequestStatus.MATCHED : RequestStatus.OUTSTANDING);
+            }
+            return false;
+        }
+
+        int spareCapacity(User tutor) {
+            return Math.max(0, MatchingService.getMaxSessions(tutor) - matching.getLoad(groupByTutor.get(tutor.getId())));
+        }
+
+        Long tutorRequestId(Long tutorId, Long subjectId) {
+            return tutorRequestIdsBySubject.get(tutorId).get(subjectId);
+        }
+
+        /**
+         * Adjust a tutor request's number of matches and return the new count.
+         */
+        int addTutorMatch(Long tutorRequestId, int delta) {
+            return tutorMatchCounts.merge(tutorRequestId, delta, Integer::sum);
+        }
+
+        private int addLeft(Long requestId, Long subjectId, int yearOrdinal) {
+            int left = matching.addLeftNode();
+            leftRequestIds.add(requestId);
+            leftSubjectIds.add(subjectId);
+            leftYears.add(yearOrdinal);
+            return left;
+        }
+    }
+}
@@ -10,8 +10,8 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.temporal.WeekFields;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing weekly recurring tutoring requests.
@@ -34,9 +34,11 @@ public class RecurrenceService {
     private static final Logger logger = LoggerFactory.getLogger(RecurrenceService.class);
     
     private final RequestService requestService;
+    private final MatchingMetrics matchingMetrics;
     
-    public RecurrenceService(RequestService requestService) {
+    public RecurrenceService(RequestService requestService, MatchingMetrics matchingMetrics) {
         this.requestService = requestService;
+        this.matchingMetrics = matchingMetrics;
     }
     
     /**
@@ -49,23 +51,32 @@ public class RecurrenceService {
     }
     
     /**
-     * Generate recurring requests for a specific target week.
+     * Generate recurring requests for a specific target week from the
+     * previous week's matched recurring pairs. Each pair is found from its
+     * tutee request, whose matched partner is the tutor request it was
+     * matched with.
+     *
+     * Safe to run again for the same week, for example when a failed weekly
+     * run is retried: a side whose user already has a request of that
+     * subject for the week is not generated again.
      */
     public void generateRecurringRequestsForWeek(LocalDate targetWeek) {
         logger.info("Generating recurring requests for week {}", targetWeek);
+        long start = System.nanoTime();
         
-        // Find all matched requests that are marked as recurring
-        List<Request> recurringRequests = getAllRecurringActiveRequests();
+        // Last week's matched tutee requests that are marked as recurring
+        List<Request> recurringTuteeRequests = requestService.getRecurringMatchedTuteeRequests(targetWeek.minusWeeks(1));
         
         int generatedCount = 0;
         
-        for (Request request : recurringRequests) {
+        for (Request request : recurringTuteeRequests) {
             if (request.getMatchedPartner() != null && 
                 request.getMatchedPartner().isRecurring()) {
                 
                 try {
-                    generateRecurringPair(request, request.getMatchedPartner(), targetWeek);
-                    generatedCount++;
+                    if (generateRecurringPair(request.getMatchedPartner(), request, targetWeek)) {
+                        generatedCount++;
+                    }
                 } catch (Exception e) {
                     logger.error("Failed to generate recurring request pair for {}: {}", 
                                request.getUser().getFullName(), e.getMessage());
@@ -74,6 +85,7 @@ public class RecurrenceService {
         }
         
         logger.info("Generated {} recurring request pairs for week {}", generatedCount, targetWeek);
+        matchingMetrics.recurringRequestsGenerated(System.nanoTime() - start, generatedCount);
     }
     
     /**
@@ -156,21 +168,36 @@ public class RecurrenceService {
     }
     
     /**
-     * Generate a new pair of requests for the next week based on a recurring pair.
+     * Generate a new pair of requests for the next week based on a recurring
+     * pair. A tutor with several recurring tutees in one subject gets one
+     * tutor request for all of them.
+     *
+     * @return false if the week already had the tutee's request
      */
-    private void generateRecurringPair(Request originalTutorRequest, Request originalTuteeRequest, LocalDate targetWeek) {
+    private boolean generateRecurringPair(Request originalTutorRequest, Request originalTuteeRequest, LocalDate targetWeek) {
         // Create new tutee request
-        Request newTuteeRequest = createRecurringRequest(originalTuteeRequest, targetWeek);
+        Request newTuteeRequest = createRecurringRequestIfMissing(originalTuteeRequest, targetWeek);
         
         // Create new tutor request  
-        Request newTutorRequest = createRecurringRequest(originalTutorRequest, targetWeek);
+        Request newTutorRequest = createRecurringRequestIfMissing(originalTutorRequest, targetWeek);
         
-        // Both new requests are automatically marked as recurring since they come from recurring originals
-        newTuteeRequest.setIsRecurring(true);
-        newTutorRequest.setIsRecurring(true);
-        
-        logger.debug("Generated recurring pair for week {}: tutee={}, tutor={}", 
-                    targetWeek, newTuteeRequest.getId(), newTutorRequest.getId());
+        logger.debug("Generated recurring pair for week {}: tutee={}, tutor={}", targetWeek,
+                    newTuteeRequest != null ? newTuteeRequest.getId() : "existing",
+                    newTutorRequest != null ? newTutorRequest.getId() : "existing");
+        return newTuteeRequest != null;
+    }
+    
+    /**
+     * Create the week's copy of a recurring request unless its user already
+     * has a request of that subject and type for the week.
+     *
+     * @return the new request, or null if the week already had one
+     */
+    private Request createRecurringRequestIfMissing(Request original, LocalDate targetWeek) {
+        if (requestService.hasRequestForWeek(original.getUser(), original.getSubject(), original.getType(), targetWeek)) {
+            return null;
+        }
+        return createRecurringRequest(original, targetWeek);
     }
     
     /**
@@ -185,23 +212,12 @@ public class RecurrenceService {
         newRequest.setTargetWeek(targetWeek);
         newRequest.setStatus(RequestStatus.OUTSTANDING);
         newRequest.setPossibleTimeslots(original.getPossibleTimeslots());
+        newRequest.setTimeslotRanks(new HashMap<>(original.getTimeslotRanks()));
         newRequest.setIsRecurring(true);
         
         return requestService.createRequest(newRequest);
     }
     
-    /**
-     * Get all requests that are both matched and marked as recurring.
-     */
-    private List<Request> getAllRecurringActiveRequests() {
-        return requestService.getAllRequests()
-            .stream()
-            .filter(r -> r.getStatus() == RequestStatus.MATCHED)
-            .filter(Request::isRecurring)
-            .filter(r -> r.getMatchedPartner() != null)
-            .collect(Collectors.toList());
-    }
-    
     /**
      * Get the upcoming Monday date (ISO week format).
      */
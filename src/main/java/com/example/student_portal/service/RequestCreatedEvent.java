@@ -0,0 +1,22 @@
+package com.example.student_portal.service;
+
+import java.time.LocalDate;
+
+/**
+ * Published by {@link RequestService} when a user files a new request.
+ * Carries ids only, since listeners may run after the creating transaction.
+ */
+public class RequestCreatedEvent {
+
+    private final Long requestId;
+    private final LocalDate targetWeek;
+
+    public RequestCreatedEvent(Long requestId, LocalDate targetWeek) {
+        this.requestId = requestId;
+        this.targetWeek = targetWeek;
+    }
+
+    public Long getRequestId() { return requestId; }
+
+    public LocalDate getTargetWeek() { return targetWeek; }
+}
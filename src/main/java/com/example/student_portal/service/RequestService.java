@@ -10,8 +10,10 @@ import com.example.student_portal.repository.RequestRepository;
 import com.example.student_portal.repository.SubjectRepository;
 import com.example.student_portal.repository.TimeslotRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.List;
 
@@ -23,6 +25,10 @@ import java.util.List;
  *  - Ensuring no duplicate active requests per user/subject/type
  *  - Updating request status
  *  - Fetching requests for matching algorithm and dashboards
+ *
+ * New requests and status changes are published as application events
+ * ({@link RequestCreatedEvent}, {@link RequestStatusChangedEvent}) for the
+ * online matcher.
  */
 @Service
 @Transactional
@@ -32,21 +38,33 @@ public class RequestService {
     private final SubjectRepository subjectRepository;
     private final TimeslotRepository timeslotRepository;
     private final ValidationService validationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public RequestService(RequestRepository requestRepository,
                           SubjectRepository subjectRepository,
                           TimeslotRepository timeslotRepository,
-                          ValidationService validationService) {
+                          ValidationService validationService,
+                          ApplicationEventPublisher eventPublisher) {
         this.requestRepository = requestRepository;
         this.subjectRepository = subjectRepository;
         this.timeslotRepository = timeslotRepository;
         this.validationService = validationService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Creates a new request with comprehensive validation.
      */
     public Request createRequest(User user, Long subjectId, List<Long> timeslotIds, RequestType type) {
+        return createRequest(user, subjectId, timeslotIds, type, null, null);
+    }
+
+    /**
+     * Creates a new request for the given target week (may be null), ranking
+     * the preferred timeslot (if any) first and all other timeslots second.
+     */
+    public Request createRequest(User user, Long subjectId, List<Long> timeslotIds, RequestType type,
+                                 Long preferredTimeslotId, LocalDate targetWeek) {
         Subject subject = subjectRepository.findById(subjectId)
             .orElseThrow(() -> new IllegalArgumentException("Subject not found"));
 
@@ -70,21 +88,38 @@ public class RequestService {
         request.setUser(user);
         request.setSubject(subject);
         request.setPossibleTimeslots(new HashSet<>(timeslots));
+        if (preferredTimeslotId != null && timeslots.stream().anyMatch(t -> t.getId().equals(preferredTimeslotId))) {
+            for (Timeslot timeslot : timeslots) {
+                request.getTimeslotRanks().put(timeslot.getId(), timeslot.getId().equals(preferredTimeslotId) ? 0 : 1);
+            }
+        }
         request.setType(type);
         request.setStatus(RequestStatus.OUTSTANDING);
         request.setYearGroup(user.getYearGroup()); // store for convenience
+        request.setTargetWeek(targetWeek);
 
         // Validate the complete request
         validationService.validateRequest(request);
 
-        return requestRepository.save(request);
+        Request saved = requestRepository.save(request);
+        eventPublisher.publishEvent(new RequestCreatedEvent(saved.getId(), saved.getTargetWeek()));
+        return saved;
     }
 
     public Request updateStatus(Long requestId, RequestStatus status) {
         Request req = requestRepository.findById(requestId)
             .orElseThrow(() -> new IllegalArgumentException("Request not found"));
         req.setStatus(status);
-        return requestRepository.save(req);
+        Request saved = requestRepository.save(req);
+        eventPublisher.publishEvent(new RequestStatusChangedEvent(saved.getId(), saved.getTargetWeek(), status));
+        return saved;
+    }
+
+    /**
+     * Announce a status change that was written in bulk outside this service.
+     */
+    public void publishStatusChanged(Long requestId, LocalDate targetWeek, RequestStatus status) {
+        eventPublisher.publishEvent(new RequestStatusChangedEvent(requestId, targetWeek, status));
     }
 
     public List<Request> getOutstandingTutorRequests() {
@@ -115,6 +150,21 @@ public class RequestService {
         return requestRepository.save(request);
     }
 
+    /**
+     * Matched tutee requests of a week whose tutee asked for weekly recurrence.
+     */
+    public List<Request> getRecurringMatchedTuteeRequests(LocalDate targetWeek) {
+        return requestRepository.findByTypeAndStatusAndTargetWeekAndIsRecurringTrue(
+            RequestType.TUTEE, RequestStatus.MATCHED, targetWeek);
+    }
+
+    /**
+     * Whether the user already has a request of this subject and type for the week, in any status.
+     */
+    public boolean hasRequestForWeek(User user, Subject subject, RequestType type, LocalDate targetWeek) {
+        return requestRepository.existsByUserAndSubjectAndTypeAndTargetWeek(user, subject, type, targetWeek);
+    }
+
     public List<Request> getAllRequests() {
         return requestRepository.findAll();
     }
@@ -0,0 +1,27 @@
+package com.example.student_portal.service;
+
+import com.example.student_portal.model.RequestStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Published by {@link RequestService} whenever a request's status is updated.
+ */
+public class RequestStatusChangedEvent {
+
+    private final Long requestId;
+    private final LocalDate targetWeek;
+    private final RequestStatus status;
+
+    public RequestStatusChangedEvent(Long requestId, LocalDate targetWeek, RequestStatus status) {
+        this.requestId = requestId;
+        this.targetWeek = targetWeek;
+        this.status = status;
+    }
+
+    public Long getRequestId() { return requestId; }
+
+    public LocalDate getTargetWeek() { return targetWeek; }
+
+    public RequestStatus getStatus() { return status; }
+}
@@ -0,0 +1,448 @@
+package com.example.student_portal.service;
+
+import com.example.student_portal.model.ExamBoard;
+import com.example.student_portal.model.Period;
+import com.example.student_portal.model.RequestStatus;
+import com.example.student_portal.model.RequestType;
+import com.example.student_portal.model.Role;
+import com.example.student_portal.model.TeachingMode;
+import com.example.student_portal.model.YearGroup;
+import com.example.student_portal.repository.BulkLoadJdbcRepository;
+import com.example.student_portal.repository.BulkLoadJdbcRepository.Table;
+import com.example.student_portal.util.SlotOrdinals;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills the database with a synthetic school at load-test scale when the
+ * datagen profile is active:
+ *
+ *   mvn spring-boot:run -Dspring-boot.run.profiles=datagen -Dspring-boot.run.arguments=--datagen.users=50000
+ *
+ * Generates students with subjects, availability and preferred periods, and
+ * for each of datagen.weeks target weeks up to the upcoming one their tutor
+ * and tutee requests. Past weeks are matched (one tutee per tutor request,
+ * within the tutor's weekly cap) and get chat history; the upcoming week is
+ * left outstanding for the matching run. Rows go through
+ * {@link BulkLoadJdbcRepository} in JDBC batches within one transaction.
+ * Subjects and timeslots must already exist (data.sql). Generated users have
+ * synthetic.N email addresses and share one password; the generator does
+ * nothing if such users exist already.
+ */
+@Service
+@Profile("datagen")
+@Transactional
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    static final String EMAIL_PREFIX = "synthetic.";
+    static final String EMAIL_DOMAIN = "@bromsgrove-school.co.uk";
+
+    /** Candidate tutor requests tried per tutee request when matching a past week. */
+    private static final int MATCH_ATTEMPTS = 20;
+
+    private static final String[] FIRST_NAMES = {
+        "Alex", "Sam", "Charlie", "Jamie", "Morgan", "Taylor", "Jordan", "Casey", "Robin", "Avery",
+        "Noah", "Olivia", "Amelia", "Leo", "Isla", "Arjun", "Mei", "Lukas", "Sofia", "Kwame"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Jones", "Williams", "Brown", "Taylor", "Davies", "Evans", "Wilson", "Patel", "Khan",
+        "Chen", "Nowak", "Okafor", "Garcia", "Murphy", "Schmidt", "Rossi", "Tanaka", "Ahmed", "Clarke"
+    };
+    private static final String[] MESSAGES = {
+        "Hi! Looking forward to our session.",
+        "Could we go over last week's homework?",
+        "Sure, bring your notes and we'll start there.",
+        "Is the library ok, or shall we meet online?",
+        "Thanks, that really helped!",
+        "See you at the usual time."
+    };
+
+    private final BulkLoadJdbcRepository bulkLoadRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final int userCount;
+    private final int weekCount;
+    private final int messagesPerMatch;
+    private final String password;
+    private final long seed;
+
+    public SyntheticDataGenerator(BulkLoadJdbcRepository bulkLoadRepository,
+                                  PasswordEncoder passwordEncoder,
+                                  @Value("${datagen.users:5000}") int userCount,
+                                  @Value("${datagen.weeks:4}") int weekCount,
+                                  @Value("${datagen.messages-per-match:3}") int messagesPerMatch,
+                                  @Value("${datagen.password:password}") String password,
+                                  @Value("${datagen.seed:42}") long seed) {
+        if (userCount < 1 || weekCount < 1 || messagesPerMatch < 0) {
+            throw new IllegalArgumentException("datagen.users and datagen.weeks must be positive, "
+                + "datagen.messages-per-match must not be negative");
+        }
+        this.bulkLoadRepository = bulkLoadRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.userCount = userCount;
+        this.weekCount = weekCount;
+        this.messagesPerMatch = messagesPerMatch;
+        this.password = password;
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (bulkLoadRepository.existsUserWithEmailLike(EMAIL_PREFIX + "%")) {
+            logger.info("Synthetic users already present, skipping data generation");
+            return;
+        }
+        generate(getUpcomingMondayDate());
+    }
+
+    /**
+     * Generate the data set with the given week as the last, unmatched one.
+     */
+    void generate(LocalDate upcomingWeek) {
+        long start = System.nanoTime();
+        Random random = new Random(seed);
+        long[] subjectIds = bulkLoadRepository.findSubjectIds().values().stream().mapToLong(Long::longValue).toArray();
+        long[] timeslotIdBySlot = timeslotIdsBySlot(bulkLoadRepository.findTimeslotIds());
+        if (subjectIds.length == 0) {
+            throw new IllegalStateException("No subjects found; load data.sql before generating data");
+        }
+
+        Students students = generateStudents(random, subjectIds, timeslotIdBySlot);
+        int requests = 0;
+        int matches = 0;
+        for (int w = weekCount - 1; w >= 0; w--) {
+            Week week = generateWeek(random, students, subjectIds, timeslotIdBySlot, upcomingWeek.minusWeeks(w), w > 0);
+            requests += week.requestCount;
+            matches += week.matchCount;
+        }
+        int linked = bulkLoadRepository.linkMatchedPartners();
+
+        logger.info("Generated {} users, {} requests over {} weeks and {} matches ({} requests linked) in {} ms",
+                   userCount, requests, weekCount, matches, linked, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Per-student attributes the weekly requests are drawn from, by index.
+     */
+    private static final class Students {
+        final long[] ids;
+        final int[] years;
+        final int[][] subjects; // indexes into the subject ids
+        final long[] availableSlots;
+        final int[] maxSessions;
+
+        Students(int count) {
+            ids = new long[count];
+            years = new int[count];
+            subjects = new int[count][];
+            availableSlots = new long[count];
+            maxSessions = new int[count];
+        }
+    }
+
+    private Students generateStudents(Random random, long[] subjectIds, long[] timeslotIdBySlot) {
+        Students students = new Students(userCount);
+        long[] ids = bulkLoadRepository.reserveIds(Table.USERS, userCount);
+        String passwordHash = passwordEncoder.encode(password); // once: BCrypt per user would dominate the load
+        long offeredSlots = offeredSlotMask(timeslotIdBySlot);
+
+        Rows users = new Rows(Table.USERS);
+        Rows userSubjects = new Rows(Table.USER_SUBJECTS);
+        Rows availability = new Rows(Table.AVAILABILITY_SLOTS);
+        Rows preferredPeriods = new Rows(Table.USER_PREFERRED_PERIODS);
+        for (int s = 0; s < userCount; s++) {
+            long id = ids[s];
+            int year = random.nextInt(YearGroup.values().length);
+            YearGroup yearGroup = YearGroup.values()[year];
+            ExamBoard examBoard = year <= YearGroup.YEAR_11.ordinal() ? ExamBoard.NONE
+                : random.nextBoolean() ? ExamBoard.IB : ExamBoard.A_LEVELS;
+            int maxSessions = 1 + random.nextInt(5);
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            users.add(id, name, EMAIL_PREFIX + id + EMAIL_DOMAIN, passwordHash, Role.STUDENT.name(), yearGroup.name(),
+                examBoard.name(), maxSessions, TeachingMode.values()[random.nextInt(TeachingMode.values().length)].name());
+
+            int[] subjects = distinct(random, 1 + random.nextInt(3), subjectIds.length, true);
+            for (int subject : subjects) {
+                userSubjects.add(id, subjectIds[subject]);
+            }
+            long slots = randomSlots(random, 4 + random.nextInt(9), offeredSlots);
+            for (long remaining = slots; remaining != 0; remaining &= remaining - 1) {
+                int slot = Long.numberOfTrailingZeros(remaining);
+                availability.add(id, SlotOrdinals.dayOf(slot).name(), SlotOrdinals.periodOf(slot).name());
+            }
+            if (random.nextBoolean()) {
+                for (int period : distinct(random, 2 + random.nextInt(2), SlotOrdinals.PERIODS, false)) {
+                    preferredPeriods.add(id, Period.values()[period].name());
+                }
+            }
+
+            students.ids[s] = id;
+            students.years[s] = year;
+            students.subjects[s] = subjects;
+            students.availableSlots[s] = slots;
+            students.maxSessions[s] = maxSessions;
+        }
+        users.flush();
+        userSubjects.flush();
+        availability.flush();
+        preferredPeriods.flush();
+        return students;
+    }
+
+    /**
+     * Rows written for one target week.
+     */
+    private static final class Week {
+        final int requestCount;
+        final int matchCount;
+
+        Week(int requestCount, int matchCount) {
+            this.requestCount = requestCount;
+            this.matchCount = matchCount;
+        }
+    }
+
+    private Week generateWeek(Random random, Students students, long[] subjectIds, long[] timeslotIdBySlot,
+                              LocalDate targetWeek, boolean matched) {
+        long offeredSlots = offeredSlotMask(timeslotIdBySlot);
+        List<int[]> tutorRequests = new ArrayList<>();
+        List<int[]> tuteeRequests = new ArrayList<>();
+        List<int[]> tuteeSlotLists = new ArrayList<>();
+        for (int s = 0; s < userCount; s++) {
+            // Years 11 to 13 tutor half of the weeks, in each of their subjects
+            if (students.years[s] >= YearGroup.YEAR_11.ordinal() && random.nextBoolean()) {
+                for (int subject : students.subjects[s]) {
+                    tutorRequests.add(new int[] { s, subject });
+                }
+            }
+            for (int r = random.nextInt(3); r > 0; r--) {
+                tuteeRequests.add(new int[] { s, distinct(random, 1, subjectIds.length, true)[0] });
+                tuteeSlotLists.add(slotList(random, randomSlots(random, 2 + random.nextInt(4), offeredSlots)));
+            }
+        }
+
+        int[] tuteeMatch = new int[tuteeRequests.size()];
+        int[] tuteeMatchSlot = new int[tuteeRequests.size()];
+        Arrays.fill(tuteeMatch, -1);
+        boolean[] tutorMatched = new boolean[tutorRequests.size()];
+        if (matched) {
+            matchPastWeek(random, students, tutorRequests, tuteeRequests, tuteeSlotLists, tuteeMatch, tuteeMatchSlot, tutorMatched);
+        }
+
+        long[] ids = bulkLoadRepository.reserveIds(Table.REQUESTS, tutorRequests.size() + tuteeRequests.size());
+        Rows requests = new Rows(Table.REQUESTS);
+        Rows requestTimeslots = new Rows(Table.REQUEST_TIMESLOTS);
+        Rows ranks = new Rows(Table.REQUEST_TIMESLOT_RANKS);
+        for (int t = 0; t < tutorRequests.size(); t++) {
+            int[] request = tutorRequests.get(t);
+            requests.add(ids[t], students.ids[request[0]], subjectIds[request[1]], RequestType.TUTOR.name(),
+                (tutorMatched[t] ? RequestStatus.MATCHED : RequestStatus.OUTSTANDING).name(),
+                YearGroup.values()[students.years[request[0]]].name(), targetWeek, false);
+        }
+        for (int t = 0; t < tuteeRequests.size(); t++) {
+            int[] request = tuteeRequests.get(t);
+            long id = ids[tutorRequests.size() + t];
+            requests.add(id, students.ids[request[0]], subjectIds[request[1]], RequestType.TUTEE.name(),
+                (tuteeMatch[t] >= 0 ? RequestStatus.MATCHED : RequestStatus.OUTSTANDING).name(),
+                YearGroup.values()[students.years[request[0]]].name(), targetWeek, random.nextInt(10) == 0);
+            int[] slots = tuteeSlotLists.get(t);
+            for (int rank = 0; rank < slots.length; rank++) {
+                requestTimeslots.add(id, timeslotIdBySlot[slots[rank]]);
+                ranks.add(id, timeslotIdBySlot[slots[rank]], rank);
+            }
+        }
+        requests.flush();
+        requestTimeslots.flush();
+        ranks.flush();
+
+        Rows matches = new Rows(Table.MATCHES);
+        Rows messages = new Rows(Table.CHAT_MESSAGES);
+        long weekStart = targetWeek.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        for (int t = 0; t < tuteeRequests.size(); t++) {
+            if (tuteeMatch[t] < 0) {
+                continue;
+            }
+            int tutor = tuteeMatch[t];
+            long tuteeRequestId = ids[tutorRequests.size() + t];
+            matches.add(ids[tutor], tuteeRequestId, timeslotIdBySlot[tuteeMatchSlot[t]], "ACTIVE");
+            long[] senders = { students.ids[tuteeRequests.get(t)[0]], students.ids[tutorRequests.get(tutor)[0]] };
+            for (int m = 0; m < messagesPerMatch; m++) {
+                long sentAt = weekStart - 86_400 * 2 + random.nextInt(86_400) + m * 3_600L;
+                messages.add(tuteeRequestId, senders[m % 2], MESSAGES[random.nextInt(MESSAGES.length)],
+                    Timestamp.from(Instant.ofEpochSecond(sentAt)));
+            }
+        }
+        matches.flush();
+        messages.flush();
+
+        return new Week(ids.length, matches.total);
+    }
+
+    /**
+     * Greedy matching of a past week: each tutee request takes the first of a
+     * few random tutor requests for its subject that is unused, from a
+     * different student of at least its year, whose tutor has weekly capacity
+     * left and is available in one of its slots.
+     */
+    private static void matchPastWeek(Random random, Students students, List<int[]> tutorRequests,
+                                      List<int[]> tuteeRequests, List<int[]> tuteeSlotLists,
+                                      int[] tuteeMatch, int[] tuteeMatchSlot, boolean[] tutorMatched) {
+        Map<Integer, List<Integer>> tutorsBySubject = new HashMap<>();
+        for (int t = 0; t < tutorRequests.size(); t++) {
+            tutorsBySubject.computeIfAbsent(tutorRequests.get(t)[1], subject -> new ArrayList<>()).add(t);
+        }
+        int[] sessions = new int[students.ids.length];
+        long[] bookedSlots = new long[students.ids.length];
+
+        for (int t = 0; t < tuteeRequests.size(); t++) {
+            int tutee = tuteeRequests.get(t)[0];
+            List<Integer> candidates = tutorsBySubject.getOrDefault(tuteeRequests.get(t)[1], List.of());
+            for (int attempt = 0; attempt < MATCH_ATTEMPTS && !candidates.isEmpty(); attempt++) {
+                int tutorRequest = candidates.get(random.nextInt(candidates.size()));
+                int tutor = tutorRequests.get(tutorRequest)[0];
+                if (tutorMatched[tutorRequest] || tutor == tutee || students.years[tutor] < students.years[tutee]
+                        || sessions[tutor] >= students.maxSessions[tutor]) {
+                    continue;
+                }
+                int slot = firstAvailable(tuteeSlotLists.get(t), students.availableSlots[tutor] & ~bookedSlots[tutor]);
+                if (slot != SlotOrdinals.NONE) {
+                    tuteeMatch[t] = tutorRequest;
+                    tuteeMatchSlot[t] = slot;
+                    tutorMatched[tutorRequest] = true;
+                    sessions[tutor]++;
+                    bookedSlots[tutor] |= SlotOrdinals.bit(slot);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static int firstAvailable(int[] rankedSlots, long available) {
+        for (int slot : rankedSlots) {
+            if (SlotOrdinals.contains(available, slot)) {
+                return slot;
+            }
+        }
+        return SlotOrdinals.NONE;
+    }
+
+    /**
+     * Rows for one table, written in batches of {@link BulkLoadJdbcRepository#CHUNK_SIZE}.
+     */
+    private final class Rows {
+        private final Table table;
+        private final List<Object[]> pending = new ArrayList<>();
+        int total;
+
+        Rows(Table table) {
+            this.table = table;
+        }
+
+        void add(Object... values) {
+            pending.add(values);
+            total++;
+            if (pending.size() == BulkLoadJdbcRepository.CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            bulkLoadRepository.insert(table, pending);
+            pending.clear();
+        }
+    }
+
+    private static long[] timeslotIdsBySlot(Map<String, Long> timeslotIds) {
+        long[] bySlot = new long[SlotOrdinals.COUNT];
+        timeslotIds.forEach((label, id) -> {
+            int slot = SlotOrdinals.parse(label);
+            if (slot != SlotOrdinals.NONE && bySlot[slot] == 0) {
+                bySlot[slot] = id;
+            }
+        });
+        if (offeredSlotMask(bySlot) == 0) {
+            throw new IllegalStateException("No weekday timeslots found; load data.sql before generating data");
+        }
+        return bySlot;
+    }
+
+    /**
+     * Slots that have a timeslot row.
+     */
+    private static long offeredSlotMask(long[] timeslotIdBySlot) {
+        long mask = 0;
+        for (int slot = 0; slot < SlotOrdinals.COUNT; slot++) {
+            if (timeslotIdBySlot[slot] != 0) {
+                mask |= SlotOrdinals.bit(slot);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Up to count random slots out of the offered ones.
+     */
+    private static long randomSlots(Random random, int count, long offered) {
+        int[] slots = new int[Long.bitCount(offered)];
+        int i = 0;
+        for (long remaining = offered; remaining != 0; remaining &= remaining - 1) {
+            slots[i++] = Long.numberOfTrailingZeros(remaining);
+        }
+        long mask = 0;
+        for (int index : distinct(random, count, slots.length, false)) {
+            mask |= SlotOrdinals.bit(slots[index]);
+        }
+        return mask;
+    }
+
+    /**
+     * The slots of a mask in random order, first choice first.
+     */
+    private static int[] slotList(Random random, long mask) {
+        int[] slots = new int[Long.bitCount(mask)];
+        int i = 0;
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            slots[i++] = Long.numberOfTrailingZeros(remaining);
+        }
+        for (int j = slots.length - 1; j > 0; j--) {
+            int k = random.nextInt(j + 1);
+            int swap = slots[j];
+            slots[j] = slots[k];
+            slots[k] = swap;
+        }
+        return slots;
+    }
+
+    /**
+     * Up to count distinct values in 0..bound-1; skewed towards low values
+     * (popular subjects) if requested.
+     */
+    private static int[] distinct(Random random, int count, int bound, boolean skewed) {
+        return random.ints(0, bound)
+            .map(value -> skewed ? Math.min(value, random.nextInt(bound)) : value)
+            .distinct().limit(Math.min(count, bound)).toArray();
+    }
+
+    private LocalDate getUpcomingMondayDate() {
+        return LocalDate.now().with(WeekFields.ISO.dayOfWeek(), 1).plusWeeks(1);
+    }
+}
@@ -0,0 +1,517 @@
+package com.example.student_portal.util;
+
+import java.util.Arrays;
+
+/**
+ * Residual network of a {@link CompactBipartiteGraph} with capacity groups,
+ * shared by {@link MaxFlowMatching} and {@link MinCostFlowMatching}.
+ *
+ * The graph stands for the network
+ * source -> left node -> right node -> capacity group -> sink, where every
+ * left and right node has capacity 1 and every group has its group capacity
+ * (right nodes outside any group connect straight to the sink).
+ *
+ * The residual network is never materialised. Because every arc except
+ * group -> sink has capacity 1, its residual arcs follow from the current
+ * matching and per-group loads:
+ * - left u -> right v     for each graph edge u is not matched along (cost +c)
+ * - right v -> left u     if v is matched to u (undo that match, cost -c)
+ * - right v -> group g    if v is unmatched (v -> sink when ungrouped)
+ * - group g -> right v    if member v is matched (release that slot)
+ * - group g -> sink       if load[g] < capacity[g]
+ *
+ * Node ids share one space: left nodes [0, L), right nodes [L, L + R),
+ * groups [L + R, L + R + G), then source and sink.
+ *
+ * Without potentials every residual arc is admissible and
+ * {@link #augmentAdmissible()} is plain Dinic. With potentials only arcs of
+ * zero reduced cost are admissible, which turns it into the inner step of a
+ * primal-dual min-cost flow.
+ */
+final class CapacityFlowNetwork {
+
+    private static final int DEAD = -1;
+    private static final int NONE = -1;
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private final int leftCount;
+    private final int rightBase;
+    private final int groupBase;
+    private final int source;
+    private final int sink;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] costs;
+    private final int[] rightGroups;
+    private final int[] groupCapacities;
+    private final int[] memberOffsets;
+    private final int[] members;
+
+    // Matching state: CSR edge each left node is matched along, mate of each right node
+    private final int[] leftEdge;
+    private final int[] rightMatch;
+    private final int[] load;
+
+    // Dinic scratch
+    private final int[] level;
+    private final int[] cursor;
+    private final int[] queue;
+    private final int[] stack;
+    private int sinkLevel;
+
+    // Primal-dual state, null for plain max-flow
+    private long[] potential;
+    private long[] distance;
+    private long[] heap;
+
+    private int matchingSize;
+    private int initialSize;
+    private int phaseCount;
+    private int longestAugmentingPath;
+
+    CapacityFlowNetwork(CompactBipartiteGraph graph) {
+        this.leftCount = graph.getLeftCount();
+        this.rightBase = leftCount;
+        this.groupBase = leftCount + graph.getRightCount();
+        this.offsets = graph.offsets();
+        this.targets = graph.targets();
+        this.costs = graph.costs();
+        this.rightGroups = graph.rightGroups();
+        this.groupCapacities = graph.groupCapacities();
+
+        // Group member lists in CSR form
+        int groupCount = graph.getGroupCount();
+        memberOffsets = new int[groupCount + 1];
+        for (int group : rightGroups) {
+            if (group != CompactBipartiteGraph.NO_GROUP) {
+                memberOffsets[group + 1]++;
+            }
+        }
+        for (int g = 0; g < groupCount; g++) {
+            memberOffsets[g + 1] += memberOffsets[g];
+        }
+        members = new int[memberOffsets[groupCount]];
+        int[] fill = Arrays.copyOf(memberOffsets, groupCount);
+        for (int v = 0; v < rightGroups.length; v++) {
+            if (rightGroups[v] != CompactBipartiteGraph.NO_GROUP) {
+                members[fill[rightGroups[v]]++] = v;
+            }
+        }
+
+        this.source = groupBase + groupCount;
+        this.sink = source + 1;
+        leftEdge = new int[leftCount];
+        rightMatch = new int[graph.getRightCount()];
+        load = new int[groupCount];
+        level = new int[sink + 1];
+        cursor = new int[sink + 1];
+        queue = new int[sink + 1];
+        stack = new int[sink + 1];
+        Arrays.fill(leftEdge, NONE);
+        Arrays.fill(rightMatch, CompactMatching.UNMATCHED);
+    }
+
+    /**
+     * Starts from the feasible part of an initial matching: a seed entry is
+     * accepted if the edge exists, the right node is free and its group has
+     * spare capacity; anything else is ignored. Must be called before any
+     * augmentation, and not in primal-dual mode (a seed is not cost-optimal).
+     *
+     * @param seed initial right node per left node, {@link CompactMatching#UNMATCHED} for none
+     * @return the number of seed edges accepted
+     */
+    int seed(int[] seed) {
+        for (int u = 0; u < leftCount; u++) {
+            int v = seed[u];
+            if (v == CompactMatching.UNMATCHED || rightMatch[v] != CompactMatching.UNMATCHED) {
+                continue;
+            }
+            int group = rightGroups[v];
+            if (group != CompactBipartiteGraph.NO_GROUP && load[group] >= groupCapacities[group]) {
+                continue;
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (targets[e] == v) {
+                    leftEdge[u] = e;
+                    rightMatch[v] = u;
+                    if (group != CompactBipartiteGraph.NO_GROUP) {
+                        load[group]++;
+                    }
+                    initialSize++;
+                    break;
+                }
+            }
+        }
+        matchingSize = initialSize;
+        return initialSize;
+    }
+
+    /**
+     * Switches to primal-dual mode: from now on only zero reduced cost arcs
+     * are admissible. Potentials start at 0, which is valid while no flow
+     * has been pushed because all edge costs are non-negative.
+     */
+    void enablePotentials() {
+        potential = new long[sink + 1];
+        distance = new long[sink + 1];
+        heap = new long[64];
+    }
+
+    /**
+     * Pushes a blocking flow along shortest admissible paths, phase by phase,
+     * until the sink is no longer reachable over admissible arcs.
+     *
+     * @return number of augmenting paths applied
+     */
+    int augmentAdmissible() {
+        int augmented = 0;
+        while (buildLevels()) {
+            phaseCount++;
+            // Not counting the arc into the sink
+            longestAugmentingPath = Math.max(longestAugmentingPath, sinkLevel - 1);
+            System.arraycopy(offsets, 0, cursor, 0, leftCount);
+            for (int g = 0; g < load.length; g++) {
+                cursor[groupBase + g] = memberOffsets[g];
+            }
+
+            for (int u = 0; u < leftCount; u++) {
+                if (leftEdge[u] == NONE && level[u] == 0 && augmentFrom(u)) {
+                    augmented++;
+                }
+            }
+        }
+        matchingSize += augmented;
+        return augmented;
+    }
+
+    /**
+     * Dijkstra over reduced costs from the source, then raises every
+     * potential by min(distance, distance to sink). Afterwards all residual
+     * arcs keep a non-negative reduced cost and every shortest source-sink
+     * path consists of zero reduced cost arcs.
+     *
+     * @return false if the sink is unreachable (the flow is maximum)
+     */
+    boolean updatePotentials() {
+        Arrays.fill(distance, INF);
+        int heapSize = 0;
+        distance[source] = 0;
+        for (int u = 0; u < leftCount; u++) {
+            if (leftEdge[u] == NONE) {
+                heapSize = relax(source, u, 0, 0, heapSize);
+            }
+        }
+
+        while (heapSize > 0) {
+            long top = heap[0];
+            heapSize = popHeap(heapSize);
+            int x = (int) top;
+            long d = top >>> 32;
+            if (d > distance[x]) {
+                continue;
+            }
+            if (x == sink) {
+                break;
+            }
+
+            if (x < rightBase) {
+                for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                    if (e != leftEdge[x]) {
+                        heapSize = relax(x, rightBase + targets[e], cost(e), d, heapSize);
+                    }
+                }
+            } else if (x < groupBase) {
+                int v = x - rightBase;
+                if (rightMatch[v] != CompactMatching.UNMATCHED) {
+                    int u = rightMatch[v];
+                    heapSize = relax(x, u, -cost(leftEdge[u]), d, heapSize);
+                } else if (rightGroups[v] == CompactBipartiteGraph.NO_GROUP) {
+                    heapSize = relax(x, sink, 0, d, heapSize);
+                } else {
+                    heapSize = relax(x, groupBase + rightGroups[v], 0, d, heapSize);
+                }
+            } else {
+                int g = x - groupBase;
+                if (load[g] < groupCapacities[g]) {
+                    heapSize = relax(x, sink, 0, d, heapSize);
+                }
+                for (int i = memberOffsets[g]; i < memberOffsets[g + 1]; i++) {
+                    if (rightMatch[members[i]] != CompactMatching.UNMATCHED) {
+                        heapSize = relax(x, rightBase + members[i], 0, d, heapSize);
+                    }
+                }
+            }
+        }
+
+        long sinkDistance = distance[sink];
+        if (sinkDistance == INF) {
+            return false;
+        }
+        for (int x = 0; x <= sink; x++) {
+            potential[x] += Math.min(distance[x], sinkDistance);
+        }
+        return true;
+    }
+
+    int getMatchingSize() {
+        return matchingSize;
+    }
+
+    int getPhaseCount() {
+        return phaseCount;
+    }
+
+    CompactMatching toMatching() {
+        int[] leftToRight = new int[leftCount];
+        for (int u = 0; u < leftCount; u++) {
+            leftToRight[u] = leftEdge[u] == NONE ? CompactMatching.UNMATCHED : targets[leftEdge[u]];
+        }
+        return new CompactMatching(leftToRight, rightMatch, matchingSize, phaseCount,
+            matchingSize - initialSize, initialSize, 0, longestAugmentingPath);
+    }
+
+    private int cost(int edge) {
+        return costs == null ? 0 : costs[edge];
+    }
+
+    /**
+     * True if the residual arc x -> y with the given cost is admissible:
+     * always without potentials, otherwise only at zero reduced cost.
+     */
+    private boolean tight(int x, int y, int arcCost) {
+        return potential == null || arcCost + potential[x] - potential[y] == 0;
+    }
+
+    /**
+     * BFS over admissible arcs from the source. Sets sinkLevel to the
+     * length of the shortest admissible augmenting path.
+     *
+     * @return true if the sink is reachable
+     */
+    private boolean buildLevels() {
+        Arrays.fill(level, DEAD);
+        int head = 0;
+        int tail = 0;
+        sinkLevel = Integer.MAX_VALUE;
+
+        for (int u = 0; u < leftCount; u++) {
+            if (leftEdge[u] == NONE && tight(source, u, 0)) {
+                level[u] = 0;
+                queue[tail++] = u;
+            }
+        }
+
+        while (head < tail) {
+            int x = queue[head++];
+            int next = level[x] + 1;
+            if (next >= sinkLevel) {
+                continue;
+            }
+
+            if (x < rightBase) {
+                for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                    int v = rightBase + targets[e];
+                    if (e != leftEdge[x] && level[v] == DEAD && tight(x, v, cost(e))) {
+                        level[v] = next;
+                        queue[tail++] = v;
+                    }
+                }
+            } else if (x < groupBase) {
+                int v = x - rightBase;
+                if (rightMatch[v] != CompactMatching.UNMATCHED) {
+                    int u = rightMatch[v];
+                    if (level[u] == DEAD && tight(x, u, -cost(leftEdge[u]))) {
+                        level[u] = next;
+                        queue[tail++] = u;
+                    }
+                } else if (rightGroups[v] == CompactBipartiteGraph.NO_GROUP) {
+                    if (tight(x, sink, 0)) {
+                        sinkLevel = next;
+                    }
+                } else {
+                    int g = groupBase + rightGroups[v];
+                    if (level[g] == DEAD && tight(x, g, 0)) {
+                        level[g] = next;
+                        queue[tail++] = g;
+                    }
+                }
+            } else {
+                int g = x - groupBase;
+                if (load[g] < groupCapacities[g] && tight(x, sink, 0)) {
+                    sinkLevel = next;
+                }
+                for (int i = memberOffsets[g]; i < memberOffsets[g + 1]; i++) {
+                    int v = rightBase + members[i];
+                    if (rightMatch[members[i]] != CompactMatching.UNMATCHED && level[v] == DEAD && tight(x, v, 0)) {
+                        level[v] = next;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+        }
+        return sinkLevel != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Iterative DFS along level-increasing admissible arcs from a free left
+     * node; applies the first augmenting path found.
+     */
+    private boolean augmentFrom(int root) {
+        int top = 0;
+        stack[0] = root;
+
+        while (top >= 0) {
+            int x = stack[top];
+            int next = nextHop(x);
+
+            if (next == DEAD) {
+                // Dead end: drop x from the level graph and retreat
+                level[x] = DEAD;
+                top--;
+                if (top >= 0) {
+                    advance(stack[top]);
+                }
+            } else if (next == sink) {
+                applyPath(top);
+                return true;
+            } else {
+                stack[++top] = next;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Next node on an admissible level-increasing arc out of x (the sink
+     * included), or DEAD if x has none left.
+     */
+    private int nextHop(int x) {
+        int next = level[x] + 1;
+
+        if (x < rightBase) {
+            for (; cursor[x] < offsets[x + 1]; cursor[x]++) {
+                int e = cursor[x];
+                int v = rightBase + targets[e];
+                if (e != leftEdge[x] && level[v] == next && tight(x, v, cost(e))) {
+                    return v;
+                }
+            }
+            return DEAD;
+        }
+
+        if (x < groupBase) {
+            int v = x - rightBase;
+            if (rightMatch[v] != CompactMatching.UNMATCHED) {
+                int u = rightMatch[v];
+                return level[u] == next && tight(x, u, -cost(leftEdge[u])) ? u : DEAD;
+            }
+            if (rightGroups[v] == CompactBipartiteGraph.NO_GROUP) {
+                return next == sinkLevel && tight(x, sink, 0) ? sink : DEAD;
+            }
+            int g = groupBase + rightGroups[v];
+            return level[g] == next && tight(x, g, 0) ? g : DEAD;
+        }
+
+        int g = x - groupBase;
+        if (next == sinkLevel && load[g] < groupCapacities[g] && tight(x, sink, 0)) {
+            return sink;
+        }
+        for (; cursor[x] < memberOffsets[g + 1]; cursor[x]++) {
+            int v = members[cursor[x]];
+            if (rightMatch[v] != CompactMatching.UNMATCHED && level[rightBase + v] == next
+                    && tight(x, rightBase + v, 0)) {
+                return rightBase + v;
+            }
+        }
+        return DEAD;
+    }
+
+    /**
+     * Moves the cursor of x past the arc that just led to a dead end.
+     * Right nodes have a single out-arc and need no cursor.
+     */
+    private void advance(int x) {
+        if (x < rightBase || x >= groupBase) {
+            cursor[x]++;
+        }
+    }
+
+    /**
+     * Pushes one unit of flow along stack[0..top] and on into the sink.
+     *
+     * A slot entering a group and a matched slot leaving it cancel out, so
+     * the group load only changes on the final group -> sink arc. Left and
+     * right nodes on the path are saturated and leave the level graph.
+     */
+    private void applyPath(int top) {
+        for (int i = 0; i <= top; i++) {
+            int x = stack[i];
+            if (x < rightBase) {
+                // left -> right along the cursor edge; the slot's previous tutee is next on the path
+                leftEdge[x] = cursor[x];
+                rightMatch[stack[i + 1] - rightBase] = x;
+                level[x] = DEAD;
+            } else if (x < groupBase) {
+                level[x] = DEAD;
+            } else if (i == top) {
+                load[x - groupBase]++;
+            } else {
+                // group -> right: release a slot so its tutee can move elsewhere
+                rightMatch[stack[i + 1] - rightBase] = CompactMatching.UNMATCHED;
+            }
+        }
+    }
+
+    /**
+     * Lowers distance[y] through x if that is shorter; returns the new heap size.
+     */
+    private int relax(int x, int y, int arcCost, long d, int heapSize) {
+        long candidate = d + arcCost + potential[x] - potential[y];
+        if (candidate >= distance[y]) {
+            return heapSize;
+        }
+        distance[y] = candidate;
+        return pushHeap((candidate << 32) | y, heapSize);
+    }
+
+    /**
+     * Binary min-heap of (distance << 32 | node) keys with lazy deletion.
+     */
+    private int pushHeap(long key, int heapSize) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        int i = heapSize;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= key) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = key;
+        return heapSize + 1;
+    }
+
+    private int popHeap(int heapSize) {
+        long last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return heapSize;
+    }
+}
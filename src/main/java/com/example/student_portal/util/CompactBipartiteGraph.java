@@ -0,0 +1,279 @@
+package com.example.student_portal.util;
+
+import java.util.Arrays;
+
+/**
+ * Compact bipartite graph stored in compressed sparse row (CSR) form.
+ *
+ * Left nodes are numbered 0..leftCount-1 and right nodes 0..rightCount-1.
+ * The neighbours of left node u are targets[offsets[u] .. offsets[u + 1] - 1],
+ * so the whole adjacency lives in two dense int arrays instead of boxed
+ * maps and sets. Instances are immutable once built; use {@link Builder}
+ * to assemble one.
+ *
+ * Right nodes may optionally belong to a capacity group (for example all
+ * availability slots of one tutor). Every right node can be matched once,
+ * and a group can absorb at most its capacity across all of its members.
+ * Right nodes outside any group have group {@link #NO_GROUP}.
+ *
+ * Edges may carry a non-negative integer cost (for example a preference
+ * penalty), stored in an int array parallel to targets. Graphs built without
+ * costs do not allocate that array and report cost 0 for every edge.
+ */
+public final class CompactBipartiteGraph {
+
+    public static final int NO_GROUP = -1;
+
+    private final int leftCount;
+    private final int rightCount;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] rightGroup;
+    private final int[] groupCapacity;
+    private final int[] costs;
+
+    private CompactBipartiteGraph(int leftCount, int rightCount, int[] offsets, int[] targets,
+                                  int[] rightGroup, int[] groupCapacity, int[] costs) {
+        this.leftCount = leftCount;
+        this.rightCount = rightCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.rightGroup = rightGroup;
+        this.groupCapacity = groupCapacity;
+        this.costs = costs;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Wraps already packed CSR arrays without copying or validating them
+     * (for code in this package that derives graphs from other graphs).
+     */
+    static CompactBipartiteGraph ofPacked(int leftCount, int rightCount, int[] offsets, int[] targets,
+                                          int[] rightGroup, int[] groupCapacity, int[] costs) {
+        return new CompactBipartiteGraph(leftCount, rightCount, offsets, targets, rightGroup, groupCapacity, costs);
+    }
+
+    public int getLeftCount() {
+        return leftCount;
+    }
+
+    public int getRightCount() {
+        return rightCount;
+    }
+
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    public int getDegree(int leftNode) {
+        return offsets[leftNode + 1] - offsets[leftNode];
+    }
+
+    public int getGroupCount() {
+        return groupCapacity.length;
+    }
+
+    /**
+     * Capacity group of a right node, or {@link #NO_GROUP}.
+     */
+    public int getRightGroup(int rightNode) {
+        return rightGroup[rightNode];
+    }
+
+    public int getGroupCapacity(int group) {
+        return groupCapacity[group];
+    }
+
+    public boolean hasCosts() {
+        return costs != null;
+    }
+
+    /**
+     * Cost of the edge at CSR position edge (offsets[u] <= edge < offsets[u + 1]).
+     */
+    public int getEdgeCost(int edge) {
+        return costs == null ? 0 : costs[edge];
+    }
+
+    /**
+     * Approximate heap footprint of the packed arrays, in bytes.
+     */
+    public long estimateMemoryBytes() {
+        long ints = (long) offsets.length + targets.length + rightGroup.length + groupCapacity.length
+            + (costs == null ? 0 : costs.length);
+        return ints * Integer.BYTES;
+    }
+
+    /**
+     * Approximate peak heap use while this graph was built: when the builder
+     * packs the CSR arrays its per-edge staging arrays (left, right and
+     * optionally cost) are still alive; they are counted at twice the edge
+     * count, the most array doubling can leave. Ignores the solver's own
+     * working arrays.
+     */
+    public long estimatePeakBuildBytes() {
+        long stagedInts = 2L * targets.length * (costs == null ? 2 : 3);
+        return estimateMemoryBytes() + stagedInts * Integer.BYTES;
+    }
+
+    /**
+     * Raw CSR offsets (length leftCount + 1). Shared, not copied.
+     */
+    int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * Raw CSR targets (length edgeCount). Shared, not copied.
+     */
+    int[] targets() {
+        return targets;
+    }
+
+    /**
+     * Raw capacity group per right node (length rightCount). Shared, not copied.
+     */
+    int[] rightGroups() {
+        return rightGroup;
+    }
+
+    /**
+     * Raw capacity per group (length groupCount). Shared, not copied.
+     */
+    int[] groupCapacities() {
+        return groupCapacity;
+    }
+
+    /**
+     * Raw edge costs parallel to targets, or null if no edge has a cost. Shared, not copied.
+     */
+    int[] costs() {
+        return costs;
+    }
+
+    /**
+     * Builder that hands out dense node ids and collects edges, then packs
+     * them into CSR arrays with a counting sort on the left endpoint.
+     */
+    public static final class Builder {
+        private int leftCount;
+        private int rightCount;
+        private int groupCount;
+        private int edgeCount;
+        private int[] edgeLeft = new int[16];
+        private int[] edgeRight = new int[16];
+        private int[] edgeCost;
+        private int[] rightGroup = new int[16];
+        private int[] groupCapacity = new int[16];
+
+        private Builder() { }
+
+        /**
+         * Adds a left node and returns its dense id.
+         */
+        public int addLeftNode() {
+            return leftCount++;
+        }
+
+        /**
+         * Adds a right node outside any capacity group and returns its dense id.
+         */
+        public int addRightNode() {
+            return addRightNode(NO_GROUP);
+        }
+
+        /**
+         * Adds a right node belonging to the given capacity group and returns its dense id.
+         */
+        public int addRightNode(int group) {
+            if (group != NO_GROUP && (group < 0 || group >= groupCount)) {
+                throw new IllegalArgumentException("Unknown capacity group " + group);
+            }
+            if (rightCount == rightGroup.length) {
+                rightGroup = Arrays.copyOf(rightGroup, rightCount * 2);
+            }
+            rightGroup[rightCount] = group;
+            return rightCount++;
+        }
+
+        /**
+         * Adds a capacity group shared by the right nodes later added to it.
+         */
+        public int addRightGroup(int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("Group capacity must not be negative");
+            }
+            if (groupCount == groupCapacity.length) {
+                groupCapacity = Arrays.copyOf(groupCapacity, groupCount * 2);
+            }
+            groupCapacity[groupCount] = capacity;
+            return groupCount++;
+        }
+
+        public void addEdge(int leftNode, int rightNode) {
+            addEdge(leftNode, rightNode, 0);
+        }
+
+        /**
+         * Adds an edge with a non-negative cost. The cost array is only
+         * allocated once the first non-zero cost is added.
+         */
+        public void addEdge(int leftNode, int rightNode, int cost) {
+            if (cost < 0) {
+                throw new IllegalArgumentException("Edge cost must not be negative");
+            }
+            if (leftNode < 0 || leftNode >= leftCount || rightNode < 0 || rightNode >= rightCount) {
+                throw new IllegalArgumentException("Edge (" + leftNode + ", " + rightNode + ") references an unknown node");
+            }
+            if (edgeCount == edgeLeft.length) {
+                edgeLeft = Arrays.copyOf(edgeLeft, edgeCount * 2);
+                edgeRight = Arrays.copyOf(edgeRight, edgeCount * 2);
+            }
+            if (edgeCost == null && cost != 0) {
+                edgeCost = new int[edgeLeft.length];
+            } else if (edgeCost != null && edgeCost.length < edgeLeft.length) {
+                edgeCost = Arrays.copyOf(edgeCost, edgeLeft.length);
+            }
+            edgeLeft[edgeCount] = leftNode;
+            edgeRight[edgeCount] = rightNode;
+            if (edgeCost != null) {
+                edgeCost[edgeCount] = cost;
+            }
+            edgeCount++;
+        }
+
+        public int getLeftCount() {
+            return leftCount;
+        }
+
+        public int getRightCount() {
+            return rightCount;
+        }
+
+        public CompactBipartiteGraph build() {
+            int[] offsets = new int[leftCount + 1];
+            for (int i = 0; i < edgeCount; i++) {
+                offsets[edgeLeft[i] + 1]++;
+            }
+            for (int u = 0; u < leftCount; u++) {
+                offsets[u + 1] += offsets[u];
+            }
+
+            int[] cursor = Arrays.copyOf(offsets, leftCount);
+            int[] targets = new int[edgeCount];
+            int[] costs = edgeCost == null ? null : new int[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                int position = cursor[edgeLeft[i]]++;
+                targets[position] = edgeRight[i];
+                if (costs != null) {
+                    costs[position] = edgeCost[i];
+                }
+            }
+            return new CompactBipartiteGraph(leftCount, rightCount, offsets, targets,
+                Arrays.copyOf(rightGroup, rightCount), Arrays.copyOf(groupCapacity, groupCount), costs);
+        }
+    }
+}
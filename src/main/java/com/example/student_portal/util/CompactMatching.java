@@ -0,0 +1,109 @@
+package com.example.student_portal.util;
+
+/**
+ * Matching over a {@link CompactBipartiteGraph}, kept in primitive arrays.
+ *
+ * leftToRight[u] is the right node matched to left node u, or
+ * {@link #UNMATCHED}; rightToLeft is the inverse mapping. Solvers also
+ * report how many phases and augmenting paths they needed, how long the
+ * longest augmenting path was, and how large the matching they started
+ * from was (warm-start seed and greedy pass).
+ */
+public final class CompactMatching {
+
+    public static final int UNMATCHED = -1;
+
+    private final int[] leftToRight;
+    private final int[] rightToLeft;
+    private final int matchingSize;
+    private final int phaseCount;
+    private final int augmentationCount;
+    private final int initialSize;
+    private final int greedySize;
+    private final int longestAugmentingPath;
+
+    public CompactMatching(int[] leftToRight, int[] rightToLeft, int matchingSize,
+                           int phaseCount, int augmentationCount, int initialSize, int greedySize,
+                           int longestAugmentingPath) {
+        this.leftToRight = leftToRight;
+        this.rightToLeft = rightToLeft;
+        this.matchingSize = matchingSize;
+        this.phaseCount = phaseCount;
+        this.augmentationCount = augmentationCount;
+        this.initialSize = initialSize;
+        this.greedySize = greedySize;
+        this.longestAugmentingPath = longestAugmentingPath;
+    }
+
+    /**
+     * A matching without solver statistics, e.g. one read back from storage.
+     */
+    public static CompactMatching of(int[] leftToRight, int[] rightToLeft, int matchingSize) {
+        return new CompactMatching(leftToRight, rightToLeft, matchingSize, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Left-to-right assignment array. Shared, not copied.
+     */
+    public int[] getLeftToRight() {
+        return leftToRight;
+    }
+
+    /**
+     * Right-to-left assignment array. Shared, not copied.
+     */
+    public int[] getRightToLeft() {
+        return rightToLeft;
+    }
+
+    public int getMatchingSize() {
+        return matchingSize;
+    }
+
+    /**
+     * Number of BFS/DFS phases the solver ran.
+     */
+    public int getPhaseCount() {
+        return phaseCount;
+    }
+
+    /**
+     * Number of augmenting paths applied.
+     */
+    public int getAugmentationCount() {
+        return augmentationCount;
+    }
+
+    /**
+     * Number of matches the solver started with (accepted seed edges).
+     */
+    public int getInitialSize() {
+        return initialSize;
+    }
+
+    /**
+     * Number of pairs added by a greedy initialisation pass before the phases.
+     */
+    public int getGreedySize() {
+        return greedySize;
+    }
+
+    /**
+     * Length of the longest augmenting path applied, in arcs from its free
+     * tutee node to the tutor side (the flow engines also count the arc
+     * into a tutor's capacity group), or 0 if no path was needed. Shortest
+     * path solvers only lengthen paths from phase to phase, so this is the
+     * length of the last phase.
+     */
+    public int getLongestAugmentingPath() {
+        return longestAugmentingPath;
+    }
+
+    public boolean isLeftNodeMatched(int leftNode) {
+        return leftToRight[leftNode] != UNMATCHED;
+    }
+
+    public boolean isRightNodeMatched(int rightNode) {
+        return rightToLeft[rightNode] != UNMATCHED;
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.student_portal.util;
+
+import java.util.Arrays;
+
+/**
+ * Connected components of a {@link CompactBipartiteGraph}, found with union-find.
+ *
+ * Two nodes are in the same component if an edge joins them or, for right
+ * nodes, if they share a capacity group (a tutor's weekly cap couples all of
+ * their slots). Components without edges cannot contribute to a matching and
+ * are dropped, so every component here has at least one edge.
+ *
+ * Each component can be extracted as a standalone subgraph with dense local
+ * ids; {@link #globalLeft} and {@link #globalRight} map local ids back.
+ */
+public final class GraphComponents {
+
+    private final CompactBipartiteGraph graph;
+    private final int componentCount;
+
+    // Nodes of component c are leftNodes[leftStart[c] .. leftStart[c + 1] - 1], in global order;
+    // a node's local id is its position within that range.
+    private final int[] leftStart;
+    private final int[] leftNodes;
+    private final int[] rightStart;
+    private final int[] rightNodes;
+    private final int[] groupStart;
+    private final int[] groupIds;
+    private final int[] edgeCounts;
+
+    // Local id of every right node and group within its own component
+    private final int[] rightLocal;
+    private final int[] groupLocal;
+
+    private GraphComponents(CompactBipartiteGraph graph, int componentCount, int[] leftStart, int[] leftNodes,
+                            int[] rightStart, int[] rightNodes, int[] groupStart, int[] groupIds,
+                            int[] edgeCounts) {
+        this.graph = graph;
+        this.componentCount = componentCount;
+        this.leftStart = leftStart;
+        this.leftNodes = leftNodes;
+        this.rightStart = rightStart;
+        this.rightNodes = rightNodes;
+        this.groupStart = groupStart;
+        this.groupIds = groupIds;
+        this.edgeCounts = edgeCounts;
+        this.rightLocal = localIds(rightStart, rightNodes, graph.getRightCount());
+        this.groupLocal = localIds(groupStart, groupIds, graph.getGroupCount());
+    }
+
+    /**
+     * Decomposes the graph. Runs in O((V + E) * alpha(V)).
+     */
+    public static GraphComponents find(CompactBipartiteGraph graph) {
+        int leftCount = graph.getLeftCount();
+        int rightCount = graph.getRightCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] rightGroups = graph.rightGroups();
+
+        // Union-find over left nodes [0, L), right nodes [L, L + R) and groups [L + R, ...)
+        int[] parent = new int[leftCount + rightCount + graph.getGroupCount()];
+        int[] size = new int[parent.length];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        for (int u = 0; u < leftCount; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                union(parent, size, u, leftCount + targets[e]);
+            }
+        }
+        for (int v = 0; v < rightCount; v++) {
+            if (rightGroups[v] != CompactBipartiteGraph.NO_GROUP) {
+                union(parent, size, leftCount + v, leftCount + rightCount + rightGroups[v]);
+            }
+        }
+
+        // Number the roots of components that own at least one edge
+        int[] componentOf = new int[parent.length];
+        Arrays.fill(componentOf, -1);
+        int componentCount = 0;
+        for (int u = 0; u < leftCount; u++) {
+            if (offsets[u + 1] > offsets[u]) {
+                int root = find(parent, u);
+                if (componentOf[root] < 0) {
+                    componentOf[root] = componentCount++;
+                }
+            }
+        }
+
+        // Bucket nodes and edges per component (counting sort keeps global order)
+        int groupCount = graph.getGroupCount();
+        int[] leftStart = new int[componentCount + 1];
+        int[] rightStart = new int[componentCount + 1];
+        int[] groupStart = new int[componentCount + 1];
+        int[] edgeCounts = new int[componentCount];
+        int[] leftComponent = new int[leftCount];
+        int[] rightComponent = new int[rightCount];
+        int[] groupComponent = new int[groupCount];
+        for (int u = 0; u < leftCount; u++) {
+            int c = componentOf[find(parent, u)];
+            leftComponent[u] = c;
+            if (c >= 0) {
+                leftStart[c + 1]++;
+                edgeCounts[c] += offsets[u + 1] - offsets[u];
+            }
+        }
+        for (int v = 0; v < rightCount; v++) {
+            int c = componentOf[find(parent, leftCount + v)];
+            rightComponent[v] = c;
+            if (c >= 0) {
+                rightStart[c + 1]++;
+            }
+        }
+        for (int g = 0; g < groupCount; g++) {
+            int c = componentOf[find(parent, leftCount + rightCount + g)];
+            groupComponent[g] = c;
+            if (c >= 0) {
+                groupStart[c + 1]++;
+            }
+        }
+        for (int c = 0; c < componentCount; c++) {
+            leftStart[c + 1] += leftStart[c];
+            rightStart[c + 1] += rightStart[c];
+            groupStart[c + 1] += groupStart[c];
+        }
+        int[] leftNodes = bucket(leftComponent, leftStart);
+        int[] rightNodes = bucket(rightComponent, rightStart);
+        int[] groupIds = bucket(groupComponent, groupStart);
+
+        return new GraphComponents(graph, componentCount, leftStart, leftNodes, rightStart, rightNodes,
+            groupStart, groupIds, edgeCounts);
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public int getLeftCount(int component) {
+        return leftStart[component + 1] - leftStart[component];
+    }
+
+    public int getRightCount(int component) {
+        return rightStart[component + 1] - rightStart[component];
+    }
+
+    public int getEdgeCount(int component) {
+        return edgeCounts[component];
+    }
+
+    public CompactBipartiteGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Global id of a component's local left node.
+     */
+    public int globalLeft(int component, int localLeft) {
+        return leftNodes[leftStart[component] + localLeft];
+    }
+
+    /**
+     * Global id of a component's local right node.
+     */
+    public int globalRight(int component, int localRight) {
+        return rightNodes[rightStart[component] + localRight];
+    }
+
+    /**
+     * Translates a whole-graph assignment (right node per left node) into the
+     * component's local ids. Entries pointing outside the component become
+     * {@link CompactMatching#UNMATCHED}.
+     */
+    public int[] localAssignment(int component, int[] leftToRight) {
+        int leftFrom = leftStart[component];
+        int[] local = new int[leftStart[component + 1] - leftFrom];
+        for (int i = 0; i < local.length; i++) {
+            int right = leftToRight[leftNodes[leftFrom + i]];
+            int localRight = right == CompactMatching.UNMATCHED ? -1 : rightLocal[right];
+            local[i] = localRight >= 0 && globalRight(component, localRight) == right
+                ? localRight : CompactMatching.UNMATCHED;
+        }
+        return local;
+    }
+
+    /**
+     * Builds the component as a standalone graph with dense local ids,
+     * keeping edge order, edge costs and (renumbered) capacity groups.
+     * Safe to call concurrently for different components.
+     */
+    public CompactBipartiteGraph subgraph(int component) {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] costs = graph.costs();
+        int[] rightGroups = graph.rightGroups();
+
+        int groupFrom = groupStart[component];
+        int[] groupCapacity = new int[groupStart[component + 1] - groupFrom];
+        for (int g = 0; g < groupCapacity.length; g++) {
+            groupCapacity[g] = graph.getGroupCapacity(groupIds[groupFrom + g]);
+        }
+
+        int rightFrom = rightStart[component];
+        int[] rightGroup = new int[rightStart[component + 1] - rightFrom];
+        for (int v = 0; v < rightGroup.length; v++) {
+            int group = rightGroups[rightNodes[rightFrom + v]];
+            rightGroup[v] = group == CompactBipartiteGraph.NO_GROUP ? CompactBipartiteGraph.NO_GROUP : groupLocal[group];
+        }
+
+        // Copy each left node's CSR row, translating targets to local ids
+        int leftFrom = leftStart[component];
+        int leftCount = leftStart[component + 1] - leftFrom;
+        int[] localOffsets = new int[leftCount + 1];
+        int[] localTargets = new int[edgeCounts[component]];
+        int[] localCosts = costs == null ? null : new int[edgeCounts[component]];
+        int position = 0;
+        for (int i = 0; i < leftCount; i++) {
+            int u = leftNodes[leftFrom + i];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                localTargets[position] = rightLocal[targets[e]];
+                if (localCosts != null) {
+                    localCosts[position] = costs[e];
+                }
+                position++;
+            }
+            localOffsets[i + 1] = position;
+        }
+        return CompactBipartiteGraph.ofPacked(leftCount, rightGroup.length, localOffsets, localTargets,
+            rightGroup, groupCapacity, localCosts);
+    }
+
+    private static int[] bucket(int[] componentOfNode, int[] start) {
+        int[] nodes = new int[start[start.length - 1]];
+        int[] fill = Arrays.copyOf(start, start.length - 1);
+        for (int node = 0; node < componentOfNode.length; node++) {
+            int c = componentOfNode[node];
+            if (c >= 0) {
+                nodes[fill[c]++] = node;
+            }
+        }
+        return nodes;
+    }
+
+    private static int[] localIds(int[] start, int[] nodes, int globalCount) {
+        int[] local = new int[globalCount];
+        Arrays.fill(local, -1);
+        for (int c = 0; c + 1 < start.length; c++) {
+            for (int i = start[c]; i < start[c + 1]; i++) {
+                local[nodes[i]] = i - start[c];
+            }
+        }
+        return local;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int[] size, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA == rootB) {
+            return;
+        }
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+    }
+}
@@ -18,6 +18,11 @@ import java.util.*;
  * - Unique timeslot allocation (no double-booking of tutor at same time)
  * - Subject compatibility
  * - Year group eligibility
+ * 
+ * The solver runs on a {@link CompactBipartiteGraph} with dense node ids and
+ * primitive arrays; the map-based {@link BipartiteGraph} is kept as an adapter.
+ * Right-node capacity groups are ignored here: shared capacity has to be
+ * modelled by cloning right nodes, or solved exactly with {@link MaxFlowMatching}.
  */
 public class HopcroftKarp {
     
@@ -98,125 +103,280 @@ public class HopcroftKarp {
         }
     }
     
-    private static final int NIL = 0; // Represents unmatched node
     private static final int INF = Integer.MAX_VALUE;
     
     /**
      * Finds maximum bipartite matching using Hopcroft-Karp algorithm.
      * 
+     * Adapter for the map-based graph: node ids are remapped to a dense
+     * {@link CompactBipartiteGraph}, solved on primitive arrays and mapped back.
+     * 
      * @param graph the bipartite graph
      * @return the maximum matching result
      */
     public static MatchingResult findMaximumMatching(BipartiteGraph graph) {
-        // Initialize matching arrays
-        Map<Integer, Integer> leftMatch = new HashMap<>();
-        Map<Integer, Integer> rightMatch = new HashMap<>();
+        int[] leftIds = graph.getLeftNodes().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int[] rightIds = graph.getRightNodes().stream().mapToInt(Integer::intValue).sorted().toArray();
         
-        // Initialize all nodes as unmatched
-        for (int leftNode : graph.getLeftNodes()) {
-            leftMatch.put(leftNode, NIL);
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        Map<Integer, Integer> rightIndex = new HashMap<>();
+        for (int ignored : leftIds) {
+            builder.addLeftNode();
         }
-        for (int rightNode : graph.getRightNodes()) {
-            rightMatch.put(rightNode, NIL);
+        for (int rightId : rightIds) {
+            rightIndex.put(rightId, builder.addRightNode());
         }
-        
-        int matchingSize = 0;
-        
-        // Keep finding augmenting paths until no more exist
-        while (breadthFirstSearch(graph, leftMatch, rightMatch)) {
-            // Try to find augmenting paths from each unmatched left node
-            for (int leftNode : graph.getLeftNodes()) {
-                if (leftMatch.get(leftNode) == NIL) {
-                    if (depthFirstSearch(graph, leftNode, leftMatch, rightMatch, new HashSet<>())) {
-                        matchingSize++;
-                    }
+        for (int u = 0; u < leftIds.length; u++) {
+            for (int rightId : graph.getNeighbors(leftIds[u])) {
+                Integer v = rightIndex.get(rightId);
+                if (v != null) {
+                    builder.addEdge(u, v);
                 }
             }
         }
         
-        // Prepare result (exclude NIL entries)
+        CompactMatching matching = findMaximumMatching(builder.build());
+        
         Map<Integer, Integer> resultLeftToRight = new HashMap<>();
         Map<Integer, Integer> resultRightToLeft = new HashMap<>();
-        
-        for (Map.Entry<Integer, Integer> entry : leftMatch.entrySet()) {
-            if (entry.getValue() != NIL) {
-                resultLeftToRight.put(entry.getKey(), entry.getValue());
+        int[] leftToRight = matching.getLeftToRight();
+        for (int u = 0; u < leftToRight.length; u++) {
+            if (leftToRight[u] != CompactMatching.UNMATCHED) {
+                resultLeftToRight.put(leftIds[u], rightIds[leftToRight[u]]);
+                resultRightToLeft.put(rightIds[leftToRight[u]], leftIds[u]);
             }
         }
         
-        for (Map.Entry<Integer, Integer> entry : rightMatch.entrySet()) {
-            if (entry.getValue() != NIL) {
-                resultRightToLeft.put(entry.getKey(), entry.getValue());
+        return new MatchingResult(resultLeftToRight, resultRightToLeft);
+    }
+    
+    /**
+     * Finds maximum bipartite matching on a compact graph.
+     * 
+     * Each phase runs one BFS to layer the graph by shortest alternating
+     * distance, then augments a maximal set of vertex-disjoint shortest paths
+     * with an iterative DFS that only follows {@code dist[w] == dist[u] + 1}
+     * edges. Per-node edge cursors persist for the whole phase, so every edge
+     * is scanned at most once per phase and the run is O(E * sqrt(V)).
+     * 
+     * All solver state (matches, BFS distances, queue, DFS stack, cursors)
+     * lives in int arrays sized to the graph.
+     * 
+     * @param graph the compact bipartite graph
+     * @return the maximum matching, indexed by dense node id, with phase and
+     *         augmentation counts
+     */
+    public static CompactMatching findMaximumMatching(CompactBipartiteGraph graph) {
+        return findMaximumMatching(graph, null);
+    }
+    
+    /**
+     * Finds maximum bipartite matching starting from an initial matching.
+     * 
+     * Seed entries are accepted in left node order as long as the edge exists
+     * and the right node is still free; anything else is ignored, so a stale
+     * seed is safe. The phases then only have to augment the difference.
+     * 
+     * @param graph the compact bipartite graph
+     * @param seed  initial right node per left node ({@link CompactMatching#UNMATCHED}
+     *              for none), or null to start empty
+     * @return the maximum matching; its initial size is the number of seed edges accepted
+     */
+    public static CompactMatching findMaximumMatching(CompactBipartiteGraph graph, int[] seed) {
+        return findMaximumMatching(graph, seed, false);
+    }
+    
+    /**
+     * Finds maximum bipartite matching from an optional seed, optionally
+     * completing it greedily with {@link KarpSipser} before the first phase.
+     * 
+     * @param graph                 the compact bipartite graph
+     * @param seed                  initial right node per left node, or null
+     * @param greedyInitialisation  run the Karp-Sipser pass after seeding
+     * @return the maximum matching; its greedy size is the number of pairs the pass added
+     */
+    public static CompactMatching findMaximumMatching(CompactBipartiteGraph graph, int[] seed,
+                                                      boolean greedyInitialisation) {
+        int leftCount = graph.getLeftCount();
+        int[] leftMatch = new int[leftCount];
+        int[] rightMatch = new int[graph.getRightCount()];
+        Arrays.fill(leftMatch, CompactMatching.UNMATCHED);
+        Arrays.fill(rightMatch, CompactMatching.UNMATCHED);
+        int initialSize = seed == null ? 0 : applySeed(graph, seed, leftMatch, rightMatch);
+        int greedySize = greedyInitialisation ? KarpSipser.extend(graph, leftMatch, rightMatch) : 0;
+        
+        int[] distance = new int[leftCount];
+        int[] queue = new int[leftCount];
+        int[] cursor = new int[leftCount];
+        int[] stack = new int[leftCount];
+        int[] offsets = graph.offsets();
+        int matchingSize = initialSize + greedySize;
+        int phases = 0;
+        int longestPath = 0;
+        
+        // Each BFS returns the length (in left layers) of the shortest augmenting path, or INF
+        int freeDistance;
+        while ((freeDistance = breadthFirstSearch(graph, leftMatch, rightMatch, distance, queue)) != INF) {
+            phases++;
+            longestPath = 2 * freeDistance + 1;
+            System.arraycopy(offsets, 0, cursor, 0, leftCount);
+            
+            // Augment along vertex-disjoint shortest paths from each free left node
+            for (int leftNode = 0; leftNode < leftCount; leftNode++) {
+                if (leftMatch[leftNode] == CompactMatching.UNMATCHED && distance[leftNode] == 0) {
+                    if (depthFirstSearch(graph, leftNode, freeDistance, leftMatch, rightMatch, distance, cursor, stack)) {
+                        matchingSize++;
+                    }
+                }
             }
         }
         
-        return new MatchingResult(resultLeftToRight, resultRightToLeft);
+        return new CompactMatching(leftMatch, rightMatch, matchingSize, phases,
+            matchingSize - initialSize - greedySize, initialSize, greedySize, longestPath);
+    }
+    
+    /**
+     * Copies the feasible part of a seed into the match arrays.
+     * 
+     * @return the number of seed edges accepted
+     */
+    private static int applySeed(CompactBipartiteGraph graph, int[] seed, int[] leftMatch, int[] rightMatch) {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int accepted = 0;
+        for (int u = 0; u < leftMatch.length; u++) {
+            int v = seed[u];
+            if (v == CompactMatching.UNMATCHED || rightMatch[v] != CompactMatching.UNMATCHED) {
+                continue;
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (targets[e] == v) {
+                    leftMatch[u] = v;
+                    rightMatch[v] = u;
+                    accepted++;
+                    break;
+                }
+            }
+        }
+        return accepted;
     }
     
     /**
-     * BFS to find shortest augmenting paths and build level graph.
+     * BFS from all free left nodes, layering the graph by alternating distance.
+     * 
+     * @return the layer of the deepest left node on a shortest augmenting path,
+     *         or INF when no augmenting path exists
      */
-    private static boolean breadthFirstSearch(BipartiteGraph graph, 
-                                            Map<Integer, Integer> leftMatch, 
-                                            Map<Integer, Integer> rightMatch) {
-        Queue<Integer> queue = new LinkedList<>();
-        Map<Integer, Integer> distance = new HashMap<>();
+    private static int breadthFirstSearch(CompactBipartiteGraph graph,
+                                        int[] leftMatch,
+                                        int[] rightMatch,
+                                        int[] distance,
+                                        int[] queue) {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int head = 0;
+        int tail = 0;
         
         // Initialize distances
-        for (int leftNode : graph.getLeftNodes()) {
-            if (leftMatch.get(leftNode) == NIL) {
-                distance.put(leftNode, 0);
-                queue.offer(leftNode);
+        for (int leftNode = 0; leftNode < leftMatch.length; leftNode++) {
+            if (leftMatch[leftNode] == CompactMatching.UNMATCHED) {
+                distance[leftNode] = 0;
+                queue[tail++] = leftNode;
             } else {
-                distance.put(leftNode, INF);
+                distance[leftNode] = INF;
             }
         }
         
-        distance.put(NIL, INF);
+        // Layer of the left nodes that can step onto a free right node
+        int freeDistance = INF;
         
         // BFS
-        while (!queue.isEmpty()) {
-            int u = queue.poll();
+        while (head < tail) {
+            int u = queue[head++];
             
-            if (distance.get(u) < distance.get(NIL)) {
-                for (int v : graph.getNeighbors(u)) {
-                    int matchedLeft = rightMatch.get(v);
-                    if (distance.get(matchedLeft) == INF) {
-                        distance.put(matchedLeft, distance.get(u) + 1);
-                        queue.offer(matchedLeft);
+            // Nodes beyond the shortest augmenting path length are never needed
+            if (distance[u] < freeDistance) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int matchedLeft = rightMatch[targets[e]];
+                    if (matchedLeft == CompactMatching.UNMATCHED) {
+                        freeDistance = distance[u];
+                    } else if (distance[matchedLeft] == INF) {
+                        distance[matchedLeft] = distance[u] + 1;
+                        queue[tail++] = matchedLeft;
                     }
                 }
             }
         }
         
-        return distance.get(NIL) != INF;
+        return freeDistance;
     }
     
     /**
-     * DFS to find and augment along shortest augmenting paths.
+     * Iterative layered DFS from a free left node.
+     * 
+     * The current path is kept on an explicit stack of left nodes; the edge
+     * that leads from stack[i] to stack[i + 1] is the one under cursor[stack[i]].
+     * Dead-end nodes are dropped from the layer graph (distance set to INF),
+     * as are the nodes of an augmented path so that paths stay vertex-disjoint.
+     * 
+     * @return true if an augmenting path was found and applied
      */
-    private static boolean depthFirstSearch(BipartiteGraph graph, 
-                                          int u, 
-                                          Map<Integer, Integer> leftMatch, 
-                                          Map<Integer, Integer> rightMatch,
-                                          Set<Integer> visited) {
-        if (u != NIL) {
-            if (visited.contains(u)) {
-                return false;
-            }
-            visited.add(u);
+    private static boolean depthFirstSearch(CompactBipartiteGraph graph,
+                                          int root,
+                                          int freeDistance,
+                                          int[] leftMatch,
+                                          int[] rightMatch,
+                                          int[] distance,
+                                          int[] cursor,
+                                          int[] stack) {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int top = 0;
+        stack[0] = root;
+        
+        while (top >= 0) {
+            int u = stack[top];
+            boolean descended = false;
             
-            for (int v : graph.getNeighbors(u)) {
-                int matchedLeft = rightMatch.get(v);
+            for (; cursor[u] < offsets[u + 1]; cursor[u]++) {
+                int v = targets[cursor[u]];
+                int matchedLeft = rightMatch[v];
                 
-                if (depthFirstSearch(graph, matchedLeft, leftMatch, rightMatch, visited)) {
-                    rightMatch.put(v, u);
-                    leftMatch.put(u, v);
-                    return true;
+                if (matchedLeft == CompactMatching.UNMATCHED) {
+                    if (distance[u] == freeDistance) {
+                        augment(stack, top, cursor, targets, leftMatch, rightMatch, distance);
+                        return true;
+                    }
+                } else if (distance[matchedLeft] == distance[u] + 1) {
+                    stack[++top] = matchedLeft;
+                    descended = true;
+                    break;
+                }
+            }
+            
+            if (!descended) {
+                // No shortest path continues through u in this phase
+                distance[u] = INF;
+                top--;
+                if (top >= 0) {
+                    cursor[stack[top]]++;
                 }
             }
-            return false;
         }
-        return true;
+        return false;
+    }
+    
+    /**
+     * Flips the matched/unmatched edges along the path held on the DFS stack.
+     */
+    private static void augment(int[] stack, int top, int[] cursor, int[] targets,
+                                int[] leftMatch, int[] rightMatch, int[] distance) {
+        for (int i = top; i >= 0; i--) {
+            int u = stack[i];
+            int v = targets[cursor[u]];
+            leftMatch[u] = v;
+            rightMatch[v] = u;
+            distance[u] = INF;
+        }
     }
 }
\ No newline at end of file
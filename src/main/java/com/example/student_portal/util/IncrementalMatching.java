@@ -0,0 +1,164 @@
+package com.example.student_portal.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable bipartite graph with capacity groups and a matching that is
+ * extended greedily: a left node only ever takes a free right node whose
+ * group still has room.
+ *
+ * Nodes and edges can be added after matching has started, which is what
+ * online matching needs. No augmenting paths are searched, so a match once
+ * assigned is never moved; the price is that the matching need not be
+ * maximum. The weekly batch run ({@link CapacityFlowNetwork} and friends)
+ * solves the week from scratch and reconciles what the greedy assignment
+ * missed.
+ */
+public final class IncrementalMatching {
+
+    public static final int UNMATCHED = -1;
+
+    private int leftCount;
+    private int rightCount;
+    private int groupCount;
+
+    private int[][] adjacency = new int[16][];
+    private int[] degree = new int[16];
+    private int[] leftMatch = new int[16];
+
+    private int[] rightGroup = new int[16];
+    private int[] rightMatch = new int[16];
+
+    private int[] capacity = new int[16];
+    private int[] load = new int[16];
+
+    private int matchingSize;
+
+    /**
+     * Adds a capacity group and returns its id.
+     */
+    public int addGroup(int groupCapacity) {
+        if (groupCapacity < 0) {
+            throw new IllegalArgumentException("Group capacity must not be negative");
+        }
+        if (groupCount == capacity.length) {
+            int size = groupCount * 2;
+            capacity = Arrays.copyOf(capacity, size);
+            load = Arrays.copyOf(load, size);
+        }
+        capacity[groupCount] = groupCapacity;
+        return groupCount++;
+    }
+
+    /**
+     * Adds a right node to the given group (or {@link CompactBipartiteGraph#NO_GROUP}) and returns its id.
+     */
+    public int addRightNode(int group) {
+        if (group != CompactBipartiteGraph.NO_GROUP && (group < 0 || group >= groupCount)) {
+            throw new IllegalArgumentException("Unknown capacity group " + group);
+        }
+        if (rightCount == rightGroup.length) {
+            int size = rightCount * 2;
+            rightGroup = Arrays.copyOf(rightGroup, size);
+            rightMatch = Arrays.copyOf(rightMatch, size);
+        }
+        rightGroup[rightCount] = group;
+        rightMatch[rightCount] = UNMATCHED;
+        return rightCount++;
+    }
+
+    /**
+     * Adds an unmatched left node without edges and returns its id.
+     */
+    public int addLeftNode() {
+        if (leftCount == leftMatch.length) {
+            int size = leftCount * 2;
+            adjacency = Arrays.copyOf(adjacency, size);
+            degree = Arrays.copyOf(degree, size);
+            leftMatch = Arrays.copyOf(leftMatch, size);
+        }
+        adjacency[leftCount] = new int[4];
+        leftMatch[leftCount] = UNMATCHED;
+        return leftCount++;
+    }
+
+    public void addEdge(int left, int right) {
+        if (left < 0 || left >= leftCount || right < 0 || right >= rightCount) {
+            throw new IllegalArgumentException("Edge (" + left + ", " + right + ") references an unknown node");
+        }
+        if (degree[left] == adjacency[left].length) {
+            adjacency[left] = Arrays.copyOf(adjacency[left], degree[left] * 2);
+        }
+        adjacency[left][degree[left]++] = right;
+    }
+
+    /**
+     * Records an existing match, for example one loaded from the database.
+     * Group capacity is not checked, so a group may start over its cap; it
+     * then simply counts as full.
+     */
+    public void assign(int left, int right) {
+        if (leftMatch[left] != UNMATCHED || rightMatch[right] != UNMATCHED) {
+            throw new IllegalStateException("Left node " + left + " or right node " + right + " is already matched");
+        }
+        leftMatch[left] = right;
+        rightMatch[right] = left;
+        if (rightGroup[right] != CompactBipartiteGraph.NO_GROUP) {
+            load[rightGroup[right]]++;
+        }
+        matchingSize++;
+    }
+
+    public int getLeftCount() {
+        return leftCount;
+    }
+
+    public int getRightCount() {
+        return rightCount;
+    }
+
+    public int getMatchingSize() {
+        return matchingSize;
+    }
+
+    /**
+     * Right node matched to a left node, or {@link #UNMATCHED}.
+     */
+    public int getMatch(int left) {
+        return leftMatch[left];
+    }
+
+    /**
+     * Left node matched to a right node, or {@link #UNMATCHED}.
+     */
+    public int getOccupant(int right) {
+        return rightMatch[right];
+    }
+
+    public int getLoad(int group) {
+        return load[group];
+    }
+
+    /**
+     * Matches an unmatched left node to a free neighbour whose group has
+     * room, without moving any other match. May miss a match that
+     * re-routing existing pairs would find; the weekly run picks those up.
+     *
+     * @return the right node taken, or {@link #UNMATCHED} if none is free
+     */
+    public int assignFree(int left) {
+        if (leftMatch[left] != UNMATCHED) {
+            return UNMATCHED;
+        }
+        for (int i = 0; i < degree[left]; i++) {
+            int v = adjacency[left][i];
+            int group = rightGroup[v];
+            if (rightMatch[v] == UNMATCHED
+                    && (group == CompactBipartiteGraph.NO_GROUP || load[group] < capacity[group])) {
+                assign(left, v);
+                return v;
+            }
+        }
+        return UNMATCHED;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.student_portal.util;
+
+import java.util.Arrays;
+
+/**
+ * Karp-Sipser greedy initialisation for {@link HopcroftKarp}.
+ *
+ * Repeatedly takes forced matches first: a vertex (either side) with exactly
+ * one unmatched neighbour can be matched to it without losing optimality.
+ * When no such vertex is left, it falls back to the unmatched left vertex of
+ * minimum remaining degree and pairs it with its neighbour of minimum
+ * remaining degree. The result is a maximal matching that is usually close
+ * to maximum, so the augmenting phases only have to fix the rest.
+ *
+ * Runs in O(V + E): degrees only decrease, left vertices sit in
+ * doubly linked degree buckets, and every vertex's adjacency is scanned a
+ * constant number of times.
+ */
+final class KarpSipser {
+
+    private static final int NONE = -1;
+
+    private KarpSipser() { }
+
+    /**
+     * Extends a (possibly empty) matching greedily.
+     *
+     * @param graph      the graph
+     * @param leftMatch  right node per left node, updated in place
+     * @param rightMatch left node per right node, updated in place
+     * @return the number of pairs added
+     */
+    static int extend(CompactBipartiteGraph graph, int[] leftMatch, int[] rightMatch) {
+        return new Run(graph, leftMatch, rightMatch).run();
+    }
+
+    private static final class Run {
+        private final int leftCount;
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] leftMatch;
+        private final int[] rightMatch;
+
+        // Reverse adjacency: left neighbours of right v are sources[rightOffsets[v] .. rightOffsets[v + 1] - 1]
+        private final int[] rightOffsets;
+        private final int[] sources;
+
+        // Number of unmatched neighbours of each unmatched vertex
+        private final int[] leftDegree;
+        private final int[] rightDegree;
+
+        // Unmatched left vertices bucketed by degree (doubly linked lists)
+        private final int[] bucketHead;
+        private final int[] next;
+        private final int[] previous;
+        private int minDegree = 1;
+
+        // Vertices whose degree dropped to 1; left u is u, right v is leftCount + v
+        private final int[] forced;
+        private int forcedCount;
+
+        Run(CompactBipartiteGraph graph, int[] leftMatch, int[] rightMatch) {
+            this.leftCount = graph.getLeftCount();
+            this.offsets = graph.offsets();
+            this.targets = graph.targets();
+            this.leftMatch = leftMatch;
+            this.rightMatch = rightMatch;
+            int rightCount = graph.getRightCount();
+
+            rightOffsets = new int[rightCount + 1];
+            leftDegree = new int[leftCount];
+            rightDegree = new int[rightCount];
+            for (int u = 0; u < leftCount; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    rightOffsets[targets[e] + 1]++;
+                    if (leftMatch[u] == CompactMatching.UNMATCHED && rightMatch[targets[e]] == CompactMatching.UNMATCHED) {
+                        leftDegree[u]++;
+                        rightDegree[targets[e]]++;
+                    }
+                }
+            }
+            for (int v = 0; v < rightCount; v++) {
+                rightOffsets[v + 1] += rightOffsets[v];
+            }
+            sources = new int[targets.length];
+            int[] fill = Arrays.copyOf(rightOffsets, rightCount);
+            for (int u = 0; u < leftCount; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    sources[fill[targets[e]]++] = u;
+                }
+            }
+
+            int maxDegree = 0;
+            for (int degree : leftDegree) {
+                maxDegree = Math.max(maxDegree, degree);
+            }
+            bucketHead = new int[maxDegree + 1];
+            next = new int[leftCount];
+            previous = new int[leftCount];
+            Arrays.fill(bucketHead, NONE);
+            Arrays.fill(next, NONE);
+            Arrays.fill(previous, NONE);
+            forced = new int[leftCount + rightCount];
+            for (int u = 0; u < leftCount; u++) {
+                if (leftMatch[u] == CompactMatching.UNMATCHED && leftDegree[u] > 0) {
+                    link(u);
+                    if (leftDegree[u] == 1) {
+                        forced[forcedCount++] = u;
+                    }
+                }
+            }
+            for (int v = 0; v < rightCount; v++) {
+                if (rightMatch[v] == CompactMatching.UNMATCHED && rightDegree[v] == 1) {
+                    forced[forcedCount++] = leftCount + v;
+                }
+            }
+        }
+
+        int run() {
+            int added = 0;
+            while (true) {
+                // Forced matches on degree-1 vertices
+                while (forcedCount > 0) {
+                    int x = forced[--forcedCount];
+                    if (x < leftCount) {
+                        if (leftMatch[x] == CompactMatching.UNMATCHED && leftDegree[x] == 1) {
+                            match(x, onlyRightNeighbour(x));
+                            added++;
+                        }
+                    } else {
+                        int v = x - leftCount;
+                        if (rightMatch[v] == CompactMatching.UNMATCHED && rightDegree[v] == 1) {
+                            match(onlyLeftNeighbour(v), v);
+                            added++;
+                        }
+                    }
+                }
+
+                // Fall back to the minimum-degree left vertex
+                while (minDegree < bucketHead.length && bucketHead[minDegree] == NONE) {
+                    minDegree++;
+                }
+                if (minDegree == bucketHead.length) {
+                    return added;
+                }
+                int u = bucketHead[minDegree];
+                match(u, minDegreeRightNeighbour(u));
+                added++;
+            }
+        }
+
+        private void match(int u, int v) {
+            leftMatch[u] = v;
+            rightMatch[v] = u;
+            unlink(u);
+
+            // Neither u nor v is available any more to their other neighbours
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int w = targets[e];
+                if (rightMatch[w] == CompactMatching.UNMATCHED && --rightDegree[w] == 1) {
+                    forced[forcedCount++] = leftCount + w;
+                }
+            }
+            for (int i = rightOffsets[v]; i < rightOffsets[v + 1]; i++) {
+                int w = sources[i];
+                if (leftMatch[w] == CompactMatching.UNMATCHED) {
+                    unlink(w);
+                    if (--leftDegree[w] > 0) {
+                        link(w);
+                        if (leftDegree[w] == 1) {
+                            forced[forcedCount++] = w;
+                        }
+                    }
+                }
+            }
+        }
+
+        private int onlyRightNeighbour(int u) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (rightMatch[targets[e]] == CompactMatching.UNMATCHED) {
+                    return targets[e];
+                }
+            }
+            throw new IllegalStateException("Left node " + u + " has no unmatched neighbour");
+        }
+
+        private int onlyLeftNeighbour(int v) {
+            for (int i = rightOffsets[v]; i < rightOffsets[v + 1]; i++) {
+                if (leftMatch[sources[i]] == CompactMatching.UNMATCHED) {
+                    return sources[i];
+                }
+            }
+            throw new IllegalStateException("Right node " + v + " has no unmatched neighbour");
+        }
+
+        private int minDegreeRightNeighbour(int u) {
+            int best = NONE;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (rightMatch[v] == CompactMatching.UNMATCHED && (best == NONE || rightDegree[v] < rightDegree[best])) {
+                    best = v;
+                }
+            }
+            return best;
+        }
+
+        private void link(int u) {
+            int degree = leftDegree[u];
+            previous[u] = NONE;
+            next[u] = bucketHead[degree];
+            if (bucketHead[degree] != NONE) {
+                previous[bucketHead[degree]] = u;
+            }
+            bucketHead[degree] = u;
+            minDegree = Math.min(minDegree, degree);
+        }
+
+        private void unlink(int u) {
+            if (previous[u] != NONE) {
+                next[previous[u]] = next[u];
+            } else if (bucketHead[leftDegree[u]] == u) {
+                bucketHead[leftDegree[u]] = next[u];
+            } else {
+                return; // not linked
+            }
+            if (next[u] != NONE) {
+                previous[next[u]] = previous[u];
+            }
+            previous[u] = NONE;
+            next[u] = NONE;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.student_portal.util;
+
+import java.util.BitSet;
+
+/**
+ * Minimum vertex cover and Hall-violating tutee set of a maximum matching
+ * over a {@link CompactBipartiteGraph}, read off the matching in O(V + E).
+ *
+ * One alternating search from every free left node (non-matching edge to a
+ * right node, matching edge back to its left node) reaches the set Z. Its
+ * left part is the Hall-violating set: every right node it can use is
+ * already matched to a member, so its neighbourhood is short of it by
+ * exactly the number of free left nodes. By König's theorem the left nodes
+ * outside Z plus the right nodes inside Z form a minimum vertex cover, as
+ * large as the matching.
+ *
+ * Capacity groups are handled as in the flow model: a reached right node
+ * that is unmatched leads into its group, and a full group leads on to the
+ * other members it has matched. A reached group counts towards the cover
+ * with its capacity instead of its members.
+ *
+ * The matching must be maximum; an augmenting path the search happens to
+ * cross is not followed.
+ */
+public final class KonigCover {
+
+    private final BitSet hallLeft;
+    private final BitSet reachedRight;
+    private final BitSet reachedGroups;
+    private final int deficiency;
+    private final int coverSize;
+
+    private KonigCover(BitSet hallLeft, BitSet reachedRight, BitSet reachedGroups, int deficiency, int coverSize) {
+        this.hallLeft = hallLeft;
+        this.reachedRight = reachedRight;
+        this.reachedGroups = reachedGroups;
+        this.deficiency = deficiency;
+        this.coverSize = coverSize;
+    }
+
+    public static KonigCover of(CompactBipartiteGraph graph, CompactMatching matching) {
+        int leftCount = graph.getLeftCount();
+        int rightCount = graph.getRightCount();
+        int groupCount = graph.getGroupCount();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] rightGroups = graph.rightGroups();
+        int[] leftToRight = matching.getLeftToRight();
+        int[] rightToLeft = matching.getRightToLeft();
+
+        // Members of each group in CSR form, by counting sort
+        int[] memberStart = new int[groupCount + 1];
+        for (int v = 0; v < rightCount; v++) {
+            if (rightGroups[v] != CompactBipartiteGraph.NO_GROUP) {
+                memberStart[rightGroups[v] + 1]++;
+            }
+        }
+        for (int g = 0; g < groupCount; g++) {
+            memberStart[g + 1] += memberStart[g];
+        }
+        int[] members = new int[memberStart[groupCount]];
+        int[] cursor = new int[groupCount];
+        for (int v = 0; v < rightCount; v++) {
+            int group = rightGroups[v];
+            if (group != CompactBipartiteGraph.NO_GROUP) {
+                members[memberStart[group] + cursor[group]++] = v;
+            }
+        }
+
+        BitSet hallLeft = new BitSet(leftCount);
+        BitSet reachedRight = new BitSet(rightCount);
+        BitSet reachedGroups = new BitSet(groupCount);
+        int[] queue = new int[leftCount];
+        int head = 0;
+        int tail = 0;
+        for (int u = 0; u < leftCount; u++) {
+            if (leftToRight[u] == CompactMatching.UNMATCHED) {
+                hallLeft.set(u);
+                queue[tail++] = u;
+            }
+        }
+        int deficiency = tail;
+
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (v == leftToRight[u] || reachedRight.get(v)) {
+                    continue;
+                }
+                reachedRight.set(v);
+                int mate = rightToLeft[v];
+                if (mate != CompactMatching.UNMATCHED) {
+                    if (!hallLeft.get(mate)) {
+                        hallLeft.set(mate);
+                        queue[tail++] = mate;
+                    }
+                    continue;
+                }
+                int group = rightGroups[v];
+                if (group == CompactBipartiteGraph.NO_GROUP || reachedGroups.get(group)) {
+                    continue;
+                }
+                // Free slot of a full group: any matched slot of the group could give its session up
+                reachedGroups.set(group);
+                for (int i = memberStart[group]; i < memberStart[group + 1]; i++) {
+                    int member = members[i];
+                    int memberMate = rightToLeft[member];
+                    if (memberMate != CompactMatching.UNMATCHED && !reachedRight.get(member)) {
+                        reachedRight.set(member);
+                        if (!hallLeft.get(memberMate)) {
+                            hallLeft.set(memberMate);
+                            queue[tail++] = memberMate;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Cut of the flow model: unreached tutees, reached slots outside a reached group, reached groups
+        int coverSize = leftCount - hallLeft.cardinality();
+        for (int v = reachedRight.nextSetBit(0); v >= 0; v = reachedRight.nextSetBit(v + 1)) {
+            int group = rightGroups[v];
+            if (rightToLeft[v] != CompactMatching.UNMATCHED
+                    && (group == CompactBipartiteGraph.NO_GROUP || !reachedGroups.get(group))) {
+                coverSize++;
+            }
+        }
+        for (int g = reachedGroups.nextSetBit(0); g >= 0; g = reachedGroups.nextSetBit(g + 1)) {
+            coverSize += graph.getGroupCapacity(g);
+        }
+        return new KonigCover(hallLeft, reachedRight, reachedGroups, deficiency, coverSize);
+    }
+
+    /**
+     * Whether a left node is in the Hall-violating set: it is free, or its
+     * match could only move to a right node another member already holds.
+     */
+    public boolean isInHallSet(int leftNode) {
+        return hallLeft.get(leftNode);
+    }
+
+    /**
+     * Whether a right node is in the saturated neighbourhood of the Hall-violating set.
+     */
+    public boolean isRightReached(int rightNode) {
+        return reachedRight.get(rightNode);
+    }
+
+    /**
+     * Whether a capacity group is full and in the neighbourhood of the Hall-violating set.
+     */
+    public boolean isGroupReached(int group) {
+        return reachedGroups.get(group);
+    }
+
+    public int getHallSetSize() {
+        return hallLeft.cardinality();
+    }
+
+    /**
+     * How far the Hall-violating set exceeds its neighbourhood: the number
+     * of free left nodes.
+     */
+    public int getDeficiency() {
+        return deficiency;
+    }
+
+    /**
+     * Size of the minimum vertex cover, groups weighted by capacity. Equal
+     * to the matching size when the matching is maximum.
+     */
+    public int getCoverSize() {
+        return coverSize;
+    }
+}
@@ -5,6 +5,17 @@ import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+
+import com.example.student_portal.model.MatchingStage;
+import com.example.student_portal.model.MatchingTrigger;
+import com.example.student_portal.service.JobLeaseService;
+import com.example.student_portal.service.MatchingMetrics;
+import com.example.student_portal.service.MatchingProgress;
 import com.example.student_portal.service.MatchingService;
 import com.example.student_portal.service.RecurrenceService;
 
@@ -14,23 +25,45 @@ import com.example.student_portal.service.RecurrenceService;
  * This component orchestrates the complete weekly matching lifecycle:
  * 1. Generate recurring requests from previous week's matches
  * 2. Run advanced Hopcroft-Karp matching algorithm
- * 3. Log results for monitoring
+ * 3. Log results for monitoring (each run is also recorded as a MatchingRun
+ *    and published as metrics, see {@link MatchingMetrics})
  * 
  * The advanced matching algorithm (Hopcroft-Karp) is implemented in MatchingService
  * and respects tutor capacity constraints and prevents double-allocation of timeslots.
+ *
+ * The schedule fires on every application node, so the lifecycle runs under
+ * a database lease ({@link JobLeaseService}) keyed by target week: one node
+ * runs it and the others skip it. Every node also polls for a run that failed
+ * or whose owner died mid-way and retries it while its target week has not
+ * started, backing off between failed attempts and giving up after
+ * matching.lease.max-retries of them. Generating recurring requests is
+ * idempotent per week, so a retry does not duplicate them.
  */
 @Component
 public class MatchingAlgorithm {
 
     private static final Logger logger = LoggerFactory.getLogger(MatchingAlgorithm.class);
 
+    /** Lease name of the weekly lifecycle. */
+    public static final String JOB_NAME = "weekly-matching";
+
+    // Must match the cron expression below
+    private static final DayOfWeek SCHEDULED_DAY = DayOfWeek.MONDAY;
+    private static final LocalTime SCHEDULED_TIME = LocalTime.of(2, 30);
+
     private final MatchingService matchingService;
     private final RecurrenceService recurrenceService;
+    private final JobLeaseService jobLeaseService;
+    private final MatchingMetrics matchingMetrics;
 
     public MatchingAlgorithm(MatchingService matchingService,
-                           RecurrenceService recurrenceService) {
+                           RecurrenceService recurrenceService,
+                           JobLeaseService jobLeaseService,
+                           MatchingMetrics matchingMetrics) {
         this.matchingService = matchingService;
         this.recurrenceService = recurrenceService;
+        this.jobLeaseService = jobLeaseService;
+        this.matchingMetrics = matchingMetrics;
     }
 
     /**
@@ -39,8 +72,32 @@ public class MatchingAlgorithm {
      */
     @Scheduled(cron = "0 30 2 * * MON")
     public void runWeeklyMatching() {
-        logger.info("Starting weekly matching cycle");
-        runMatching();
+        LocalDate targetWeek = upcomingMonday(LocalDate.now());
+        boolean ran = jobLeaseService.runExclusively(JOB_NAME, targetWeek.toString(), false, () -> {
+            logger.info("Starting weekly matching cycle");
+            runLifecycle(targetWeek, MatchingTrigger.CRON, MatchingProgress.NONE);
+        });
+        if (!ran) {
+            logger.info("Weekly matching for week {} is running or has run on another node; skipping", targetWeek);
+        }
+    }
+
+    /**
+     * Retry this week's run if it failed or the node that started it died
+     * before completing it. Runs on every node; only one can take the lease,
+     * and a failed run only once its backoff has passed.
+     */
+    @Scheduled(fixedDelayString = "${matching.lease.recovery-interval:PT1M}",
+               initialDelayString = "${matching.lease.recovery-interval:PT1M}")
+    public void recoverWeeklyMatching() {
+        LocalDate targetWeek = upcomingMonday(lastScheduledRun(LocalDateTime.now()).toLocalDate());
+        if (!LocalDate.now().isBefore(targetWeek)) {
+            return;
+        }
+        jobLeaseService.recoverAbandoned(JOB_NAME, targetWeek.toString(), () -> {
+            logger.warn("Retrying unfinished weekly matching for week {}", targetWeek);
+            runLifecycle(targetWeek, MatchingTrigger.RECOVERY, MatchingProgress.NONE);
+        });
     }
 
     /**
@@ -50,23 +107,62 @@ public class MatchingAlgorithm {
      * 1. Generate recurring requests for active recurring pairs
      * 2. Run the advanced matching algorithm (Hopcroft-Karp)
      * 3. Log results
+     * 
+     * @param trigger whether the scheduler or an admin started the run
+     */
+    public void runMatching(MatchingTrigger trigger) {
+        runMatching(trigger, MatchingProgress.NONE);
+    }
+
+    /**
+     * As {@link #runMatching(MatchingTrigger)}, reporting the run's progress.
      */
-    public void runMatching() {
+    public void runMatching(MatchingTrigger trigger, MatchingProgress progress) {
+        LocalDate targetWeek = upcomingMonday(LocalDate.now());
+        // Admins may run the week again, but not while another node is running it
+        if (!jobLeaseService.runExclusively(JOB_NAME, targetWeek.toString(), true,
+                () -> runLifecycle(targetWeek, trigger, progress))) {
+            throw new IllegalStateException("Matching for week " + targetWeek + " is already running on another node");
+        }
+    }
+
+    private void runLifecycle(LocalDate targetWeek, MatchingTrigger trigger, MatchingProgress progress) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
         try {
             // Step 1: Generate recurring requests from previous matches
             logger.info("Generating recurring requests...");
-            recurrenceService.generateRecurringRequests();
+            progress.stageStarted(MatchingStage.GENERATING_REQUESTS);
+            recurrenceService.generateRecurringRequestsForWeek(targetWeek);
             
             // Step 2: Run advanced matching algorithm
             logger.info("Running advanced matching algorithm...");
-            int matchesCreated = matchingService.performMatching();
+            int matchesCreated = matchingService.performMatchingForWeek(targetWeek, trigger, progress);
             
             // Step 3: Log completion
             logger.info("✅ Weekly matching complete: {} pairs created", matchesCreated);
+            succeeded = true;
             
         } catch (Exception e) {
             logger.error("❌ Weekly matching failed: {}", e.getMessage(), e);
             throw e;
+        } finally {
+            matchingMetrics.lifecycleFinished(trigger, System.nanoTime() - start, succeeded);
         }
     }
+
+    /**
+     * Monday of the week after the given date's week (the week a run on that date matches).
+     */
+    static LocalDate upcomingMonday(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).plusWeeks(1);
+    }
+
+    /**
+     * Most recent scheduled run time at or before now.
+     */
+    static LocalDateTime lastScheduledRun(LocalDateTime now) {
+        LocalDateTime thisWeek = now.toLocalDate().with(TemporalAdjusters.previousOrSame(SCHEDULED_DAY)).atTime(SCHEDULED_TIME);
+        return thisWeek.isAfter(now) ? thisWeek.minusWeeks(1) : thisWeek;
+    }
 }
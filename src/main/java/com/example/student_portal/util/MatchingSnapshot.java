@@ -0,0 +1,256 @@
+package com.example.student_portal.util;
+
+import com.example.student_portal.model.MatchingEngine;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Exact solver input and result of one matching run, stored as a versioned
+ * little-endian binary file so the run can be replayed offline without a
+ * database (see {@link MatchingSnapshotReplay}).
+ *
+ * Layout (version 1): magic "SPMS", version, engine ordinal, target week as
+ * epoch day, left/right/group/edge counts and a flags word (1 = edge costs,
+ * 2 = matching, 4 = warm-start seed, 8 = Karp-Sipser pass), then the CSR
+ * arrays (offsets, targets, right groups, group capacities, optional costs),
+ * the tutee request id of every left node, the tutor id and
+ * {@link SlotOrdinals} slot of every right node and, if present, the
+ * matching and then the seed, each as leftToRight.
+ *
+ * The seed and the Karp-Sipser bit record how a HOPCROFT_KARP run was
+ * started, so a replay solves from the same initial matching.
+ *
+ * Both directions go through a memory-mapped file and bulk array copies,
+ * so writing and reading cost about as much as copying the arrays.
+ */
+public final class MatchingSnapshot {
+
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x534D5053; // "SPMS" in little-endian byte order
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES + 5 * Integer.BYTES;
+    private static final int FLAG_COSTS = 1;
+    private static final int FLAG_MATCHING = 2;
+    private static final int FLAG_SEED = 4;
+    private static final int FLAG_KARP_SIPSER = 8;
+
+    private final MatchingEngine engine;
+    private final LocalDate targetWeek;
+    private final CompactBipartiteGraph graph;
+    private final long[] leftRequestIds;
+    private final long[] rightTutorIds;
+    private final int[] rightSlots;
+    private final CompactMatching matching;
+    private final int[] seed;
+    private final boolean karpSipser;
+
+    /**
+     * @param leftRequestIds tutee request id per left node
+     * @param rightTutorIds  tutor user id per right node
+     * @param rightSlots     {@link SlotOrdinals} slot per right node
+     * @param matching       the solver's result, or null to store the input only
+     * @param seed           warm-start right node per left node the solver started from, or null
+     * @param karpSipser     whether the solver ran the Karp-Sipser greedy pass before its first phase
+     */
+    public MatchingSnapshot(MatchingEngine engine, LocalDate targetWeek, CompactBipartiteGraph graph,
+                            long[] leftRequestIds, long[] rightTutorIds, int[] rightSlots, CompactMatching matching,
+                            int[] seed, boolean karpSipser) {
+        if (leftRequestIds.length != graph.getLeftCount()
+                || rightTutorIds.length != graph.getRightCount() || rightSlots.length != graph.getRightCount()
+                || (seed != null && seed.length != graph.getLeftCount())) {
+            throw new IllegalArgumentException("Node id maps do not match the graph's node counts");
+        }
+        this.engine = engine;
+        this.targetWeek = targetWeek;
+        this.graph = graph;
+        this.leftRequestIds = leftRequestIds;
+        this.rightTutorIds = rightTutorIds;
+        this.rightSlots = rightSlots;
+        this.matching = matching;
+        this.seed = seed;
+        this.karpSipser = karpSipser;
+    }
+
+    /**
+     * Write the snapshot to a file, replacing it if it exists.
+     */
+    public void write(Path file) throws IOException {
+        int leftCount = graph.getLeftCount();
+        int rightCount = graph.getRightCount();
+        int groupCount = graph.getGroupCount();
+        int edgeCount = graph.getEdgeCount();
+        int flags = (graph.hasCosts() ? FLAG_COSTS : 0) | (matching != null ? FLAG_MATCHING : 0)
+            | (seed != null ? FLAG_SEED : 0) | (karpSipser ? FLAG_KARP_SIPSER : 0);
+        long ints = (leftCount + 1L) + edgeCount + rightCount + groupCount
+            + (graph.hasCosts() ? edgeCount : 0) + rightCount + (matching != null ? leftCount : 0)
+            + (seed != null ? leftCount : 0);
+        long size = HEADER_BYTES + ints * Integer.BYTES + ((long) leftCount + rightCount) * Long.BYTES;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(engine.ordinal()).putInt(0)
+                .putLong(targetWeek.toEpochDay())
+                .putInt(leftCount).putInt(rightCount).putInt(groupCount).putInt(edgeCount).putInt(flags);
+            putInts(buffer, graph.offsets());
+            putInts(buffer, graph.targets());
+            putInts(buffer, graph.rightGroups());
+            putInts(buffer, graph.groupCapacities());
+            if (graph.hasCosts()) {
+                putInts(buffer, graph.costs());
+            }
+            putLongs(buffer, leftRequestIds);
+            putLongs(buffer, rightTutorIds);
+            putInts(buffer, rightSlots);
+            if (matching != null) {
+                putInts(buffer, matching.getLeftToRight());
+            }
+            if (seed != null) {
+                putInts(buffer, seed);
+            }
+            buffer.force();
+        }
+    }
+
+    /**
+     * Memory-map a snapshot file and copy its arrays out.
+     *
+     * @throws IllegalArgumentException if the file is not a snapshot of a supported version, or is truncated
+     */
+    public static MatchingSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            try {
+                if (buffer.getInt() != MAGIC) {
+                    throw new IllegalArgumentException("Not a matching snapshot: " + file);
+                }
+                int version = buffer.getInt();
+                if (version != VERSION) {
+                    throw new IllegalArgumentException("Unsupported matching snapshot version " + version + ": " + file);
+                }
+                MatchingEngine engine = MatchingEngine.values()[buffer.getInt()];
+                buffer.getInt(); // reserved
+                LocalDate targetWeek = LocalDate.ofEpochDay(buffer.getLong());
+                int leftCount = buffer.getInt();
+                int rightCount = buffer.getInt();
+                int groupCount = buffer.getInt();
+                int edgeCount = buffer.getInt();
+                int flags = buffer.getInt();
+
+                int[] offsets = getInts(buffer, leftCount + 1);
+                int[] targets = getInts(buffer, edgeCount);
+                int[] rightGroups = getInts(buffer, rightCount);
+                int[] groupCapacities = getInts(buffer, groupCount);
+                int[] costs = (flags & FLAG_COSTS) != 0 ? getInts(buffer, edgeCount) : null;
+                long[] leftRequestIds = getLongs(buffer, leftCount);
+                long[] rightTutorIds = getLongs(buffer, rightCount);
+                int[] rightSlots = getInts(buffer, rightCount);
+                CompactBipartiteGraph graph = CompactBipartiteGraph.ofPacked(leftCount, rightCount, offsets, targets,
+                    rightGroups, groupCapacities, costs);
+
+                CompactMatching matching = null;
+                if ((flags & FLAG_MATCHING) != 0) {
+                    int[] leftToRight = getInts(buffer, leftCount);
+                    int[] rightToLeft = new int[rightCount];
+                    Arrays.fill(rightToLeft, CompactMatching.UNMATCHED);
+                    int size = 0;
+                    for (int u = 0; u < leftCount; u++) {
+                        if (leftToRight[u] != CompactMatching.UNMATCHED) {
+                            rightToLeft[leftToRight[u]] = u;
+                            size++;
+                        }
+                    }
+                    matching = CompactMatching.of(leftToRight, rightToLeft, size);
+                }
+                int[] seed = (flags & FLAG_SEED) != 0 ? getInts(buffer, leftCount) : null;
+                return new MatchingSnapshot(engine, targetWeek, graph, leftRequestIds, rightTutorIds, rightSlots, matching,
+                    seed, (flags & FLAG_KARP_SIPSER) != 0);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+                throw new IllegalArgumentException("Truncated or corrupt matching snapshot: " + file, e);
+            }
+        }
+    }
+
+    private static void putInts(MappedByteBuffer buffer, int[] values) {
+        buffer.asIntBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Integer.BYTES);
+    }
+
+    private static void putLongs(MappedByteBuffer buffer, long[] values) {
+        buffer.asLongBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Long.BYTES);
+    }
+
+    private static int[] getInts(MappedByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static long[] getLongs(MappedByteBuffer buffer, int count) {
+        long[] values = new long[count];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        return values;
+    }
+
+    /**
+     * Engine of the run that wrote the snapshot; the graph has that engine's shape.
+     */
+    public MatchingEngine getEngine() {
+        return engine;
+    }
+
+    public LocalDate getTargetWeek() {
+        return targetWeek;
+    }
+
+    public CompactBipartiteGraph getGraph() {
+        return graph;
+    }
+
+    public long getLeftRequestId(int leftNode) {
+        return leftRequestIds[leftNode];
+    }
+
+    public long getRightTutorId(int rightNode) {
+        return rightTutorIds[rightNode];
+    }
+
+    public int getRightSlot(int rightNode) {
+        return rightSlots[rightNode];
+    }
+
+    /**
+     * The recorded result, or null if the snapshot holds the input only.
+     * Only the pairs survive; phase and path statistics are not stored.
+     */
+    public CompactMatching getMatching() {
+        return matching;
+    }
+
+    /**
+     * Warm-start seed of the recorded run, as leftToRight, or null if it started empty.
+     */
+    public int[] getSeed() {
+        return seed;
+    }
+
+    /**
+     * Whether the recorded run ran the Karp-Sipser greedy pass.
+     */
+    public boolean isKarpSipser() {
+        return karpSipser;
+    }
+}
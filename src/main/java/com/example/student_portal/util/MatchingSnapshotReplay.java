@@ -0,0 +1,110 @@
+package com.example.student_portal.util;
+
+import com.example.student_portal.model.MatchingEngine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replays a {@link MatchingSnapshot} offline: loads the file and solves its
+ * graph with each requested engine, single-threaded on the whole graph,
+ * reporting solve times and how the result compares with the recorded one.
+ *
+ * Needs no database or Spring context:
+ *   mvn -q compile exec:java -Dexec.mainClass=com.example.student_portal.util.MatchingSnapshotReplay \
+ *       -Dexec.args="/var/snapshots/matching-2026-10-19-MAX_FLOW-1760918400000.snap MAX_FLOW HOPCROFT_KARP"
+ *
+ * Without engines the recorded run's engine is used. The graph keeps the
+ * shape of the recorded engine: HOPCROFT_KARP snapshots clone tutor slots
+ * per session, the flow engines share a capacity group per tutor, and
+ * HOPCROFT_KARP ignores capacity groups. HOPCROFT_KARP starts from the
+ * recorded run's warm-start seed and Karp-Sipser setting, if it stored them.
+ */
+public final class MatchingSnapshotReplay {
+
+    private static final int DEFAULT_RUNS = 5;
+
+    private MatchingSnapshotReplay() { }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: MatchingSnapshotReplay <snapshot file> [ENGINE ...] [--runs N]");
+            System.exit(2);
+        }
+        List<MatchingEngine> engines = new ArrayList<>();
+        int runs = DEFAULT_RUNS;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--runs") && i + 1 < args.length) {
+                runs = Math.max(1, Integer.parseInt(args[++i]));
+            } else {
+                engines.add(MatchingEngine.valueOf(args[i]));
+            }
+        }
+
+        long start = System.nanoTime();
+        MatchingSnapshot snapshot = MatchingSnapshot.read(Path.of(args[0]));
+        CompactBipartiteGraph graph = snapshot.getGraph();
+        CompactMatching recorded = snapshot.getMatching();
+        System.out.printf("Week %s recorded with %s: %d tutee nodes, %d tutor nodes, %d groups, %d edges (read in %.1f ms)%n",
+            snapshot.getTargetWeek(), snapshot.getEngine(), graph.getLeftCount(), graph.getRightCount(),
+            graph.getGroupCount(), graph.getEdgeCount(), (System.nanoTime() - start) / 1e6);
+        if (recorded != null) {
+            System.out.printf("Recorded matching: %d pairs%n", recorded.getMatchingSize());
+        }
+        if (engines.isEmpty()) {
+            engines.add(snapshot.getEngine());
+        }
+
+        System.out.printf("%-14s %8s %7s %10s %12s %12s%n", "engine", "pairs", "phases", "longest", "median ms", "vs recorded");
+        for (MatchingEngine engine : engines) {
+            long[] nanos = new long[runs];
+            CompactMatching matching = null;
+            for (int run = 0; run < runs; run++) {
+                long solveStart = System.nanoTime();
+                matching = solve(engine, graph, snapshot.getSeed(), snapshot.isKarpSipser());
+                nanos[run] = System.nanoTime() - solveStart;
+            }
+            Arrays.sort(nanos);
+            System.out.printf("%-14s %8d %7d %10d %12.2f %12s%n", engine, matching.getMatchingSize(),
+                matching.getPhaseCount(), matching.getLongestAugmentingPath(), nanos[runs / 2] / 1e6,
+                recorded == null ? "-" : changedPairs(recorded, matching) + " changed");
+        }
+    }
+
+    /**
+     * Solve the whole graph with one engine. The seed and Karp-Sipser pass
+     * only apply to HOPCROFT_KARP.
+     *
+     * @param seed initial right node per left node, or null to start empty
+     */
+    public static CompactMatching solve(MatchingEngine engine, CompactBipartiteGraph graph, int[] seed,
+                                        boolean karpSipser) {
+        switch (engine) {
+            case HOPCROFT_KARP:
+                return HopcroftKarp.findMaximumMatching(graph, seed, karpSipser);
+            case MIN_COST_FLOW:
+                return MinCostFlowMatching.findMinimumCostMatching(graph);
+            case MAX_FLOW:
+            default:
+                return MaxFlowMatching.findMaximumMatching(graph);
+        }
+    }
+
+    /**
+     * Number of left nodes whose partner differs between two matchings.
+     */
+    static int changedPairs(CompactMatching a, CompactMatching b) {
+        int[] left = a.getLeftToRight();
+        int[] right = b.getLeftToRight();
+        int changed = 0;
+        for (int u = 0; u < left.length; u++) {
+            if (left[u] != right[u]) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
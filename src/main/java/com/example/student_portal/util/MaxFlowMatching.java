@@ -0,0 +1,49 @@
+package com.example.student_portal.util;
+
+/**
+ * Capacity-aware bipartite matching solved as a maximum flow with Dinic's algorithm.
+ *
+ * The {@link CompactBipartiteGraph} stands for the network
+ * source -> left node -> right node -> capacity group -> sink, where:
+ * - every left node (tutee) has capacity 1,
+ * - every right node (tutor slot) has capacity 1,
+ * - every group (tutor) has the group capacity (maxSessionsPerWeek),
+ *   shared across all of its slots and subjects.
+ * Right nodes outside any group connect straight to the sink.
+ *
+ * Unlike cloning right nodes per session, the result is exact: no tutor
+ * exceeds their weekly cap and no slot is used twice, so nothing has to be
+ * filtered afterwards. The residual network is derived from the matching
+ * state rather than materialised (see {@link CapacityFlowNetwork}).
+ */
+public final class MaxFlowMatching {
+
+    private MaxFlowMatching() { }
+
+    /**
+     * Finds a maximum capacity-respecting matching.
+     *
+     * @param graph the compact bipartite graph, optionally with right-node groups
+     * @return the matching, with the number of Dinic phases and augmenting paths
+     */
+    public static CompactMatching findMaximumMatching(CompactBipartiteGraph graph) {
+        return findMaximumMatching(graph, null);
+    }
+
+    /**
+     * Finds a maximum capacity-respecting matching, starting from the
+     * feasible part of an initial matching (see {@link CapacityFlowNetwork#seed}).
+     *
+     * @param graph the compact bipartite graph
+     * @param seed  initial right node per left node, or null to start empty
+     * @return the matching; its initial size is the number of seed edges accepted
+     */
+    public static CompactMatching findMaximumMatching(CompactBipartiteGraph graph, int[] seed) {
+        CapacityFlowNetwork network = new CapacityFlowNetwork(graph);
+        if (seed != null) {
+            network.seed(seed);
+        }
+        network.augmentAdmissible();
+        return network.toMatching();
+    }
+}
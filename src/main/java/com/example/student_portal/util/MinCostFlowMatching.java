@@ -0,0 +1,57 @@
+package com.example.student_portal.util;
+
+/**
+ * Capacity-aware bipartite matching of maximum size and, among those,
+ * minimum total edge cost (min-cost max-flow).
+ *
+ * Uses the same network as {@link MaxFlowMatching}, with the edge costs of
+ * the {@link CompactBipartiteGraph} on the left -> right arcs. It runs
+ * successive shortest paths with node potentials (primal-dual):
+ * - Dijkstra over reduced costs updates the potentials, so every residual
+ *   arc keeps a non-negative reduced cost;
+ * - Dinic then pushes a blocking flow over the zero reduced cost arcs,
+ *   i.e. along all currently shortest paths at once.
+ * With small integer preference costs the number of Dijkstra rounds is
+ * bounded by the longest augmenting path cost, not by the flow value.
+ */
+public final class MinCostFlowMatching {
+
+    private MinCostFlowMatching() { }
+
+    /**
+     * Finds a maximum capacity-respecting matching of minimum total cost.
+     *
+     * @param graph the compact bipartite graph with edge costs and optional right-node groups
+     * @return the matching, with the number of Dinic phases and augmenting paths
+     */
+    public static CompactMatching findMinimumCostMatching(CompactBipartiteGraph graph) {
+        CapacityFlowNetwork network = new CapacityFlowNetwork(graph);
+        network.enablePotentials();
+        while (network.updatePotentials()) {
+            network.augmentAdmissible();
+        }
+        return network.toMatching();
+    }
+
+    /**
+     * Total edge cost of a matching on the given graph.
+     */
+    public static long totalCost(CompactBipartiteGraph graph, CompactMatching matching) {
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        long total = 0;
+        for (int u = 0; u < graph.getLeftCount(); u++) {
+            int right = matching.getLeftToRight()[u];
+            if (right == CompactMatching.UNMATCHED) {
+                continue;
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (targets[e] == right) {
+                    total += graph.getEdgeCost(e);
+                    break;
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.student_portal.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Solves the connected components of a matching graph independently on a
+ * {@link ForkJoinPool} and merges them into one {@link CompactMatching}.
+ *
+ * A maximum (or min-cost maximum) matching of the whole graph is exactly
+ * the union of the per-component results, since no edge or capacity group
+ * crosses components. Components are scheduled largest first and small ones
+ * are solved in batches so the pool is not flooded with tiny tasks. An
+ * optional warm-start seed is split along the same components.
+ */
+public final class ParallelComponentMatching {
+
+    /** Components are split across tasks until a batch holds at most this many edges. */
+    private static final int SEQUENTIAL_EDGE_THRESHOLD = 20_000;
+
+    private ParallelComponentMatching() { }
+
+    /**
+     * Size and solve time of one component.
+     */
+    public static final class ComponentStats {
+        private final int leftCount;
+        private final int rightCount;
+        private final int edgeCount;
+        private final int matchingSize;
+        private final long solveNanos;
+
+        ComponentStats(int leftCount, int rightCount, int edgeCount, int matchingSize, long solveNanos) {
+            this.leftCount = leftCount;
+            this.rightCount = rightCount;
+            this.edgeCount = edgeCount;
+            this.matchingSize = matchingSize;
+            this.solveNanos = solveNanos;
+        }
+
+        public int getLeftCount() { return leftCount; }
+        public int getRightCount() { return rightCount; }
+        public int getEdgeCount() { return edgeCount; }
+        public int getMatchingSize() { return matchingSize; }
+        public long getSolveNanos() { return solveNanos; }
+    }
+
+    /**
+     * Merged matching plus per-component statistics, largest component first.
+     */
+    public static final class Result {
+        private final CompactMatching matching;
+        private final List<ComponentStats> components;
+
+        Result(CompactMatching matching, List<ComponentStats> components) {
+            this.matching = matching;
+            this.components = components;
+        }
+
+        public CompactMatching getMatching() { return matching; }
+        public List<ComponentStats> getComponents() { return components; }
+    }
+
+    /**
+     * Decomposes the graph and solves every component with the given solver.
+     *
+     * @param graph  the full graph
+     * @param solver matching engine applied to each component subgraph
+     * @param pool   pool to run component tasks on
+     */
+    public static Result solve(CompactBipartiteGraph graph, Function<CompactBipartiteGraph, CompactMatching> solver,
+                               ForkJoinPool pool) {
+        return solve(graph, (component, seed) -> solver.apply(component), null, pool);
+    }
+
+    /**
+     * Decomposes the graph and solves every component with the given solver,
+     * handing each one its part of the seed.
+     *
+     * @param graph  the full graph
+     * @param solver matching engine applied to each component subgraph and its local seed
+     * @param seed   initial right node per left node of the full graph, or null
+     * @param pool   pool to run component tasks on
+     */
+    public static Result solve(CompactBipartiteGraph graph, BiFunction<CompactBipartiteGraph, int[], CompactMatching> solver,
+                               int[] seed, ForkJoinPool pool) {
+        GraphComponents components = GraphComponents.find(graph);
+        int componentCount = components.getComponentCount();
+        if (componentCount <= 1) {
+            // Nothing to split: solve in place instead of copying the graph
+            long start = System.nanoTime();
+            CompactMatching matching = solver.apply(graph, seed);
+            List<ComponentStats> stats = componentCount == 0 ? Collections.emptyList()
+                : Collections.singletonList(new ComponentStats(components.getLeftCount(0), components.getRightCount(0),
+                    components.getEdgeCount(0), matching.getMatchingSize(), System.nanoTime() - start));
+            return new Result(matching, stats);
+        }
+
+        // Largest first, so the long tasks start early
+        Integer[] order = new Integer[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            order[c] = c;
+        }
+        Arrays.sort(order, Comparator.comparingInt(components::getEdgeCount).reversed());
+        long[] edgePrefix = new long[componentCount + 1];
+        for (int i = 0; i < componentCount; i++) {
+            edgePrefix[i + 1] = edgePrefix[i] + components.getEdgeCount(order[i]);
+        }
+
+        int[] leftToRight = new int[graph.getLeftCount()];
+        int[] rightToLeft = new int[graph.getRightCount()];
+        Arrays.fill(leftToRight, CompactMatching.UNMATCHED);
+        Arrays.fill(rightToLeft, CompactMatching.UNMATCHED);
+        ComponentResult[] results = new ComponentResult[componentCount];
+
+        pool.invoke(new SolveTask(components, solver, seed, order, edgePrefix, 0, componentCount,
+            leftToRight, rightToLeft, results));
+
+        // Each task wrote disjoint entries of the shared arrays; invoke() publishes them
+        int matchingSize = 0;
+        int maxPhases = 0;
+        int augmentations = 0;
+        int initialSize = 0;
+        int greedySize = 0;
+        int longestPath = 0;
+        List<ComponentStats> stats = new ArrayList<>(componentCount);
+        for (int i = 0; i < componentCount; i++) {
+            ComponentResult result = results[i];
+            matchingSize += result.matching.getMatchingSize();
+            maxPhases = Math.max(maxPhases, result.matching.getPhaseCount());
+            augmentations += result.matching.getAugmentationCount();
+            initialSize += result.matching.getInitialSize();
+            greedySize += result.matching.getGreedySize();
+            longestPath = Math.max(longestPath, result.matching.getLongestAugmentingPath());
+            int c = order[i];
+            stats.add(new ComponentStats(components.getLeftCount(c), components.getRightCount(c),
+                components.getEdgeCount(c), result.matching.getMatchingSize(), result.solveNanos));
+        }
+        CompactMatching merged = new CompactMatching(leftToRight, rightToLeft, matchingSize, maxPhases,
+            augmentations, initialSize, greedySize, longestPath);
+        return new Result(merged, Collections.unmodifiableList(stats));
+    }
+
+    private static final class ComponentResult {
+        final CompactMatching matching;
+        final long solveNanos;
+
+        ComponentResult(CompactMatching matching, long solveNanos) {
+            this.matching = matching;
+            this.solveNanos = solveNanos;
+        }
+    }
+
+    /**
+     * Solves components order[from .. to - 1], splitting the range in two
+     * (by edge count) while it holds more than one component and more than
+     * SEQUENTIAL_EDGE_THRESHOLD edges.
+     */
+    private static final class SolveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GraphComponents components;
+        private final BiFunction<CompactBipartiteGraph, int[], CompactMatching> solver;
+        private final int[] seed;
+        private final Integer[] order;
+        private final long[] edgePrefix;
+        private final int from;
+        private final int to;
+        private final int[] leftToRight;
+        private final int[] rightToLeft;
+        private final ComponentResult[] results;
+
+        SolveTask(GraphComponents components, BiFunction<CompactBipartiteGraph, int[], CompactMatching> solver,
+                  int[] seed, Integer[] order, long[] edgePrefix, int from, int to,
+                  int[] leftToRight, int[] rightToLeft, ComponentResult[] results) {
+            this.components = components;
+            this.solver = solver;
+            this.seed = seed;
+            this.order = order;
+            this.edgePrefix = edgePrefix;
+            this.from = from;
+            this.to = to;
+            this.leftToRight = leftToRight;
+            this.rightToLeft = rightToLeft;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && edgePrefix[to] - edgePrefix[from] > SEQUENTIAL_EDGE_THRESHOLD) {
+                // Split where half of the range's edges lie on each side
+                long half = (edgePrefix[from] + edgePrefix[to]) / 2;
+                int mid = Arrays.binarySearch(edgePrefix, from + 1, to, half);
+                mid = Math.max(from + 1, Math.min(to - 1, mid >= 0 ? mid : -mid - 1));
+                invokeAll(new SolveTask(components, solver, seed, order, edgePrefix, from, mid, leftToRight, rightToLeft, results),
+                          new SolveTask(components, solver, seed, order, edgePrefix, mid, to, leftToRight, rightToLeft, results));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                solveComponent(i);
+            }
+        }
+
+        private void solveComponent(int index) {
+            int c = order[index];
+            CompactBipartiteGraph subgraph = components.subgraph(c);
+            int[] localSeed = seed == null ? null : components.localAssignment(c, seed);
+            long start = System.nanoTime();
+            CompactMatching matching = solver.apply(subgraph, localSeed);
+            long solveNanos = System.nanoTime() - start;
+
+            int[] localLeftToRight = matching.getLeftToRight();
+            for (int u = 0; u < localLeftToRight.length; u++) {
+                if (localLeftToRight[u] != CompactMatching.UNMATCHED) {
+                    int left = components.globalLeft(c, u);
+                    int right = components.globalRight(c, localLeftToRight[u]);
+                    leftToRight[left] = right;
+                    rightToLeft[right] = left;
+                }
+            }
+            results[index] = new ComponentResult(matching, solveNanos);
+        }
+    }
+}
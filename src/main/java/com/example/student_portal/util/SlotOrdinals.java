@@ -0,0 +1,75 @@
+package com.example.student_portal.util;
+
+import com.example.student_portal.model.Period;
+
+import java.time.DayOfWeek;
+
+/**
+ * Fixed ordinal space for the school week used inside the matching engine.
+ *
+ * Monday to Friday times periods P1 to P7 gives 35 slots, numbered
+ * day-major (Monday P1 = 0, Monday P2 = 1, ..., Friday P7 = 34), so a set of
+ * slots fits in one long bitmask and two sets are compatible when their AND is
+ * non-zero. Timeslot labels are parsed once per run into this space instead of
+ * being compared as strings per candidate pair.
+ */
+public final class SlotOrdinals {
+
+    public static final int PERIODS = Period.values().length;
+    public static final int DAYS = 5;
+    public static final int COUNT = DAYS * PERIODS;
+
+    /** Returned for weekend days and labels that are not "Day Period N". */
+    public static final int NONE = -1;
+
+    private static final String PERIOD_SEPARATOR = " Period ";
+
+    private SlotOrdinals() { }
+
+    /**
+     * Ordinal of a weekday and period, or {@link #NONE} for a weekend day.
+     */
+    public static int of(DayOfWeek dayOfWeek, Period period) {
+        int day = dayOfWeek.getValue() - 1;
+        return day < DAYS ? day * PERIODS + period.ordinal() : NONE;
+    }
+
+    /**
+     * Ordinal of a timeslot label such as "Monday Period 3", or {@link #NONE}
+     * if the label does not follow that format.
+     */
+    public static int parse(String label) {
+        int separator = label.indexOf(PERIOD_SEPARATOR);
+        if (separator < 0 || label.length() != separator + PERIOD_SEPARATOR.length() + 1) {
+            return NONE;
+        }
+        int period = label.charAt(label.length() - 1) - '1';
+        if (period < 0 || period >= PERIODS) {
+            return NONE;
+        }
+        try {
+            return of(DayOfWeek.valueOf(label.substring(0, separator).toUpperCase()), Period.values()[period]);
+        } catch (IllegalArgumentException e) {
+            return NONE;
+        }
+    }
+
+    public static DayOfWeek dayOf(int ordinal) {
+        return DayOfWeek.of(ordinal / PERIODS + 1);
+    }
+
+    public static Period periodOf(int ordinal) {
+        return Period.values()[ordinal % PERIODS];
+    }
+
+    /**
+     * Single-slot mask for an ordinal.
+     */
+    public static long bit(int ordinal) {
+        return 1L << ordinal;
+    }
+
+    public static boolean contains(long mask, int ordinal) {
+        return (mask & bit(ordinal)) != 0;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Progress polling for admin matching jobs on the matching dashboard.
+ * Every unfinished job row is refreshed from its JSON status endpoint until
+ * the job completes or fails.
+ */
+
+const MATCHING_JOB_POLL_MILLIS = 1000;
+
+function renderMatchingJob(row, job) {
+    const set = (field, value) => {
+        const cell = row.querySelector(`[data-field="${field}"]`);
+        if (cell) {
+            cell.textContent = value;
+        }
+    };
+    set('stage', job.stage);
+    set('nodes', `${job.tuteeNodeCount} / ${job.tutorNodeCount} (${job.edgeCount} edges)`);
+    set('phases', `${job.phasesCompleted} in ${job.componentsSolved} components`);
+    set('matches', job.matchesPersisted);
+    set('elapsed', `${job.elapsedMillis} ms`);
+    set('result', job.stage === 'FAILED' ? job.failureMessage : (job.finished ? 'OK' : ''));
+}
+
+async function pollMatchingJob(row) {
+    try {
+        const response = await fetch(row.dataset.jobUrl, { headers: { 'Accept': 'application/json' } });
+        if (!response.ok) {
+            return; // job no longer retained
+        }
+        const job = await response.json();
+        renderMatchingJob(row, job);
+        if (job.finished) {
+            return;
+        }
+    } catch (error) {
+        console.warn('Polling matching job failed:', error);
+    }
+    setTimeout(() => pollMatchingJob(row), MATCHING_JOB_POLL_MILLIS);
+}
+
+document.addEventListener('DOMContentLoaded', () => {
+    document.querySelectorAll('tr[data-job-url][data-job-finished="false"]').forEach(pollMatchingJob);
+});
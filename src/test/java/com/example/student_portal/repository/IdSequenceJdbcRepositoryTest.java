@@ -0,0 +1,50 @@
+package com.example.student_portal.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.student_portal.repository.IdSequenceJdbcRepository.IdSequence;
+
+/**
+ * Unit tests for reserving pooled-lo id blocks and aligning sequences with existing ids.
+ */
+class IdSequenceJdbcRepositoryTest {
+
+    @Test
+    void testReservesIdsFromWholeBlocks() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("matches_seq"), eq(2)))
+            .thenReturn(List.of(101L, 301L));
+
+        long[] ids = new IdSequenceJdbcRepository(jdbcTemplate).reserveIds(IdSequence.MATCHES, 52);
+
+        assertEquals(52, ids.length);
+        assertEquals(101, ids[0]);
+        assertEquals(150, ids[49]);
+        assertEquals(301, ids[50]);
+        assertEquals(302, ids[51]);
+    }
+
+    @Test
+    void testAdvancesSequencePastExistingIdsOnly() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        // The first start still finds the identity; the second only reads
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class), eq("requests")))
+            .thenReturn(true, false);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT CASE WHEN is_called"), eq(Long.class))).thenReturn(1L, 1L);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COALESCE(MAX(id), 0)"), eq(Long.class))).thenReturn(840L, 0L);
+        IdSequenceJdbcRepository repository = new IdSequenceJdbcRepository(jdbcTemplate);
+
+        assertTrue(repository.alignWithTable(IdSequence.REQUESTS));
+        assertFalse(repository.alignWithTable(IdSequence.REQUESTS));
+
+        verify(jdbcTemplate, times(1)).execute("ALTER TABLE requests ALTER COLUMN id DROP IDENTITY");
+        verify(jdbcTemplate).queryForObject("SELECT setval(?::regclass, ?, false)", Long.class, "requests_seq", 841L);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.student_portal.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.student_portal.dto.MatchingPreview;
+import com.example.student_portal.model.RequestStatus;
+import com.example.student_portal.repository.IdSequenceJdbcRepository.IdSequence;
+
+/**
+ * Unit tests for the chunked match insert and set-based request update.
+ */
+class MatchJdbcRepositoryTest {
+
+    @Test
+    void testUpdatesRequestsInChunksWithOneStatementEach() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+            .thenAnswer(invocation -> (((Object[]) invocation.getRawArguments()[1]).length - 2) / 3);
+        MatchJdbcRepository repository = new MatchJdbcRepository(jdbcTemplate, mock(IdSequenceJdbcRepository.class));
+
+        Map<Long, Long> partners = new LinkedHashMap<>();
+        for (long id = 1; id <= MatchJdbcRepository.CHUNK_SIZE + 2; id++) {
+            partners.put(id, id + 10_000);
+        }
+
+        assertEquals(MatchJdbcRepository.CHUNK_SIZE + 2, repository.updateStatusAndPartner(partners,
+            RequestStatus.OUTSTANDING, RequestStatus.MATCHED));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> arguments = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(sql.capture(), arguments.capture());
+        String last = sql.getAllValues().get(1);
+        assertEquals("UPDATE requests SET status = ?, matched_partner_id = CASE id WHEN ? THEN ? WHEN ? THEN ? END"
+            + " WHERE id IN (?, ?) AND status = ?", last);
+        // status, then (id, partner) pairs, then ids, then the expected current status
+        assertArrayEquals(new Object[] { "MATCHED", 501L, 10_501L, 502L, 10_502L, 501L, 502L, "OUTSTANDING" },
+            arguments.getAllValues().get(1));
+    }
+
+    @Test
+    void testInsertsMatchesWithIdsReservedFromTheSequence() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        IdSequenceJdbcRepository idSequenceRepository = mock(IdSequenceJdbcRepository.class);
+        int count = MatchJdbcRepository.CHUNK_SIZE + 1;
+        long[] ids = new long[count];
+        List<MatchingPreview.ProposedMatch> matches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids[i] = 1_000 + i;
+            matches.add(new MatchingPreview.ProposedMatch((long) i, 10_000L + i, 7L, "Tutor", "Tutee", "Mathematics",
+                "Monday Period 1"));
+        }
+        when(idSequenceRepository.reserveIds(IdSequence.MATCHES, count)).thenReturn(ids);
+
+        new MatchJdbcRepository(jdbcTemplate, idSequenceRepository).insertAll(matches);
+
+        ArgumentCaptor<BatchPreparedStatementSetter> setters = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("INSERT INTO matches (id, "), setters.capture());
+        BatchPreparedStatementSetter last = setters.getAllValues().get(1);
+        assertEquals(1, last.getBatchSize());
+        PreparedStatement statement = mock(PreparedStatement.class);
+        last.setValues(statement, 0);
+        verify(statement).setLong(1, 1_000L + MatchJdbcRepository.CHUNK_SIZE);
+        verify(statement).setLong(3, 10_000L + MatchJdbcRepository.CHUNK_SIZE);
+    }
+}
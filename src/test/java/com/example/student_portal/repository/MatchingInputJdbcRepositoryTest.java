@@ -0,0 +1,112 @@
+package com.example.student_portal.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.example.student_portal.model.Period;
+import com.example.student_portal.repository.MatchingInputJdbcRepository.TuteeRequestRow;
+import com.example.student_portal.repository.MatchingInputJdbcRepository.TutorRequestRow;
+import com.example.student_portal.util.SlotOrdinals;
+
+/**
+ * Unit test for streaming a week's matching input from flat rows.
+ */
+class MatchingInputJdbcRepositoryTest {
+
+    private static final LocalDate WEEK = LocalDate.of(2026, 10, 19);
+
+    @Test
+    void testStreamsWeekInFiveQueriesAndFoldsTuteeTimeslots() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> replay(invocation, List.of(
+                new Object[] { 1L, "Monday Period 1" },
+                new Object[] { 2L, "Tuesday Period 3" },
+                new Object[] { 3L, "Lunch" })))
+            .when(jdbcTemplate).query(startsWith("SELECT id, label FROM timeslots"), any(RowCallbackHandler.class));
+        doAnswer(invocation -> replay(invocation, List.of(
+                new Object[] { 10L, "MONDAY", "P1" },
+                new Object[] { 10L, "SATURDAY", "P2" })))
+            .when(jdbcTemplate).query(startsWith("SELECT user_id, day_of_week"), any(RowCallbackHandler.class), any(Object[].class));
+        doAnswer(invocation -> replay(invocation, List.<Object[]>of(new Object[] { 10L, "P1" })))
+            .when(jdbcTemplate).query(startsWith("SELECT user_id, period"), any(RowCallbackHandler.class), any(Object[].class));
+        doAnswer(invocation -> replay(invocation, List.<Object[]>of(
+                new Object[] { 100L, 10L, 7L, "YEAR_12", "Tutor", null })))
+            .when(jdbcTemplate).query(contains("u.max_sessions_per_week"), any(RowCallbackHandler.class), any(Object[].class));
+        doAnswer(invocation -> replay(invocation, List.of(
+                new Object[] { 200L, 20L, 7L, "YEAR_10", "Tutee A", "Mathematics", 1L, 1 },
+                new Object[] { 200L, 20L, 7L, "YEAR_10", "Tutee A", "Mathematics", 2L, null },
+                new Object[] { 200L, 20L, 7L, "YEAR_10", "Tutee A", "Mathematics", 3L, 0 },
+                new Object[] { 201L, 21L, 7L, "YEAR_9", "Tutee B", "Mathematics", null, null })))
+            .when(jdbcTemplate).query(contains("s.name, rt.timeslot_id"), any(RowCallbackHandler.class), any(Object[].class));
+
+        List<String> calls = new ArrayList<>();
+        List<TutorRequestRow> tutors = new ArrayList<>();
+        List<TuteeRequestRow> tutees = new ArrayList<>();
+        new MatchingInputJdbcRepository(jdbcTemplate).loadWeek(WEEK, new MatchingInputJdbcRepository.Handler() {
+            public void timeslot(long timeslotId, int slot, String label) { calls.add("timeslot " + timeslotId); }
+            public void tutorAvailability(long tutorId, int slot, Period period) { calls.add("available " + slot); }
+            public void tutorPreferredPeriod(long tutorId, Period period) { calls.add("prefers " + period); }
+            public void tutorRequest(TutorRequestRow row) { calls.add("tutor " + row.requestId); tutors.add(row); }
+            public void tuteeRequest(TuteeRequestRow row) { calls.add("tutee " + row.requestId); tutees.add(row); }
+        });
+
+        // Labels and weekend availability outside the 35 weekday slots are dropped
+        assertEquals(List.of("timeslot 1", "timeslot 2", "available 0", "prefers P1", "tutor 100", "tutee 200", "tutee 201"),
+            calls);
+        assertNull(tutors.get(0).maxSessionsPerWeek);
+
+        TuteeRequestRow first = tutees.get(0);
+        int tuesdayP3 = SlotOrdinals.of(DayOfWeek.TUESDAY, Period.P3);
+        assertEquals(SlotOrdinals.bit(0) | SlotOrdinals.bit(tuesdayP3), first.slotMask);
+        assertEquals(2, first.getTimeslotCount());
+        assertEquals(1, first.rankOf(0));
+        assertEquals(0, first.rankOf(tuesdayP3));
+        assertEquals(0L, tutees.get(1).slotMask);
+        assertEquals(0, tutees.get(1).getTimeslotCount());
+
+        verify(jdbcTemplate, times(4)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    /**
+     * Feed rows to the RowCallbackHandler of a query call, one mocked
+     * ResultSet position per row with JDBC's null handling.
+     */
+    private static Object replay(InvocationOnMock invocation, List<Object[]> rows) throws Exception {
+        RowCallbackHandler handler = invocation.getArgument(1);
+        for (Object[] row : rows) {
+            boolean[] wasNull = new boolean[1];
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong(anyInt())).thenAnswer(call -> {
+                Object value = row[call.<Integer>getArgument(0) - 1];
+                wasNull[0] = value == null;
+                return value == null ? 0L : ((Number) value).longValue();
+            });
+            when(rs.getInt(anyInt())).thenAnswer(call -> {
+                Object value = row[call.<Integer>getArgument(0) - 1];
+                wasNull[0] = value == null;
+                return value == null ? 0 : ((Number) value).intValue();
+            });
+            when(rs.getString(anyInt())).thenAnswer(call -> {
+                Object value = row[call.<Integer>getArgument(0) - 1];
+                wasNull[0] = value == null;
+                return (String) value;
+            });
+            when(rs.wasNull()).thenAnswer(call -> wasNull[0]);
+            handler.processRow(rs);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.student_portal.service;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.student_portal.entity.AvailabilitySlot;
+import com.example.student_portal.entity.Request;
+import com.example.student_portal.entity.Timeslot;
+import com.example.student_portal.entity.User;
+import com.example.student_portal.model.Period;
+import com.example.student_portal.repository.MatchingInputJdbcRepository;
+import com.example.student_portal.repository.MatchingInputJdbcRepository.TuteeRequestRow;
+import com.example.student_portal.repository.MatchingInputJdbcRepository.TutorRequestRow;
+import com.example.student_portal.util.SlotOrdinals;
+
+/**
+ * Stand-in for {@link MatchingInputJdbcRepository} in unit tests: replays the
+ * outstanding requests returned by a (mocked) RequestService and the tutors'
+ * availability from an AvailabilityService as the rows the SQL loader
+ * produces, in the same order of calls. Requests keep the order in which the
+ * service returns them.
+ */
+final class EntityMatchingInput {
+
+    private EntityMatchingInput() { }
+
+    static MatchingInputJdbcRepository of(RequestService requestService, AvailabilityService availabilityService) {
+        MatchingInputJdbcRepository repository = mock(MatchingInputJdbcRepository.class);
+        doAnswer(invocation -> {
+            replay(requestService, availabilityService, invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(repository).loadWeek(any(), any());
+        return repository;
+    }
+
+    private static void replay(RequestService requestService, AvailabilityService availabilityService,
+                               LocalDate targetWeek, MatchingInputJdbcRepository.Handler handler) {
+        List<Request> tutorRequests = ofWeek(requestService.getOutstandingTutorRequests(), targetWeek);
+        List<Request> tuteeRequests = ofWeek(requestService.getOutstandingTuteeRequests(), targetWeek);
+
+        Set<Long> timeslotIds = new HashSet<>();
+        for (Request tuteeRequest : tuteeRequests) {
+            for (Timeslot timeslot : tuteeRequest.getPossibleTimeslots()) {
+                int slot = SlotOrdinals.parse(timeslot.getLabel());
+                if (slot != SlotOrdinals.NONE && timeslotIds.add(timeslot.getId())) {
+                    handler.timeslot(timeslot.getId(), slot, timeslot.getLabel());
+                }
+            }
+        }
+
+        Map<Long, User> tutors = new LinkedHashMap<>();
+        tutorRequests.forEach(request -> tutors.putIfAbsent(request.getUser().getId(), request.getUser()));
+        for (User tutor : tutors.values()) {
+            for (AvailabilitySlot availabilitySlot : availabilityService.getAvailabilitySlots(tutor)) {
+                int slot = SlotOrdinals.of(availabilitySlot.getDayOfWeek(), availabilitySlot.getPeriod());
+                if (slot != SlotOrdinals.NONE) {
+                    handler.tutorAvailability(tutor.getId(), slot, availabilitySlot.getPeriod());
+                }
+            }
+        }
+        for (User tutor : tutors.values()) {
+            for (Period period : tutor.getPreferredPeriods()) {
+                handler.tutorPreferredPeriod(tutor.getId(), period);
+            }
+        }
+
+        for (Request request : tutorRequests) {
+            handler.tutorRequest(new TutorRequestRow(request.getId(), request.getUser().getId(),
+                request.getSubject().getId(), request.getYearGroup(), request.getUser().getFullName(),
+                request.getUser().getMaxSessionsPerWeek()));
+        }
+        for (Request request : tuteeRequests) {
+            List<Timeslot> timeslots = new ArrayList<>();
+            for (Timeslot timeslot : request.getPossibleTimeslots()) {
+                if (SlotOrdinals.parse(timeslot.getLabel()) != SlotOrdinals.NONE) {
+                    timeslots.add(timeslot);
+                }
+            }
+            int[] slots = new int[timeslots.size()];
+            long[] ids = new long[timeslots.size()];
+            int[] ranks = new int[timeslots.size()];
+            for (int i = 0; i < timeslots.size(); i++) {
+                slots[i] = SlotOrdinals.parse(timeslots.get(i).getLabel());
+                ids[i] = timeslots.get(i).getId();
+                ranks[i] = request.getTimeslotRank(timeslots.get(i));
+            }
+            handler.tuteeRequest(new TuteeRequestRow(request.getId(), request.getUser().getId(),
+                request.getSubject().getId(), request.getYearGroup(), request.getUser().getFullName(),
+                request.getSubject().getName(), slots, ids, ranks));
+        }
+    }
+
+    private static List<Request> ofWeek(List<Request> requests, LocalDate targetWeek) {
+        List<Request> ofWeek = new ArrayList<>();
+        for (Request request : requests) {
+            if (targetWeek.equals(request.getTargetWeek())) {
+                ofWeek.add(request);
+            }
+        }
+        return ofWeek;
+    }
+}
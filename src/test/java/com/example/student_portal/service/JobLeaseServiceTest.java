@@ -0,0 +1,95 @@
+package com.example.student_portal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.student_portal.repository.JobLeaseJdbcRepository;
+
+/**
+ * Unit test for running a job under a database lease.
+ */
+class JobLeaseServiceTest {
+
+    private static final String JOB = "weekly-matching";
+    private static final String WEEK = "2026-10-19";
+
+    private JobLeaseJdbcRepository repository;
+    private TaskScheduler taskScheduler;
+    private ScheduledFuture<?> heartbeat;
+    private JobLeaseService jobLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(JobLeaseJdbcRepository.class);
+        taskScheduler = mock(TaskScheduler.class);
+        heartbeat = mock(ScheduledFuture.class);
+        doReturn(heartbeat).when(taskScheduler).scheduleAtFixedRate(any(Runnable.class), any(Duration.class));
+        jobLeaseService = new JobLeaseService(repository, taskScheduler, mock(PlatformTransactionManager.class),
+            Duration.ofMinutes(3), Duration.ofMinutes(5), 4);
+    }
+
+    @Test
+    void testFailedRunIsReleasedForRetryAndStopsHeartbeat() {
+        String owner = jobLeaseService.getOwner();
+        when(repository.start(JOB, owner, WEEK, 180_000, false)).thenReturn(true);
+        when(repository.release(JOB, owner, 300_000)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> jobLeaseService.runExclusively(JOB, WEEK, false, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        verify(taskScheduler).scheduleAtFixedRate(any(Runnable.class), eq(Duration.ofMinutes(1)));
+        verify(heartbeat).cancel(false);
+        verify(repository).release(JOB, owner, 300_000);
+        verify(repository, never()).complete(any(), any());
+    }
+
+    @Test
+    void testJobDoesNotPersistOnceItsLeaseIsLost() {
+        String owner = jobLeaseService.getOwner();
+        when(repository.start(JOB, owner, WEEK, 180_000, false)).thenReturn(true);
+        when(repository.heartbeat(JOB, owner, 180_000)).thenReturn(true, false);
+        AtomicBoolean persisted = new AtomicBoolean();
+
+        assertThrows(IllegalStateException.class, () -> jobLeaseService.runExclusively(JOB, WEEK, false, () -> {
+            jobLeaseService.checkHeld();
+            // Another node took the lease over while the job was still solving
+            ArgumentCaptor<Runnable> heartbeatTask = ArgumentCaptor.forClass(Runnable.class);
+            verify(taskScheduler).scheduleAtFixedRate(heartbeatTask.capture(), any(Duration.class));
+            heartbeatTask.getValue().run();
+            jobLeaseService.checkHeld();
+            persisted.set(true);
+        }));
+
+        assertFalse(persisted.get());
+        verify(repository, times(2)).heartbeat(JOB, owner, 180_000);
+        verify(repository).release(JOB, owner, 300_000);
+    }
+
+    @Test
+    void testJobIsSkippedWhenAnotherNodeHoldsTheLease() {
+        AtomicBoolean ran = new AtomicBoolean();
+        when(repository.start(anyString(), anyString(), anyString(), anyLong(), anyBoolean())).thenReturn(false);
+        when(repository.takeOver(anyString(), anyString(), anyString(), anyLong(), anyInt())).thenReturn(false);
+
+        assertFalse(jobLeaseService.runExclusively(JOB, WEEK, false, () -> ran.set(true)));
+        assertFalse(jobLeaseService.recoverAbandoned(JOB, WEEK, () -> ran.set(true)));
+
+        assertFalse(ran.get());
+        // A failed run is only taken over while it has retries left
+        verify(repository).takeOver(JOB, jobLeaseService.getOwner(), WEEK, 180_000, 4);
+        verifyNoInteractions(taskScheduler);
+        verify(repository, never()).complete(any(), any());
+    }
+}
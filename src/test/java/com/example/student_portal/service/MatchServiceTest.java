@@ -0,0 +1,64 @@
+package com.example.student_portal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.student_portal.dto.MatchingPreview;
+import com.example.student_portal.entity.Request;
+import com.example.student_portal.entity.Timeslot;
+import com.example.student_portal.model.RequestStatus;
+import com.example.student_portal.repository.MatchJdbcRepository;
+import com.example.student_portal.repository.MatchRepository;
+
+/**
+ * Unit tests for saving matches against requests that may have changed.
+ */
+class MatchServiceTest {
+
+    private static final LocalDate WEEK = LocalDate.of(2026, 10, 19);
+
+    @Test
+    void testRejectsWeekWhenARequestIsNoLongerOutstanding() {
+        MatchJdbcRepository matchJdbcRepository = mock(MatchJdbcRepository.class);
+        RequestService requestService = mock(RequestService.class);
+        MatchService matchService = new MatchService(mock(MatchRepository.class), matchJdbcRepository, requestService);
+        List<MatchingPreview.ProposedMatch> matches = List.of(
+            new MatchingPreview.ProposedMatch(1L, 2L, 3L, "Tutor", "Tutee", "Mathematics", "Monday Period 1"),
+            new MatchingPreview.ProposedMatch(1L, 4L, 5L, "Tutor", "Tutee", "Mathematics", "Tuesday Period 1"));
+        // Tutee request 4 was matched by another writer after the run loaded it
+        when(matchJdbcRepository.updateStatusAndPartner(anyMap(), eq(RequestStatus.OUTSTANDING),
+            eq(RequestStatus.MATCHED))).thenReturn(2);
+
+        assertThrows(IllegalStateException.class, () -> matchService.saveMatches(WEEK, matches));
+
+        verify(matchJdbcRepository, never()).insertAll(anyList());
+        verify(requestService, never()).publishStatusChanged(anyLong(), any(), any());
+    }
+
+    @Test
+    void testSingleMatchRejectsTuteeThatIsNoLongerOutstanding() {
+        MatchJdbcRepository matchJdbcRepository = mock(MatchJdbcRepository.class);
+        MatchRepository matchRepository = mock(MatchRepository.class);
+        RequestService requestService = mock(RequestService.class);
+        MatchService matchService = new MatchService(matchRepository, matchJdbcRepository, requestService);
+        Request tutorRequest = mock(Request.class);
+        Request tuteeRequest = mock(Request.class);
+        when(tutorRequest.getId()).thenReturn(1L);
+        when(tuteeRequest.getId()).thenReturn(2L);
+        when(matchJdbcRepository.updateStatusAndPartner(eq(Map.of(2L, 1L)), eq(RequestStatus.OUTSTANDING),
+            eq(RequestStatus.MATCHED))).thenReturn(0);
+
+        assertThrows(IllegalStateException.class,
+            () -> matchService.saveMatch(tutorRequest, tuteeRequest, mock(Timeslot.class)));
+
+        verify(matchRepository, never()).save(any());
+        verify(requestService, never()).updateStatus(anyLong(), any());
+    }
+}
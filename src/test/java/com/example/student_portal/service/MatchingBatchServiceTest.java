@@ -0,0 +1,88 @@
+package com.example.student_portal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.student_portal.dto.MatchingBatchReport;
+import com.example.student_portal.model.MatchingTrigger;
+import com.example.student_portal.service.MatchingService.PreparedWeek;
+
+/**
+ * Unit test for solving several weeks concurrently and writing them in order.
+ */
+class MatchingBatchServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 19);
+
+    private MatchingService matchingService;
+    private ExecutorService executor;
+    private MatchingBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        matchingService = mock(MatchingService.class);
+        executor = Executors.newFixedThreadPool(3);
+        batchService = new MatchingBatchService(matchingService, executor, mock(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testWeeksAreWrittenInOrderAndFailuresStayIsolated() {
+        PreparedWeek first = prepared(MONDAY, 2);
+        PreparedWeek second = prepared(MONDAY.plusWeeks(1), 0);
+        PreparedWeek third = prepared(MONDAY.plusWeeks(2), 1);
+        when(matchingService.prepareWeek(MONDAY)).thenReturn(first);
+        when(matchingService.prepareWeek(MONDAY.plusWeeks(1))).thenReturn(second);
+        when(matchingService.prepareWeek(MONDAY.plusWeeks(2))).thenReturn(third);
+        when(matchingService.commitPreparedWeek(eq(first), any(), any())).thenReturn(2);
+        when(matchingService.commitPreparedWeek(eq(second), any(), any())).thenThrow(new IllegalStateException("boom"));
+        when(matchingService.commitPreparedWeek(eq(third), any(), any())).thenReturn(1);
+
+        // A Wednesday start is moved back to its Monday
+        MatchingBatchReport report = batchService.runBatch(MONDAY.plusDays(2), 3, MatchingTrigger.ADMIN,
+            MatchingProgress.NONE);
+
+        assertEquals(MONDAY, report.getFirstWeek());
+        assertEquals(3, report.getWeeks().size());
+        assertEquals(3, report.getTotalMatches());
+        assertEquals(1, report.getFailedWeekCount());
+        assertEquals("boom", report.getWeeks().get(1).getFailureMessage());
+        assertEquals(2, report.getWeeks().get(0).getTuteeRequestCount());
+        assertTrue(report.getWeeks().get(2).isSucceeded());
+        assertSame(report, batchService.getLastReport());
+
+        // Every week goes through the guarded, recorded write path, in week order
+        InOrder writes = inOrder(matchingService);
+        writes.verify(matchingService).commitPreparedWeek(first, MatchingTrigger.ADMIN, MatchingProgress.NONE);
+        writes.verify(matchingService).commitPreparedWeek(second, MatchingTrigger.ADMIN, MatchingProgress.NONE);
+        writes.verify(matchingService).commitPreparedWeek(third, MatchingTrigger.ADMIN, MatchingProgress.NONE);
+    }
+
+    @Test
+    void testRejectsTooManyWeeks() {
+        assertThrows(IllegalArgumentException.class, () -> batchService.runBatch(MONDAY,
+            MatchingBatchService.MAX_WEEKS + 1, MatchingTrigger.ADMIN, MatchingProgress.NONE));
+    }
+
+    private PreparedWeek prepared(LocalDate week, int tuteeRequests) {
+        PreparedWeek prepared = mock(PreparedWeek.class);
+        when(prepared.getTargetWeek()).thenReturn(week);
+        when(prepared.getTuteeRequestCount()).thenReturn(tuteeRequests);
+        return prepared;
+    }
+}
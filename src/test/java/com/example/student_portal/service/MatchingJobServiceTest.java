@@ -0,0 +1,129 @@
+package com.example.student_portal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.student_portal.dto.MatchingJobStatus;
+import com.example.student_portal.model.MatchingStage;
+import com.example.student_portal.model.MatchingTrigger;
+import com.example.student_portal.util.MatchingAlgorithm;
+
+/**
+ * Unit test for running admin matching jobs in the background.
+ */
+class MatchingJobServiceTest {
+
+    private static final LocalDate WEEK = LocalDate.of(2026, 10, 19);
+
+    private MatchingAlgorithm matchingAlgorithm;
+    private MatchingService matchingService;
+    private MatchingPreviewService matchingPreviewService;
+    private ExecutorService executor;
+    private MatchingJobService matchingJobService;
+
+    @BeforeEach
+    void setUp() {
+        matchingAlgorithm = mock(MatchingAlgorithm.class);
+        matchingService = mock(MatchingService.class);
+        matchingPreviewService = mock(MatchingPreviewService.class);
+        executor = Executors.newSingleThreadExecutor();
+        matchingJobService = new MatchingJobService(matchingAlgorithm, matchingService, matchingPreviewService,
+            mock(MatchingBatchService.class), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSubmitReturnsAtOnceAndProgressIsVisibleWhileRunning() throws Exception {
+        CountDownLatch solving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(matchingService.performMatchingForWeek(eq(WEEK), eq(MatchingTrigger.ADMIN), any()))
+            .thenAnswer(invocation -> {
+                MatchingProgress progress = invocation.getArgument(2);
+                progress.stageStarted(MatchingStage.LOADING);
+                progress.stageStarted(MatchingStage.BUILDING);
+                progress.graphBuilt(120, 80, 900);
+                progress.stageStarted(MatchingStage.SOLVING);
+                progress.componentSolved(3);
+                progress.componentSolved(2);
+                solving.countDown();
+                assertTrue(release.await(30, TimeUnit.SECONDS));
+                progress.stageStarted(MatchingStage.PERSISTING);
+                progress.matchesPersisted(42);
+                return 42;
+            });
+
+        MatchingJobStatus submitted = matchingJobService.submitWeekRun(WEEK);
+        assertFalse(submitted.isFinished());
+
+        assertTrue(solving.await(30, TimeUnit.SECONDS));
+        MatchingJobStatus running = matchingJobService.getJob(submitted.getId());
+        assertEquals(MatchingStage.SOLVING, running.getStage());
+        assertEquals(120, running.getTuteeNodeCount());
+        assertEquals(80, running.getTutorNodeCount());
+        assertEquals(900, running.getEdgeCount());
+        assertEquals(2, running.getComponentsSolved());
+        assertEquals(5, running.getPhasesCompleted());
+        assertEquals(0, running.getMatchesPersisted());
+
+        release.countDown();
+        MatchingJobStatus finished = awaitFinished(submitted.getId());
+        assertEquals(MatchingStage.COMPLETED, finished.getStage());
+        assertEquals(42, finished.getMatchesPersisted());
+        assertNull(finished.getFailureMessage());
+        verify(matchingPreviewService).discard(WEEK);
+    }
+
+    @Test
+    void testFailedJobKeepsItsMessage() throws Exception {
+        doThrow(new IllegalStateException("Matching for week 2026-10-19 is already running on another node"))
+            .when(matchingAlgorithm).runMatching(eq(MatchingTrigger.ADMIN), any());
+
+        MatchingJobStatus submitted = matchingJobService.submitWeeklyRun();
+        MatchingJobStatus finished = awaitFinished(submitted.getId());
+
+        assertEquals(MatchingStage.FAILED, finished.getStage());
+        assertTrue(finished.getFailureMessage().contains("already running"));
+        assertNull(matchingJobService.getJob(submitted.getId() + 1));
+    }
+
+    @Test
+    void testOnlyRecentFinishedJobsAreRetained() throws Exception {
+        long lastId = 0;
+        for (int i = 0; i < MatchingJobService.RETAINED_JOBS + 5; i++) {
+            lastId = matchingJobService.submitWeekRun(WEEK.plusWeeks(i)).getId();
+            awaitFinished(lastId);
+        }
+
+        List<MatchingJobStatus> recent = matchingJobService.getRecentJobs();
+        assertTrue(recent.size() <= MatchingJobService.RETAINED_JOBS + 1);
+        assertEquals(lastId, recent.get(0).getId());
+        assertNull(matchingJobService.getJob(1));
+    }
+
+    private MatchingJobStatus awaitFinished(long id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        MatchingJobStatus job = matchingJobService.getJob(id);
+        while (!job.isFinished()) {
+            assertTrue(System.nanoTime() < deadline, "job " + id + " did not finish");
+            Thread.sleep(5);
+            job = matchingJobService.getJob(id);
+        }
+        return job;
+    }
+}
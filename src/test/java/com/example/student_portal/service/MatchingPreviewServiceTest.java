@@ -0,0 +1,83 @@
+package com.example.student_portal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.student_portal.dto.MatchingPreview;
+import com.example.student_portal.model.MatchingEngine;
+import com.example.student_portal.model.MatchingTrigger;
+import com.example.student_portal.service.MatchingService.PreparedWeek;
+
+/**
+ * Unit test for caching and committing matching previews.
+ */
+class MatchingPreviewServiceTest {
+
+    private static final LocalDate WEEK = LocalDate.of(2026, 10, 19);
+
+    private MatchingPreviewService previewService;
+    private MatchingService matchingService;
+    private PreparedWeek prepared;
+
+    @BeforeEach
+    void setUp() {
+        matchingService = mock(MatchingService.class);
+        previewService = new MatchingPreviewService(matchingService);
+
+        prepared = mock(PreparedWeek.class);
+        MatchingPreview preview = new MatchingPreview(WEEK, MatchingEngine.MAX_FLOW, 1, 1, 1, 1, 1, 1, 64, 0, 0, 0,
+            List.of(new MatchingPreview.ProposedMatch(1L, 2L, 3L, "Tutor", "Tutee", "Mathematics", "Monday Period 1")));
+        when(matchingService.prepareWeek(WEEK)).thenReturn(prepared);
+        when(matchingService.previewOf(prepared)).thenReturn(preview);
+        when(matchingService.commitPreparedWeek(eq(prepared), any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void testCommitWritesCachedWeekWithoutSolvingAgain() {
+        previewService.preview(WEEK);
+
+        assertEquals(1, previewService.commit(WEEK));
+
+        verify(matchingService, times(1)).prepareWeek(WEEK);
+        // Recorded like any other run
+        verify(matchingService).commitPreparedWeek(prepared, MatchingTrigger.ADMIN, MatchingProgress.NONE);
+        assertNull(previewService.getPreview(WEEK));
+        assertThrows(IllegalStateException.class, () -> previewService.commit(WEEK));
+    }
+
+    @Test
+    void testFailedCommitKeepsPreview() {
+        previewService.preview(WEEK);
+        // The guarded write finds the tutee request matched since the preview
+        when(matchingService.commitPreparedWeek(any(), any(), any()))
+            .thenThrow(new IllegalStateException("no longer outstanding"));
+
+        assertThrows(IllegalStateException.class, () -> previewService.commit(WEEK));
+
+        assertNotNull(previewService.getPreview(WEEK));
+    }
+
+    @Test
+    void testCommitDoesNotEvictANewerPreview() {
+        previewService.preview(WEEK);
+        PreparedWeek newer = mock(PreparedWeek.class);
+        when(matchingService.prepareWeek(WEEK)).thenReturn(newer);
+        when(matchingService.previewOf(newer)).thenReturn(MatchingPreview.empty(WEEK, MatchingEngine.MAX_FLOW, 0, 0, 0));
+        // Another admin previews the week again while the first commit writes
+        when(matchingService.commitPreparedWeek(eq(prepared), any(), any())).thenAnswer(invocation -> {
+            previewService.preview(WEEK);
+            return 1;
+        });
+
+        assertEquals(1, previewService.commit(WEEK));
+
+        assertEquals(0, previewService.getPreview(WEEK).getMatchCount());
+    }
+}
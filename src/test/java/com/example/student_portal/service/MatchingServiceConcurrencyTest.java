@@ -0,0 +1,250 @@
+package com.example.student_portal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.example.student_portal.dto.MatchingPreview;
+import com.example.student_portal.entity.AvailabilitySlot;
+import com.example.student_portal.entity.Request;
+import com.example.student_portal.entity.Subject;
+import com.example.student_portal.entity.Timeslot;
+import com.example.student_portal.entity.User;
+import com.example.student_portal.model.MatchingEngine;
+import com.example.student_portal.model.Period;
+import com.example.student_portal.model.RequestType;
+import com.example.student_portal.model.YearGroup;
+
+/**
+ * Stress test for concurrent matching runs sharing one MatchingService.
+ */
+class MatchingServiceConcurrencyTest {
+
+    private static final LocalDate FIRST_WEEK = LocalDate.of(2026, 10, 19);
+    private static final int WEEKS = 8;
+    private static final int ROUNDS = 5;
+
+    private RequestService requestService;
+    private AvailabilityService availabilityService;
+    private MatchService matchService;
+    private JobLeaseService jobLeaseService;
+    private MatchingService matchingService;
+    private ExecutorService executor;
+
+    private final Random random = new Random(11L);
+    private final Map<Request, LocalDate> weekByRequest = new HashMap<>();
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        requestService = mock(RequestService.class);
+        availabilityService = mock(AvailabilityService.class);
+        matchService = mock(MatchService.class);
+        // A single node: every week lease is granted
+        jobLeaseService = mock(JobLeaseService.class);
+        when(jobLeaseService.runExclusively(anyString(), anyString(), anyBoolean(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(3).run();
+            return true;
+        });
+        matchingService = new MatchingService(EntityMatchingInput.of(requestService, availabilityService), matchService,
+            mock(MatchingRunService.class), jobLeaseService, MatchingEngine.MAX_FLOW, false, ForkJoinPool.commonPool(),
+            new MatchingMetrics(new SimpleMeterRegistry()), null, mock(PlatformTransactionManager.class));
+        executor = Executors.newFixedThreadPool(WEEKS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentWeeksMatchExactlyAsSequentialRuns() throws Exception {
+        generateSchool();
+        Map<LocalDate, List<String>> expected = new HashMap<>();
+        for (int w = 0; w < WEEKS; w++) {
+            LocalDate week = FIRST_WEEK.plusWeeks(w);
+            expected.put(week, describe(matchingService.previewMatchingForWeek(week)));
+            assertFalse(expected.get(week).isEmpty());
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            CyclicBarrier start = new CyclicBarrier(WEEKS);
+            List<Future<MatchingPreview>> previews = new ArrayList<>();
+            for (int w = 0; w < WEEKS; w++) {
+                LocalDate week = FIRST_WEEK.plusWeeks(w);
+                previews.add(executor.submit(() -> {
+                    start.await();
+                    return matchingService.previewMatchingForWeek(week);
+                }));
+            }
+            for (int w = 0; w < WEEKS; w++) {
+                LocalDate week = FIRST_WEEK.plusWeeks(w);
+                MatchingPreview preview = previews.get(w).get(30, TimeUnit.SECONDS);
+                assertEquals(week, preview.getTargetWeek());
+                assertEquals(expected.get(week), describe(preview), "week " + week + " in round " + round);
+            }
+        }
+    }
+
+    @Test
+    void testSecondRunForTheSameWeekIsRejectedWhileOtherWeeksProceed() throws Exception {
+        generateSchool();
+        LocalDate blockedWeek = FIRST_WEEK;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Request> blockedTutees = requestsOf(blockedWeek, RequestType.TUTEE);
+        List<Request> otherTutees = requestsOf(FIRST_WEEK.plusWeeks(1), RequestType.TUTEE);
+        // The first run for the blocked week stalls while loading its requests
+        when(requestService.getOutstandingTuteeRequests())
+            .thenAnswer(invocation -> {
+                loading.countDown();
+                assertTrue(release.await(30, TimeUnit.SECONDS));
+                return blockedTutees;
+            })
+            .thenReturn(otherTutees);
+        when(matchService.saveMatches(any(), anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(1).size());
+
+        Future<Integer> first = executor.submit(() -> matchingService.performMatchingForWeek(blockedWeek));
+        assertTrue(loading.await(30, TimeUnit.SECONDS));
+
+        IllegalStateException rejected = assertThrows(IllegalStateException.class,
+            () -> matchingService.performMatchingForWeek(blockedWeek));
+        assertTrue(rejected.getMessage().contains(blockedWeek.toString()));
+        assertTrue(matchingService.performMatchingForWeek(FIRST_WEEK.plusWeeks(1)) > 0);
+
+        release.countDown();
+        assertTrue(first.get(30, TimeUnit.SECONDS) > 0);
+
+        // The week is free again once the first run has finished
+        when(requestService.getOutstandingTuteeRequests()).thenReturn(List.of());
+        assertEquals(0, matchingService.performMatchingForWeek(blockedWeek));
+    }
+
+    /**
+     * Shared tutors with fixed availability, and per week a tutor request for
+     * each tutor and a few dozen tutee requests over a handful of subjects.
+     */
+    private void generateSchool() {
+        List<Subject> subjects = new ArrayList<>();
+        for (String name : List.of("Mathematics", "Physics", "Chemistry")) {
+            Subject subject = new Subject(name);
+            ReflectionTestUtils.setField(subject, "id", nextId++);
+            subjects.add(subject);
+        }
+        List<Timeslot> timeslots = new ArrayList<>();
+        List<AvailabilitySlot> slots = new ArrayList<>();
+        for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY)) {
+            for (Period period : List.of(Period.P1, Period.P2, Period.P3)) {
+                String dayName = day.name().charAt(0) + day.name().substring(1).toLowerCase();
+                Timeslot timeslot = new Timeslot(dayName + " Period " + period.name().substring(1));
+                ReflectionTestUtils.setField(timeslot, "id", nextId++);
+                timeslots.add(timeslot);
+                slots.add(new AvailabilitySlot(null, day, period));
+            }
+        }
+
+        List<User> tutors = new ArrayList<>();
+        for (int t = 0; t < 20; t++) {
+            User tutor = user(YearGroup.values()[2 + random.nextInt(3)], 1 + random.nextInt(3));
+            List<AvailabilitySlot> available = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                AvailabilitySlot slot = slots.get(random.nextInt(slots.size()));
+                available.add(new AvailabilitySlot(tutor, slot.getDayOfWeek(), slot.getPeriod()));
+            }
+            when(availabilityService.getAvailabilitySlots(tutor)).thenReturn(available);
+            tutors.add(tutor);
+        }
+
+        List<Request> tutorRequests = new ArrayList<>();
+        List<Request> tuteeRequests = new ArrayList<>();
+        for (int w = 0; w < WEEKS; w++) {
+            LocalDate week = FIRST_WEEK.plusWeeks(w);
+            for (User tutor : tutors) {
+                tutorRequests.add(request(tutor, subjects.get(random.nextInt(subjects.size())), RequestType.TUTOR, week));
+            }
+            for (int i = 0; i < 40; i++) {
+                User tutee = user(YearGroup.values()[random.nextInt(3)], 3);
+                tuteeRequests.add(request(tutee, subjects.get(random.nextInt(subjects.size())), RequestType.TUTEE, week,
+                    timeslots.get(random.nextInt(timeslots.size())), timeslots.get(random.nextInt(timeslots.size()))));
+            }
+        }
+        when(requestService.getOutstandingTutorRequests()).thenReturn(tutorRequests);
+        when(requestService.getOutstandingTuteeRequests()).thenReturn(tuteeRequests);
+    }
+
+    private List<Request> requestsOf(LocalDate week, RequestType type) {
+        return weekByRequest.entrySet().stream()
+            .filter(entry -> entry.getValue().equals(week) && entry.getKey().getType() == type)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * The pairs of a preview as comparable strings, after checking every
+     * request in them belongs to the preview's week.
+     */
+    private List<String> describe(MatchingPreview preview) {
+        Set<Long> weekRequestIds = new HashSet<>();
+        weekByRequest.forEach((request, week) -> {
+            if (week.equals(preview.getTargetWeek())) {
+                weekRequestIds.add(request.getId());
+            }
+        });
+        return preview.getMatches().stream()
+            .peek(match -> {
+                assertTrue(weekRequestIds.contains(match.getTutorRequestId()));
+                assertTrue(weekRequestIds.contains(match.getTuteeRequestId()));
+            })
+            .map(match -> match.getTutorRequestId() + "-" + match.getTuteeRequestId() + "@" + match.getTimeslotId())
+            .collect(Collectors.toList());
+    }
+
+    private User user(YearGroup yearGroup, int maxSessions) {
+        User user = new User();
+        ReflectionTestUtils.setField(user, "id", nextId++);
+        user.setFullName("User " + user.getId());
+        user.setYearGroup(yearGroup);
+        user.setMaxSessionsPerWeek(maxSessions);
+        return user;
+    }
+
+    private Request request(User user, Subject subject, RequestType type, LocalDate week, Timeslot... timeslots) {
+        Request request = new Request();
+        ReflectionTestUtils.setField(request, "id", nextId++);
+        request.setUser(user);
+        request.setSubject(subject);
+        request.setType(type);
+        request.setYearGroup(user.getYearGroup());
+        request.setTargetWeek(week);
+        request.setPossibleTimeslots(Set.of(timeslots.length == 2 && timeslots[0] == timeslots[1]
+            ? new Timeslot[] { timeslots[0] } : timeslots));
+        weekByRequest.put(request, week);
+        return request;
+    }
+}
@@ -0,0 +1,475 @@
+package com.example.student_portal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.example.student_portal.dto.MatchingPreview;
+import com.example.student_portal.entity.AvailabilitySlot;
+import com.example.student_portal.entity.Match;
+import com.example.student_portal.entity.MatchingRun;
+import com.example.student_portal.entity.Request;
+import com.example.student_portal.entity.Subject;
+import com.example.student_portal.entity.SupplyShortage;
+import com.example.student_portal.entity.Timeslot;
+import com.example.student_portal.entity.User;
+import com.example.student_portal.model.MatchingEngine;
+import com.example.student_portal.model.MatchingStage;
+import com.example.student_portal.model.MatchingTrigger;
+import com.example.student_portal.model.Period;
+import com.example.student_portal.model.RequestType;
+import com.example.student_portal.model.YearGroup;
+import com.example.student_portal.util.MatchingSnapshot;
+
+/**
+ * Unit test for MatchingService graph construction and persistence.
+ */
+class MatchingServiceTest {
+
+    private static final LocalDate WEEK = LocalDate.of(2026, 10, 19);
+
+    private MatchingService matchingService;
+    private RequestService requestService;
+    private AvailabilityService availabilityService;
+    private MatchService matchService;
+    private JobLeaseService jobLeaseService;
+    private MatchingRunService matchingRunService;
+    private SimpleMeterRegistry meterRegistry;
+    private MatchingMetrics matchingMetrics;
+    private PlatformTransactionManager transactionManager;
+
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        requestService = mock(RequestService.class);
+        availabilityService = mock(AvailabilityService.class);
+        matchService = mock(MatchService.class);
+        matchingRunService = mock(MatchingRunService.class);
+        // A single node: every week lease is granted
+        jobLeaseService = mock(JobLeaseService.class);
+        when(jobLeaseService.runExclusively(anyString(), anyString(), anyBoolean(), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(3).run();
+            return true;
+        });
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        matchingMetrics = new MatchingMetrics(meterRegistry);
+        matchingService = new MatchingService(EntityMatchingInput.of(requestService, availabilityService), matchService, matchingRunService, jobLeaseService, MatchingEngine.MAX_FLOW, true, ForkJoinPool.commonPool(), matchingMetrics, null, transactionManager);
+        when(matchService.saveMatches(any(), anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(1).size());
+    }
+
+    @Test
+    void testMatchesOnlyEligibleTutorsInSameSubjectAndSlot() {
+        Subject maths = subject("Mathematics");
+        Subject physics = subject("Physics");
+        Timeslot mondayP1 = timeslot("Monday Period 1");
+        Timeslot tuesdayP2 = timeslot("Tuesday Period 2");
+
+        User seniorTutor = user(YearGroup.YEAR_12, 1);
+        User juniorTutor = user(YearGroup.YEAR_10, 1);
+        Request seniorMaths = request(seniorTutor, maths, RequestType.TUTOR);
+        Request seniorPhysics = request(seniorTutor, physics, RequestType.TUTOR);
+        Request juniorMaths = request(juniorTutor, maths, RequestType.TUTOR);
+        when(availabilityService.getAvailabilitySlots(seniorTutor))
+            .thenReturn(List.of(new AvailabilitySlot(seniorTutor, DayOfWeek.MONDAY, Period.P1)));
+        when(availabilityService.getAvailabilitySlots(juniorTutor))
+            .thenReturn(List.of(new AvailabilitySlot(juniorTutor, DayOfWeek.MONDAY, Period.P1)));
+
+        // Year 11 can only be tutored by the Year 12 tutor; the Tuesday slot has no supply
+        Request year11Maths = request(user(YearGroup.YEAR_11, 3), maths, RequestType.TUTEE, mondayP1, tuesdayP2);
+        Request year9Maths = request(user(YearGroup.YEAR_9, 3), maths, RequestType.TUTEE, mondayP1);
+
+        when(requestService.getOutstandingTutorRequests()).thenReturn(List.of(seniorMaths, seniorPhysics, juniorMaths));
+        when(requestService.getOutstandingTuteeRequests()).thenReturn(List.of(year11Maths, year9Maths));
+
+        int created = matchingService.performMatchingForWeek(WEEK);
+
+        assertEquals(2, created);
+        assertSaved(seniorMaths, year11Maths, mondayP1);
+        assertSaved(juniorMaths, year9Maths, mondayP1);
+        verify(requestService, never()).getRequestsByUser(any());
+        verify(availabilityService, times(1)).getAvailabilitySlots(seniorTutor);
+    }
+
+    @Test
+    void testTuteeRequestIsMatchedOnceAcrossItsSlots() {
+        Subject maths = subject("Mathematics");
+        Timeslot mondayP1 = timeslot("Monday Period 1");
+        Timeslot tuesdayP2 = timeslot("Tuesday Period 2");
+
+        // A free tutor in each of the tutee's slots
+        User mondayTutor = user(YearGroup.YEAR_12, 1);
+        User tuesdayTutor = user(YearGroup.YEAR_12, 1);
+        when(availabilityService.getAvailabilitySlots(mondayTutor))
+            .thenReturn(List.of(new AvailabilitySlot(mondayTutor, DayOfWeek.MONDAY, Period.P1)));
+        when(availabilityService.getAvailabilitySlots(tuesdayTutor))
+            .thenReturn(List.of(new AvailabilitySlot(tuesdayTutor, DayOfWeek.TUESDAY, Period.P2)));
+        Request mondayMaths = request(mondayTutor, maths, RequestType.TUTOR);
+        Request tuesdayMaths = request(tuesdayTutor, maths, RequestType.TUTOR);
+        Request tuteeMaths = request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP1, tuesdayP2);
+
+        when(requestService.getOutstandingTutorRequests()).thenReturn(List.of(mondayMaths, tuesdayMaths));
+        when(requestService.getOutstandingTuteeRequests()).thenReturn(List.of(tuteeMaths));
+
+        MatchingPreview preview = matchingService.previewMatchingForWeek(WEEK);
+
+        assertEquals(1, preview.getTuteeNodeCount());
+        assertEquals(2, preview.getEdgeCount());
+        assertEquals(1, preview.getMatchCount());
+        assertEquals(tuteeMaths.getId(), preview.getMatches().get(0).getTuteeRequestId());
+    }
+
+    @Test
+    void testMinCostFlowPrefersFirstChoiceAndPreferredPeriod() {
+        matchingService = new MatchingService(EntityMatchingInput.of(requestService, availabilityService), matchService, matchingRunService, jobLeaseService, MatchingEngine.MIN_COST_FLOW, true, ForkJoinPool.commonPool(), matchingMetrics, null, transactionManager);
+        Subject maths = subject("Mathematics");
+        Timeslot mondayP1 = timeslot("Monday Period 1");
+        Timeslot mondayP2 = timeslot("Monday Period 2");
+        Timeslot mondayP3 = timeslot("Monday Period 3");
+
+        // Tutor (cap 2) prefers P3; tutee A ranks P2 over P1, tutee B only wants P3
+        User tutor = user(YearGroup.YEAR_12, 2);
+        tutor.getPreferredPeriods().add(Period.P3);
+        Request tutorMaths = request(tutor, maths, RequestType.TUTOR);
+        when(availabilityService.getAvailabilitySlots(tutor)).thenReturn(List.of(
+            new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P1),
+            new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P2),
+            new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P3)));
+
+        Request tuteeA = request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP1, mondayP2);
+        tuteeA.getTimeslotRanks().put(mondayP1.getId(), 1);
+        tuteeA.getTimeslotRanks().put(mondayP2.getId(), 0);
+        Request tuteeB = request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP3);
+
+        when(requestService.getOutstandingTutorRequests()).thenReturn(List.of(tutorMaths));
+        when(requestService.getOutstandingTuteeRequests()).thenReturn(List.of(tuteeA, tuteeB));
+
+        int created = matchingService.performMatchingForWeek(WEEK);
+
+        assertEquals(2, created);
+        assertSaved(tutorMaths, tuteeA, mondayP2);
+        assertSaved(tutorMaths, tuteeB, mondayP3);
+    }
+
+    @Test
+    void testWarmStartKeepsLastWeeksPair() {
+        matchingService = new MatchingService(EntityMatchingInput.of(requestService, availabilityService), matchService, matchingRunService, jobLeaseService, MatchingEngine.HOPCROFT_KARP, true, ForkJoinPool.commonPool(), matchingMetrics, null, transactionManager);
+        Subject maths = subject("Mathematics");
+        Timeslot mondayP1 = timeslot("Monday Period 1");
+
+        // Both tutors fit; without a seed the first one listed would be chosen
+        User tutorA = user(YearGroup.YEAR_12, 1);
+        User tutorB = user(YearGroup.YEAR_12, 1);
+        User tutee = user(YearGroup.YEAR_10, 3);
+        for (User tutor : List.of(tutorA, tutorB)) {
+            when(availabilityService.getAvailabilitySlots(tutor))
+                .thenReturn(List.of(new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P1)));
+        }
+        Request tutorAMaths = request(tutorA, maths, RequestType.TUTOR);
+        Request tutorBMaths = request(tutorB, maths, RequestType.TUTOR);
+        Request tuteeMaths = request(tutee, maths, RequestType.TUTEE, mondayP1);
+        when(requestService.getOutstandingTutorRequests()).thenReturn(List.of(tutorBMaths, tutorAMaths));
+        when(requestService.getOutstandingTuteeRequests()).thenReturn(List.of(tuteeMaths));
+
+        // Last week the same tutee had tutor A in the same slot
+        Match lastWeek = new Match(request(tutorA, maths, RequestType.TUTOR), request(tutee, maths, RequestType.TUTEE, mondayP1), mondayP1);
+        when(matchService.findActiveMatchesForWeek(WEEK.minusWeeks(1))).thenReturn(List.of(lastWeek));
+
+        int created = matchingService.performMatchingForWeek(WEEK);
+
+        assertEquals(1, created);
+        assertSaved(tutorAMaths, tuteeMaths, mondayP1);
+    }
+
+    @Test
+    void testRecordsRunWithGraphSizeAndTrigger() {
+        Subject maths = subject("Mathematics");
+        Timeslot mondayP1 = timeslot("Monday Period 1");
+        User tutor = user(YearGroup.YEAR_12, 1);
+        when(availabilityService.getAvailabilitySlots(tutor))
+            .thenReturn(List.of(new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P1)));
+        when(requestService.getOutstandingTutorRequests()).thenReturn(List.of(request(tutor, maths, RequestType.TUTOR)));
+        when(requestService.getOutstandingTuteeRequests())
+            .thenReturn(List.of(request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP1)));
+
+        matchingService.performMatchingForWeek(WEEK, MatchingTrigger.CRON);
+
+        ArgumentCaptor<MatchingRun> captor = ArgumentCaptor.forClass(MatchingRun.class);
+        verify(matchingRunService).record(captor.capture());
+        MatchingRun run = captor.getValue();
+        assertEquals(WEEK, run.getTargetWeek());
+        assertEquals(MatchingTrigger.CRON, run.getTrigger());
+        assertEquals(MatchingEngine.MAX_FLOW, run.getEngine());
+        assertEquals(1, run.getTuteeNodeCount());
+        assertEquals(1, run.getTutorNodeCount());
+        assertEquals(1, run.getEdgeCount());
+        assertEquals(1, run.getMatchCount());
+        assertTrue(run.getPeakGraphBytes() > 0);
+        assertTrue(run.isSucceeded());
+    }
+
+    @Test
+    void testRecordsSupplyShortageOfTheContestedCluster() {
+        Subject maths = subject("Mathematics");
+        Timeslot mondayP1 = timeslot("Monday Period 1");
+        Timeslot tuesdayP1 = timeslot("Tuesday Period 1");
+        Timeslot mondayP2 = timeslot("Monday Period 2");
+        // Three Year 10 tutees want period 1, where one tutor has two sessions; one more tutee wants period 2
+        User tutor = user(YearGroup.YEAR_12, 3);
+        User otherTutor = user(YearGroup.YEAR_12, 1);
+        when(availabilityService.getAvailabilitySlots(tutor)).thenReturn(List.of(
+            new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P1), new AvailabilitySlot(tutor, DayOfWeek.TUESDAY, Period.P1)));
+        when(availabilityService.getAvailabilitySlots(otherTutor))
+            .thenReturn(List.of(new AvailabilitySlot(otherTutor, DayOfWeek.MONDAY, Period.P2)));
+        when(requestService.getOutstandingTutorRequests()).thenReturn(List.of(
+            request(tutor, maths, RequestType.TUTOR), request(otherTutor, maths, RequestType.TUTOR)));
+        when(requestService.getOutstandingTuteeRequests()).thenReturn(List.of(
+            request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP1),
+            request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP1, tuesdayP1),
+            request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, tuesdayP1),
+            request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP2)));
+
+        assertEquals(3, matchingService.performMatchingForWeek(WEEK, MatchingTrigger.CRON));
+
+        ArgumentCaptor<MatchingRun> captor = ArgumentCaptor.forClass(MatchingRun.class);
+        verify(matchingRunService).record(captor.capture());
+        MatchingRun run = captor.getValue();
+        assertEquals(1, run.getUnmatchedTuteeCount());
+        assertEquals(3, run.getVertexCoverSize());
+        assertEquals(1, run.getShortages().size());
+        SupplyShortage shortage = run.getShortages().get(0);
+        assertEquals("Mathematics", shortage.getSubjectName());
+        assertEquals(YearGroup.YEAR_10, shortage.getYearGroup());
+        assertEquals(Period.P1, shortage.getPeriod());
+        assertEquals(3, shortage.getRequestCount());
+        assertEquals(1, shortage.getUnmatchedCount());
+    }
+
+    @Test
+    void testCountsARequestListingSeveralPeriodsInOneClusterOnly() {
+        Subject maths = subject("Mathematics");
+        Timeslot mondayP1 = timeslot("Monday Period 1");
+        Timeslot mondayP2 = timeslot("Monday Period 2");
+        // One session across two periods for two tutees who both list both periods
+        User tutor = user(YearGroup.YEAR_12, 1);
+        when(availabilityService.getAvailabilitySlots(tutor)).thenReturn(List.of(
+            new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P1), new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P2)));
+        when(requestService.getOutstandingTutorRequests()).thenReturn(List.of(request(tutor, maths, RequestType.TUTOR)));
+        when(requestService.getOutstandingTuteeRequests()).thenReturn(List.of(
+            request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP1, mondayP2),
+            request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP1, mondayP2)));
+
+        assertEquals(1, matchingService.performMatchingForWeek(WEEK, MatchingTrigger.CRON));
+
+        ArgumentCaptor<MatchingRun> captor = ArgumentCaptor.forClass(MatchingRun.class);
+        verify(matchingRunService).record(captor.capture());
+        MatchingRun run = captor.getValue();
+        assertEquals(1, run.getUnmatchedTuteeCount());
+        assertEquals(1, run.getShortages().size());
+        SupplyShortage shortage = run.getShortages().get(0);
+        assertEquals(Period.P1, shortage.getPeriod());
+        assertEquals(2, shortage.getRequestCount());
+        assertEquals(1, shortage.getUnmatchedCount());
+    }
+
+    @Test
+    void testWritesSnapshotOfTheSolverInput(@TempDir Path directory) throws IOException {
+        matchingService = new MatchingService(EntityMatchingInput.of(requestService, availabilityService), matchService, matchingRunService, jobLeaseService, MatchingEngine.MAX_FLOW, true, ForkJoinPool.commonPool(), matchingMetrics, directory.toString(), transactionManager);
+        Subject maths = subject("Mathematics");
+        Timeslot mondayP1 = timeslot("Monday Period 1");
+        User tutor = user(YearGroup.YEAR_12, 1);
+        when(availabilityService.getAvailabilitySlots(tutor))
+            .thenReturn(List.of(new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P1)));
+        when(requestService.getOutstandingTutorRequests()).thenReturn(List.of(request(tutor, maths, RequestType.TUTOR)));
+        Request tuteeMaths = request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP1);
+        when(requestService.getOutstandingTuteeRequests()).thenReturn(List.of(tuteeMaths));
+
+        matchingService.performMatchingForWeek(WEEK, MatchingTrigger.CRON);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.toList();
+        }
+        assertEquals(1, files.size());
+        MatchingSnapshot snapshot = MatchingSnapshot.read(files.get(0));
+        assertEquals(WEEK, snapshot.getTargetWeek());
+        assertEquals(MatchingEngine.MAX_FLOW, snapshot.getEngine());
+        assertEquals((long) tuteeMaths.getId(), snapshot.getLeftRequestId(0));
+        assertEquals((long) tutor.getId(), snapshot.getRightTutorId(0));
+        assertEquals(1, snapshot.getMatching().getMatchingSize());
+    }
+
+    @Test
+    void testReportsProgressThroughEachStage() {
+        Subject maths = subject("Mathematics");
+        Timeslot mondayP1 = timeslot("Monday Period 1");
+        User tutor = user(YearGroup.YEAR_12, 1);
+        when(availabilityService.getAvailabilitySlots(tutor))
+            .thenReturn(List.of(new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P1)));
+        when(requestService.getOutstandingTutorRequests()).thenReturn(List.of(request(tutor, maths, RequestType.TUTOR)));
+        when(requestService.getOutstandingTuteeRequests())
+            .thenReturn(List.of(request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP1)));
+        MatchingProgress progress = mock(MatchingProgress.class);
+
+        matchingService.performMatchingForWeek(WEEK, MatchingTrigger.ADMIN, progress);
+
+        InOrder inOrder = inOrder(progress);
+        inOrder.verify(progress).stageStarted(MatchingStage.LOADING);
+        inOrder.verify(progress).stageStarted(MatchingStage.BUILDING);
+        inOrder.verify(progress).graphBuilt(1, 1, 1);
+        inOrder.verify(progress).stageStarted(MatchingStage.SOLVING);
+        inOrder.verify(progress).componentSolved(anyInt());
+        inOrder.verify(progress).stageStarted(MatchingStage.PERSISTING);
+        inOrder.verify(progress).matchesPersisted(1);
+    }
+
+    @Test
+    void testPublishesRunMetricsIncludingPairsDroppedByTheWeeklyCap() {
+        matchingService = new MatchingService(EntityMatchingInput.of(requestService, availabilityService), matchService, matchingRunService, jobLeaseService, MatchingEngine.HOPCROFT_KARP, false, ForkJoinPool.commonPool(), matchingMetrics, null, transactionManager);
+        Subject maths = subject("Mathematics");
+        Timeslot mondayP1 = timeslot("Monday Period 1");
+        Timeslot mondayP2 = timeslot("Monday Period 2");
+        // One session a week, but the cloned model has a node in each of two slots
+        User tutor = user(YearGroup.YEAR_12, 1);
+        when(availabilityService.getAvailabilitySlots(tutor)).thenReturn(List.of(
+            new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P1), new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P2)));
+        when(requestService.getOutstandingTutorRequests()).thenReturn(List.of(request(tutor, maths, RequestType.TUTOR)));
+        when(requestService.getOutstandingTuteeRequests()).thenReturn(List.of(
+            request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP1),
+            request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP2)));
+
+        assertEquals(1, matchingService.performMatchingForWeek(WEEK, MatchingTrigger.CRON));
+
+        assertEquals(1.0, meterRegistry.get("matching.runs").tag("trigger", "CRON").tag("outcome", "success").counter().count());
+        assertEquals(1.0, meterRegistry.get("matching.matches.created").counter().count());
+        assertEquals(1.0, meterRegistry.get("matching.matches.dropped").counter().count());
+        assertEquals(0.5, meterRegistry.get("matching.last.match.rate").gauge().value());
+        assertEquals(2.0, meterRegistry.get("matching.last.edges").gauge().value());
+        assertEquals(1.0, meterRegistry.get("matching.last.augmenting.path.longest").gauge().value());
+        for (String stage : List.of("load", "build", "solve", "persist")) {
+            assertEquals(1, meterRegistry.get("matching.stage.duration").tag("stage", stage).tag("engine", "HOPCROFT_KARP")
+                .timer().count());
+        }
+    }
+
+    @Test
+    void testPreviewProposesPairsWithoutSaving() {
+        Subject maths = subject("Mathematics");
+        Timeslot mondayP1 = timeslot("Monday Period 1");
+        User tutor = user(YearGroup.YEAR_12, 1);
+        when(availabilityService.getAvailabilitySlots(tutor))
+            .thenReturn(List.of(new AvailabilitySlot(tutor, DayOfWeek.MONDAY, Period.P1)));
+        Request tutorMaths = request(tutor, maths, RequestType.TUTOR);
+        Request tuteeMaths = request(user(YearGroup.YEAR_10, 3), maths, RequestType.TUTEE, mondayP1);
+        when(requestService.getOutstandingTutorRequests()).thenReturn(List.of(tutorMaths));
+        when(requestService.getOutstandingTuteeRequests()).thenReturn(List.of(tuteeMaths));
+
+        MatchingPreview preview = matchingService.previewMatchingForWeek(WEEK);
+
+        assertEquals(WEEK, preview.getTargetWeek());
+        assertEquals(1, preview.getMatchCount());
+        assertEquals(1, preview.getEdgeCount());
+        MatchingPreview.ProposedMatch proposed = preview.getMatches().get(0);
+        assertEquals(tutorMaths.getId(), proposed.getTutorRequestId());
+        assertEquals(tuteeMaths.getId(), proposed.getTuteeRequestId());
+        assertEquals(mondayP1.getId(), proposed.getTimeslotId());
+        assertEquals("Monday Period 1", proposed.getTimeslotLabel());
+        verify(matchService, never()).saveMatches(any(), any());
+    }
+
+    @Test
+    void testRunIsRejectedWhileAnotherNodeWritesTheWeek() {
+        when(jobLeaseService.runExclusively(eq(MatchingService.WEEK_LEASE_PREFIX + WEEK), eq(WEEK.toString()), eq(true),
+            any())).thenReturn(false);
+
+        IllegalStateException rejected = assertThrows(IllegalStateException.class,
+            () -> matchingService.performMatchingForWeek(WEEK, MatchingTrigger.ADMIN));
+
+        assertTrue(rejected.getMessage().contains("another node"));
+        verify(requestService, never()).getOutstandingTuteeRequests();
+        verify(matchService, never()).saveMatches(any(), any());
+        // The guard is released: the next writer of the week gets through locally
+        doReturn(true).when(jobLeaseService).runExclusively(anyString(), anyString(), anyBoolean(), any());
+        assertNull(matchingService.runExclusively(WEEK, () -> null));
+    }
+
+    @Test
+    void testWriteCommitsBeforeTheWeekLeaseIsReleased() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(3).run();
+            // Still holding the lease: the next writer must see the committed matches
+            verify(transactionManager).commit(any());
+            return true;
+        }).when(jobLeaseService).runExclusively(anyString(), anyString(), anyBoolean(), any());
+
+        assertEquals(1, matchingService.runExclusively(WEEK, () -> 1));
+    }
+
+    private void assertSaved(Request tutorRequest, Request tuteeRequest, Timeslot timeslot) {
+        ArgumentCaptor<List<MatchingPreview.ProposedMatch>> captor = proposedMatchCaptor();
+        verify(matchService).saveMatches(eq(WEEK), captor.capture());
+        assertTrue(captor.getValue().stream().anyMatch(match -> match.getTutorRequestId().equals(tutorRequest.getId())
+                && match.getTuteeRequestId().equals(tuteeRequest.getId()) && match.getTimeslotId().equals(timeslot.getId())),
+            "expected match " + tutorRequest.getId() + " -> " + tuteeRequest.getId() + " at " + timeslot.getLabel());
+    }
+
+    // The one unchecked conversion: a Class literal cannot carry List's type argument
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<MatchingPreview.ProposedMatch>> proposedMatchCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private Subject subject(String name) {
+        Subject subject = new Subject(name);
+        ReflectionTestUtils.setField(subject, "id", nextId++);
+        return subject;
+    }
+
+    private Timeslot timeslot(String label) {
+        Timeslot timeslot = new Timeslot(label);
+        ReflectionTestUtils.setField(timeslot, "id", nextId++);
+        return timeslot;
+    }
+
+    private User user(YearGroup yearGroup, int maxSessions) {
+        User user = new User();
+        ReflectionTestUtils.setField(user, "id", nextId++);
+        user.setFullName("User " + user.getId());
+        user.setYearGroup(yearGroup);
+        user.setMaxSessionsPerWeek(maxSessions);
+        return user;
+    }
+
+    private Request request(User user, Subject subject, RequestType type, Timeslot... timeslots) {
+        Request request = new Request();
+        ReflectionTestUtils.setField(request, "id", nextId++);
+        request.setUser(user);
+        request.setSubject(subject);
+        request.setType(type);
+        request.setYearGroup(user.getYearGroup());
+        request.setTargetWeek(WEEK);
+        request.setPossibleTimeslots(Set.of(timeslots));
+        return request;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.student_portal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.student_portal.entity.Request;
+import com.example.student_portal.entity.Subject;
+import com.example.student_portal.entity.Timeslot;
+import com.example.student_portal.entity.User;
+import com.example.student_portal.model.RequestStatus;
+import com.example.student_portal.model.RequestType;
+import com.example.student_portal.model.YearGroup;
+
+/**
+ * Unit test for generating next week's requests from recurring pairs,
+ * against an in-memory list of requests.
+ */
+class RecurrenceServiceTest {
+
+    private static final LocalDate WEEK = LocalDate.of(2026, 10, 19);
+
+    private final List<Request> requests = new ArrayList<>();
+    private long nextId = 1;
+    private RecurrenceService recurrenceService;
+
+    @BeforeEach
+    void setUp() {
+        RequestService requestService = mock(RequestService.class);
+        when(requestService.getRecurringMatchedTuteeRequests(any())).thenAnswer(invocation -> requests.stream()
+            .filter(r -> r.getType() == RequestType.TUTEE && r.getStatus() == RequestStatus.MATCHED)
+            .filter(r -> r.isRecurring() && r.getTargetWeek().equals(invocation.getArgument(0)))
+            .toList());
+        when(requestService.hasRequestForWeek(any(), any(), any(), any())).thenAnswer(invocation -> requests.stream()
+            .anyMatch(r -> r.getUser() == invocation.getArgument(0) && r.getSubject() == invocation.getArgument(1)
+                && r.getType() == invocation.getArgument(2) && r.getTargetWeek().equals(invocation.getArgument(3))));
+        when(requestService.createRequest(any(Request.class))).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            ReflectionTestUtils.setField(request, "id", nextId++);
+            requests.add(request);
+            return request;
+        });
+        recurrenceService = new RecurrenceService(requestService, new MatchingMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void testMatchedRecurringPairIsCarriedToTheNextWeekOnce() {
+        Request tutee = matchedRecurringPair();
+        Request tutor = tutee.getMatchedPartner();
+
+        recurrenceService.generateRecurringRequestsForWeek(WEEK.plusWeeks(1));
+        // The new pair is not matched yet, and the old one is two weeks back
+        recurrenceService.generateRecurringRequestsForWeek(WEEK.plusWeeks(2));
+
+        List<Request> generated = requests.subList(2, requests.size());
+        assertEquals(2, generated.size());
+        assertTrue(generated.stream().allMatch(r -> r.getTargetWeek().equals(WEEK.plusWeeks(1))));
+        assertTrue(generated.stream().allMatch(r -> r.getStatus() == RequestStatus.OUTSTANDING && r.isRecurring()));
+        assertEquals(Set.of(tutor.getUser(), tutee.getUser()),
+            Set.of(generated.get(0).getUser(), generated.get(1).getUser()));
+    }
+
+    @Test
+    void testRetryingAWeekDoesNotDuplicateItsPairs() {
+        matchedRecurringPair();
+
+        // A failed weekly run is retried, generation included
+        recurrenceService.generateRecurringRequestsForWeek(WEEK.plusWeeks(1));
+        recurrenceService.generateRecurringRequestsForWeek(WEEK.plusWeeks(1));
+
+        assertEquals(4, requests.size());
+    }
+
+    /**
+     * A tutor and tutee request of WEEK, matched to each other and both recurring.
+     *
+     * @return the tutee request
+     */
+    private Request matchedRecurringPair() {
+        Subject maths = new Subject("Mathematics");
+        Timeslot mondayP1 = new Timeslot("Monday Period 1");
+        Request tutor = request(user(YearGroup.YEAR_12), maths, RequestType.TUTOR, mondayP1);
+        Request tutee = request(user(YearGroup.YEAR_10), maths, RequestType.TUTEE, mondayP1);
+        // Both sides point at each other, as the bulk persist links them
+        tutor.setMatchedPartner(tutee);
+        tutee.setMatchedPartner(tutor);
+        return tutee;
+    }
+
+    private User user(YearGroup yearGroup) {
+        User user = new User();
+        ReflectionTestUtils.setField(user, "id", nextId++);
+        user.setFullName("User " + user.getId());
+        user.setYearGroup(yearGroup);
+        return user;
+    }
+
+    private Request request(User user, Subject subject, RequestType type, Timeslot... timeslots) {
+        Request request = new Request();
+        ReflectionTestUtils.setField(request, "id", nextId++);
+        request.setUser(user);
+        request.setSubject(subject);
+        request.setType(type);
+        request.setYearGroup(user.getYearGroup());
+        request.setTargetWeek(WEEK);
+        request.setStatus(RequestStatus.MATCHED);
+        request.setIsRecurring(true);
+        request.setPossibleTimeslots(Set.of(timeslots));
+        requests.add(request);
+        return request;
+    }
+}
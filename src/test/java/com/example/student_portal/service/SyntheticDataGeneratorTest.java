@@ -0,0 +1,119 @@
+package com.example.student_portal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.student_portal.repository.BulkLoadJdbcRepository;
+import com.example.student_portal.repository.BulkLoadJdbcRepository.Table;
+
+class SyntheticDataGeneratorTest {
+
+    private static final LocalDate UPCOMING_WEEK = LocalDate.of(2026, 10, 19);
+
+    private BulkLoadJdbcRepository repository;
+    private PasswordEncoder passwordEncoder;
+    private final Map<Table, List<Object[]>> rows = new EnumMap<>(Table.class);
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(BulkLoadJdbcRepository.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(any())).thenReturn("hash");
+
+        Map<String, Long> subjects = new LinkedHashMap<>();
+        for (String name : List.of("Mathematics", "Physics", "Chemistry", "Biology")) {
+            subjects.put(name, 100L + subjects.size());
+        }
+        Map<String, Long> timeslots = new LinkedHashMap<>();
+        for (String day : List.of("Monday", "Tuesday", "Wednesday", "Thursday", "Friday")) {
+            for (int period = 1; period <= 7; period++) {
+                timeslots.put(day + " Period " + period, 1_000L + timeslots.size());
+            }
+        }
+        when(repository.findSubjectIds()).thenReturn(subjects);
+        when(repository.findTimeslotIds()).thenReturn(timeslots);
+
+        AtomicLong nextId = new AtomicLong(1);
+        when(repository.reserveIds(any(), anyInt())).thenAnswer(invocation ->
+            LongStream.range(0, invocation.<Integer>getArgument(1)).map(i -> nextId.getAndIncrement()).toArray());
+        doAnswer(invocation -> {
+            rows.computeIfAbsent(invocation.getArgument(0), table -> new ArrayList<>())
+                .addAll(invocation.<List<Object[]>>getArgument(1));
+            return null;
+        }).when(repository).insert(any(), anyList());
+    }
+
+    @Test
+    void testGeneratesConsistentSchoolWithMatchedPastWeeks() {
+        new SyntheticDataGenerator(repository, passwordEncoder, 400, 3, 2, "password", 7L).generate(UPCOMING_WEEK);
+
+        List<Object[]> users = rows.get(Table.USERS);
+        assertEquals(400, users.size());
+        Map<Long, Integer> maxSessions = new HashMap<>();
+        for (Object[] user : users) {
+            assertTrue(((String) user[2]).matches("synthetic\\.\\d+@bromsgrove-school\\.co\\.uk"));
+            maxSessions.put((Long) user[0], (Integer) user[7]);
+        }
+
+        Map<Long, Object[]> requests = new HashMap<>();
+        for (Object[] request : rows.get(Table.REQUESTS)) {
+            assertTrue(maxSessions.containsKey((Long) request[1]));
+            requests.put((Long) request[0], request);
+        }
+        Map<Long, Set<Long>> timeslotsByRequest = new HashMap<>();
+        for (Object[] requestTimeslot : rows.get(Table.REQUEST_TIMESLOTS)) {
+            timeslotsByRequest.computeIfAbsent((Long) requestTimeslot[0], id -> new HashSet<>()).add((Long) requestTimeslot[1]);
+        }
+
+        List<Object[]> matches = rows.get(Table.MATCHES);
+        assertFalse(matches.isEmpty());
+        Set<Long> matchedRequests = new HashSet<>();
+        Map<String, Integer> sessionsByTutorWeek = new HashMap<>();
+        for (Object[] match : matches) {
+            Object[] tutorRequest = requests.get((Long) match[0]);
+            Object[] tuteeRequest = requests.get((Long) match[1]);
+            assertEquals("TUTOR", tutorRequest[3]);
+            assertEquals("TUTEE", tuteeRequest[3]);
+            assertEquals(tutorRequest[2], tuteeRequest[2]);
+            assertEquals(tutorRequest[6], tuteeRequest[6]);
+            assertNotEquals(UPCOMING_WEEK, tuteeRequest[6]);
+            assertTrue(timeslotsByRequest.get((Long) match[1]).contains((Long) match[2]));
+            assertTrue(matchedRequests.add((Long) match[0]));
+            assertTrue(matchedRequests.add((Long) match[1]));
+            int sessions = sessionsByTutorWeek.merge(tutorRequest[1] + "@" + tutorRequest[6], 1, Integer::sum);
+            assertTrue(sessions <= maxSessions.get((Long) tutorRequest[1]));
+        }
+        for (Object[] request : requests.values()) {
+            assertEquals(matchedRequests.contains((Long) request[0]) ? "MATCHED" : "OUTSTANDING", request[4]);
+        }
+        assertEquals(2 * matches.size(), rows.get(Table.CHAT_MESSAGES).size());
+        verify(repository).linkMatchedPartners();
+    }
+
+    @Test
+    void testSkipsWhenSyntheticUsersExist() {
+        when(repository.existsUserWithEmailLike("synthetic.%")).thenReturn(true);
+
+        new SyntheticDataGenerator(repository, passwordEncoder, 400, 3, 2, "password", 7L).run();
+
+        verify(repository, never()).reserveIds(any(), anyInt());
+        verify(repository, never()).insert(any(), anyList());
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.student_portal.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the Hopcroft-Karp solver on both graph representations.
+ */
+class HopcroftKarpTest {
+
+    @Test
+    void testCompactGraphFindsPerfectMatching() {
+        // L0-{R0,R1}, L1-{R0}, L2-{R1,R2}: greedy L0->R0 must be re-routed
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        for (int i = 0; i < 3; i++) {
+            builder.addLeftNode();
+            builder.addRightNode();
+        }
+        builder.addEdge(0, 0);
+        builder.addEdge(0, 1);
+        builder.addEdge(1, 0);
+        builder.addEdge(2, 1);
+        builder.addEdge(2, 2);
+        CompactBipartiteGraph graph = builder.build();
+
+        assertEquals(5, graph.getEdgeCount());
+        assertEquals(2, graph.getDegree(0));
+
+        CompactMatching matching = HopcroftKarp.findMaximumMatching(graph);
+
+        assertEquals(3, matching.getMatchingSize());
+        assertEquals(0, matching.getLeftToRight()[1]);
+        for (int u = 0; u < 3; u++) {
+            int v = matching.getLeftToRight()[u];
+            assertEquals(u, matching.getRightToLeft()[v]);
+        }
+    }
+
+    @Test
+    void testCompactGraphWithUnmatchableNodes() {
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        builder.addLeftNode();
+        builder.addLeftNode();
+        builder.addLeftNode();
+        builder.addRightNode();
+        builder.addEdge(0, 0);
+        builder.addEdge(1, 0);
+
+        CompactMatching matching = HopcroftKarp.findMaximumMatching(builder.build());
+
+        assertEquals(1, matching.getMatchingSize());
+        assertFalse(matching.isLeftNodeMatched(2));
+        assertTrue(matching.isRightNodeMatched(0));
+    }
+
+    @Test
+    void testLongAlternatingPathDoesNotOverflowStack() {
+        // Left i prefers right i+1, so the first phase leaves the last left node
+        // free and the second phase needs one augmenting path through every node.
+        int n = 200_000;
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        for (int i = 0; i < n; i++) {
+            builder.addLeftNode();
+            builder.addRightNode();
+        }
+        for (int i = 0; i < n; i++) {
+            if (i + 1 < n) {
+                builder.addEdge(i, i + 1);
+            }
+            builder.addEdge(i, i);
+        }
+
+        CompactMatching matching = HopcroftKarp.findMaximumMatching(builder.build());
+
+        assertEquals(n, matching.getMatchingSize());
+        assertEquals(n, matching.getAugmentationCount());
+        assertEquals(2, matching.getPhaseCount());
+    }
+
+    @Test
+    void testWarmStartKeepsFeasibleSeedEdges() {
+        // Path L0-R0-L1-R1-L2-R2; the seed pairs L0-R1 (no such edge) and L1-R0
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        for (int i = 0; i < 3; i++) {
+            builder.addLeftNode();
+            builder.addRightNode();
+        }
+        builder.addEdge(0, 0);
+        builder.addEdge(1, 0);
+        builder.addEdge(1, 1);
+        builder.addEdge(2, 1);
+        builder.addEdge(2, 2);
+        int[] seed = { 1, 0, CompactMatching.UNMATCHED };
+
+        CompactMatching matching = HopcroftKarp.findMaximumMatching(builder.build(), seed);
+
+        assertEquals(3, matching.getMatchingSize());
+        assertEquals(1, matching.getInitialSize());
+        assertEquals(2, matching.getAugmentationCount());
+    }
+
+    @Test
+    void testKarpSipserTakesForcedMatchesFirst() {
+        // L0 only knows R0. A naive greedy pass would give R0 to L1 and strand L0;
+        // degree-1 forcing matches L0-R0 first, so no augmenting phase is needed.
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        for (int i = 0; i < 2; i++) {
+            builder.addLeftNode();
+            builder.addRightNode();
+        }
+        builder.addEdge(0, 0);
+        builder.addEdge(1, 0);
+        builder.addEdge(1, 1);
+
+        CompactMatching matching = HopcroftKarp.findMaximumMatching(builder.build(), null, true);
+
+        assertEquals(2, matching.getMatchingSize());
+        assertEquals(2, matching.getGreedySize());
+        assertEquals(0, matching.getAugmentationCount());
+        assertEquals(0, matching.getLeftToRight()[0]);
+        assertEquals(1, matching.getLeftToRight()[1]);
+    }
+
+    @Test
+    void testKarpSipserDoesNotChangeMatchingSize() {
+        Random random = new Random(7L);
+        for (int round = 0; round < 200; round++) {
+            CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+            int lefts = 1 + random.nextInt(15);
+            int rights = 1 + random.nextInt(15);
+            for (int u = 0; u < lefts; u++) {
+                builder.addLeftNode();
+            }
+            for (int v = 0; v < rights; v++) {
+                builder.addRightNode();
+            }
+            for (int u = 0; u < lefts; u++) {
+                for (int v = 0; v < rights; v++) {
+                    if (random.nextInt(5) == 0) {
+                        builder.addEdge(u, v);
+                    }
+                }
+            }
+            CompactBipartiteGraph graph = builder.build();
+            int[] seed = new int[lefts];
+            for (int u = 0; u < lefts; u++) {
+                seed[u] = random.nextInt(3) == 0 ? random.nextInt(rights) : CompactMatching.UNMATCHED;
+            }
+
+            CompactMatching plain = HopcroftKarp.findMaximumMatching(graph, seed);
+            CompactMatching greedy = HopcroftKarp.findMaximumMatching(graph, seed, true);
+
+            assertEquals(plain.getMatchingSize(), greedy.getMatchingSize(), "round " + round);
+            assertEquals(plain.getInitialSize(), greedy.getInitialSize(), "round " + round);
+            assertEquals(greedy.getMatchingSize(), greedy.getInitialSize() + greedy.getGreedySize()
+                + greedy.getAugmentationCount(), "round " + round);
+            for (int u = 0; u < lefts; u++) {
+                int v = greedy.getLeftToRight()[u];
+                if (v != CompactMatching.UNMATCHED) {
+                    assertEquals(u, greedy.getRightToLeft()[v], "round " + round);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMapBasedAdapterKeepsOriginalNodeIds() {
+        HopcroftKarp.BipartiteGraph graph = new HopcroftKarp.BipartiteGraph();
+        graph.addLeftNode(1);
+        graph.addLeftNode(2);
+        graph.addRightNode(1000000);
+        graph.addRightNode(1000001);
+        graph.addEdge(1, 1000000);
+        graph.addEdge(1, 1000001);
+        graph.addEdge(2, 1000000);
+
+        HopcroftKarp.MatchingResult result = HopcroftKarp.findMaximumMatching(graph);
+
+        assertEquals(2, result.getMatchingSize());
+        assertEquals(Map.of(1, 1000001, 2, 1000000), result.getLeftToRight());
+        assertEquals(Map.of(1000001, 1, 1000000, 2), result.getRightToLeft());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.student_portal.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the online (greedy free-capacity) matching.
+ */
+class IncrementalMatchingTest {
+
+    @Test
+    void testAssignFreeNeverMovesExistingMatches() {
+        // Tutor A (cap 1) has slots a1 and a2; L0 holds a1 but could also use tutor B.
+        // L1 only reaches a2, and tutor A is full
+        IncrementalMatching matching = new IncrementalMatching();
+        int tutorA = matching.addGroup(1);
+        int tutorB = matching.addGroup(1);
+        int a1 = matching.addRightNode(tutorA);
+        int a2 = matching.addRightNode(tutorA);
+        int b = matching.addRightNode(tutorB);
+        int l0 = matching.addLeftNode();
+        matching.addEdge(l0, a1);
+        matching.addEdge(l0, b);
+        matching.assign(l0, a1);
+        int l1 = matching.addLeftNode();
+        matching.addEdge(l1, a2);
+
+        assertEquals(IncrementalMatching.UNMATCHED, matching.assignFree(l1));
+        assertEquals(a1, matching.getMatch(l0));
+
+        // Once it can reach B directly it takes B
+        matching.addEdge(l1, b);
+        assertEquals(b, matching.assignFree(l1));
+        assertEquals(a1, matching.getMatch(l0));
+        assertEquals(2, matching.getMatchingSize());
+    }
+
+    @Test
+    void testTakenSlotLeavesMatchingUntouched() {
+        IncrementalMatching matching = new IncrementalMatching();
+        int tutor = matching.addGroup(1);
+        int slot = matching.addRightNode(tutor);
+        int l0 = matching.addLeftNode();
+        matching.addEdge(l0, slot);
+        matching.assign(l0, slot);
+        int l1 = matching.addLeftNode();
+        matching.addEdge(l1, slot);
+
+        assertEquals(IncrementalMatching.UNMATCHED, matching.assignFree(l1));
+        assertEquals(slot, matching.getMatch(l0));
+        assertEquals(IncrementalMatching.UNMATCHED, matching.getMatch(l1));
+    }
+
+    @Test
+    void testGreedyInsertionsStayWithinCapacityAndMaximal() {
+        Random random = new Random(11L);
+        for (int round = 0; round < 200; round++) {
+            IncrementalMatching online = new IncrementalMatching();
+            int groups = 1 + random.nextInt(5);
+            int[] capacity = new int[groups];
+            for (int g = 0; g < groups; g++) {
+                capacity[g] = random.nextInt(3);
+                online.addGroup(capacity[g]);
+            }
+            int rights = 1 + random.nextInt(10);
+            int[] group = new int[rights];
+            for (int v = 0; v < rights; v++) {
+                group[v] = random.nextInt(groups + 1) - 1;
+                online.addRightNode(group[v]);
+            }
+
+            int lefts = 1 + random.nextInt(12);
+            boolean[][] edge = new boolean[lefts][rights];
+            for (int u = 0; u < lefts; u++) {
+                online.addLeftNode();
+                for (int v = 0; v < rights; v++) {
+                    if (random.nextInt(4) == 0) {
+                        online.addEdge(u, v);
+                        edge[u][v] = true;
+                    }
+                }
+                online.assignFree(u);
+            }
+
+            for (int g = 0; g < groups; g++) {
+                assertTrue(online.getLoad(g) <= capacity[g], "round " + round + " group " + g);
+            }
+            // Maximal: no unmatched tutee still has a free slot with room
+            for (int u = 0; u < lefts; u++) {
+                if (online.getMatch(u) != IncrementalMatching.UNMATCHED) {
+                    continue;
+                }
+                for (int v = 0; v < rights; v++) {
+                    boolean room = group[v] == CompactBipartiteGraph.NO_GROUP
+                        || online.getLoad(group[v]) < capacity[group[v]];
+                    assertFalse(edge[u][v] && room && online.getOccupant(v) == IncrementalMatching.UNMATCHED,
+                        "round " + round + " tutee " + u);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.student_portal.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the König cover and Hall-violating set of a maximum matching.
+ */
+class KonigCoverTest {
+
+    @Test
+    void testHallSetIsTheTuteesCompetingForTheSameSlots() {
+        // L0, L1 and L2 all only know R0 and R1; L3 has R2 to itself
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        for (int i = 0; i < 4; i++) {
+            builder.addLeftNode();
+        }
+        for (int i = 0; i < 3; i++) {
+            builder.addRightNode();
+        }
+        for (int u = 0; u < 3; u++) {
+            builder.addEdge(u, 0);
+            builder.addEdge(u, 1);
+        }
+        builder.addEdge(3, 2);
+        CompactBipartiteGraph graph = builder.build();
+        CompactMatching matching = HopcroftKarp.findMaximumMatching(graph);
+
+        KonigCover cover = KonigCover.of(graph, matching);
+
+        assertEquals(1, cover.getDeficiency());
+        assertEquals(3, cover.getHallSetSize());
+        for (int u = 0; u < 3; u++) {
+            assertTrue(cover.isInHallSet(u));
+        }
+        assertFalse(cover.isInHallSet(3));
+        assertTrue(cover.isRightReached(0));
+        assertTrue(cover.isRightReached(1));
+        assertFalse(cover.isRightReached(2));
+        assertEquals(matching.getMatchingSize(), cover.getCoverSize());
+    }
+
+    @Test
+    void testFullCapacityGroupLeadsOnToItsOtherSlots() {
+        // A tutor with a cap of 1 offers slots R0 and R1; L0 wants R0 and L1 wants R1
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        int tutor = builder.addRightGroup(1);
+        builder.addRightNode(tutor);
+        builder.addRightNode(tutor);
+        // L2 has a tutor of its own
+        int other = builder.addRightGroup(2);
+        builder.addRightNode(other);
+        for (int i = 0; i < 3; i++) {
+            builder.addLeftNode();
+            builder.addEdge(i, i);
+        }
+        CompactBipartiteGraph graph = builder.build();
+        CompactMatching matching = MaxFlowMatching.findMaximumMatching(graph);
+
+        KonigCover cover = KonigCover.of(graph, matching);
+
+        assertEquals(2, matching.getMatchingSize());
+        assertEquals(1, cover.getDeficiency());
+        assertTrue(cover.isInHallSet(0));
+        assertTrue(cover.isInHallSet(1));
+        assertFalse(cover.isInHallSet(2));
+        assertTrue(cover.isGroupReached(tutor));
+        assertFalse(cover.isGroupReached(other));
+        assertEquals(matching.getMatchingSize(), cover.getCoverSize());
+    }
+}
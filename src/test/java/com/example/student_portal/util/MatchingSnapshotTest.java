@@ -0,0 +1,101 @@
+package com.example.student_portal.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.student_portal.model.MatchingEngine;
+
+/**
+ * Unit tests for writing, reading and replaying matching snapshots.
+ */
+class MatchingSnapshotTest {
+
+    private static final LocalDate WEEK = LocalDate.of(2026, 10, 19);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTripKeepsGraphIdsAndMatching() throws IOException {
+        // A tutor with a cap of 1 over two slots; the second edge costs 1
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        int tutor = builder.addRightGroup(1);
+        builder.addRightNode(tutor);
+        builder.addRightNode(tutor);
+        builder.addLeftNode();
+        builder.addLeftNode();
+        builder.addEdge(0, 0);
+        builder.addEdge(1, 1, 1);
+        CompactBipartiteGraph graph = builder.build();
+        CompactMatching matching = MinCostFlowMatching.findMinimumCostMatching(graph);
+        Path file = directory.resolve("week.snap");
+
+        new MatchingSnapshot(MatchingEngine.MIN_COST_FLOW, WEEK, graph, new long[] { 101, 102 }, new long[] { 7, 7 },
+            new int[] { 0, 8 }, matching, null, false).write(file);
+        MatchingSnapshot snapshot = MatchingSnapshot.read(file);
+
+        assertEquals(MatchingEngine.MIN_COST_FLOW, snapshot.getEngine());
+        assertEquals(WEEK, snapshot.getTargetWeek());
+        CompactBipartiteGraph replayed = snapshot.getGraph();
+        assertEquals(2, replayed.getLeftCount());
+        assertEquals(2, replayed.getRightCount());
+        assertEquals(2, replayed.getEdgeCount());
+        assertEquals(1, replayed.getGroupCapacity(replayed.getRightGroup(1)));
+        assertEquals(1, replayed.getEdgeCost(1));
+        assertEquals(102, snapshot.getLeftRequestId(1));
+        assertEquals(7, snapshot.getRightTutorId(1));
+        assertEquals(8, snapshot.getRightSlot(1));
+        assertArrayEquals(matching.getLeftToRight(), snapshot.getMatching().getLeftToRight());
+        assertEquals(1, snapshot.getMatching().getMatchingSize());
+
+        assertNull(snapshot.getSeed());
+        assertFalse(snapshot.isKarpSipser());
+
+        CompactMatching resolved = MatchingSnapshotReplay.solve(MatchingEngine.MIN_COST_FLOW, replayed, null, false);
+        assertEquals(0, MatchingSnapshotReplay.changedPairs(snapshot.getMatching(), resolved));
+    }
+
+    @Test
+    void testKeepsHopcroftKarpSeedAndKarpSipserFlag() throws IOException {
+        // Two tutees that both reach both slots; the seed crosses them over
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        builder.addRightNode();
+        builder.addRightNode();
+        builder.addLeftNode();
+        builder.addLeftNode();
+        builder.addEdge(0, 0);
+        builder.addEdge(0, 1);
+        builder.addEdge(1, 0);
+        builder.addEdge(1, 1);
+        CompactBipartiteGraph graph = builder.build();
+        int[] seed = { 1, 0 };
+        CompactMatching matching = HopcroftKarp.findMaximumMatching(graph, seed, true);
+        Path file = directory.resolve("hk.snap");
+
+        new MatchingSnapshot(MatchingEngine.HOPCROFT_KARP, WEEK, graph, new long[] { 101, 102 }, new long[] { 7, 8 },
+            new int[] { 0, 0 }, matching, seed, true).write(file);
+        MatchingSnapshot snapshot = MatchingSnapshot.read(file);
+
+        assertArrayEquals(seed, snapshot.getSeed());
+        assertTrue(snapshot.isKarpSipser());
+        CompactMatching resolved = MatchingSnapshotReplay.solve(MatchingEngine.HOPCROFT_KARP, snapshot.getGraph(),
+            snapshot.getSeed(), snapshot.isKarpSipser());
+        assertEquals(0, MatchingSnapshotReplay.changedPairs(snapshot.getMatching(), resolved));
+        assertEquals(2, resolved.getInitialSize());
+    }
+
+    @Test
+    void testRejectsFilesThatAreNotSnapshots() throws IOException {
+        Path file = directory.resolve("other.snap");
+        Files.writeString(file, "not a snapshot");
+
+        assertThrows(IllegalArgumentException.class, () -> MatchingSnapshot.read(file));
+    }
+}
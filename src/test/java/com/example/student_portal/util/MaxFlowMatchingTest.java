@@ -0,0 +1,107 @@
+package com.example.student_portal.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the capacity-aware max-flow matching engine.
+ */
+class MaxFlowMatchingTest {
+
+    @Test
+    void testGroupCapacityIsSharedAcrossSlots() {
+        // One tutor with a weekly cap of 2 and three different slots, each wanted by one tutee
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        int tutor = builder.addRightGroup(2);
+        for (int i = 0; i < 3; i++) {
+            builder.addLeftNode();
+            builder.addRightNode(tutor);
+            builder.addEdge(i, i);
+        }
+
+        CompactMatching matching = MaxFlowMatching.findMaximumMatching(builder.build());
+
+        assertEquals(2, matching.getMatchingSize());
+    }
+
+    @Test
+    void testSlotIsUsedAtMostOnce() {
+        // Two tutees want the same slot of a tutor who could take three sessions
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        int tutor = builder.addRightGroup(3);
+        int slot = builder.addRightNode(tutor);
+        builder.addLeftNode();
+        builder.addLeftNode();
+        builder.addEdge(0, slot);
+        builder.addEdge(1, slot);
+
+        CompactMatching matching = MaxFlowMatching.findMaximumMatching(builder.build());
+
+        assertEquals(1, matching.getMatchingSize());
+    }
+
+    @Test
+    void testReroutesThroughSaturatedTutor() {
+        // L0 can use tutor A or B, L1 only tutor A; both caps are 1
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        int tutorA = builder.addRightGroup(1);
+        int tutorB = builder.addRightGroup(1);
+        int slotA = builder.addRightNode(tutorA);
+        int slotB = builder.addRightNode(tutorB);
+        builder.addLeftNode();
+        builder.addLeftNode();
+        builder.addEdge(0, slotA);
+        builder.addEdge(0, slotB);
+        builder.addEdge(1, slotA);
+
+        CompactMatching matching = MaxFlowMatching.findMaximumMatching(builder.build());
+
+        assertEquals(2, matching.getMatchingSize());
+        assertEquals(slotB, matching.getLeftToRight()[0]);
+        assertEquals(slotA, matching.getLeftToRight()[1]);
+        assertEquals(1, matching.getRightToLeft()[slotA]);
+    }
+
+    @Test
+    void testWarmStartRespectsGroupCapacity() {
+        // The seed puts both tutees on a tutor with cap 1; only the first seed edge fits
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        int tutorA = builder.addRightGroup(1);
+        int tutorB = builder.addRightGroup(1);
+        int slotA1 = builder.addRightNode(tutorA);
+        int slotA2 = builder.addRightNode(tutorA);
+        int slotB = builder.addRightNode(tutorB);
+        builder.addLeftNode();
+        builder.addLeftNode();
+        builder.addEdge(0, slotA1);
+        builder.addEdge(1, slotA2);
+        builder.addEdge(1, slotB);
+
+        CompactMatching matching = MaxFlowMatching.findMaximumMatching(builder.build(), new int[] { slotA1, slotA2 });
+
+        assertEquals(2, matching.getMatchingSize());
+        assertEquals(1, matching.getInitialSize());
+        assertEquals(slotA1, matching.getLeftToRight()[0]);
+        assertEquals(slotB, matching.getLeftToRight()[1]);
+    }
+
+    @Test
+    void testUngroupedGraphMatchesHopcroftKarp() {
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        for (int i = 0; i < 4; i++) {
+            builder.addLeftNode();
+            builder.addRightNode();
+        }
+        builder.addEdge(0, 0);
+        builder.addEdge(0, 1);
+        builder.addEdge(1, 0);
+        builder.addEdge(2, 1);
+        builder.addEdge(2, 2);
+        builder.addEdge(3, 2);
+        CompactBipartiteGraph graph = builder.build();
+
+        assertEquals(HopcroftKarp.findMaximumMatching(graph).getMatchingSize(),
+            MaxFlowMatching.findMaximumMatching(graph).getMatchingSize());
+    }
+}
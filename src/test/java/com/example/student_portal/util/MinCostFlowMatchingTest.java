@@ -0,0 +1,71 @@
+package com.example.student_portal.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the min-cost max-flow matching engine.
+ */
+class MinCostFlowMatchingTest {
+
+    @Test
+    void testPrefersCheaperEdgeWhenCardinalityIsEqual() {
+        // One tutee, two free slots of one tutor; the second slot is its first choice
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        int tutor = builder.addRightGroup(1);
+        int tutee = builder.addLeftNode();
+        int secondChoice = builder.addRightNode(tutor);
+        int firstChoice = builder.addRightNode(tutor);
+        builder.addEdge(tutee, secondChoice, 1);
+        builder.addEdge(tutee, firstChoice, 0);
+
+        CompactMatching matching = MinCostFlowMatching.findMinimumCostMatching(builder.build());
+
+        assertEquals(1, matching.getMatchingSize());
+        assertEquals(firstChoice, matching.getLeftToRight()[tutee]);
+    }
+
+    @Test
+    void testKeepsMaximumCardinalityOverLowerCost() {
+        // L0 prefers slot 0, but only slot 0 can serve L1: both must be matched
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        builder.addLeftNode();
+        builder.addLeftNode();
+        builder.addRightNode();
+        builder.addRightNode();
+        builder.addEdge(0, 0, 0);
+        builder.addEdge(0, 1, 3);
+        builder.addEdge(1, 0, 2);
+        CompactBipartiteGraph graph = builder.build();
+
+        CompactMatching matching = MinCostFlowMatching.findMinimumCostMatching(graph);
+
+        assertEquals(2, matching.getMatchingSize());
+        assertEquals(5, MinCostFlowMatching.totalCost(graph, matching));
+    }
+
+    @Test
+    void testReroutesThroughNegativeResidualCost() {
+        // Greedy would give L0 its cheap slot A (cost 0) and L1 slot B (cost 5);
+        // optimal is L0 -> B (1) and L1 -> A (1), total 2
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        int tutorA = builder.addRightGroup(1);
+        int tutorB = builder.addRightGroup(1);
+        int slotA = builder.addRightNode(tutorA);
+        int slotB = builder.addRightNode(tutorB);
+        builder.addLeftNode();
+        builder.addLeftNode();
+        builder.addEdge(0, slotA, 0);
+        builder.addEdge(0, slotB, 1);
+        builder.addEdge(1, slotA, 1);
+        builder.addEdge(1, slotB, 5);
+        CompactBipartiteGraph graph = builder.build();
+
+        CompactMatching matching = MinCostFlowMatching.findMinimumCostMatching(graph);
+
+        assertEquals(2, matching.getMatchingSize());
+        assertEquals(2, MinCostFlowMatching.totalCost(graph, matching));
+        assertEquals(slotB, matching.getLeftToRight()[0]);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.student_portal.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for component decomposition and parallel solving.
+ */
+class ParallelComponentMatchingTest {
+
+    @Test
+    void testSharedGroupJoinsComponents() {
+        // Two tutees with disjoint slots of the same tutor are one component; a third is separate
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        int tutor = builder.addRightGroup(1);
+        int slotA = builder.addRightNode(tutor);
+        int slotB = builder.addRightNode(tutor);
+        int other = builder.addRightNode();
+        builder.addRightNode(); // isolated, no component
+        builder.addLeftNode();
+        builder.addLeftNode();
+        builder.addLeftNode();
+        builder.addEdge(0, slotA);
+        builder.addEdge(1, slotB);
+        builder.addEdge(2, other);
+
+        GraphComponents components = GraphComponents.find(builder.build());
+
+        assertEquals(2, components.getComponentCount());
+        assertEquals(2, components.getLeftCount(0));
+        assertEquals(2, components.getRightCount(0));
+        assertEquals(1, components.subgraph(0).getGroupCount());
+    }
+
+    @Test
+    void testMergedMatchingEqualsWholeGraphSolve() {
+        CompactBipartiteGraph graph = singleSubjectTutorGraph(12, 40, 150, new Random(7L));
+
+        ParallelComponentMatching.Result result = ParallelComponentMatching.solve(
+            graph, MinCostFlowMatching::findMinimumCostMatching, new ForkJoinPool(4));
+        CompactMatching whole = MinCostFlowMatching.findMinimumCostMatching(graph);
+
+        assertTrue(result.getComponents().size() > 1);
+        assertEquals(whole.getMatchingSize(), result.getMatching().getMatchingSize());
+        assertEquals(MinCostFlowMatching.totalCost(graph, whole), MinCostFlowMatching.totalCost(graph, result.getMatching()));
+        int[] leftToRight = result.getMatching().getLeftToRight();
+        for (int u = 0; u < leftToRight.length; u++) {
+            if (leftToRight[u] != CompactMatching.UNMATCHED) {
+                assertEquals(u, result.getMatching().getRightToLeft()[leftToRight[u]]);
+            }
+        }
+    }
+
+    /**
+     * Weighted graph in which every tutor teaches one subject, so subjects
+     * do not share capacity and fall into separate components.
+     */
+    private static CompactBipartiteGraph singleSubjectTutorGraph(int subjects, int tutorsPerSubject,
+                                                                 int tuteesPerSubject, Random random) {
+        CompactBipartiteGraph.Builder builder = CompactBipartiteGraph.builder();
+        int[][] slotNodes = new int[subjects][];
+        for (int subject = 0; subject < subjects; subject++) {
+            slotNodes[subject] = new int[tutorsPerSubject * 4];
+            for (int tutor = 0; tutor < tutorsPerSubject; tutor++) {
+                int group = builder.addRightGroup(1 + random.nextInt(3));
+                for (int slot = 0; slot < 4; slot++) {
+                    slotNodes[subject][tutor * 4 + slot] = builder.addRightNode(group);
+                }
+            }
+        }
+        for (int subject = 0; subject < subjects; subject++) {
+            for (int tutee = 0; tutee < tuteesPerSubject; tutee++) {
+                int left = builder.addLeftNode();
+                int[] options = random.ints(0, slotNodes[subject].length).distinct().limit(3).toArray();
+                for (int rank = 0; rank < options.length; rank++) {
+                    builder.addEdge(left, slotNodes[subject][options[rank]], rank);
+                }
+            }
+        }
+        return builder.build();
+    }
+}
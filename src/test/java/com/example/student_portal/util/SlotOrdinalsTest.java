@@ -0,0 +1,43 @@
+package com.example.student_portal.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.DayOfWeek;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.student_portal.model.Period;
+
+/**
+ * Unit tests for the 35-slot ordinal space.
+ */
+class SlotOrdinalsTest {
+
+    @Test
+    void testEveryWeekdayPeriodLabelParsesToItsOwnOrdinal() {
+        long seen = 0;
+        for (int day = 1; day <= SlotOrdinals.DAYS; day++) {
+            DayOfWeek dayOfWeek = DayOfWeek.of(day);
+            for (Period period : Period.values()) {
+                String name = dayOfWeek.name().charAt(0) + dayOfWeek.name().substring(1).toLowerCase();
+                int ordinal = SlotOrdinals.parse(name + " Period " + period.name().substring(1));
+
+                assertEquals(SlotOrdinals.of(dayOfWeek, period), ordinal);
+                assertEquals(dayOfWeek, SlotOrdinals.dayOf(ordinal));
+                assertEquals(period, SlotOrdinals.periodOf(ordinal));
+                assertFalse(SlotOrdinals.contains(seen, ordinal));
+                seen |= SlotOrdinals.bit(ordinal);
+            }
+        }
+        assertEquals(SlotOrdinals.COUNT, Long.bitCount(seen));
+    }
+
+    @Test
+    void testRejectsWeekendsAndMalformedLabels() {
+        assertEquals(SlotOrdinals.NONE, SlotOrdinals.of(DayOfWeek.SATURDAY, Period.P1));
+        assertEquals(SlotOrdinals.NONE, SlotOrdinals.parse("Saturday Period 1"));
+        assertEquals(SlotOrdinals.NONE, SlotOrdinals.parse("Monday Period 8"));
+        assertEquals(SlotOrdinals.NONE, SlotOrdinals.parse("Monday Period 12"));
+        assertEquals(SlotOrdinals.NONE, SlotOrdinals.parse("Lunch"));
+    }
+}